@@ -0,0 +1,85 @@
+package ch.epfl.cs107.play.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.epfl.cs107.play.math.DiscreteCoordinates;
+
+/**
+ * Frame update and drawing of an area crowded with wandering interactors, and registration of a batch of actors
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AreaBenchmark {
+
+    private static final int SIZE = 128;
+    private static final float DELTA_TIME = 1 / 24f;
+
+    @Param({"100", "1000", "5000"})
+    public int actors;
+
+    private BenchmarkArea area;
+    /// Actors registered then unregistered by each registration invocation, not in the area in between
+    private List<Walker> batch;
+
+    @Setup
+    public void setup() {
+        area = new BenchmarkArea(SIZE, SIZE);
+        for (int i = 0; i < actors; ++i)
+            area.registerActor(new Walker(area, cell(i), i, false));
+        area.purgeRegistration();
+        // Place the camera, which sees about a sixtieth of the area
+        area.update(DELTA_TIME);
+
+        batch = new ArrayList<>(actors);
+        for (int i = 0; i < actors; ++i)
+            batch.add(new Walker(area, cell(i), -i, false));
+    }
+
+    private static DiscreteCoordinates cell(int i) {
+        return new DiscreteCoordinates((i * 7) % SIZE, (i * 13 / SIZE + i) % SIZE);
+    }
+
+    /** Update of all the actors, with their interactions and the registration purge */
+    @Benchmark
+    public BenchmarkArea update() {
+        area.update(DELTA_TIME);
+        return area;
+    }
+
+    /** Drawing of the actors the camera sees, and the bips of all of them */
+    @Benchmark
+    public BenchmarkArea draw() {
+        area.draw(area.getWindow());
+        return area;
+    }
+
+    /** Registration of a batch of actors into their cells, then their unregistration */
+    @Benchmark
+    public BenchmarkArea purgeRegistration() {
+        for (Walker walker : batch)
+            area.registerActor(walker);
+        area.purgeRegistration();
+        for (Walker walker : batch)
+            area.unregisterActor(walker);
+        area.purgeRegistration();
+        return area;
+    }
+}
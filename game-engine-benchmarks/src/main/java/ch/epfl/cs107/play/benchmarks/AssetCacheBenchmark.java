@@ -0,0 +1,75 @@
+package ch.epfl.cs107.play.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.epfl.cs107.play.io.AssetCache;
+
+/**
+ * Lookups into an AssetCache holding a quarter of the assets, with a skewed popularity so that both policies
+ * keep hitting and evicting. The setup checks that an asset is never evicted by its own insertion
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssetCacheBenchmark {
+
+    private static final int ASSETS = 1024;
+    private static final int ASSET_BYTES = 1024;
+    private static final int LOOKUPS = 1 << 16;
+
+    @Param({"LRU", "LFU"})
+    public AssetCache.Policy policy;
+
+    private AssetCache<Integer, byte[]> cache;
+    private AssetCache.Loader<Integer, byte[]> loader;
+    private Integer[] keys;
+    private int next;
+
+    @Setup
+    public void setup() {
+        loader = key -> new byte[ASSET_BYTES];
+        cache = new AssetCache<>((long) ASSETS / 4 * ASSET_BYTES, policy, bytes -> bytes.length, 0);
+        checkFreshAssetKept();
+
+        final Random random = new Random(ASSETS);
+        keys = new Integer[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; ++i)
+            keys[i] = (int) Math.min(ASSETS - 1, Math.abs(random.nextGaussian()) * ASSETS / 4);
+    }
+
+    /**
+     * Fill the cache with assets used several times, then load one more: it must survive the eviction it causes
+     */
+    private void checkFreshAssetKept() {
+        final int capacity = ASSETS / 4;
+        for (int key = 0; key < capacity; ++key) {
+            cache.get(key, loader, null);
+            cache.get(key, loader, null);
+        }
+        if (cache.get(capacity, loader, null) == null || !cache.contains(capacity))
+            throw new IllegalStateException(policy + " evicted the asset it just loaded");
+        cache.clear();
+    }
+
+    @Benchmark
+    public byte[] get() {
+        next = (next + 1) & (LOOKUPS - 1);
+        return cache.get(keys[next], loader, null);
+    }
+}
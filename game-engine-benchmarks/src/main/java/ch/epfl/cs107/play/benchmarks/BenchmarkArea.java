@@ -0,0 +1,59 @@
+package ch.epfl.cs107.play.benchmarks;
+
+import ch.epfl.cs107.play.areagame.area.Area;
+import ch.epfl.cs107.play.io.FileSystem;
+import ch.epfl.cs107.play.window.Window;
+import ch.epfl.cs107.play.window.headless.HeadlessWindow;
+
+/**
+ * Open field area of a given size, begun in a HeadlessWindow fed by a MemoryFileSystem
+ */
+final class BenchmarkArea extends Area {
+
+    private final String title;
+    private final HeadlessWindow window;
+    private BenchmarkBehavior behavior;
+
+    /**
+     * Create and begin an open field area
+     * @param width (int): number of columns, positive
+     * @param height (int): number of rows, positive
+     */
+    BenchmarkArea(int width, int height) {
+        this.title = "benchmark" + width + "x" + height;
+        final MemoryFileSystem fileSystem = new MemoryFileSystem();
+        fileSystem.putBehavior(title, width, height, -1);
+        window = new HeadlessWindow(fileSystem, 800, 800);
+        begin(window, fileSystem);
+    }
+
+    /** @return (HeadlessWindow): the window this area draws into */
+    HeadlessWindow getWindow() {
+        return window;
+    }
+
+    /** @return (BenchmarkBehavior): the behavior of this area */
+    BenchmarkBehavior getBehavior() {
+        return behavior;
+    }
+
+    @Override
+    public boolean begin(Window window, FileSystem fileSystem) {
+        if (super.begin(window, fileSystem)) {
+            behavior = new BenchmarkBehavior(window, title);
+            setBehavior(behavior);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public float getCameraScaleFactor() {
+        return 16;
+    }
+
+    @Override
+    public String getTitle() {
+        return title;
+    }
+}
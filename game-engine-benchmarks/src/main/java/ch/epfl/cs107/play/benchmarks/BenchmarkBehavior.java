@@ -0,0 +1,60 @@
+package ch.epfl.cs107.play.benchmarks;
+
+import ch.epfl.cs107.play.areagame.actor.Interactable;
+import ch.epfl.cs107.play.areagame.area.AreaBehavior;
+import ch.epfl.cs107.play.areagame.handler.AreaInteractionVisitor;
+import ch.epfl.cs107.play.window.Window;
+
+/**
+ * Behavior of an open field: every cell can be entered, by any number of entities not taking the cell space
+ */
+final class BenchmarkBehavior extends AreaBehavior {
+
+    /**
+     * Default BenchmarkBehavior Constructor
+     * @param window (Window): graphic context, not null
+     * @param name (String): name of the behavior image, not null
+     */
+    BenchmarkBehavior(Window window, String name) {
+        super(window, name, true);
+        for (int y = 0; y < getHeight(); ++y)
+            for (int x = 0; x < getWidth(); ++x)
+                setCell(x, y, new OpenCell(x, y));
+    }
+
+    private final class OpenCell extends Cell {
+
+        private OpenCell(int x, int y) {
+            super(x, y);
+        }
+
+        @Override
+        protected boolean canLeave(Interactable entity) {
+            return true;
+        }
+
+        @Override
+        protected boolean canEnter(Interactable entity) {
+            if (!entity.takeCellSpace())
+                return true;
+            for (Interactable other : entities)
+                if (other.takeCellSpace())
+                    return false;
+            return true;
+        }
+
+        @Override
+        public boolean isCellInteractable() {
+            return true;
+        }
+
+        @Override
+        public boolean isViewInteractable() {
+            return false;
+        }
+
+        @Override
+        public void acceptInteraction(AreaInteractionVisitor v, boolean isCellInteraction) {
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package ch.epfl.cs107.play.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.epfl.cs107.play.math.DiscreteCoordinates;
+
+/**
+ * Cell and view interactions of an interactor with a crowded cell
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InteractionBenchmark {
+
+    @Param({"1", "16", "128"})
+    public int crowd;
+
+    private BenchmarkBehavior behavior;
+    private Walker interactor;
+
+    @Setup
+    public void setup() {
+        final BenchmarkArea area = new BenchmarkArea(16, 16);
+        final DiscreteCoordinates cell = new DiscreteCoordinates(8, 8);
+        interactor = new Walker(area, cell, 0, false);
+        area.registerActor(interactor);
+        // The crowd fills both the cell of the interactor and the cell it faces
+        for (int i = 0; i < crowd; ++i) {
+            area.registerActor(new Walker(area, cell, i, false));
+            area.registerActor(new Walker(area, cell.up(), -i, false));
+        }
+        area.purgeRegistration();
+        behavior = area.getBehavior();
+    }
+
+    @Benchmark
+    public int cellInteractionOf() {
+        behavior.cellInteractionOf(interactor);
+        return interactor.getInteractions();
+    }
+
+    @Benchmark
+    public int viewInteractionOf() {
+        behavior.viewInteractionOf(interactor);
+        return interactor.getInteractions();
+    }
+}
@@ -0,0 +1,102 @@
+package ch.epfl.cs107.play.benchmarks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.epfl.cs107.play.data.json.JSONArray;
+import ch.epfl.cs107.play.data.json.JSONObject;
+import ch.epfl.cs107.play.data.json.JSONParser;
+import ch.epfl.cs107.play.data.json.JSONReader;
+import ch.epfl.cs107.play.data.json.JSONString;
+import ch.epfl.cs107.play.data.json.JSONWriter;
+
+/**
+ * Reading and writing of a JSON file made of entries with a few fields and an array each, as a saved game,
+ * with the streaming parser and writer against the former line based ones (see LegacyJSON)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JSONBenchmark {
+
+    @Param({"16", "256", "4096"})
+    public int entries;
+
+    private File file;
+    private JSONObject root;
+
+    @Setup
+    public void setup() throws IOException {
+        root = new JSONObject();
+        for (int i = 0; i < entries; ++i) {
+            final JSONArray position = new JSONArray();
+            position.append(new JSONString(Integer.toString(i % 32)));
+            position.append(new JSONString(Integer.toString(i / 32)));
+            root.add("entity" + i, new JSONObject()
+                    .add("name", new JSONString("walker" + i))
+                    .add("health", new JSONString(Double.toString(i * 0.5)))
+                    .add("alive", new JSONString(Boolean.toString(i % 3 != 0)))
+                    .add("position", position));
+        }
+        file = File.createTempFile("benchmark", ".json");
+        JSONParser.writeJSONToFile(file.getPath(), root);
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public JSONObject readJSONFromFile() {
+        return JSONParser.readJSONFromFile(file.getPath());
+    }
+
+    @Benchmark
+    public JSONObject readJSONFromFileLegacy() {
+        return LegacyJSON.readJSONFromFile(file.getPath());
+    }
+
+    /** Pull events only, as a reader of a huge file that builds no tree */
+    @Benchmark
+    public int readEvents() throws IOException {
+        int count = 0;
+        try (JSONReader reader = new JSONReader(
+                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            while (reader.next() != JSONReader.Event.END_DOCUMENT) ++count;
+        }
+        return count;
+    }
+
+    /** Stream the tree to a writer discarding its characters, to leave the file system out */
+    @Benchmark
+    public void write() throws IOException {
+        new JSONWriter(Writer.nullWriter()).value(root);
+    }
+
+    @Benchmark
+    public String writeLegacy() {
+        return LegacyJSON.toJSONString(root);
+    }
+}
@@ -0,0 +1,232 @@
+package ch.epfl.cs107.play.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.security.InvalidParameterException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import ch.epfl.cs107.play.data.json.JSONArray;
+import ch.epfl.cs107.play.data.json.JSONObject;
+import ch.epfl.cs107.play.data.json.JSONString;
+import ch.epfl.cs107.play.data.json.JSONValue;
+
+/**
+ * The former line based JSON parser and regex based serializer, kept unchanged as a baseline for JSONBenchmark
+ */
+final class LegacyJSON {
+
+    private LegacyJSON() {}
+
+    static JSONObject readJSONFromFile(String path) {
+        try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
+            ArrayList<String> lines = new ArrayList<>();
+            StringBuilder arrayContent = new StringBuilder();
+            int arrayDepth = 0;
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim().replaceAll("\"", "");
+                if (line.isEmpty() || line.equals("\n")) continue;
+
+                // Convert multiline arrays to single line arrays
+                if (arrayDepth > 0 || line.endsWith("[")) {
+                    arrayContent.append(line);
+
+                    // Update array depth count
+                    arrayDepth += (int) line.chars().filter(ch -> ch == '[').count();
+                    arrayDepth -= (int) line.chars().filter(ch -> ch == ']').count();
+
+                    // If array ends, add to lines and reset arrayContent
+                    if (arrayDepth == 0) {
+                        lines.add(arrayContent.toString());
+                        arrayContent = new StringBuilder();
+                    }
+                } else lines.add(line);
+            }
+
+            // Remove the first and last line since they are just the container brackets
+            if (!lines.isEmpty()) {
+                lines.remove(0);
+                lines.remove(lines.size() - 1);
+            }
+
+            return parseObject(lines);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    static String toJSONString(JSONValue value) {
+        if (value instanceof JSONObject object) return toJSONString(object);
+        if (value instanceof JSONArray array) return toJSONString(array);
+        return value.toString();
+    }
+
+    private static String toJSONString(JSONObject object) {
+        Map<String, JSONValue> values = object.get();
+        if (values.isEmpty()) return "{}";
+
+        String indent = "  ";
+        StringBuilder builder = new StringBuilder().append("{\n");
+        boolean firstEntry = true;
+
+        for (Map.Entry<String, JSONValue> entry : values.entrySet()) {
+            if (!firstEntry) builder.append(",\n");
+            builder.append(indent).append("\"").append(entry.getKey()).append("\": ");
+
+            if (entry.getValue() instanceof JSONObject || entry.getValue() instanceof JSONArray) {
+                // (?m)^ is a regex that activates multiline mode to match the start of each line
+                String nestedJson = toJSONString(entry.getValue()).replaceAll("(?m)^", indent);
+                builder.append(nestedJson);
+            } else if (entry.getValue() instanceof JSONString value) {
+                String string = value.toString();
+                if (string.matches("-?\\d+") || string.matches("[-+]?\\d*\\.?\\d+") || JSONString.isBoolean(string)) {
+                    builder.append(value);
+                } else builder.append("\"").append(value).append("\"");
+            }
+            firstEntry = false;
+        }
+
+        return builder.append("\n}").toString().replaceAll(":\\s+", ": ");
+    }
+
+    private static String toJSONString(JSONArray array) {
+        if (array.size() == 0) return "[]";
+
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < array.size(); i++) {
+            builder.append(toJSONString(array.get(i)));
+            if (i < array.size() - 1) builder.append(", ");
+        }
+        return builder.append("]").toString();
+    }
+
+    private static JSONObject parseObject(List<String> lines) {
+        JSONObject json = new JSONObject();
+
+        // Variables used to parse a JSONObject
+        boolean inObject = false;
+        String objectKey = "";
+        List<String> objectLines = new ArrayList<>();
+        int braceCount = 0;
+
+        for (String line : lines) {
+            // Add the line to the correct list
+            if (inObject) objectLines.add(line);
+
+            // Check if we are looking at an empty object or array
+            if (!inObject && line.replaceAll("\\s+", "").contains("{}") || line.replaceAll("\\s+", "").contains("[]")) {
+                String[] parts = split(line);
+                json.add(parts[0], (line.contains("{") && line.contains("}")) ? new JSONObject() : new JSONArray());
+            }
+            // Check for one line object
+            else if (!inObject && line.contains("{") && line.contains("}")) {
+                String[] parts = split(line, false);
+                String key = parts[0];
+                json.add(key, parseObject(convertToMultiline(parts)));
+            }
+            // Check if we are at the start of an object
+            else if (line.contains("{")) {
+                braceCount++;
+                if (!inObject) {
+                    inObject = true;
+                    objectKey = split(line)[0];
+                }
+            }
+            // Check if we are at the start of a nested object
+            else if (inObject && line.contains("{")) ++braceCount;
+            // Check if we are at the end of an object
+            else if (line.contains("}")) {
+                braceCount--;
+                if (inObject && braceCount == 0) {
+                    json.add(objectKey, parseObject(objectLines));
+
+                    // Reset the variables
+                    objectKey = "";
+                    objectLines.clear();
+                    inObject = false;
+                }
+            }
+            // Check for arrays
+            else if (!inObject && line.contains("[")) {
+                String[] parts = split(line, false);
+                json.add(parts[0], parseArray(parts[1]));
+            }
+            // Parse the line
+            else if (!inObject) {
+                String[] parts = split(line);
+                json.add(parts[0], new JSONString(parts[1]));
+            }
+        }
+        return json;
+    }
+
+    private static JSONArray parseArray(String json) {
+        json = json.trim().replaceAll("\\s{2,}", "");
+        if (!json.startsWith("[") || !(json.endsWith("]") || json.endsWith("],"))) {
+            throw new IllegalArgumentException("Invalid JSON array format");
+        }
+        // Remove the last comma if it exists
+        if (json.endsWith("],")) json = json.substring(0, json.length() - 1);
+
+        JSONArray array = new JSONArray();
+
+        // Removing the outermost brackets
+        json = json.substring(1, json.length() - 1);
+        List<String> parts = splitJsonArray(json);
+
+        for (String part : parts) {
+            // Recursive call for nested arrays
+            if (part.startsWith("[") && part.endsWith("]")) array.append(parseArray(part));
+                // Regular JSON value
+            else array.append(new JSONString(part));
+        }
+
+        return array;
+    }
+
+    private static List<String> splitJsonArray(String json) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        int bracketsCount = 0;
+
+        for (int i = 0; i < json.length(); i++) {
+            char ch = json.charAt(i);
+
+            // Check for nested arrays
+            if (ch == '[') bracketsCount++;
+            else if (ch == ']') bracketsCount--;
+
+            // Check for comma or end of string
+            if (bracketsCount == 0 && (ch == ',' || i == json.length() - 1)) {
+                String part = json.substring(start, ch == ',' ? i : i + 1).trim();
+                if (!part.isEmpty()) parts.add(part);
+                start = i + 1;
+            }
+        }
+
+        return parts;
+    }
+
+    private static String[] split(String line, boolean removeCommas) {
+        String[] parts = line.split(": ", 2);
+        if (parts.length != 2) throw new InvalidParameterException("Invalid JSON string: " + line);
+        if (removeCommas) parts[1] = parts[1].replaceAll(",", "");
+        return parts;
+    }
+
+    private static String[] split(String line) {
+        return split(line, true);
+    }
+
+    private static List<String> convertToMultiline(String[] parts) {
+        String newLine = parts[1].replaceAll("\\{", "").replaceAll("}", "");
+        ArrayList<String> lines = new ArrayList<>();
+        parts = newLine.split(",");
+        for (String s : parts) lines.add(s.trim());
+        return lines;
+    }
+}
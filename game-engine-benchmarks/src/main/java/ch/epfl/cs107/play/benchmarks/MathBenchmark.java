@@ -0,0 +1,109 @@
+package ch.epfl.cs107.play.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.epfl.cs107.play.math.MutableVector;
+import ch.epfl.cs107.play.math.Node;
+import ch.epfl.cs107.play.math.Transform;
+import ch.epfl.cs107.play.math.TransformBuilder;
+import ch.epfl.cs107.play.math.Vector;
+
+/**
+ * Chains of immutable Transform and Vector operations, as done for each drawn graphics and each moving entity,
+ * and the same chains on their mutable counterparts, which should show no allocation with the GC profiler
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MathBenchmark {
+
+    private Transform parent;
+    private Vector position, velocity, anchor;
+    private float angle;
+    /// Leaf of a chain of three nodes, as a graphics attached to a graphics attached to an entity
+    private Node node;
+
+    private final TransformBuilder builder = new TransformBuilder(), inverse = new TransformBuilder();
+    private final MutableVector point = new MutableVector(), vector = new MutableVector();
+
+    @Setup
+    public void setup() {
+        parent = Transform.I.scaled(16).translated(3.5f, -2.25f);
+        position = new Vector(12.5f, 7.25f);
+        velocity = new Vector(0.25f, -0.5f);
+        anchor = new Vector(-0.5f, 0.0f);
+        angle = 0.3f;
+        Node root = new Node();
+        root.setRelativeTransform(parent);
+        Node middle = new Node();
+        middle.setRelativeTransform(Transform.I.rotated(angle).translated(anchor));
+        middle.setParent(root);
+        node = new Node();
+        node.setRelativeTransform(Transform.I.scaled(1.5f).translated(position));
+        node.setParent(middle);
+    }
+
+    /** World transform of a graphics attached to an entity, as computed by Node */
+    @Benchmark
+    public Transform transformChain() {
+        return Transform.I.scaled(1.5f, 1.5f).rotated(angle).translated(anchor).translated(position).transformed(parent);
+    }
+
+    /** Point and vector mapped by a transform and its inverse */
+    @Benchmark
+    public Vector transformPoints() {
+        final Transform transform = parent.rotated(angle);
+        return transform.inverted().onPoint(transform.onPoint(position)).add(transform.onVector(velocity));
+    }
+
+    /** Motion step of an entity */
+    @Benchmark
+    public Vector vectorChain() {
+        return position.add(velocity.mul(1 / 24f)).sub(anchor).normalized().mul(2.0f).add(anchor.mul(velocity));
+    }
+
+    @Benchmark
+    public TransformBuilder transformChainBuilder() {
+        return builder.setIdentity().scale(1.5f, 1.5f).rotate(angle).translate(anchor).translate(position).transform(parent);
+    }
+
+    @Benchmark
+    public MutableVector transformPointsBuilder() {
+        builder.set(parent).rotate(angle);
+        builder.onPoint(position.x, position.y, point);
+        inverse.set(builder).invert().onPoint(point.x, point.y, point);
+        builder.onVector(velocity.x, velocity.y, vector);
+        return point.add(vector.x, vector.y);
+    }
+
+    @Benchmark
+    public MutableVector vectorChainMutable() {
+        return point.set(position).addScaled(velocity, 1 / 24f).sub(anchor).normalize().mul(2.0f)
+                .add(anchor.x * velocity.x, anchor.y * velocity.y);
+    }
+
+    /** World transform of a node at the end of a parent chain */
+    @Benchmark
+    public Transform nodeTransform() {
+        return node.getTransform();
+    }
+
+    @Benchmark
+    public TransformBuilder nodeTransformInto() {
+        return node.transformInto(builder);
+    }
+}
@@ -0,0 +1,63 @@
+package ch.epfl.cs107.play.benchmarks;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import ch.epfl.cs107.play.io.FileSystem;
+import ch.epfl.cs107.play.io.ResourcePath;
+
+/**
+ * File system held in memory, so the benchmarks do not depend on the resources of a game nor on the disk
+ */
+final class MemoryFileSystem implements FileSystem {
+
+    private final Map<String, byte[]> files = new HashMap<>();
+
+    /**
+     * Add a behavior map whose cells all have the same color
+     * @param name (String): name of the behavior, as given to AreaBehavior, not null
+     * @param width (int): number of columns, positive
+     * @param height (int): number of rows, positive
+     * @param rgb (int): color of all the cells
+     */
+    void putBehavior(String name, int width, int height, int rgb) {
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; ++y)
+            for (int x = 0; x < width; ++x)
+                image.setRGB(x, y, rgb);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", output);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        files.put(ResourcePath.getBehavior(name), output.toByteArray());
+    }
+
+    @Override
+    public InputStream read(String name) throws IOException {
+        final byte[] content = files.get(name);
+        if (content == null)
+            throw new NoSuchFileException(name);
+        return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public OutputStream write(String name) {
+        return new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                files.put(name, toByteArray());
+            }
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package ch.epfl.cs107.play.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.epfl.cs107.play.math.DiscreteCoordinates;
+import ch.epfl.cs107.play.math.Orientation;
+
+/**
+ * Move of a MovableAreaEntity to the next cell and back, with the cells entered and left,
+ * next to a crowd of entities sharing the cells
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveBenchmark {
+
+    private static final float DELTA_TIME = 1 / 24f;
+
+    @Param({"0", "16"})
+    public int crowd;
+
+    private BenchmarkArea area;
+    private Walker walker;
+
+    @Setup
+    public void setup() {
+        area = new BenchmarkArea(16, 16);
+        final DiscreteCoordinates cell = new DiscreteCoordinates(8, 8);
+        walker = new Walker(area, cell, 0, true);
+        area.registerActor(walker);
+        for (int i = 0; i < crowd; ++i) {
+            area.registerActor(new Walker(area, cell, i, false));
+            area.registerActor(new Walker(area, cell.right(), -i, false));
+        }
+        area.purgeRegistration();
+    }
+
+    @Benchmark
+    public Walker moveAndBack() {
+        step(Orientation.RIGHT);
+        step(Orientation.LEFT);
+        return walker;
+    }
+
+    private void step(Orientation orientation) {
+        walker.step(orientation);
+        // Swap the cells, then reach the target
+        walker.advance(DELTA_TIME);
+        walker.advance(DELTA_TIME);
+        area.purgeRegistration();
+    }
+}
@@ -0,0 +1,145 @@
+package ch.epfl.cs107.play.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ch.epfl.cs107.play.areagame.AreaGraph;
+import ch.epfl.cs107.play.areagame.DistanceField;
+import ch.epfl.cs107.play.math.DiscreteCoordinates;
+import ch.epfl.cs107.play.math.Orientation;
+import ch.epfl.cs107.play.signal.logic.Logic;
+
+/**
+ * Path finding in generated mazes: searches between endpoints never seen before (cache misses),
+ * repeated searches (cache hits) and chasers sharing a distance field recomputed after a door flips
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathBenchmark {
+
+    /// More endpoint pairs than the path cache holds, so that each search misses
+    private static final int COLD_PAIRS = 8192;
+    private static final int HOT_PAIRS = 64;
+    private static final int CHASERS = 64;
+
+    @Param({"32", "128"})
+    public int size;
+
+    private AreaGraph graph;
+    private DiscreteCoordinates[] cold, hot, chasers;
+    private DiscreteCoordinates target;
+    private int next;
+    /// Door in the maze, flipped before each chase so the distance field is recomputed
+    private boolean doorOpen;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(size);
+        graph = maze(size, random);
+        cold = pairs(COLD_PAIRS, random);
+        hot = pairs(HOT_PAIRS, random);
+        chasers = pairs(CHASERS / 2, random);
+        target = new DiscreteCoordinates(size / 2, size / 2);
+        graph.setSignal(new DiscreteCoordinates(1, 1), new Logic() {
+            @Override
+            public boolean isOn() {
+                return doorOpen;
+            }
+
+            @Override
+            public boolean isOff() {
+                return !doorOpen;
+            }
+        });
+    }
+
+    /**
+     * Perfect maze carved by a randomized depth first search, with a few extra openings so there are loops
+     */
+    private static AreaGraph maze(int size, Random random) {
+        // Edges of each cell: left, up, right, down
+        final boolean[][][] edges = new boolean[size][size][4];
+        final boolean[][] visited = new boolean[size][size];
+        final int[] dx = {-1, 0, 1, 0}, dy = {0, 1, 0, -1};
+        final List<int[]> stack = new ArrayList<>();
+        stack.add(new int[]{0, 0});
+        visited[0][0] = true;
+        while (!stack.isEmpty()) {
+            final int[] cell = stack.get(stack.size() - 1);
+            final List<Integer> directions = new ArrayList<>();
+            for (int d = 0; d < 4; ++d) {
+                final int x = cell[0] + dx[d], y = cell[1] + dy[d];
+                if (x >= 0 && y >= 0 && x < size && y < size && !visited[x][y])
+                    directions.add(d);
+            }
+            if (directions.isEmpty()) {
+                stack.remove(stack.size() - 1);
+                continue;
+            }
+            final int d = directions.get(random.nextInt(directions.size()));
+            final int x = cell[0] + dx[d], y = cell[1] + dy[d];
+            edges[cell[0]][cell[1]][d] = true;
+            edges[x][y][(d + 2) % 4] = true;
+            visited[x][y] = true;
+            stack.add(new int[]{x, y});
+        }
+        for (int i = 0; i < size * size / 16; ++i) {
+            final int x = 1 + random.nextInt(size - 2), y = 1 + random.nextInt(size - 2), d = random.nextInt(4);
+            edges[x][y][d] = true;
+            edges[x + dx[d]][y + dy[d]][(d + 2) % 4] = true;
+        }
+
+        final AreaGraph graph = new AreaGraph();
+        for (int x = 0; x < size; ++x)
+            for (int y = 0; y < size; ++y)
+                graph.addNode(new DiscreteCoordinates(x, y), edges[x][y][0], edges[x][y][1], edges[x][y][2], edges[x][y][3]);
+        return graph;
+    }
+
+    private DiscreteCoordinates[] pairs(int count, Random random) {
+        final DiscreteCoordinates[] pairs = new DiscreteCoordinates[2 * count];
+        for (int i = 0; i < pairs.length; ++i)
+            pairs[i] = new DiscreteCoordinates(random.nextInt(size), random.nextInt(size));
+        return pairs;
+    }
+
+    @Benchmark
+    public Queue<Orientation> shortestPathMiss() {
+        next = (next + 2) % cold.length;
+        return graph.shortestPath(cold[next], cold[next + 1]);
+    }
+
+    @Benchmark
+    public Queue<Orientation> shortestPathHit() {
+        next = (next + 2) % hot.length;
+        return graph.shortestPath(hot[next], hot[next + 1]);
+    }
+
+    @Benchmark
+    public void distanceFieldChase(Blackhole blackhole) {
+        doorOpen = !doorOpen;
+        final DistanceField field = graph.getDistanceField(target);
+        for (DiscreteCoordinates chaser : chasers)
+            blackhole.consume(field.getNextOrientation(chaser));
+    }
+}
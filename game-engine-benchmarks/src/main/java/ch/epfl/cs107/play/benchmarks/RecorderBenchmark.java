@@ -0,0 +1,90 @@
+package ch.epfl.cs107.play.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.epfl.cs107.play.math.Vector;
+import ch.epfl.cs107.play.recorder.RecordWriter;
+import ch.epfl.cs107.play.recorder.Recorder;
+import ch.epfl.cs107.play.window.Keyboard;
+import ch.epfl.cs107.play.window.headless.HeadlessWindow;
+
+/**
+ * Recording of the inputs: encoding of a record as streamed by Recorder, and per frame capture of the transitions
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecorderBenchmark {
+
+    @Param({"1000", "100000"})
+    public int entries;
+
+    private HeadlessWindow window;
+    private Recorder recorder;
+    private int frame;
+
+    @Setup
+    public void setup() throws IOException {
+        Recorder.RECORD_DIRECTORY = Files.createTempDirectory("records").toString();
+        window = new HeadlessWindow(new MemoryFileSystem(), 800, 600);
+        recorder = new Recorder(window);
+        recorder.start("benchmark.rec", "Benchmark", 24);
+    }
+
+    @TearDown
+    public void tearDown() {
+        recorder.stop();
+    }
+
+    /** Encoding of a record in memory, one frame per entry: key presses, key releases and mouse moves */
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (RecordWriter writer = new RecordWriter(Channels.newChannel(bytes), 0, "Benchmark", 24)) {
+            for (int i = 0; i < entries; ++i) {
+                switch (i % 3) {
+                    case 0 -> writer.writeKey(i, i * 16L, Keyboard.UP, true);
+                    case 1 -> writer.writeKey(i, i * 16L, Keyboard.UP, false);
+                    default -> writer.writeMouseMove(i, i * 16L, i % 800, i % 600);
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /** One frame of recording, with a key press or release and a mouse move every other frame */
+    @Benchmark
+    public Recorder update() {
+        // Start a new record from time to time, so the file stays bounded
+        if (++frame % 1_000_000 == 0)
+            recorder.start("benchmark.rec", "Benchmark", 24);
+        if ((frame & 1) == 0)
+            window.getKeyboard().press(Keyboard.UP);
+        else
+            window.getKeyboard().release(Keyboard.UP);
+        window.getMouse().moveTo(new Vector(frame % 800, frame % 600));
+        window.update();
+        recorder.update();
+        return recorder;
+    }
+}
@@ -0,0 +1,134 @@
+package ch.epfl.cs107.play.benchmarks;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import ch.epfl.cs107.play.areagame.actor.Interactable;
+import ch.epfl.cs107.play.areagame.actor.Interactor;
+import ch.epfl.cs107.play.areagame.actor.MovableAreaEntity;
+import ch.epfl.cs107.play.areagame.area.Area;
+import ch.epfl.cs107.play.areagame.handler.AreaInteractionVisitor;
+import ch.epfl.cs107.play.engine.actor.ShapeGraphics;
+import ch.epfl.cs107.play.math.DiscreteCoordinates;
+import ch.epfl.cs107.play.math.Orientation;
+import ch.epfl.cs107.play.math.shape.Circle;
+import ch.epfl.cs107.play.window.Canvas;
+
+import java.awt.Color;
+
+/**
+ * Entity wandering in random directions, interacting with the content of its cell and of the cell it faces
+ */
+final class Walker extends MovableAreaEntity implements Interactor {
+
+    private static final int MOVE_DURATION = 4;
+    private static final Orientation[] ORIENTATIONS = Orientation.values();
+
+    private final Random random;
+    private final boolean takesCellSpace;
+    private final ShapeGraphics marker;
+    /// Number of interactions seen, so they cannot be optimized away
+    private int interactions;
+
+    /**
+     * Default Walker Constructor
+     * @param area (Area): owner area, not null
+     * @param position (DiscreteCoordinates): initial cell, not null
+     * @param seed (long): seed of the random walk
+     * @param takesCellSpace (boolean): true if the walker blocks its cell to the other walkers taking space
+     */
+    Walker(Area area, DiscreteCoordinates position, long seed, boolean takesCellSpace) {
+        super(area, Orientation.UP, position);
+        this.random = new Random(seed);
+        this.takesCellSpace = takesCellSpace;
+        marker = new ShapeGraphics(new Circle(0.5f), Color.RED, null, 0);
+        marker.setParent(this);
+    }
+
+    /** @return (int): number of interactions seen since the creation of this walker */
+    int getInteractions() {
+        return interactions;
+    }
+
+    /**
+     * Start a move of one cell in the given orientation, completed in a single frame
+     * @param orientation (Orientation): direction of the move, not null
+     * @return (boolean): true if the move started
+     */
+    boolean step(Orientation orientation) {
+        orientate(orientation);
+        return move(1);
+    }
+
+    /**
+     * Advance the current move by one frame, without starting a new one
+     * @param deltaTime (float): elapsed time since last update, in seconds, non-negative
+     */
+    void advance(float deltaTime) {
+        super.update(deltaTime);
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        if (!isDisplacementOccurs()) {
+            orientate(ORIENTATIONS[random.nextInt(ORIENTATIONS.length)]);
+            move(MOVE_DURATION);
+        }
+        super.update(deltaTime);
+    }
+
+    @Override
+    public void draw(Canvas canvas) {
+        marker.draw(canvas);
+    }
+
+    @Override
+    public float getDrawRadius() {
+        return 1.0f;
+    }
+
+    @Override
+    public boolean takeCellSpace() {
+        return takesCellSpace;
+    }
+
+    @Override
+    public boolean isCellInteractable() {
+        return true;
+    }
+
+    @Override
+    public boolean isViewInteractable() {
+        return true;
+    }
+
+    @Override
+    public void acceptInteraction(AreaInteractionVisitor v, boolean isCellInteraction) {
+    }
+
+    @Override
+    public List<DiscreteCoordinates> getCurrentCells() {
+        return Collections.singletonList(getCurrentMainCellCoordinates());
+    }
+
+    @Override
+    public List<DiscreteCoordinates> getFieldOfViewCells() {
+        return Collections.singletonList(getCurrentMainCellCoordinates().jump(getOrientation().toVector()));
+    }
+
+    @Override
+    public boolean wantsCellInteraction() {
+        return true;
+    }
+
+    @Override
+    public boolean wantsViewInteraction() {
+        return true;
+    }
+
+    @Override
+    public void interactWith(Interactable other, boolean isCellInteraction) {
+        ++interactions;
+    }
+}
@@ -0,0 +1,105 @@
+package ch.epfl.cs107.play.window.swing;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.epfl.cs107.play.math.Transform;
+import ch.epfl.cs107.play.math.shape.Circle;
+import ch.epfl.cs107.play.math.shape.Polygon;
+import ch.epfl.cs107.play.math.shape.Shape;
+
+/**
+ * Frame of SwingWindow without its display: draw requests turned into pooled items, queued, sorted by depth
+ * and optionally rendered into an offscreen image. Lives in the package of SwingWindow to reach its items
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderSubmissionBenchmark {
+
+    @Param({"256", "4096"})
+    public int items;
+
+    private final RenderQueue queue = new RenderQueue();
+    private final ItemPool<ShapeItem> shapes = new ItemPool<>(ShapeItem::new);
+    private Shape[] geometries;
+    private Transform[] transforms;
+    private float[] depths;
+    private BufferedImage target;
+    private Graphics2D graphics;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(items);
+        final Shape square = new Polygon(0, 0, 1, 0, 1, 1, 0, 1);
+        final Shape circle = new Circle(0.5f);
+        geometries = new Shape[items];
+        transforms = new Transform[items];
+        depths = new float[items];
+        for (int i = 0; i < items; ++i) {
+            geometries[i] = (i % 4 == 0) ? circle : square;
+            transforms[i] = Transform.I.translated(random.nextInt(64), random.nextInt(64));
+            // Few discrete depths, as in most scenes: background, actors, foreground
+            depths[i] = (float) random.nextInt(4) * 100 - 100;
+        }
+        target = new BufferedImage(640, 640, BufferedImage.TYPE_INT_ARGB);
+        graphics = target.createGraphics();
+        graphics.scale(10, 10);
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    private void submit() {
+        for (int i = 0; i < items; ++i) {
+            final ShapeItem item = shapes.acquire();
+            item.set(geometries[i], transforms[i], Color.RED, Color.BLACK, 0.05f, 1.0f, depths[i]);
+            queue.add(item);
+        }
+        queue.sort();
+    }
+
+    private void release() {
+        queue.clear();
+        shapes.releaseAll();
+    }
+
+    /** Draw requests queued and sorted, as before SwingWindow presents a frame */
+    @Benchmark
+    public RenderQueue submitAndSort() {
+        submit();
+        release();
+        return queue;
+    }
+
+    /** Draw requests queued, sorted and rendered into an offscreen image */
+    @Benchmark
+    public BufferedImage submitAndRender() {
+        submit();
+        for (int i = 0; i < queue.size(); ++i)
+            queue.get(i).render(graphics);
+        release();
+        return target;
+    }
+}
@@ -9,6 +9,7 @@ import ch.epfl.cs107.play.window.Window;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
@@ -55,9 +56,11 @@ abstract public class AreaGame implements Game, PauseMenu.Pausable {
             if (currentArea != null) {
                 currentArea.suspend();
                 currentArea.purgeRegistration(); // Is useful?
+                window.releaseAssets(currentArea);
             }
 
             currentArea = newArea;
+            window.setAssetOwner(currentArea);
 
             // Start/Resume the new one
             if (forceBegin || !currentArea.isStarted()) {
@@ -70,6 +73,24 @@ abstract public class AreaGame implements Game, PauseMenu.Pausable {
         return currentArea;
     }
 
+    /**
+     * Start decoding the assets of an area in the background, e.g. while the current area is still running.
+     * Assets are left evictable: they are pinned to the area once it becomes the current one
+     *
+     * @param key (String): Key of the Area to preload, not null
+     * @return (CompletableFuture): completed once the assets of the area are ready, not null.
+     * Already completed if the area is not found
+     */
+    protected final CompletableFuture<Void> preloadArea(String key) {
+        Area area = areas.get(key);
+
+        if (area == null) {
+            System.out.println("Area to preload not found");
+            return CompletableFuture.completedFuture(null);
+        }
+        return window.preload(area.getAssetManifest(), null);
+    }
+
     /**
      * Set the pause menu
      *
@@ -145,6 +166,13 @@ abstract public class AreaGame implements Game, PauseMenu.Pausable {
         // save the game states somewhere if needed
     }
 
+    @Override
+    public long getStateHash() {
+        if (currentArea == null)
+            return 0;
+        return currentArea.getStateHash() * 31 + (paused ? 1 : 0);
+    }
+
     @Override
     public void requestPause() {
         requestPause = true;
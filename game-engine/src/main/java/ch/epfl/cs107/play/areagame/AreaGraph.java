@@ -1,14 +1,11 @@
 package ch.epfl.cs107.play.areagame;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
-import java.util.Set;
 
 import ch.epfl.cs107.play.math.Orientation;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
@@ -19,7 +16,7 @@ import ch.epfl.cs107.play.signal.logic.Logic;
  * AreaGraph is a specific kind of graph apply to Area.
  * The graph is composed of AreaNodes which are defined by their position in the graph (DiscreteCoordinates)
  * and the existence of directed edge between them (from) and their four neighbors (to).
- * Nodes are stored into a Map.
+ * Nodes are stored into a Map, and indexed into a dense grid for the path finding (see PathFinder).
  * Note: DiscreteCoordinate are serializable reimplementing hashCode() and equals() making the keys dependant only from
  * the DiscreteCoordinate x and y values and not from the object itself.
  */
@@ -27,12 +24,24 @@ public class AreaGraph {
 
     /// Map containing all the node or vertices of the area graph
     private final Map<DiscreteCoordinates, AreaNode> nodes;
+    /// Results of the searches over the dense index of the nodes, built at the first search after a change. May be null
+    private PathCache paths;
+    /// Nodes whose signal was set, the only ones whose activity may change, and their activity at the last search
+    private final List<AreaNode> signalledNodes;
+    private boolean[] signals;
+    /// Incremented each time the activity of a node flips
+    private long signalVersion;
+    /// Distance fields already computed, by target node
+    private final Map<AreaNode, DistanceField> distanceFields;
 
     /**
      * Default AreaGraph Constructor
      */
     public AreaGraph(){
         nodes = new HashMap<>();
+        signalledNodes = new ArrayList<>();
+        signals = new boolean[8];
+        distanceFields = new HashMap<>();
     }
 
 
@@ -47,8 +56,12 @@ public class AreaGraph {
      * @param hasRightEdge (boolean): indicate if directed edge to the right direction exists
      * @param hasDownEdge (boolean): indicate if directed edge to the down direction exists
      */
-    public void addNode(DiscreteCoordinates coordinates, boolean hasLeftEdge, boolean hasUpEdge, boolean hasRightEdge, boolean hasDownEdge){
-        nodes.putIfAbsent(coordinates, new AreaNode(coordinates, hasLeftEdge, hasUpEdge, hasRightEdge, hasDownEdge));
+    public synchronized void addNode(DiscreteCoordinates coordinates, boolean hasLeftEdge, boolean hasUpEdge, boolean hasRightEdge, boolean hasDownEdge){
+        if (!nodes.containsKey(coordinates)) {
+            nodes.put(coordinates, new AreaNode(coordinates, hasLeftEdge, hasUpEdge, hasRightEdge, hasDownEdge));
+            paths = null;
+            distanceFields.clear();
+        }
     }
 
     protected Map<DiscreteCoordinates, AreaNode> getNodes() {
@@ -65,10 +78,18 @@ public class AreaGraph {
         return nodes.containsKey(coordinates);
     }
 
-    public void setSignal(DiscreteCoordinates coordinates, Logic signal) {
+    public synchronized void setSignal(DiscreteCoordinates coordinates, Logic signal) {
         if(!nodes.containsKey(coordinates))
             throw new IllegalArgumentException("The node do not exist");
-        nodes.get(coordinates).setSignal(signal);
+        final AreaNode node = nodes.get(coordinates);
+        if (!signalledNodes.contains(node)) {
+            if (signalledNodes.size() == signals.length)
+                signals = Arrays.copyOf(signals, signals.length * 2);
+            // Active until now, the first poll notices if the new signal deactivates it
+            signals[signalledNodes.size()] = true;
+            signalledNodes.add(node);
+        }
+        node.setSignal(signal);
     }
 
     protected class AreaNode{
@@ -99,6 +120,23 @@ public class AreaGraph {
             isActive = Logic.TRUE;
         }
 
+        DiscreteCoordinates getCoordinates() {
+            return coordinates;
+        }
+
+        /**
+         * @param direction (int): 0 for left, 1 for up, 2 for right and 3 for down
+         * @return (boolean): true if a directed edge to this direction exists
+         */
+        boolean hasEdge(int direction) {
+            switch (direction) {
+                case 0: return hasLeftEdge;
+                case 1: return hasUpEdge;
+                case 2: return hasRightEdge;
+                default: return hasDownEdge;
+            }
+        }
+
         /**
          * Neighbors getter
          *  see method addNeighbor()
@@ -168,88 +206,53 @@ public class AreaGraph {
      * @param to (DiscreteCoordinates): sink node of the desired path, not null
      * @return (Iterator of Orientation): return an iterator containing the shortest path from source to sink, or null if the path does not exists !
      */
-    public Queue<Orientation> shortestPath(DiscreteCoordinates from, DiscreteCoordinates to){
+    public synchronized Queue<Orientation> shortestPath(DiscreteCoordinates from, DiscreteCoordinates to){
+        final PathCache paths = getPaths();
+        final int start = paths.getFinder().indexOf(from);
+        final int goal = paths.getFinder().indexOf(to);
 
-        AreaNode start = nodes.get(from);
-        AreaNode goal = nodes.get(to);
-
-        if( goal == null || start == null || start == goal)
+        if (goal < 0 || start < 0 || start == goal)
             return null;
+        return paths.shortestPath(start, goal);
+    }
 
-        //System.out.println("Looking for path from: " + start.coordinates.toString() + " to : "+ goal.coordinates.toString());
-
-        // used to size data structures appropriately
-        final int size = nodes.size();
-
-        // Needed to see if it is already in the queue , otherwise we don't add the node
-        final Set<AreaNode> inQueue = new HashSet<>(size); // Changed
-
-        // The set of nodes already evaluated.
-        final Set<AreaNode> visitedSet = new HashSet<>(size);
-        // The set of tentative nodes to be evaluated, initially containing the start node
-        final List<AreaNode> toVisitSet = new ArrayList<>(size);
-        toVisitSet.add(start);
-        // The map of navigated nodes. <neighbor, current>
-        final Map<AreaNode, AreaNode> cameFrom = new HashMap<>(size);
-
-        while (!toVisitSet.isEmpty()) {
-
-            // Get the first node, we will now evaluate it
-            final AreaNode current = toVisitSet.get(0);
-
-            // If the current is the goal one, we can end
-            if (current.equals(goal))
-                return reconstructPath(cameFrom, goal);
-
-            // Otherwise we remove it from non-evaluated node and put it inside evaluated node
-            toVisitSet.remove(0);
-            inQueue.remove(current); // Changed
-            visitedSet.add(current);
-
-            // For all its neighbors
-            for (AreaNode neighbor : current.getConnectedNodes()) {
-                if (visitedSet.contains(neighbor))
-                    // Ignore the neighbor which is already evaluated.
-                    continue;
-                if(!neighbor.isActive())
-                    // Ignore inactive neighbors
-                    continue;
-                if (!inQueue.contains(neighbor))
-                {
-                    toVisitSet.add(neighbor);
-                    inQueue.add(neighbor); //Changed
-                }
+    /**
+     * Distance field toward the given node, shared by all the callers as long as no signal of the graph changes:
+     * chasers of a same target should use it rather than shortestPath, to share a single search
+     * @param to (DiscreteCoordinates): target node of the field, not null
+     * @return (DistanceField): the distances of every node to the target, up to date, null if the target does not exist
+     */
+    public synchronized DistanceField getDistanceField(DiscreteCoordinates to){
+        final AreaNode target = nodes.get(to);
+        if (target == null)
+            return null;
 
-                // This path is the best. Record it!
-                cameFrom.put(neighbor, current);
-            }
+        final PathFinder finder = getPaths().getFinder();
+        DistanceField field = distanceFields.get(target);
+        if (field == null || field.getVersion() != signalVersion) {
+            field = new DistanceField(finder, finder.indexOf(to), signalVersion);
+            distanceFields.put(target, field);
         }
-
-        return null;
+        return field;
     }
 
-    private Queue<Orientation> reconstructPath(Map<AreaNode, AreaNode> cameFrom, AreaNode current) {
-        final List<Orientation> totalPath = new ArrayList<>();
-
-        while (current != null) {
-            final AreaNode previous = current;
-            current = cameFrom.get(current);
-            if (current != null) {
-                final Orientation edge = current.getOrientation(previous);
-                totalPath.add(edge);
+    /**
+     * Index the nodes if needed, and poll the signals of the nodes which have one:
+     * only the cached results depending on the nodes whose activity flipped since the last search are dropped
+     * @return (PathCache): the up to date results of the searches, not null
+     */
+    private PathCache getPaths() {
+        if (paths == null)
+            paths = new PathCache(new PathFinder(nodes));
+        for (int i = 0; i < signalledNodes.size(); ++i) {
+            final AreaNode node = signalledNodes.get(i);
+            final boolean active = node.isActive();
+            if (active != signals[i]) {
+                signals[i] = active;
+                ++signalVersion;
+                paths.signalFlipped(paths.getFinder().indexOf(node.getCoordinates()), active);
             }
         }
-
-        Collections.reverse(totalPath);
-
-        /*
-        // Print the path for debug purpose
-        System.out.println("--------------------Path : ");
-        for(Orientation o : totalPath){
-            System.out.println(o.toString());
-        }
-        */
-
-        return new LinkedList<>(totalPath);
+        return paths;
     }
-}
\ No newline at end of file
+}
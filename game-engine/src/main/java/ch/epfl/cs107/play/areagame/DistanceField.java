@@ -0,0 +1,97 @@
+package ch.epfl.cs107.play.areagame;
+
+import java.util.LinkedList;
+import java.util.Queue;
+
+import ch.epfl.cs107.play.math.DiscreteCoordinates;
+import ch.epfl.cs107.play.math.Orientation;
+
+/**
+ * Number of moves from every node of an AreaGraph to a target node, computed once in a single breadth first search.
+ * Any number of actors chasing the same target share it: each one then finds its next move in constant time.
+ * A field reflects the signals of the nodes when it was computed, AreaGraph.getDistanceField gives an up to date one
+ */
+public final class DistanceField {
+
+    private final PathFinder finder;
+    private final int target;
+    private final int[] distances;
+    /// Cells a path can pass through: the target and the active nodes reaching it
+    private final boolean[] passable;
+    /// Version of the signals of the graph when the field was computed
+    private final long version;
+
+    /**
+     * Default DistanceField Constructor
+     * @param finder (PathFinder): index of the graph, not null
+     * @param target (int): index of the target cell, with a node
+     * @param version (long): version of the signals of the graph, polled before the search
+     */
+    DistanceField(PathFinder finder, int target, long version) {
+        this.finder = finder;
+        this.target = target;
+        this.version = version;
+        this.distances = new int[finder.size()];
+        this.passable = new boolean[finder.size()];
+        finder.distancesTo(target, distances, passable);
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    /** @return (DiscreteCoordinates): the coordinates of the target node, not null */
+    public DiscreteCoordinates getTarget() {
+        return new DiscreteCoordinates(finder.xOf(target), finder.yOf(target));
+    }
+
+    /**
+     * @param from (DiscreteCoordinates): may be null
+     * @return (int): the number of moves from this node to the target, -1 if it cannot be reached
+     */
+    public int getDistance(DiscreteCoordinates from) {
+        final int cell = finder.indexOf(from);
+        return (cell < 0) ? -1 : distances[cell];
+    }
+
+    /**
+     * @param from (DiscreteCoordinates): may be null
+     * @return (Orientation): the first move of a shortest path from this node to the target,
+     * null if the target cannot be reached or is already reached
+     */
+    public Orientation getNextOrientation(DiscreteCoordinates from) {
+        final int cell = finder.indexOf(from);
+        if (cell < 0 || distances[cell] <= 0)
+            return null;
+        final int direction = nextDirection(cell);
+        return (direction < 0) ? null : PathFinder.DIRECTIONS[direction];
+    }
+
+    /**
+     * @param from (DiscreteCoordinates): may be null
+     * @return (Queue of Orientation): a shortest path from this node to the target,
+     * null if the target cannot be reached or is already reached, as AreaGraph.shortestPath
+     */
+    public Queue<Orientation> getPath(DiscreteCoordinates from) {
+        int cell = finder.indexOf(from);
+        if (cell < 0 || distances[cell] <= 0)
+            return null;
+        final Queue<Orientation> path = new LinkedList<>();
+        while (cell != target) {
+            final int direction = nextDirection(cell);
+            path.add(PathFinder.DIRECTIONS[direction]);
+            cell = finder.edge(cell, direction);
+        }
+        return path;
+    }
+
+    private int nextDirection(int cell) {
+        for (int d = 0; d < 4; ++d) {
+            final int next = finder.edge(cell, d);
+            // Distances of inactive nodes are known, but they cannot be passed through
+            if (next >= 0 && passable[next] && distances[next] == distances[cell] - 1)
+                return d;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,127 @@
+package ch.epfl.cs107.play.areagame;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Queue;
+
+import ch.epfl.cs107.play.math.Orientation;
+
+/**
+ * Results of the searches of a PathFinder, by source and sink cells, kept while the signals they depend on do not flip.
+ * A path only depends on the nodes it enters: when one of them is deactivated, the path is dropped.
+ * When a node is activated, a path is dropped only if a detour through this node could be shorter,
+ * and unreachable results are all dropped. The least recently used results are evicted beyond the capacity
+ */
+final class PathCache {
+
+    /// Maximal number of results kept
+    private static final int CAPACITY = 4096;
+
+    private final PathFinder finder;
+    private final Map<Long, Entry> entries;
+
+    /**
+     * Default PathCache Constructor
+     * @param finder (PathFinder): index of the graph of the searches, not null
+     */
+    PathCache(PathFinder finder) {
+        this.finder = finder;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > CAPACITY;
+            }
+        };
+    }
+
+    /** @return (PathFinder): index of the graph of the searches */
+    PathFinder getFinder() {
+        return finder;
+    }
+
+    /**
+     * Shortest path from a cell to another, searched only if it is not cached
+     * @param start (int): index of the source cell, with a node
+     * @param goal (int): index of the sink cell, with a node, different from start
+     * @return (Queue of Orientation): a new queue with the moves from start to goal, null if the goal cannot be reached
+     */
+    Queue<Orientation> shortestPath(int start, int goal) {
+        final Long key = ((long) start << 32) | goal;
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry(start, goal, finder.shortestPath(start, goal));
+            entries.put(key, entry);
+        }
+        if (entry.moves == null)
+            return null;
+        final Queue<Orientation> path = new LinkedList<>();
+        for (Orientation move : entry.moves)
+            path.add(move);
+        return path;
+    }
+
+    /**
+     * Drop the results depending on the activity of a node whose signal flipped
+     * @param cell (int): index of the cell of the node
+     * @param active (boolean): new activity of the node
+     */
+    void signalFlipped(int cell, boolean active) {
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            final Entry entry = iterator.next();
+            if (active ? entry.mayShortcut(cell) : entry.enters(cell))
+                iterator.remove();
+        }
+    }
+
+    /**
+     * Drop all the results
+     */
+    void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Result of a search, with the cells entered by its path
+     */
+    private final class Entry {
+        private final int start, goal;
+        /// Moves of the path, null if the goal cannot be reached
+        private final Orientation[] moves;
+        /// Cells entered by the path, in order, empty if the goal cannot be reached
+        private final int[] cells;
+
+        private Entry(int start, int goal, Queue<Orientation> path) {
+            this.start = start;
+            this.goal = goal;
+            if (path == null) {
+                moves = null;
+                cells = new int[0];
+                return;
+            }
+            moves = path.toArray(new Orientation[0]);
+            cells = new int[moves.length];
+            int cell = start;
+            for (int i = 0; i < moves.length; ++i) {
+                cell = finder.edge(cell, PathFinder.directionIndex(moves[i]));
+                cells[i] = cell;
+            }
+        }
+
+        private boolean enters(int cell) {
+            for (int entered : cells)
+                if (entered == cell)
+                    return true;
+            return false;
+        }
+
+        private boolean mayShortcut(int cell) {
+            if (moves == null)
+                return true;
+            // Any path through the cell is at least as long as the Manhattan distances to and from it
+            return finder.manhattan(start, cell) + finder.manhattan(cell, goal) < moves.length;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package ch.epfl.cs107.play.areagame;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Queue;
+
+import ch.epfl.cs107.play.math.DiscreteCoordinates;
+import ch.epfl.cs107.play.math.Orientation;
+
+/**
+ * Path finding engine of an AreaGraph, over a dense index of its nodes:
+ * cells of the bounding box of the graph are numbered row by row and the edges are stored as arrays of indices.
+ * Searches are A* with a Manhattan heuristic. Their scratch arrays are kept from one search to the next and
+ * marked with the generation of the search that wrote them, so a search clears nothing and allocates only its result.
+ * Each graph change requires a new PathFinder
+ */
+final class PathFinder {
+
+    /// Directions of the edges, in the order the graph explores them: left, up, right, down
+    static final Orientation[] DIRECTIONS = {Orientation.LEFT, Orientation.UP, Orientation.RIGHT, Orientation.DOWN};
+    private static final int[] DX = {-1, 0, 1, 0};
+    private static final int[] DY = {0, 1, 0, -1};
+
+    /// Bounding box of the nodes
+    private final int minX, minY, width, height;
+    /// Node of each cell, null where the graph has no node
+    private final AreaGraph.AreaNode[] cells;
+    /// Target cell of the edge of each cell in each direction (4 per cell), -1 if there is no such edge
+    private final int[] edges;
+
+    /// Scratch of the searches, valid for a cell only if its stamp is the current generation
+    private final int[] costs;
+    private final int[] parentDirections;
+    private final int[] openStamps;
+    private final int[] closedStamps;
+    private int generation;
+    /// Open set: binary heap of cells, ordered by estimated total cost, then by remaining estimate
+    private int[] heapCells;
+    private long[] heapKeys;
+    private int heapSize;
+
+    /**
+     * Default PathFinder Constructor
+     * @param nodes (Map): nodes of the graph by their coordinates, not null
+     */
+    PathFinder(Map<DiscreteCoordinates, AreaGraph.AreaNode> nodes) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (DiscreteCoordinates c : nodes.keySet()) {
+            minX = Math.min(minX, c.x);
+            minY = Math.min(minY, c.y);
+            maxX = Math.max(maxX, c.x);
+            maxY = Math.max(maxY, c.y);
+        }
+        if (nodes.isEmpty()) {
+            minX = minY = 0;
+            maxX = maxY = -1;
+        }
+        this.minX = minX;
+        this.minY = minY;
+        this.width = maxX - minX + 1;
+        this.height = maxY - minY + 1;
+
+        final int size = width * height;
+        cells = new AreaGraph.AreaNode[size];
+        for (Map.Entry<DiscreteCoordinates, AreaGraph.AreaNode> entry : nodes.entrySet())
+            cells[indexOf(entry.getKey().x, entry.getKey().y)] = entry.getValue();
+
+        edges = new int[4 * size];
+        Arrays.fill(edges, -1);
+        for (int cell = 0; cell < size; ++cell) {
+            final AreaGraph.AreaNode node = cells[cell];
+            if (node == null)
+                continue;
+            for (int d = 0; d < 4; ++d) {
+                if (!node.hasEdge(d))
+                    continue;
+                final int x = xOf(cell) + DX[d], y = yOf(cell) + DY[d];
+                final int target = indexOf(x, y);
+                // An edge to a missing node is absent
+                if (target >= 0 && cells[target] != null)
+                    edges[4 * cell + d] = target;
+            }
+        }
+
+        costs = new int[size];
+        parentDirections = new int[size];
+        openStamps = new int[size];
+        closedStamps = new int[size];
+        heapCells = new int[64];
+        heapKeys = new long[64];
+    }
+
+    /** @return (int): number of cells of the index, with or without a node */
+    int size() {
+        return cells.length;
+    }
+
+    /**
+     * @param coordinates (DiscreteCoordinates): may be null
+     * @return (int): index of the cell of the node at these coordinates, -1 if there is no such node
+     */
+    int indexOf(DiscreteCoordinates coordinates) {
+        if (coordinates == null)
+            return -1;
+        final int cell = indexOf(coordinates.x, coordinates.y);
+        return (cell >= 0 && cells[cell] != null) ? cell : -1;
+    }
+
+    private int indexOf(int x, int y) {
+        if (x < minX || y < minY || x >= minX + width || y >= minY + height)
+            return -1;
+        return (y - minY) * width + (x - minX);
+    }
+
+    /**
+     * @param orientation (Orientation): not null
+     * @return (int): index of the orientation into DIRECTIONS
+     */
+    static int directionIndex(Orientation orientation) {
+        switch (orientation) {
+            case LEFT: return 0;
+            case UP: return 1;
+            case RIGHT: return 2;
+            default: return 3;
+        }
+    }
+
+    /**
+     * @param from (int): index of a cell
+     * @param to (int): index of a cell
+     * @return (int): Manhattan distance between the two cells, a lower bound of the length of any path between them
+     */
+    int manhattan(int from, int to) {
+        return Math.abs(xOf(from) - xOf(to)) + Math.abs(yOf(from) - yOf(to));
+    }
+
+    int xOf(int cell) {
+        return minX + cell % width;
+    }
+
+    int yOf(int cell) {
+        return minY + cell / width;
+    }
+
+    /**
+     * @param cell (int): index of a cell
+     * @param direction (int): index of a direction into DIRECTIONS
+     * @return (int): target cell of the edge of this cell in this direction, -1 if there is no such edge
+     */
+    int edge(int cell, int direction) {
+        return edges[4 * cell + direction];
+    }
+
+    /**
+     * A* search of a shortest path following the edges and entering only active nodes
+     * @param start (int): index of the source cell, with a node
+     * @param goal (int): index of the sink cell, with a node, different from start
+     * @return (Queue of Orientation): the moves from start to goal, null if the goal cannot be reached
+     */
+    Queue<Orientation> shortestPath(int start, int goal) {
+        nextGeneration();
+
+        heapSize = 0;
+        costs[start] = 0;
+        parentDirections[start] = -1;
+        openStamps[start] = generation;
+        push(start, 0, manhattan(start, goal));
+
+        while (heapSize > 0) {
+            final int current = pop();
+            if (closedStamps[current] == generation)
+                // Outdated entry, the cell was reached again with a lower cost
+                continue;
+            if (current == goal)
+                return reconstructPath(goal);
+            closedStamps[current] = generation;
+
+            final int cost = costs[current] + 1;
+            for (int d = 0; d < 4; ++d) {
+                final int neighbor = edges[4 * current + d];
+                if (neighbor < 0 || closedStamps[neighbor] == generation)
+                    continue;
+                if (openStamps[neighbor] == generation && costs[neighbor] <= cost)
+                    continue;
+                if (!cells[neighbor].isActive())
+                    // Ignore inactive neighbors
+                    continue;
+                openStamps[neighbor] = generation;
+                costs[neighbor] = cost;
+                parentDirections[neighbor] = d;
+                push(neighbor, cost, manhattan(neighbor, goal));
+            }
+        }
+        return null;
+    }
+
+    private void nextGeneration() {
+        if (++generation == 0) {
+            // After a full wrap, stamps of old searches could match again
+            Arrays.fill(openStamps, 0);
+            Arrays.fill(closedStamps, 0);
+            generation = 1;
+        }
+    }
+
+    private Queue<Orientation> reconstructPath(int goal) {
+        final LinkedList<Orientation> path = new LinkedList<>();
+        int current = goal;
+        while (parentDirections[current] >= 0) {
+            final int d = parentDirections[current];
+            path.addFirst(DIRECTIONS[d]);
+            // Step back against the edge followed
+            current = indexOf(xOf(current) - DX[d], yOf(current) - DY[d]);
+        }
+        return path;
+    }
+
+    private void push(int cell, int cost, int estimate) {
+        if (heapSize == heapCells.length) {
+            heapCells = Arrays.copyOf(heapCells, heapSize * 2);
+            heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+        }
+        // Order by total estimate, then by remaining estimate, then by cell for reproducible ties
+        final long key = ((long) (cost + estimate) << 42) | ((long) estimate << 21) | (cell & 0x1FFFFF);
+        int i = heapSize++;
+        while (i > 0) {
+            final int parent = (i - 1) >>> 1;
+            if (heapKeys[parent] <= key)
+                break;
+            heapKeys[i] = heapKeys[parent];
+            heapCells[i] = heapCells[parent];
+            i = parent;
+        }
+        heapKeys[i] = key;
+        heapCells[i] = cell;
+    }
+
+    private int pop() {
+        final int top = heapCells[0];
+        final long key = heapKeys[--heapSize];
+        final int cell = heapCells[heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize)
+                break;
+            if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child])
+                ++child;
+            if (key <= heapKeys[child])
+                break;
+            heapKeys[i] = heapKeys[child];
+            heapCells[i] = heapCells[child];
+            i = child;
+        }
+        heapKeys[i] = key;
+        heapCells[i] = cell;
+        return top;
+    }
+
+    /**
+     * Breadth first search from the target against the edges: distance of each cell to the target,
+     * passing only through active nodes
+     * @param target (int): index of the target cell, with a node
+     * @param distances (int[]): filled with the number of moves from each cell to the target, -1 if it cannot be reached
+     * @param passable (boolean[]): filled with true for the cells a path to the target can pass through
+     */
+    void distancesTo(int target, int[] distances, boolean[] passable) {
+        Arrays.fill(distances, -1);
+        Arrays.fill(passable, false);
+        if (!cells[target].isActive())
+            return;
+
+        final int[] queue = new int[cells.length];
+        int head = 0, tail = 0;
+        distances[target] = 0;
+        passable[target] = true;
+        queue[tail++] = target;
+        while (head < tail) {
+            final int current = queue[head++];
+            final int x = xOf(current), y = yOf(current);
+            for (int d = 0; d < 4; ++d) {
+                // Cell with an edge toward the current one, in the opposite direction
+                final int previous = indexOf(x + DX[d], y + DY[d]);
+                if (previous < 0 || distances[previous] >= 0 || edges[4 * previous + ((d + 2) & 3)] != current)
+                    continue;
+                distances[previous] = distances[current] + 1;
+                // An inactive node may start a path but not be passed through
+                if (cells[previous].isActive()) {
+                    passable[previous] = true;
+                    queue[tail++] = previous;
+                }
+            }
+        }
+    }
+}
@@ -82,6 +82,16 @@ public abstract class AreaEntity extends Entity implements Interactable {
         return currentMainCellCoordinates;
     }
     
+    /**
+     * Distance from its position beyond which the entity draws nothing, in both directions and in cells,
+     * so the owner area skips drawing it while it is that far from the camera view. Read once, when registered.
+     * Infinite by default: the entity is always drawn. Can be overridden
+     * @return (float): a non-negative distance, or Float.POSITIVE_INFINITY
+     */
+    public float getDrawRadius() {
+        return Float.POSITIVE_INFINITY;
+    }
+
     /**
      * Tell if the mouse is over any of the currentCells of the entity
      * @return (boolean)
@@ -114,4 +124,22 @@ public abstract class AreaEntity extends Entity implements Interactable {
 
     @Override
     public void onEntering(List<DiscreteCoordinates> coordinates) {}
+
+    /// AreaEntity implements Restorable
+
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), ownerArea, orientation, currentMainCellCoordinates);
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.entity());
+        this.ownerArea = s.ownerArea();
+        this.orientation = s.orientation();
+        this.currentMainCellCoordinates = s.mainCell();
+    }
+
+    private record State(Object entity, Area ownerArea, Orientation orientation, DiscreteCoordinates mainCell) {}
 }
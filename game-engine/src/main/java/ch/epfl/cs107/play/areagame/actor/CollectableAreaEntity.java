@@ -47,4 +47,20 @@ public abstract class CollectableAreaEntity extends AreaEntity {
     public boolean isCollected(){
         return isCollected;
     }
+
+    /// CollectableAreaEntity implements Restorable
+
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), isCollected);
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.areaEntity());
+        isCollected = s.isCollected();
+    }
+
+    private record State(Object areaEntity, boolean isCollected) {}
 }
@@ -74,4 +74,22 @@ public abstract class DraggableAreaEntity extends AreaEntity implements Draggabl
     public void acknowledgeDrop() {
     	resetDrag();
     }
+
+    @Override
+    public Object saveState() {
+    	return new State(super.saveState(), isDragging, initialPosition, relativeMousePosition, wantsDropInteraction);
+    }
+
+    @Override
+    public void restoreState(Object state) {
+    	State s = (State) state;
+    	super.restoreState(s.areaEntity());
+    	isDragging = s.isDragging();
+    	initialPosition = s.initialPosition();
+    	relativeMousePosition = s.relativeMousePosition();
+    	wantsDropInteraction = s.wantsDropInteraction();
+    }
+
+    private record State(Object areaEntity, boolean isDragging, DiscreteCoordinates initialPosition,
+    			Vector relativeMousePosition, boolean wantsDropInteraction) {}
 }
@@ -2,6 +2,7 @@ package ch.epfl.cs107.play.areagame.actor;
 
 import ch.epfl.cs107.play.areagame.area.Area;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
+import ch.epfl.cs107.play.math.MutableVector;
 import ch.epfl.cs107.play.math.Orientation;
 import ch.epfl.cs107.play.math.Vector;
 
@@ -25,6 +26,8 @@ public abstract class MovableAreaEntity extends AreaEntity {
 
     private Vector targetPosition;
     private Vector originPosition;
+    /// Scratch position of the motion steps
+    private final MutableVector step = new MutableVector();
 
     /**
      * Default MovableAreaEntity constructor
@@ -201,7 +204,9 @@ public abstract class MovableAreaEntity extends AreaEntity {
      */
     private void increasePositionOf(int frame) {
         final DiscreteCoordinates before = getCurrentMainCellCoordinates();
-        setCurrentPosition(getPosition().add(getOrientation().toVector().mul(frame / (float) framesForCurrentMove)));
+        // Same sum as getPosition().add(direction.mul(step)), with a single vector allocated
+        step.set(getPosition()).addScaled(getOrientation().toVector(), frame / (float) framesForCurrentMove);
+        setCurrentPosition(step.toVector());
         final DiscreteCoordinates after = getCurrentMainCellCoordinates();
         if (!before.equals(after)) {
             final List<DiscreteCoordinates> enteringCells = targetCells.stream().filter(coords -> !originCells.contains(coords)).toList();
@@ -248,4 +253,32 @@ public abstract class MovableAreaEntity extends AreaEntity {
     public Vector getVelocity() {
         return getOrientation().toVector().mul(framesForCurrentMove);
     }
+
+    /// MovableAreaEntity implements Restorable
+
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), displacementOccurs, framesForCurrentMove, remainingFramesForCurrentMove,
+                cellsSwapped, originCells, targetCells, originPosition, targetPosition);
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.areaEntity());
+        displacementOccurs = s.displacementOccurs();
+        framesForCurrentMove = s.framesForCurrentMove();
+        remainingFramesForCurrentMove = s.remainingFramesForCurrentMove();
+        cellsSwapped = s.cellsSwapped();
+        originCells = s.originCells();
+        targetCells = s.targetCells();
+        originPosition = s.originPosition();
+        targetPosition = s.targetPosition();
+    }
+
+    /// Cells lists are never modified once given to a move, they are shared with the state
+    private record State(Object areaEntity, boolean displacementOccurs, int framesForCurrentMove,
+                         int remainingFramesForCurrentMove, boolean cellsSwapped,
+                         List<DiscreteCoordinates> originCells, List<DiscreteCoordinates> targetCells,
+                         Vector originPosition, Vector targetPosition) {}
 }
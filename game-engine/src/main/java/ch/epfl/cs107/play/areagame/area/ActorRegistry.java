@@ -0,0 +1,217 @@
+package ch.epfl.cs107.play.areagame.area;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import ch.epfl.cs107.play.areagame.actor.Interactor;
+import ch.epfl.cs107.play.engine.actor.Actor;
+
+/**
+ * Registry of the actors of an Area.
+ * Actors are stored into dense arrays, one for all the actors and one for the interactors,
+ * so the interaction loop only visits the interactors.
+ * Each actor remembers its slot in every array: add, remove and contains are O(1).
+ * Removal either moves the last actor into the freed slot (fast, order not kept)
+ * or leaves a hole filled at the next compaction (insertion order kept).
+ * Note: the registry must not be modified while it is iterated
+ */
+final class ActorRegistry {
+
+    /// Indices of the layers into the slots of an actor
+    private static final int ALL = 0, INTERACTORS = 1, LAYERS = 2;
+    private static final int NONE = -1;
+
+    /// Slots of each registered actor, one per layer
+    private final Map<Actor, Slots> slots;
+    private final Layer[] layers;
+    private final boolean stableOrder;
+
+    /**
+     * Default ActorRegistry Constructor
+     * @param stableOrder (boolean): if true the iteration order is the insertion order, otherwise removal may reorder actors
+     */
+    ActorRegistry(boolean stableOrder) {
+        this.stableOrder = stableOrder;
+        slots = new IdentityHashMap<>();
+        layers = new Layer[LAYERS];
+        for (int i = 0; i < LAYERS; ++i)
+            layers[i] = new Layer(i);
+    }
+
+    /**
+     * Add an actor to the registry and to the layers of its kind
+     * @param actor (Actor): not null
+     * @return (boolean): true if the actor was not already registered
+     */
+    boolean add(Actor actor) {
+        if (actor == null)
+            throw new NullPointerException();
+        if (slots.containsKey(actor))
+            return false;
+        final Slots s = new Slots();
+        slots.put(actor, s);
+        layers[ALL].add(actor, s);
+        if (actor instanceof Interactor)
+            layers[INTERACTORS].add(actor, s);
+        return true;
+    }
+
+    /**
+     * Remove an actor from the registry and from all its layers
+     * @param actor (Actor): may be null
+     * @return (boolean): true if the actor was registered
+     */
+    boolean remove(Actor actor) {
+        final Slots s = slots.remove(actor);
+        if (s == null)
+            return false;
+        for (Layer layer : layers)
+            layer.remove(s);
+        return true;
+    }
+
+    /**
+     * @param actor (Actor): may be null
+     * @return (boolean): true if the actor is registered
+     */
+    boolean contains(Actor actor) {
+        return slots.containsKey(actor);
+    }
+
+    /**
+     * Remove all the actors, keeping the arrays for the next ones
+     */
+    void clear() {
+        slots.clear();
+        for (Layer layer : layers)
+            layer.clear();
+    }
+
+    /**
+     * Fill the holes left by removals, keeping the insertion order. Does nothing if the order is not stable
+     */
+    void compact() {
+        for (Layer layer : layers)
+            layer.compact();
+    }
+
+    /// Dense access. Slots below the count may be null between a stable removal and the next compaction
+
+    /** @return (int): number of slots of the actors layer */
+    int actorSlots() {
+        return layers[ALL].size;
+    }
+
+    /**
+     * @param slot (int): between 0 and actorSlots()
+     * @return (Actor): the actor at this slot, may be null
+     */
+    Actor actorAt(int slot) {
+        return (Actor) layers[ALL].items[slot];
+    }
+
+    /** @return (int): number of slots of the interactors layer */
+    int interactorSlots() {
+        return layers[INTERACTORS].size;
+    }
+
+    /**
+     * @param slot (int): between 0 and interactorSlots()
+     * @return (Interactor): the interactor at this slot, may be null
+     */
+    Interactor interactorAt(int slot) {
+        return (Interactor) layers[INTERACTORS].items[slot];
+    }
+
+    /** @return (int): number of registered actors */
+    int size() {
+        return slots.size();
+    }
+
+    /**
+     * Slot of an actor into each layer, NONE if the actor is not in the layer
+     */
+    private static final class Slots {
+        private final int[] indices = {NONE, NONE};
+    }
+
+    /**
+     * Dense array of actors, with back references to the slots of each actor to update them when actors move
+     */
+    private final class Layer {
+
+        private final int id;
+        private Object[] items;
+        private Slots[] owners;
+        /// Number of used slots, holes included
+        private int size;
+        private int holes;
+
+        private Layer(int id) {
+            this.id = id;
+            items = new Object[16];
+            owners = new Slots[16];
+        }
+
+        private void add(Object item, Slots s) {
+            if (size == items.length) {
+                if (holes > 0) {
+                    compact();
+                } else {
+                    items = Arrays.copyOf(items, size * 2);
+                    owners = Arrays.copyOf(owners, size * 2);
+                }
+            }
+            items[size] = item;
+            owners[size] = s;
+            s.indices[id] = size++;
+        }
+
+        private void remove(Slots s) {
+            final int slot = s.indices[id];
+            if (slot == NONE)
+                return;
+            s.indices[id] = NONE;
+            if (stableOrder) {
+                items[slot] = null;
+                owners[slot] = null;
+                ++holes;
+            } else {
+                // Move the last item into the freed slot
+                final int last = --size;
+                items[slot] = items[last];
+                owners[slot] = owners[last];
+                items[last] = null;
+                owners[last] = null;
+                if (slot != last)
+                    owners[slot].indices[id] = slot;
+            }
+        }
+
+        private void clear() {
+            Arrays.fill(items, 0, size, null);
+            Arrays.fill(owners, 0, size, null);
+            size = 0;
+            holes = 0;
+        }
+
+        private void compact() {
+            if (holes == 0)
+                return;
+            int target = 0;
+            for (int slot = 0; slot < size; ++slot) {
+                if (items[slot] != null) {
+                    items[target] = items[slot];
+                    owners[target] = owners[slot];
+                    owners[target].indices[id] = target;
+                    ++target;
+                }
+            }
+            Arrays.fill(items, target, size, null);
+            Arrays.fill(owners, target, size, null);
+            size = target;
+            holes = 0;
+        }
+    }
+}
@@ -5,23 +5,32 @@ import ch.epfl.cs107.play.areagame.actor.Interactor;
 import ch.epfl.cs107.play.engine.DragHelper;
 import ch.epfl.cs107.play.engine.PauseMenu;
 import ch.epfl.cs107.play.engine.Playable;
+import ch.epfl.cs107.play.engine.Restorable;
 import ch.epfl.cs107.play.engine.actor.Actor;
 import ch.epfl.cs107.play.engine.actor.Draggable;
 import ch.epfl.cs107.play.engine.actor.Graphics;
+import ch.epfl.cs107.play.io.AssetManifest;
 import ch.epfl.cs107.play.io.FileSystem;
+import ch.epfl.cs107.play.io.ResourcePath;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
+import ch.epfl.cs107.play.math.MutableVector;
 import ch.epfl.cs107.play.math.Transform;
+import ch.epfl.cs107.play.math.TransformBuilder;
 import ch.epfl.cs107.play.math.Vector;
+import ch.epfl.cs107.play.math.random.RandomGenerator;
+import ch.epfl.cs107.play.profiler.Profiler;
 import ch.epfl.cs107.play.window.Canvas;
 import ch.epfl.cs107.play.window.Keyboard;
 import ch.epfl.cs107.play.window.Mouse;
 import ch.epfl.cs107.play.window.Window;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 
 /**
@@ -29,21 +38,32 @@ import java.util.Map;
  */
 public abstract class Area implements Playable, Graphics, PauseMenu.Pausable {
 
+    /// Number of actors updated by a same task in parallel mode.
+    /// Fixed so that the partition, and then the result, does not depend on the number of cores
+    private static final int PARALLEL_UPDATE_CHUNK = 64;
+
     // Context objects
     private Window window;
     private FileSystem fileSystem;
     // Camera Parameter
     private Actor viewCandidate;
     private Vector viewCenter;
-    /// List of Actors inside the area
-    private List<Actor> actors;
+    /// Registry of the Actors inside the area, with the sublist of actors (interactors)
+    private ActorRegistry actors;
+    /// Same actors, indexed by position to only draw the ones the camera sees. Null until the behavior is set
+    private CullingGrid cullingGrid;
+    /// Scratch view transform and corner of draw
+    private final TransformBuilder viewToWorld = new TransformBuilder();
+    private final MutableVector viewCorner = new MutableVector();
     /// List of Actors we want to register/unregistered from the area for next update iteration
     private List<Actor> registeredActors;
     private List<Actor> unregisteredActors;
-    /// Sublist of actor (interactors) inside the area
-    private List<Interactor> interactors;
     private Map<Interactable, List<DiscreteCoordinates>> interactablesToEnter;
     private Map<Interactable, List<DiscreteCoordinates>> interactablesToLeave;
+    /// Deferred operations of the update task running on the current thread, unset outside of a parallel update
+    private final ThreadLocal<DeferredOperations> taskOperations = new ThreadLocal<>();
+    /// Deferred operations of each task of the parallel update, reused from one update to the next
+    private final List<DeferredOperations> chunkOperations = new ArrayList<>();
     /// The behavior Map
     private AreaBehavior areaBehavior;
     /// pause mechanics and menu to display. May be null
@@ -65,6 +85,13 @@ public abstract class Area implements Playable, Graphics, PauseMenu.Pausable {
      */
     protected final void setBehavior(AreaBehavior ab) {
         this.areaBehavior = ab;
+        // The grid covers the cells of the behavior
+        cullingGrid = new CullingGrid(ab.getWidth(), ab.getHeight());
+        for (int i = 0; i < actors.actorSlots(); ++i) {
+            Actor actor = actors.actorAt(i);
+            if (actor != null)
+                cullingGrid.add(actor);
+        }
     }
 
     /**
@@ -87,12 +114,15 @@ public abstract class Area implements Playable, Graphics, PauseMenu.Pausable {
      */
     private void addActor(Actor a, boolean safeMode) {
 
+        if (!safeMode && actors.contains(a)) {
+            System.out.println("Actor " + a + " is already in the area, ignore it");
+            return;
+        }
+
         boolean errorHappen = false;
 
-        if (a instanceof Interactor)
-            errorHappen = !interactors.add((Interactor) a);
         if (a instanceof Interactable)
-            errorHappen = errorHappen || !enterAreaCells(((Interactable) a), ((Interactable) a).getCurrentCells());
+            errorHappen = !enterAreaCells(((Interactable) a), ((Interactable) a).getCurrentCells());
         errorHappen = errorHappen || !actors.add(a);
 
         if (errorHappen && !safeMode) {
@@ -100,6 +130,7 @@ public abstract class Area implements Playable, Graphics, PauseMenu.Pausable {
             // Call it in safe mode to avoid recursive calls
             removeActor(a, true);
         }
+        updateCullingGrid(a);
     }
 
     /**
@@ -113,10 +144,8 @@ public abstract class Area implements Playable, Graphics, PauseMenu.Pausable {
     private void removeActor(Actor a, boolean safeMode) {
         boolean errorHappen = false;
 
-        if (a instanceof Interactor)
-            errorHappen = !interactors.remove((Interactor) a);
         if (a instanceof Interactable)
-            errorHappen = errorHappen || !leaveAreaCells(((Interactable) a), ((Interactable) a).getCurrentCells());
+            errorHappen = !leaveAreaCells(((Interactable) a), ((Interactable) a).getCurrentCells());
         errorHappen = errorHappen || !actors.remove(a);
 
         if (errorHappen && !safeMode) {
@@ -124,6 +153,20 @@ public abstract class Area implements Playable, Graphics, PauseMenu.Pausable {
             // Call it in safe mode to avoid recursive calls
             addActor(a, true);
         }
+        updateCullingGrid(a);
+    }
+
+    /**
+     * Add the actor to the culling grid if it is registered, remove it otherwise
+     * @param a (Actor): the added or removed actor, not null
+     */
+    private void updateCullingGrid(Actor a) {
+        if (cullingGrid == null)
+            return;
+        if (actors.contains(a))
+            cullingGrid.add(a);
+        else
+            cullingGrid.remove(a);
     }
 
     /**
@@ -134,6 +177,9 @@ public abstract class Area implements Playable, Graphics, PauseMenu.Pausable {
      */
     public final boolean registerActor(Actor a) {
         // if actor can be registered: It is this Area decision, implement a strategy if needed
+        DeferredOperations operations = taskOperations.get();
+        if (operations != null)
+            return operations.add(DeferredOperations.REGISTER, a, null);
         return registeredActors.add(a);
     }
 
@@ -145,6 +191,9 @@ public abstract class Area implements Playable, Graphics, PauseMenu.Pausable {
      */
     public final boolean unregisterActor(Actor a) {
         //  if actor can be unregistered: It is this Area decision, implement a strategy if needed
+        DeferredOperations operations = taskOperations.get();
+        if (operations != null)
+            return operations.add(DeferredOperations.UNREGISTER, a, null);
         return unregisteredActors.add(a);
     }
 
@@ -226,14 +275,22 @@ public abstract class Area implements Playable, Graphics, PauseMenu.Pausable {
     public final boolean leaveAreaCells(Interactable entity, List<DiscreteCoordinates> coordinates) {
         // Until now, the entity is put in a map waiting the update end to avoid concurrent exception during interaction
         if (areaBehavior.canLeave(entity, coordinates)) {
-            List<DiscreteCoordinates> orDefault = interactablesToLeave.getOrDefault(entity, new ArrayList<>());
-            orDefault.addAll(coordinates);
-            interactablesToLeave.put(entity, orDefault);
+            DeferredOperations operations = taskOperations.get();
+            if (operations != null)
+                operations.add(DeferredOperations.LEAVE, entity, coordinates);
+            else
+                deferLeave(entity, coordinates);
             return true;
         }
         return false;
     }
 
+    private void deferLeave(Interactable entity, List<DiscreteCoordinates> coordinates) {
+        List<DiscreteCoordinates> orDefault = interactablesToLeave.getOrDefault(entity, new ArrayList<>());
+        orDefault.addAll(coordinates);
+        interactablesToLeave.put(entity, orDefault);
+    }
+
     /**
      * If possible make the given interactable entity enter the given area cells
      *
@@ -244,7 +301,11 @@ public abstract class Area implements Playable, Graphics, PauseMenu.Pausable {
     public final boolean enterAreaCells(Interactable entity, List<DiscreteCoordinates> coordinates) {
         // Until now, the entity is put in a map waiting the update end to avoid concurrent exception during interaction
         if (areaBehavior.canEnter(entity, coordinates)) {
-            interactablesToEnter.put(entity, coordinates);
+            DeferredOperations operations = taskOperations.get();
+            if (operations != null)
+                operations.add(DeferredOperations.ENTER, entity, coordinates);
+            else
+                interactablesToEnter.put(entity, coordinates);
             return true;
         }
         return false;
@@ -279,12 +340,13 @@ public abstract class Area implements Playable, Graphics, PauseMenu.Pausable {
     public boolean begin(Window window, FileSystem fileSystem) {
         this.window = window;
         this.fileSystem = fileSystem;
-        actors = new LinkedList<>();
-        interactors = new LinkedList<>();
-        registeredActors = new LinkedList<>();
-        unregisteredActors = new LinkedList<>();
-        interactablesToEnter = new HashMap<>();
-        interactablesToLeave = new HashMap<>();
+        actors = new ActorRegistry(keepsActorOrder());
+        cullingGrid = null;
+        registeredActors = new ArrayList<>();
+        unregisteredActors = new ArrayList<>();
+        // Linked maps: cells are entered and left in request order, so runs are reproducible
+        interactablesToEnter = new LinkedHashMap<>();
+        interactablesToLeave = new LinkedHashMap<>();
         viewCenter = Vector.ZERO;
         paused = false;
         started = true;
@@ -310,9 +372,15 @@ public abstract class Area implements Playable, Graphics, PauseMenu.Pausable {
         if (paused && menu != null) {
             menu.update(deltaTime);
         } else {
-            // Render actors
-            for (Actor actor : actors) {
-                actor.update(deltaTime);
+            // Update actors
+            if (updatesActorsInParallel() && actors.actorSlots() > PARALLEL_UPDATE_CHUNK) {
+                updateActorsInParallel(deltaTime);
+            } else {
+                for (int i = 0; i < actors.actorSlots(); ++i) {
+                    Actor actor = actors.actorAt(i);
+                    if (actor != null)
+                        actor.update(deltaTime);
+                }
             }
 
             Draggable currentDraggedElement = DragHelper.getCurrentDraggedElement();
@@ -321,7 +389,14 @@ public abstract class Area implements Playable, Graphics, PauseMenu.Pausable {
             }
 
             // Realize interaction between interactors and their cells contents
-            for (Interactor interactor : interactors) {
+            final Profiler profiler = Profiler.getInstance();
+            final long interactionStart = profiler.start();
+            int interactors = 0;
+            for (int i = 0; i < actors.interactorSlots(); ++i) {
+                Interactor interactor = actors.interactorAt(i);
+                if (interactor == null)
+                    continue;
+                ++interactors;
                 if (interactor.wantsCellInteraction()) {
                     areaBehavior.cellInteractionOf(interactor);
                 }
@@ -329,24 +404,205 @@ public abstract class Area implements Playable, Graphics, PauseMenu.Pausable {
                     areaBehavior.viewInteractionOf(interactor);
                 }
             }
+            profiler.stop(Profiler.Section.INTERACTION, interactionStart);
+            profiler.count(Profiler.Counter.ACTORS, actors.size());
+            profiler.count(Profiler.Counter.INTERACTORS, interactors);
             // Update camera location
             updateCamera();
         }
     }
 
 
+    /**
+     * Update the actors by chunks of consecutive slots, spread over the common ForkJoin pool.
+     * Each chunk buffers its deferred operations (registration, cells to enter or leave) and draws its random
+     * numbers from its own generator, seeded from the shared one. Buffers are then committed in chunk order,
+     * i.e. in the order a sequential update would have produced them
+     * @param deltaTime (float): elapsed time since last update, in seconds, non-negative
+     */
+    private void updateActorsInParallel(float deltaTime) {
+        final int slots = actors.actorSlots();
+        final int chunks = (slots + PARALLEL_UPDATE_CHUNK - 1) / PARALLEL_UPDATE_CHUNK;
+        final long seed = RandomGenerator.getInstance().nextLong();
+
+        List<ActorUpdate> tasks = new ArrayList<>(chunks);
+        for (int chunk = 0; chunk < chunks; ++chunk) {
+            if (chunk == chunkOperations.size())
+                chunkOperations.add(new DeferredOperations());
+            int from = chunk * PARALLEL_UPDATE_CHUNK;
+            tasks.add(new ActorUpdate(from, Math.min(from + PARALLEL_UPDATE_CHUNK, slots), deltaTime,
+                    chunkOperations.get(chunk), mix(seed + chunk)));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        // Commit the deferred operations in a deterministic order
+        for (int chunk = 0; chunk < chunks; ++chunk) {
+            DeferredOperations operations = chunkOperations.get(chunk);
+            for (int i = 0; i < operations.size(); ++i) {
+                Object target = operations.targets.get(i);
+                switch (operations.kinds.get(i)) {
+                    case DeferredOperations.REGISTER -> registeredActors.add((Actor) target);
+                    case DeferredOperations.UNREGISTER -> unregisteredActors.add((Actor) target);
+                    case DeferredOperations.ENTER ->
+                            interactablesToEnter.put((Interactable) target, operations.coordinates.get(i));
+                    case DeferredOperations.LEAVE -> deferLeave((Interactable) target, operations.coordinates.get(i));
+                }
+            }
+            operations.clear();
+        }
+    }
+
+    /**
+     * Save the state of this area, to restore it in place later, e.g. to reset it much faster than begin does.
+     * The pending registrations are done first, then the actors are saved with their state (if Restorable),
+     * with the content of the cells, the camera, the pause flag and the state of the shared random generator.
+     * Actors which are not Restorable keep their current state when the snapshot is restored,
+     * and the state held outside of the area (e.g. by the game) is not part of the snapshot
+     * @return (AreaSnapshot): a new snapshot of this area, not null
+     */
+    public AreaSnapshot snapshot() {
+        purgeRegistration();
+        final Actor[] saved = new Actor[actors.size()];
+        final Object[] states = new Object[saved.length];
+        int count = 0;
+        for (int i = 0; i < actors.actorSlots(); ++i) {
+            Actor actor = actors.actorAt(i);
+            if (actor == null)
+                continue;
+            saved[count] = actor;
+            if (actor instanceof Restorable restorable)
+                states[count] = restorable.saveState();
+            ++count;
+        }
+        return new AreaSnapshot(this, areaBehavior, saved, states, areaBehavior.saveCellContents(),
+                viewCandidate, viewCenter, paused, RandomGenerator.getState());
+    }
+
+    /**
+     * Restore this area to a snapshot of it, in place: the actors registered since are dropped,
+     * the ones unregistered since come back, and all get their saved state again. Pending registrations are dropped.
+     * No callback (onEntering, onLeaving) is called
+     * @param snapshot (AreaSnapshot): a snapshot of this area taken since its last begin, not null
+     */
+    public void restore(AreaSnapshot snapshot) {
+        if (snapshot == null)
+            throw new NullPointerException();
+        if (snapshot.area != this)
+            throw new IllegalArgumentException("Snapshot of another area");
+        if (snapshot.behavior != areaBehavior)
+            throw new IllegalStateException("Snapshot taken before the last begin of the area");
+
+        registeredActors.clear();
+        unregisteredActors.clear();
+        interactablesToEnter.clear();
+        interactablesToLeave.clear();
+        actors.clear();
+        if (cullingGrid != null)
+            cullingGrid.clear();
+        for (int i = 0; i < snapshot.actors.length; ++i) {
+            Actor actor = snapshot.actors[i];
+            actors.add(actor);
+            if (actor instanceof Restorable restorable)
+                restorable.restoreState(snapshot.states[i]);
+            if (cullingGrid != null)
+                cullingGrid.add(actor);
+        }
+        areaBehavior.restoreCellContents(snapshot.cells);
+        viewCandidate = snapshot.viewCandidate;
+        viewCenter = snapshot.viewCenter;
+        paused = snapshot.paused;
+        RandomGenerator.setState(snapshot.randomState);
+    }
+
+    /**
+     * Summary of the state of this area: its title, then the kind and position of each actor, in update order.
+     * Compared between a run and its replay to detect divergences
+     * @return (long): the hash of the state
+     */
+    public long getStateHash() {
+        long hash = getTitle().hashCode();
+        for (int i = 0; i < actors.actorSlots(); ++i) {
+            Actor actor = actors.actorAt(i);
+            if (actor == null)
+                continue;
+            final Vector position = actor.getPosition();
+            hash = hash * 31 + actor.getClass().getName().hashCode();
+            if (position != null) {
+                hash = hash * 31 + Float.floatToIntBits(position.x);
+                hash = hash * 31 + Float.floatToIntBits(position.y);
+            }
+        }
+        return mix(hash * 31 + (paused ? 1 : 0));
+    }
+
+    /// Spread consecutive seeds over all the bits (finalizer of the MurmurHash3 64 bits hash)
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
     @Override
     public void draw(Canvas canvas) {
         if (paused && menu != null) {
             return;
         }
-        for (Actor actor : actors) {
-            actor.bip(window);
-            actor.draw(window);
+        if (cullingGrid == null) {
+            for (int i = 0; i < actors.actorSlots(); ++i) {
+                Actor actor = actors.actorAt(i);
+                if (actor != null) {
+                    actor.bip(window);
+                    actor.draw(window);
+                }
+            }
+            return;
+        }
+        // Sounds do not depend on the camera: all the actors bip
+        for (int i = 0; i < actors.actorSlots(); ++i) {
+            Actor actor = actors.actorAt(i);
+            if (actor != null)
+                actor.bip(window);
+        }
+        // Only the actors the camera sees are drawn, in registration order
+        cullingGrid.refresh();
+        final int visible = collectVisibleActors();
+        for (int i = 0; i < visible; ++i)
+            cullingGrid.visibleAt(i).draw(window);
+        Profiler.getInstance().count(Profiler.Counter.DRAWN_ACTORS, visible);
+    }
+
+    /**
+     * List the actors which may draw into the part of the world seen by the window:
+     * the bounding box of the corners of the view, through the current view transform
+     * @return (int): number of visible actors, read from the culling grid
+     */
+    private int collectVisibleActors() {
+        // Half extents of the view, as the window computes them
+        final int width = window.getWidth();
+        final int height = window.getHeight();
+        float halfX = 1.0f;
+        float halfY = 1.0f;
+        if (width > 0 && height > 0) {
+            if (width > height)
+                halfY = (float) height / (float) width;
+            else
+                halfX = (float) width / (float) height;
+        }
+        window.transformInto(viewToWorld);
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        for (int corner = 0; corner < 4; ++corner) {
+            viewToWorld.onPoint((corner & 1) == 0 ? -halfX : halfX, (corner & 2) == 0 ? -halfY : halfY, viewCorner);
+            minX = Math.min(minX, viewCorner.x);
+            minY = Math.min(minY, viewCorner.y);
+            maxX = Math.max(maxX, viewCorner.x);
+            maxY = Math.max(maxY, viewCorner.y);
         }
+        return cullingGrid.collectVisible(minX, minY, maxX, maxY);
     }
 
     public final void purgeRegistration() {
+        final long start = Profiler.getInstance().start();
         // - unregister actors
         for (Actor actor : unregisteredActors) {
             removeActor(actor, false);
@@ -359,6 +615,7 @@ public abstract class Area implements Playable, Graphics, PauseMenu.Pausable {
             }
         }
         unregisteredActors.clear();
+        actors.compact();
 
         // - leave old cells
         for (Map.Entry<Interactable, List<DiscreteCoordinates>> entry : interactablesToLeave.entrySet()) {
@@ -378,6 +635,7 @@ public abstract class Area implements Playable, Graphics, PauseMenu.Pausable {
             entry.getKey().onEntering(entry.getValue());
         }
         interactablesToEnter.clear();
+        Profiler.getInstance().stop(Profiler.Section.PURGE, start);
     }
     
     private void updateCamera() {
@@ -474,4 +732,106 @@ public abstract class Area implements Playable, Graphics, PauseMenu.Pausable {
     }
 
     public boolean isViewCentered() { return false; }
+
+    /**
+     * Indicate if the actors are updated and drawn in their registration order.
+     * If false, unregistering an actor may reorder the others, which is slightly cheaper. Can be overridden
+     * @return (boolean): true by default
+     */
+    protected boolean keepsActorOrder() {
+        return true;
+    }
+
+    /**
+     * Indicate if the actors are updated in parallel when the area holds more than one chunk of them.
+     * Only opt in if the update of each actor mutates nothing but the actor itself and goes through
+     * registerActor, unregisterActor, enterAreaCells and leaveAreaCells of this area for world changes.
+     * The cells are only modified when the registration is purged, so the queries which only read them are safe:
+     * canEnterAreaCells, canLeaveAreaCells, enterAreaCells and leaveAreaCells (which defer the change),
+     * and from the cells, containsEntityOfType and the iteration of their entities, and so their canEnter and canLeave
+     * as long as these only read the cells.
+     * Runs are reproducible from a random seed, but the random numbers drawn differ from the sequential mode.
+     * Can be overridden
+     * @return (boolean): false by default
+     */
+    protected boolean updatesActorsInParallel() {
+        return false;
+    }
+
+    /**
+     * List the assets this area needs, so they can be decoded before it begins.
+     * Holds its behavior map and background by default. Can be overridden to add foregrounds, sprites and sounds
+     * @return (AssetManifest): a new manifest of the assets of this area, not null
+     */
+    public AssetManifest getAssetManifest() {
+        return new AssetManifest()
+                .addImage(ResourcePath.getBehavior(getTitle()))
+                .addImage(ResourcePath.getBackground(getTitle()));
+    }
+
+    /**
+     * Operations requested by the actors of a parallel update task, in request order
+     */
+    private static final class DeferredOperations {
+        private static final int REGISTER = 0, UNREGISTER = 1, ENTER = 2, LEAVE = 3;
+
+        private final List<Integer> kinds = new ArrayList<>();
+        private final List<Object> targets = new ArrayList<>();
+        private final List<List<DiscreteCoordinates>> coordinates = new ArrayList<>();
+        /// Random generator of the task, seeded again before each update
+        private final Random random = new Random();
+
+        private boolean add(int kind, Object target, List<DiscreteCoordinates> cells) {
+            kinds.add(kind);
+            targets.add(target);
+            coordinates.add(cells);
+            return true;
+        }
+
+        private int size() {
+            return kinds.size();
+        }
+
+        private void clear() {
+            kinds.clear();
+            targets.clear();
+            coordinates.clear();
+        }
+    }
+
+    /**
+     * Update of the actors of a chunk of slots, on a worker thread
+     */
+    @SuppressWarnings("serial") // Never serialized
+    private final class ActorUpdate extends RecursiveAction {
+        private final int from, to;
+        private final float deltaTime;
+        private final DeferredOperations operations;
+        private final long seed;
+
+        private ActorUpdate(int from, int to, float deltaTime, DeferredOperations operations, long seed) {
+            this.from = from;
+            this.to = to;
+            this.deltaTime = deltaTime;
+            this.operations = operations;
+            this.seed = seed;
+        }
+
+        @Override
+        protected void compute() {
+            taskOperations.set(operations);
+            operations.random.setSeed(seed);
+            RandomGenerator.bindToCurrentThread(operations.random);
+            try {
+                for (int i = from; i < to; ++i) {
+                    Actor actor = actors.actorAt(i);
+                    if (actor != null)
+                        actor.update(deltaTime);
+                }
+            } finally {
+                RandomGenerator.bindToCurrentThread(null);
+                taskOperations.remove();
+            }
+        }
+    }
 }
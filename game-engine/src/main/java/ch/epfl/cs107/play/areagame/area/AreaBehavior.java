@@ -9,9 +9,7 @@ import ch.epfl.cs107.play.engine.actor.Draggable;
 import ch.epfl.cs107.play.engine.actor.Droppable;
 import ch.epfl.cs107.play.areagame.actor.Interactable;
 import ch.epfl.cs107.play.areagame.actor.Interactor;
-import ch.epfl.cs107.play.io.ResourcePath;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
-import ch.epfl.cs107.play.window.Image;
 import ch.epfl.cs107.play.window.Window;
 
 
@@ -22,11 +20,13 @@ import ch.epfl.cs107.play.window.Window;
 
 public abstract class AreaBehavior implements Interactable.Listener, Interactor.Listener{
 
-    /// The behavior is an Image of size height x width
-    private final Image behaviorMap;
+    /// The behavior is an Image of size height x width, compiled into a grid of color indices
+    private final BehaviorMap behaviorMap;
     private final int width, height;
     /// We will convert the image into an array of cells
     private final Cell[][] cells;
+    /// Shared occupancy index of the cells content. May be null: each cell has its own HashSet then
+    private final CellOccupancy occupancy;
 
     /**
      * Default AreaBehavior Constructor
@@ -34,13 +34,24 @@ public abstract class AreaBehavior implements Interactable.Listener, Interactor.
      * @param name (String): name of the behavior image, not null
      */
     public AreaBehavior(Window window, String name){
-        // Load the image
-        //System.out.println(ResourcePath.getBehavior(name));
-        behaviorMap = window.getImage(ResourcePath.getBehavior(name), null, false);
+        this(window, name, false);
+    }
+
+    /**
+     * AreaBehavior Constructor choosing the storage of the cells content
+     * @param window (Window): graphic context, not null
+     * @param name (String): name of the behavior image, not null
+     * @param indexedOccupancy (boolean): if true, the content of all the cells is stored into a single
+     *                         flat occupancy index instead of a HashSet per cell. Preferable for large maps
+     */
+    public AreaBehavior(Window window, String name, boolean indexedOccupancy){
+        // Load the compiled image, decoded only the first time
+        behaviorMap = BehaviorMap.get(window, name);
         // Get the corresponding dimension and init the array
         height = behaviorMap.getHeight();
         width = behaviorMap.getWidth();
         cells = new Cell[width][height];
+        occupancy = indexedOccupancy ? new CellOccupancy(width, height) : null;
     }
 
     public void dropInteractionOf(Draggable draggable, DiscreteCoordinates mouseCoordinates) {
@@ -77,7 +88,16 @@ public abstract class AreaBehavior implements Interactable.Listener, Interactor.
     	return cells[x][y];
     }
     protected int getRGB(int r, int c) {
-    	return behaviorMap.getRGB(r, c);
+    	return behaviorMap.getColor(c, height - 1 - r);
+    }
+
+    /**
+     * Give the compiled behavior image: mapping its few colors to cell types once,
+     * then reading the color index of each cell, avoids matching the color of each cell
+     * @return (BehaviorMap): compiled behavior image, not null
+     */
+    protected BehaviorMap getBehaviorMap() {
+        return behaviorMap;
     }
     
     protected int getHeight() {
@@ -89,6 +109,43 @@ public abstract class AreaBehavior implements Interactable.Listener, Interactor.
     }
     
 
+    /**
+     * Copy the content of all the cells, each one in its iteration order
+     * @return (Interactable[]): content of each cell, cell (x, y) at index x * height + y, null if empty
+     */
+    Interactable[][] saveCellContents() {
+        final Interactable[][] contents = new Interactable[width * height][];
+        for (int x = 0; x < width; ++x) {
+            for (int y = 0; y < height; ++y) {
+                final Set<Interactable> entities = cells[x][y].entities;
+                if (!entities.isEmpty())
+                    contents[x * height + y] = entities.toArray(new Interactable[0]);
+            }
+        }
+        return contents;
+    }
+
+    /**
+     * Replace the content of all the cells by a copy given by saveCellContents, without entering or leaving callbacks.
+     * Each cell is filled again so it is iterated in its saved order
+     * @param contents (Interactable[][]): content of each cell, not null
+     */
+    void restoreCellContents(Interactable[][] contents) {
+        for (int x = 0; x < width; ++x) {
+            for (int y = 0; y < height; ++y) {
+                final Interactable[] content = contents[x * height + y];
+                if (occupancy != null) {
+                    occupancy.set(x, y, content);
+                } else {
+                    final Set<Interactable> entities = cells[x][y].entities;
+                    entities.clear();
+                    if (content != null)
+                        Collections.addAll(entities, content);
+                }
+            }
+        }
+    }
+
     /// AreaBehavior implements Interactable.Listener
 
     @Override
@@ -136,7 +193,7 @@ public abstract class AreaBehavior implements Interactable.Listener, Interactor.
      */
     public abstract class Cell implements Interactable{
 
-        /// Content of the cell as a set of Interactable
+        /// Content of the cell as a set of Interactable (a view on the occupancy index if the behavior uses one)
         protected Set<Interactable> entities;
         protected DiscreteCoordinates coordinates;
 
@@ -147,10 +204,26 @@ public abstract class AreaBehavior implements Interactable.Listener, Interactor.
          * @param y (int): y-coordinate of this cell
          */
         protected Cell(int x, int y){
-            entities = new HashSet<>();
+            entities = (occupancy != null) ? occupancy.cellView(x, y) : new HashSet<>();
             coordinates = new DiscreteCoordinates(x, y);
         }
 
+        /**
+         * Indicate if this cell contains an instance of the given type.
+         * With an occupancy index, answered from the cell type bitmask most of the time
+         * @param type (Class): class or interface to look for, not null
+         * @return (boolean): true if at least one entity of this cell is an instance of type
+         */
+        protected boolean containsEntityOfType(Class<?> type) {
+            if (occupancy != null)
+                return occupancy.containsType(coordinates.x, coordinates.y, type);
+            for (Interactable entity : entities) {
+                if (type.isInstance(entity))
+                    return true;
+            }
+            return false;
+        }
+
         /**
          * Do the given draggableAreaEntity interacts with all Droppable sharing the same cell
          * @param draggable (Draggable), not null
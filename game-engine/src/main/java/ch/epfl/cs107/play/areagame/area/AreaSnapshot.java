@@ -0,0 +1,45 @@
+package ch.epfl.cs107.play.areagame.area;
+
+import ch.epfl.cs107.play.areagame.actor.Interactable;
+import ch.epfl.cs107.play.engine.actor.Actor;
+import ch.epfl.cs107.play.math.Vector;
+
+/**
+ * State of an Area saved by Area.snapshot, to restore it in place with Area.restore.
+ * Holds the actors themselves with the state they saved, so restoring does not build them again.
+ * A snapshot may be restored any number of times
+ */
+public final class AreaSnapshot {
+
+    /// Area and behavior the snapshot was taken from, a snapshot does not survive a new begin
+    final Area area;
+    final AreaBehavior behavior;
+    /// Registered actors in update order, and the state of each one, null if it is not Restorable
+    final Actor[] actors;
+    final Object[] states;
+    /// Content of each cell, see AreaBehavior.saveCellContents
+    final Interactable[][] cells;
+    final Actor viewCandidate;
+    final Vector viewCenter;
+    final boolean paused;
+    /// State of the shared random generator
+    final long randomState;
+
+    AreaSnapshot(Area area, AreaBehavior behavior, Actor[] actors, Object[] states, Interactable[][] cells,
+                 Actor viewCandidate, Vector viewCenter, boolean paused, long randomState) {
+        this.area = area;
+        this.behavior = behavior;
+        this.actors = actors;
+        this.states = states;
+        this.cells = cells;
+        this.viewCandidate = viewCandidate;
+        this.viewCenter = viewCenter;
+        this.paused = paused;
+        this.randomState = randomState;
+    }
+
+    /** @return (int): number of actors of the area when the snapshot was taken */
+    public int getActorCount() {
+        return actors.length;
+    }
+}
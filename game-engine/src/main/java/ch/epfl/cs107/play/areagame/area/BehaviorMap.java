@@ -0,0 +1,251 @@
+package ch.epfl.cs107.play.areagame.area;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ch.epfl.cs107.play.io.FileSystem;
+import ch.epfl.cs107.play.io.ResourcePath;
+import ch.epfl.cs107.play.window.Image;
+import ch.epfl.cs107.play.window.Window;
+
+/**
+ * Behavior image compiled into a grid of color indices: each distinct color of the image gets an index,
+ * and each cell holds the index of its color in a single byte.
+ * A behavior maps each index to a cell type once, then reads the type of each cell from an array instead of
+ * decoding and matching the color of each pixel.
+ * Maps are compiled once per name and kept in memory. If a disk cache is set, compiled maps are also
+ * stored there, named by the hash of the image file, so a later run does not decode the image at all
+ */
+public final class BehaviorMap {
+
+    /// At most one byte per cell
+    private static final int MAX_COLORS = 256;
+    private static final int MAGIC = 0x4353424D; // "CSBM"
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".bmap";
+
+    /// Compiled maps by name
+    private static final Map<String, BehaviorMap> compiled = new ConcurrentHashMap<>();
+    /// Source of the image files to hash and directory of the compiled maps, both null if no disk cache
+    private static FileSystem cacheSource;
+    private static File cacheDirectory;
+
+    private final int width, height;
+    /// Distinct colors, by index in order of first appearance
+    private final int[] colors;
+    /// Color index of cell (x, y) at index x * height + y
+    private final byte[] cells;
+
+    private BehaviorMap(int width, int height, int[] colors, byte[] cells) {
+        this.width = width;
+        this.height = height;
+        this.colors = colors;
+        this.cells = cells;
+    }
+
+    /**
+     * Give the compiled behavior map of the given name, compiling it the first time
+     * @param window (Window): graphic context used to decode the image if needed, not null
+     * @param name (String): name of the behavior image, as given to AreaBehavior, not null
+     * @return (BehaviorMap): the compiled map, shared, not null
+     */
+    public static BehaviorMap get(Window window, String name) {
+        if (window == null || name == null)
+            throw new NullPointerException();
+        BehaviorMap map = compiled.get(name);
+        if (map == null) {
+            map = load(window, name);
+            compiled.put(name, map);
+        }
+        return map;
+    }
+
+    /**
+     * Store the compiled maps on disk, so they are not compiled again by the next runs
+     * @param source (FileSystem): file system giving the behavior images, whose content is hashed, not null
+     * @param directory (File): directory of the compiled maps, created if needed, null to disable the disk cache
+     */
+    public static synchronized void setDiskCache(FileSystem source, File directory) {
+        if (directory != null && source == null)
+            throw new NullPointerException();
+        cacheSource = (directory != null) ? source : null;
+        cacheDirectory = directory;
+    }
+
+    /** @return (int): width of the map, in cells */
+    public int getWidth() {
+        return width;
+    }
+
+    /** @return (int): height of the map, in cells */
+    public int getHeight() {
+        return height;
+    }
+
+    /** @return (int): number of distinct colors of the map, at most 256 */
+    public int getColorCount() {
+        return colors.length;
+    }
+
+    /**
+     * @param index (int): index of a color, between 0 and getColorCount excluded
+     * @return (int): ARGB color of the given index, as Image.getRGB gives it
+     */
+    public int getColor(int index) {
+        return colors[index];
+    }
+
+    /**
+     * @param x (int): x-coordinate of the cell, between 0 and getWidth excluded
+     * @param y (int): y-coordinate of the cell, between 0 and getHeight excluded (the image is flipped vertically)
+     * @return (int): index of the color of the cell
+     */
+    public int getColorIndex(int x, int y) {
+        return cells[x * height + y] & 0xFF;
+    }
+
+    /**
+     * @param x (int): x-coordinate of the cell, between 0 and getWidth excluded
+     * @param y (int): y-coordinate of the cell, between 0 and getHeight excluded
+     * @return (int): ARGB color of the cell
+     */
+    public int getColor(int x, int y) {
+        return colors[cells[x * height + y] & 0xFF];
+    }
+
+    /// Load a map from the disk cache if any, compile it from its image otherwise
+    private static BehaviorMap load(Window window, String name) {
+        final FileSystem source;
+        final File directory;
+        synchronized (BehaviorMap.class) {
+            source = cacheSource;
+            directory = cacheDirectory;
+        }
+        if (directory == null)
+            return compile(window.getImage(ResourcePath.getBehavior(name), null, false), name);
+
+        File file = null;
+        try (InputStream input = source.read(ResourcePath.getBehavior(name))) {
+            file = new File(directory, hash(input) + EXTENSION);
+            if (file.isFile())
+                return read(file);
+        } catch (IOException e) {
+            System.out.println("ERROR: An error happened while reading compiled behavior map " + name);
+            e.printStackTrace();
+        }
+        final BehaviorMap map = compile(window.getImage(ResourcePath.getBehavior(name), null, false), name);
+        if (file != null) {
+            try {
+                map.write(file);
+            } catch (IOException e) {
+                System.out.println("ERROR: An error happened while writing compiled behavior map " + name);
+                e.printStackTrace();
+            }
+        }
+        return map;
+    }
+
+    /// Compile an image: row r (top down), column c of the image is cell (c, height - 1 - r)
+    private static BehaviorMap compile(Image image, String name) {
+        final int width = image.getWidth(), height = image.getHeight();
+        final byte[] cells = new byte[width * height];
+        int[] colors = new int[8];
+        int count = 0;
+        // Neighbor pixels mostly share their color: check the last one before searching
+        int lastColor = 0, lastIndex = -1;
+        for (int x = 0; x < width; ++x) {
+            for (int y = 0; y < height; ++y) {
+                final int color = image.getRGB(height - 1 - y, x);
+                if (lastIndex < 0 || color != lastColor) {
+                    lastIndex = indexOf(colors, count, color);
+                    if (lastIndex < 0) {
+                        if (count == MAX_COLORS)
+                            throw new IllegalArgumentException("Behavior map with more than " + MAX_COLORS + " colors: " + name);
+                        if (count == colors.length)
+                            colors = Arrays.copyOf(colors, 2 * count);
+                        colors[count] = color;
+                        lastIndex = count++;
+                    }
+                    lastColor = color;
+                }
+                cells[x * height + y] = (byte) lastIndex;
+            }
+        }
+        return new BehaviorMap(width, height, Arrays.copyOf(colors, count), cells);
+    }
+
+    private static int indexOf(int[] colors, int count, int color) {
+        for (int i = 0; i < count; ++i) {
+            if (colors[i] == color)
+                return i;
+        }
+        return -1;
+    }
+
+    private static String hash(InputStream input) throws IOException {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final byte[] buffer = new byte[8 << 10];
+            for (int count; (count = input.read(buffer)) > 0; )
+                digest.update(buffer, 0, count);
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform provides SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static BehaviorMap read(File file) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION)
+                throw new IOException("Not a compiled behavior map: " + file);
+            final int width = input.readInt(), height = input.readInt(), count = input.readInt();
+            if (width < 0 || height < 0 || count < 0 || count > MAX_COLORS)
+                throw new IOException("Corrupted compiled behavior map: " + file);
+            final int[] colors = new int[count];
+            for (int i = 0; i < count; ++i)
+                colors[i] = input.readInt();
+            final byte[] cells = new byte[width * height];
+            input.readFully(cells);
+            for (byte cell : cells) {
+                if ((cell & 0xFF) >= count)
+                    throw new IOException("Corrupted compiled behavior map: " + file);
+            }
+            return new BehaviorMap(width, height, colors, cells);
+        }
+    }
+
+    private void write(File file) throws IOException {
+        file.getParentFile().mkdirs();
+        // Written aside then renamed, so a concurrent run never reads a partial map
+        final File temporary = new File(file.getPath() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(width);
+            output.writeInt(height);
+            output.writeInt(colors.length);
+            for (int color : colors)
+                output.writeInt(color);
+            output.write(cells);
+        }
+        if (!temporary.renameTo(file)) {
+            temporary.delete();
+            if (!file.isFile())
+                throw new IOException("Cannot write " + file);
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package ch.epfl.cs107.play.areagame.area;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ch.epfl.cs107.play.areagame.actor.Interactable;
+
+/**
+ * Flat occupancy index of a grid of cells.
+ * Each Interactable stored in the grid receives an integer id. Each cell has a few inline id slots
+ * stored in a single primitive array, more ids are chained into a shared overflow pool.
+ * A bitmask per cell summarizes the classes of its content to answer "is there an X here" without scanning.
+ * An empty grid costs a few bytes per cell, where a HashSet per cell costs about a hundred.
+ * Note: not thread safe, as the HashSet it replaces. The read queries (contains, size, containsType, iteration)
+ * may however run from several threads at once while nothing modifies the index, e.g. during a parallel update
+ * of an Area, whose cells are only modified when the registration is purged
+ */
+final class CellOccupancy {
+
+    /// Number of ids stored directly into the cell, the others go into the overflow pool
+    private static final int INLINE_SLOTS = 2;
+    private static final int NONE = -1;
+    /// Bit shared by all the classes registered once the 31 first bits are used
+    private static final int SHARED_TYPE_BIT = 1 << 31;
+
+    private final int width;
+    /// Inline ids: cell c uses slots[c * INLINE_SLOTS] to slots[c * INLINE_SLOTS + INLINE_SLOTS - 1]
+    private final int[] slots;
+    /// Number of ids stored per cell (inline and overflow)
+    private final short[] counts;
+    /// First overflow node per cell, NONE if no overflow
+    private final int[] overflowHeads;
+    /// Union of the type bits of the content of each cell
+    private final int[] typeMasks;
+
+    /// Overflow pool: node n holds the id nodeIds[n] and the next node of the chain nodeNext[n]
+    private int[] nodeIds;
+    private int[] nodeNext;
+    private int nodeCount;
+    private int freeNode;
+
+    /// Registry of the ids: reverse lookup, number of cells referencing the id and type bit of the id
+    private final Map<Interactable, Integer> ids;
+    private Interactable[] entities;
+    private int[] references;
+    private int[] entityTypeBits;
+    private int[] freeIds;
+    private int freeIdCount;
+    private int nextId;
+
+    /// Type bit of each concrete class seen so far, and cache of the masks of the queried types.
+    /// The bits are only added by the modifications, the cache is filled by the concurrent read queries too
+    private final Map<Class<?>, Integer> typeBits;
+    private final Map<Class<?>, Integer> typeMasksCache;
+
+    /// Incremented on each modification of a cell, to detect concurrent modifications while iterating over it
+    private final int[] modCounts;
+
+    /**
+     * Default CellOccupancy Constructor
+     * @param width (int): number of columns of the grid, positive
+     * @param height (int): number of rows of the grid, positive
+     */
+    CellOccupancy(int width, int height) {
+        this.width = width;
+        final int cells = width * height;
+        slots = new int[cells * INLINE_SLOTS];
+        counts = new short[cells];
+        modCounts = new int[cells];
+        overflowHeads = new int[cells];
+        Arrays.fill(overflowHeads, NONE);
+        typeMasks = new int[cells];
+
+        nodeIds = new int[16];
+        nodeNext = new int[16];
+        freeNode = NONE;
+
+        ids = new IdentityHashMap<>();
+        entities = new Interactable[16];
+        references = new int[16];
+        entityTypeBits = new int[16];
+        freeIds = new int[16];
+
+        typeBits = new HashMap<>();
+        typeMasksCache = new ConcurrentHashMap<>();
+    }
+
+    private int cellIndex(int x, int y) {
+        return y * width + x;
+    }
+
+    /**
+     * Add the given entity into the given cell
+     * @param x (int): x-coordinate of the cell
+     * @param y (int): y-coordinate of the cell
+     * @param entity (Interactable), not null
+     * @return (boolean): true if the entity was not already in the cell
+     */
+    boolean add(int x, int y, Interactable entity) {
+        if (entity == null)
+            throw new NullPointerException();
+        final int cell = cellIndex(x, y);
+        final Integer known = ids.get(entity);
+        if (known != null && indexOf(cell, known) != NONE)
+            return false;
+
+        final int id = known != null ? known : acquireId(entity);
+        ++references[id];
+
+        final int count = counts[cell];
+        if (count < INLINE_SLOTS) {
+            slots[cell * INLINE_SLOTS + count] = id;
+        } else {
+            final int node = acquireNode();
+            nodeIds[node] = id;
+            nodeNext[node] = overflowHeads[cell];
+            overflowHeads[cell] = node;
+        }
+        counts[cell] = (short) (count + 1);
+        typeMasks[cell] |= entityTypeBits[id];
+        ++modCounts[cell];
+        return true;
+    }
+
+    /**
+     * Remove the given entity from the given cell
+     * @param x (int): x-coordinate of the cell
+     * @param y (int): y-coordinate of the cell
+     * @param entity (Object): may be null
+     * @return (boolean): true if the entity was in the cell
+     */
+    boolean remove(int x, int y, Object entity) {
+        final Integer id = ids.get(entity);
+        if (id == null)
+            return false;
+        final int cell = cellIndex(x, y);
+        final int count = counts[cell];
+        final int inline = Math.min(count, INLINE_SLOTS);
+
+        boolean found = false;
+        for (int i = 0; i < inline && !found; ++i) {
+            if (slots[cell * INLINE_SLOTS + i] == id) {
+                // Fill the hole with the first overflow id, or with the last inline id
+                if (overflowHeads[cell] != NONE) {
+                    final int node = overflowHeads[cell];
+                    slots[cell * INLINE_SLOTS + i] = nodeIds[node];
+                    overflowHeads[cell] = nodeNext[node];
+                    releaseNode(node);
+                } else {
+                    slots[cell * INLINE_SLOTS + i] = slots[cell * INLINE_SLOTS + inline - 1];
+                }
+                found = true;
+            }
+        }
+        for (int node = overflowHeads[cell], previous = NONE; node != NONE && !found; previous = node, node = nodeNext[node]) {
+            if (nodeIds[node] == id) {
+                if (previous == NONE)
+                    overflowHeads[cell] = nodeNext[node];
+                else
+                    nodeNext[previous] = nodeNext[node];
+                releaseNode(node);
+                found = true;
+            }
+        }
+        if (!found)
+            return false;
+
+        counts[cell] = (short) (count - 1);
+        if (--references[id] == 0)
+            releaseId(id);
+        typeMasks[cell] = computeTypeMask(cell);
+        ++modCounts[cell];
+        return true;
+    }
+
+    /**
+     * @param x (int): x-coordinate of the cell
+     * @param y (int): y-coordinate of the cell
+     * @param entity (Object): may be null
+     * @return (boolean): true if the entity is in the cell
+     */
+    boolean contains(int x, int y, Object entity) {
+        final Integer id = ids.get(entity);
+        return id != null && indexOf(cellIndex(x, y), id) != NONE;
+    }
+
+    /**
+     * @param x (int): x-coordinate of the cell
+     * @param y (int): y-coordinate of the cell
+     * @return (int): number of entities in the cell
+     */
+    int size(int x, int y) {
+        return counts[cellIndex(x, y)];
+    }
+
+    /**
+     * Indicate if the cell contains an instance of the given type, usually without scanning the cell
+     * @param x (int): x-coordinate of the cell
+     * @param y (int): y-coordinate of the cell
+     * @param type (Class): class or interface to look for, not null
+     * @return (boolean): true if at least one entity of the cell is an instance of type
+     */
+    boolean containsType(int x, int y, Class<?> type) {
+        final int cell = cellIndex(x, y);
+        final int mask = typeMaskOf(type);
+        final int matching = typeMasks[cell] & mask;
+        if (matching == 0)
+            return false;
+        if ((matching & ~SHARED_TYPE_BIT) != 0)
+            return true;
+        // Only the shared bit matches: the classes sharing it must be checked one by one
+        for (Interactable entity : cellView(x, y)) {
+            if (type.isInstance(entity))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Replace the content of the given cell, iterated afterwards in the given order
+     * @param x (int): x-coordinate of the cell
+     * @param y (int): y-coordinate of the cell
+     * @param content (Array of Interactable): new content of the cell, without duplicates, may be null if empty
+     */
+    void set(int x, int y, Interactable[] content) {
+        clear(cellIndex(x, y), x, y);
+        if (content == null)
+            return;
+        final int inline = Math.min(content.length, INLINE_SLOTS);
+        for (int i = 0; i < inline; ++i)
+            add(x, y, content[i]);
+        // Overflow nodes are chained at the head: add the last one first
+        for (int i = content.length - 1; i >= inline; --i)
+            add(x, y, content[i]);
+    }
+
+    /**
+     * Live set view of a cell content, iterated in id slot order
+     * @param x (int): x-coordinate of the cell
+     * @param y (int): y-coordinate of the cell
+     * @return (Set of Interactable): modifiable view, not null
+     */
+    Set<Interactable> cellView(int x, int y) {
+        return new CellContent(x, y);
+    }
+
+    private void clear(int cell, int x, int y) {
+        while (counts[cell] > 0)
+            remove(x, y, entities[slots[cell * INLINE_SLOTS]]);
+    }
+
+    private int indexOf(int cell, int id) {
+        final int inline = Math.min(counts[cell], INLINE_SLOTS);
+        for (int i = 0; i < inline; ++i) {
+            if (slots[cell * INLINE_SLOTS + i] == id)
+                return i;
+        }
+        int position = INLINE_SLOTS;
+        for (int node = overflowHeads[cell]; node != NONE; node = nodeNext[node], ++position) {
+            if (nodeIds[node] == id)
+                return position;
+        }
+        return NONE;
+    }
+
+    private int computeTypeMask(int cell) {
+        int mask = 0;
+        final int inline = Math.min(counts[cell], INLINE_SLOTS);
+        for (int i = 0; i < inline; ++i)
+            mask |= entityTypeBits[slots[cell * INLINE_SLOTS + i]];
+        for (int node = overflowHeads[cell]; node != NONE; node = nodeNext[node])
+            mask |= entityTypeBits[nodeIds[node]];
+        return mask;
+    }
+
+    /// Id registry
+
+    private int acquireId(Interactable entity) {
+        final int id;
+        if (freeIdCount > 0) {
+            id = freeIds[--freeIdCount];
+        } else {
+            id = nextId++;
+            if (id == entities.length) {
+                final int capacity = entities.length * 2;
+                entities = Arrays.copyOf(entities, capacity);
+                references = Arrays.copyOf(references, capacity);
+                entityTypeBits = Arrays.copyOf(entityTypeBits, capacity);
+            }
+        }
+        entities[id] = entity;
+        references[id] = 0;
+        entityTypeBits[id] = typeBitOf(entity.getClass());
+        ids.put(entity, id);
+        return id;
+    }
+
+    private void releaseId(int id) {
+        ids.remove(entities[id]);
+        entities[id] = null;
+        if (freeIdCount == freeIds.length)
+            freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+        freeIds[freeIdCount++] = id;
+    }
+
+    /// Overflow pool
+
+    private int acquireNode() {
+        if (freeNode != NONE) {
+            final int node = freeNode;
+            freeNode = nodeNext[node];
+            return node;
+        }
+        if (nodeCount == nodeIds.length) {
+            nodeIds = Arrays.copyOf(nodeIds, nodeCount * 2);
+            nodeNext = Arrays.copyOf(nodeNext, nodeCount * 2);
+        }
+        return nodeCount++;
+    }
+
+    private void releaseNode(int node) {
+        nodeNext[node] = freeNode;
+        freeNode = node;
+    }
+
+    /// Type bits
+
+    private int typeBitOf(Class<?> type) {
+        Integer bit = typeBits.get(type);
+        if (bit == null) {
+            final int index = typeBits.size();
+            bit = index < 31 ? 1 << index : SHARED_TYPE_BIT;
+            typeBits.put(type, bit);
+            // A new concrete class may change the mask of any queried type
+            typeMasksCache.clear();
+        }
+        return bit;
+    }
+
+    private int typeMaskOf(Class<?> type) {
+        Integer mask = typeMasksCache.get(type);
+        if (mask == null) {
+            int computed = 0;
+            for (Map.Entry<Class<?>, Integer> entry : typeBits.entrySet()) {
+                if (type.isAssignableFrom(entry.getKey()))
+                    computed |= entry.getValue();
+            }
+            mask = computed;
+            typeMasksCache.put(type, mask);
+        }
+        return mask;
+    }
+
+    /**
+     * Set view of the content of a single cell, backed by the index
+     */
+    private final class CellContent extends AbstractSet<Interactable> {
+
+        private final int x, y;
+
+        private CellContent(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public boolean add(Interactable entity) {
+            return CellOccupancy.this.add(x, y, entity);
+        }
+
+        @Override
+        public boolean remove(Object entity) {
+            return CellOccupancy.this.remove(x, y, entity);
+        }
+
+        @Override
+        public boolean contains(Object entity) {
+            return CellOccupancy.this.contains(x, y, entity);
+        }
+
+        @Override
+        public int size() {
+            return CellOccupancy.this.size(x, y);
+        }
+
+        @Override
+        public void clear() {
+            CellOccupancy.this.clear(cellIndex(x, y), x, y);
+        }
+
+        @Override
+        public Iterator<Interactable> iterator() {
+            return new Iterator<>() {
+                private final int cell = cellIndex(x, y);
+                private int expectedModCount = modCounts[cell];
+                private int inline = 0;
+                private int node = overflowHeads[cell];
+                /// Last returned entity, null if none or removed, and its inline slot, NONE if it is in the overflow
+                private Interactable last;
+                private int lastInline = NONE;
+
+                @Override
+                public boolean hasNext() {
+                    return inline < Math.min(counts[cell], INLINE_SLOTS) || node != NONE;
+                }
+
+                @Override
+                public Interactable next() {
+                    if (modCounts[cell] != expectedModCount)
+                        throw new ConcurrentModificationException();
+                    if (inline < Math.min(counts[cell], INLINE_SLOTS)) {
+                        lastInline = inline;
+                        last = entities[slots[cell * INLINE_SLOTS + inline++]];
+                        return last;
+                    }
+                    if (node == NONE)
+                        throw new NoSuchElementException();
+                    lastInline = NONE;
+                    last = entities[nodeIds[node]];
+                    node = nodeNext[node];
+                    return last;
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null)
+                        throw new IllegalStateException();
+                    if (modCounts[cell] != expectedModCount)
+                        throw new ConcurrentModificationException();
+                    CellOccupancy.this.remove(x, y, last);
+                    if (lastInline != NONE) {
+                        // The freed slot received the first overflow id or the last inline id, not visited yet
+                        inline = lastInline;
+                        node = overflowHeads[cell];
+                    }
+                    // An overflow node is unlinked without changing the next one
+                    last = null;
+                    expectedModCount = modCounts[cell];
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package ch.epfl.cs107.play.areagame.area;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import ch.epfl.cs107.play.areagame.actor.AreaEntity;
+import ch.epfl.cs107.play.engine.actor.Actor;
+import ch.epfl.cs107.play.math.Positionable;
+import ch.epfl.cs107.play.math.Vector;
+
+/**
+ * Coarse spatial index of the actors of an Area, to only draw the ones the camera sees.
+ * The area is split into square buckets of BUCKET_SIZE cells. Each AreaEntity with a finite draw radius is chained
+ * into the bucket of its position (clamped into the grid), the other actors are always drawn.
+ * Positions are not pushed by the entities (they may move from parallel update tasks): refresh compares the
+ * transform version of each entity with the one it was bucketed at, and only moves the entities which changed.
+ * Each actor receives a draw order when added, so the visible actors are listed in their registration order.
+ * Note: not thread safe
+ */
+final class CullingGrid {
+
+    /// Side of a bucket, in cells
+    private static final int BUCKET_SIZE = 8;
+    private static final int NONE = -1;
+    /// Bits of an id into the sort keys of the visible actors, the draw order takes the higher bits
+    private static final int ID_BITS = 24;
+
+    private final int columns, rows;
+    /// First id chained into each bucket, NONE if empty
+    private final int[] heads;
+
+    /// Registry of the ids: reverse lookup, then per id its actor, draw order, radius, bucket (NONE if always drawn),
+    /// transform version when bucketed, links of its bucket chain and index into its dense list
+    private final Map<Actor, Integer> ids;
+    private Actor[] actors;
+    private long[] orders;
+    private float[] radii;
+    private int[] buckets;
+    private long[] versions;
+    private int[] next, previous;
+    private int[] indices;
+    private int[] freeIds;
+    private int freeIdCount;
+    private int nextId;
+    private long nextOrder;
+
+    /// Dense lists of the ids of the bucketed actors and of the always drawn ones
+    private int[] tracked, always;
+    private int trackedCount, alwaysCount;
+    /// Largest draw radius of the entities added since the last clear
+    private float maxRadius;
+
+    /// Sort keys (draw order, then id) of the actors listed by the last collectVisible
+    private long[] visible;
+    private int visibleCount;
+
+    /**
+     * Default CullingGrid Constructor
+     * @param width (int): number of columns of cells of the area, positive
+     * @param height (int): number of rows of cells of the area, positive
+     */
+    CullingGrid(int width, int height) {
+        columns = Math.max(1, (width + BUCKET_SIZE - 1) / BUCKET_SIZE);
+        rows = Math.max(1, (height + BUCKET_SIZE - 1) / BUCKET_SIZE);
+        heads = new int[columns * rows];
+        Arrays.fill(heads, NONE);
+
+        ids = new IdentityHashMap<>();
+        actors = new Actor[16];
+        orders = new long[16];
+        radii = new float[16];
+        buckets = new int[16];
+        versions = new long[16];
+        next = new int[16];
+        previous = new int[16];
+        indices = new int[16];
+        freeIds = new int[16];
+        tracked = new int[16];
+        always = new int[16];
+        visible = new long[16];
+    }
+
+    /**
+     * Add an actor, after all the others in draw order
+     * @param actor (Actor): not null
+     * @return (boolean): true if the actor was not already in the grid
+     */
+    boolean add(Actor actor) {
+        if (actor == null)
+            throw new NullPointerException();
+        if (ids.containsKey(actor))
+            return false;
+        final int id = acquireId(actor);
+        orders[id] = nextOrder++;
+        final float radius = (actor instanceof AreaEntity entity) ? entity.getDrawRadius() : Float.POSITIVE_INFINITY;
+        if (radius < Float.POSITIVE_INFINITY) {
+            radii[id] = radius;
+            maxRadius = Math.max(maxRadius, radius);
+            versions[id] = actor.getTransformVersion();
+            link(id, bucketOf(actor.getPosition()));
+            tracked = ensureCapacity(tracked, trackedCount);
+            indices[id] = trackedCount;
+            tracked[trackedCount++] = id;
+        } else {
+            buckets[id] = NONE;
+            always = ensureCapacity(always, alwaysCount);
+            indices[id] = alwaysCount;
+            always[alwaysCount++] = id;
+        }
+        return true;
+    }
+
+    /**
+     * Remove an actor
+     * @param actor (Actor): may be null
+     * @return (boolean): true if the actor was in the grid
+     */
+    boolean remove(Actor actor) {
+        final Integer known = ids.remove(actor);
+        if (known == null)
+            return false;
+        final int id = known;
+        if (buckets[id] != NONE) {
+            unlink(id);
+            trackedCount = removeAt(tracked, trackedCount, indices[id]);
+        } else {
+            alwaysCount = removeAt(always, alwaysCount, indices[id]);
+        }
+        actors[id] = null;
+        freeIds = ensureCapacity(freeIds, freeIdCount);
+        freeIds[freeIdCount++] = id;
+        return true;
+    }
+
+    /**
+     * Remove all the actors, keeping the arrays for the next ones
+     */
+    void clear() {
+        ids.clear();
+        Arrays.fill(heads, NONE);
+        Arrays.fill(actors, 0, nextId, null);
+        nextId = 0;
+        freeIdCount = 0;
+        nextOrder = 0;
+        trackedCount = 0;
+        alwaysCount = 0;
+        maxRadius = 0.0f;
+        visibleCount = 0;
+    }
+
+    /**
+     * Move the entities whose transform changed since they were bucketed into the bucket of their new position
+     */
+    void refresh() {
+        for (int i = 0; i < trackedCount; ++i) {
+            final int id = tracked[i];
+            final long version = actors[id].getTransformVersion();
+            if (version == versions[id] && version != Positionable.UNTRACKED_VERSION)
+                continue;
+            versions[id] = version;
+            final int bucket = bucketOf(actors[id].getPosition());
+            if (bucket != buckets[id]) {
+                unlink(id);
+                link(id, bucket);
+            }
+        }
+    }
+
+    /**
+     * List the actors which may draw into the given rectangle: the always drawn ones, and the entities whose
+     * position is at most their draw radius away from it. Positions are the ones of the last refresh
+     * @param minX (float): left of the rectangle
+     * @param minY (float): bottom of the rectangle
+     * @param maxX (float): right of the rectangle
+     * @param maxY (float): top of the rectangle
+     * @return (int): number of listed actors, read with visibleAt
+     */
+    int collectVisible(float minX, float minY, float maxX, float maxY) {
+        visibleCount = 0;
+        for (int i = 0; i < alwaysCount; ++i)
+            addVisible(always[i]);
+
+        // Buckets of the positions up to the largest radius away from the rectangle
+        final int fromColumn = clamp(minX - maxRadius, columns), toColumn = clamp(maxX + maxRadius, columns);
+        final int fromRow = clamp(minY - maxRadius, rows), toRow = clamp(maxY + maxRadius, rows);
+        for (int row = fromRow; row <= toRow; ++row) {
+            for (int column = fromColumn; column <= toColumn; ++column) {
+                for (int id = heads[row * columns + column]; id != NONE; id = next[id]) {
+                    final Vector position = actors[id].getPosition();
+                    final float radius = radii[id];
+                    if (position.x + radius >= minX && position.x - radius <= maxX
+                            && position.y + radius >= minY && position.y - radius <= maxY)
+                        addVisible(id);
+                }
+            }
+        }
+        Arrays.sort(visible, 0, visibleCount);
+        return visibleCount;
+    }
+
+    /**
+     * @param index (int): between 0 and the count returned by the last collectVisible
+     * @return (Actor): the visible actor of this index, in draw order, not null
+     */
+    Actor visibleAt(int index) {
+        return actors[(int) (visible[index] & ((1 << ID_BITS) - 1))];
+    }
+
+    private void addVisible(int id) {
+        if (visibleCount == visible.length)
+            visible = Arrays.copyOf(visible, visibleCount * 2);
+        visible[visibleCount++] = (orders[id] << ID_BITS) | id;
+    }
+
+    private int bucketOf(Vector position) {
+        return clamp(position.y, rows) * columns + clamp(position.x, columns);
+    }
+
+    /// Bucket coordinate of a position coordinate, clamped into the grid (also for NaN)
+    private static int clamp(float coordinate, int buckets) {
+        final int bucket = (int) Math.floor(coordinate / BUCKET_SIZE);
+        return Math.max(0, Math.min(buckets - 1, bucket));
+    }
+
+    private void link(int id, int bucket) {
+        buckets[id] = bucket;
+        previous[id] = NONE;
+        next[id] = heads[bucket];
+        if (heads[bucket] != NONE)
+            previous[heads[bucket]] = id;
+        heads[bucket] = id;
+    }
+
+    private void unlink(int id) {
+        if (previous[id] != NONE)
+            next[previous[id]] = next[id];
+        else
+            heads[buckets[id]] = next[id];
+        if (next[id] != NONE)
+            previous[next[id]] = previous[id];
+    }
+
+    /// Remove the id at the given index of a dense list by moving the last one into its place
+    private int removeAt(int[] list, int count, int index) {
+        final int last = --count;
+        list[index] = list[last];
+        indices[list[index]] = index;
+        return count;
+    }
+
+    private int acquireId(Actor actor) {
+        final int id;
+        if (freeIdCount > 0) {
+            id = freeIds[--freeIdCount];
+        } else {
+            if (nextId == 1 << ID_BITS)
+                throw new IllegalStateException("Too many actors in the culling grid");
+            id = nextId++;
+            if (id == actors.length) {
+                final int capacity = actors.length * 2;
+                actors = Arrays.copyOf(actors, capacity);
+                orders = Arrays.copyOf(orders, capacity);
+                radii = Arrays.copyOf(radii, capacity);
+                buckets = Arrays.copyOf(buckets, capacity);
+                versions = Arrays.copyOf(versions, capacity);
+                next = Arrays.copyOf(next, capacity);
+                previous = Arrays.copyOf(previous, capacity);
+                indices = Arrays.copyOf(indices, capacity);
+            }
+        }
+        actors[id] = actor;
+        ids.put(actor, id);
+        return id;
+    }
+
+    private static int[] ensureCapacity(int[] list, int count) {
+        return (count == list.length) ? Arrays.copyOf(list, count * 2) : list;
+    }
+}
@@ -1,10 +1,12 @@
 package ch.epfl.cs107.play.areagame.handler;
 
+import ch.epfl.cs107.play.engine.Restorable;
+
 import java.util.NavigableMap;
 import java.util.TreeMap;
 
 
-public abstract class Inventory {
+public abstract class Inventory implements Restorable {
 
     /// List of different pockets
     private final Pocket[] pockets;
@@ -93,6 +95,28 @@ public abstract class Inventory {
     }
 
 
+    /// Inventory implements Restorable
+
+    @Override
+    public Object saveState() {
+        Object[] contents = new Object[pockets.length];
+        for (int id = 0; id < pockets.length; id++) {
+            contents[id] = new TreeMap<>(pockets[id].items);
+        }
+        return contents;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void restoreState(Object state) {
+        Object[] contents = (Object[]) state;
+        for (int id = 0; id < pockets.length; id++) {
+            pockets[id].items.clear();
+            pockets[id].items.putAll((NavigableMap<InventoryItem, Integer>) contents[id]);
+            notifyPocketUpdated(id);
+        }
+    }
+
     /**
      * Can be implemented by all Inventory holder. Allow others to request if the holder possess items
      */
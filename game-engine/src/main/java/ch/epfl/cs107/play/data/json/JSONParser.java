@@ -1,7 +1,7 @@
 package ch.epfl.cs107.play.data.json;
 
 import java.io.*;
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
 
 /** Used to read JSON files and write to JSON files */
 public class JSONParser {
@@ -17,41 +17,41 @@ public class JSONParser {
         validatePath(path);
 
         // Read the file
-        try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
-            ArrayList<String> lines = new ArrayList<>();
-            StringBuilder arrayContent = new StringBuilder();
-            int arrayDepth = 0;
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim().replaceAll("\"", "");
-                if (line.isEmpty() || line.equals("\n")) continue;
-
-                // Convert multiline arrays to single line arrays
-                if (arrayDepth > 0 || line.endsWith("[")) {
-                    arrayContent.append(line);
-
-                    // Update array depth count
-                    arrayDepth += (int) line.chars().filter(ch -> ch == '[').count();
-                    arrayDepth -= (int) line.chars().filter(ch -> ch == ']').count();
-
-                    // If array ends, add to lines and reset arrayContent
-                    if (arrayDepth == 0) {
-                        lines.add(arrayContent.toString());
-                        arrayContent = new StringBuilder();
-                    }
-                } else lines.add(line);
-            }
+        try (Reader reader = new InputStreamReader(new FileInputStream(path), StandardCharsets.UTF_8)) {
+            return parse(reader);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
 
-            // Remove the first and last line since they are just the container brackets
-            if (!lines.isEmpty()) {
-                lines.remove(0);
-                lines.remove(lines.size() - 1);
-            }
+    /**
+     * Used to parse a JSON document in a single pass, see JSONReader to read huge documents entry by entry
+     * @param reader (Reader): the source of the document, not null, not closed
+     * @return (JSONObject): the contents of the document, which must be an object
+     * @throws IOException if the reader fails
+     */
+    public static JSONObject parse(Reader reader) throws IOException {
+        JSONReader json = new JSONReader(reader);
+        JSONValue value = json.readValue();
+        if (!(value instanceof JSONObject object)) {
+            throw new IllegalArgumentException("JSON document must be an object");
+        }
+        // Check that nothing follows the object
+        json.next();
+        return object;
+    }
 
-            return JSONObject.parse(lines);
+    /**
+     * Used to parse a JSON string
+     * @param json (String): the JSON document, not null
+     * @return (JSONObject): the contents of the document, which must be an object
+     */
+    public static JSONObject parse(String json) {
+        try {
+            return parse(new StringReader(json));
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            // A StringReader does not fail
+            throw new UncheckedIOException(e);
         }
     }
 
@@ -68,9 +68,10 @@ public class JSONParser {
             throw new IllegalArgumentException("JSON cannot be null");
         }
 
-        // Write to the file
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(path))) {
-            writer.write(json.toString());
+        // Write to the file, streaming the tree instead of building its string first
+        try (JSONWriter writer = new JSONWriter(new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(path), StandardCharsets.UTF_8)))) {
+            writer.value(json);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -0,0 +1,329 @@
+package ch.epfl.cs107.play.data.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Used to read JSON as a stream of events, in a single pass over the characters and without holding the whole document.
+ * Huge files may be read entry by entry with next, readValue and skipValue.
+ * As the files written by the former parser, the reader is lenient: names and values may be unquoted,
+ * an unquoted value then ends at the next ',', ']', '}' or line break
+ */
+public final class JSONReader implements AutoCloseable {
+
+    /** The events read by next */
+    public enum Event {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY,
+        /** The name of an entry of an object, given by getString */
+        NAME,
+        /** A string, number, boolean or null, given by getString */
+        VALUE,
+        END_DOCUMENT
+    }
+
+    /** The scopes of the nesting stack, telling what the next token may be */
+    private static final byte DOCUMENT_EMPTY = 0, DOCUMENT_DONE = 1, OBJECT_FIRST = 2, OBJECT_NEXT = 3,
+            OBJECT_COLON = 4, ARRAY_FIRST = 5, ARRAY_NEXT = 6;
+
+    private static final int BUFFER_SIZE = 8 << 10;
+
+    /** The source of the characters */
+    private final Reader in;
+    /** The characters read from the source, valid from position to limit */
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position, limit;
+    /** The line of the next character, for the error messages */
+    private int line = 1;
+    /** The nesting stack, the document scope at its bottom */
+    private byte[] stack = new byte[32];
+    private int depth = 1;
+    /** The text of the last NAME or VALUE */
+    private final StringBuilder text = new StringBuilder();
+
+    /**
+     * Creates a new JSONReader
+     * @param in (Reader): The source of the JSON document, not null, closed with this reader.
+     *           Read through an internal buffer, it does not need to be buffered
+     */
+    public JSONReader(Reader in) {
+        if (in == null) {
+            throw new NullPointerException();
+        }
+        this.in = in;
+        stack[0] = DOCUMENT_EMPTY;
+    }
+
+    /**
+     * Reads the next event of the document
+     * @return (Event): The next event, END_DOCUMENT once the document is read
+     * @throws IOException if the source fails
+     * @throws IllegalArgumentException if the document is not valid JSON
+     */
+    public Event next() throws IOException {
+        int c = skipWhitespace();
+        switch (stack[depth - 1]) {
+            case DOCUMENT_EMPTY:
+                if (c < 0) return Event.END_DOCUMENT;
+                stack[depth - 1] = DOCUMENT_DONE;
+                return beginValue(c);
+            case DOCUMENT_DONE:
+                if (c >= 0) throw syntaxError("Unexpected content after the document");
+                return Event.END_DOCUMENT;
+            case OBJECT_FIRST:
+                if (c == '}') return endScope(Event.END_OBJECT);
+                return beginName(c);
+            case OBJECT_NEXT:
+                if (c == '}') return endScope(Event.END_OBJECT);
+                if (c != ',') throw syntaxError("Expected ',' or '}'");
+                return beginName(skipWhitespace());
+            case OBJECT_COLON:
+                if (c != ':') throw syntaxError("Expected ':'");
+                stack[depth - 1] = OBJECT_NEXT;
+                return beginValue(skipWhitespace());
+            case ARRAY_FIRST:
+                if (c == ']') return endScope(Event.END_ARRAY);
+                stack[depth - 1] = ARRAY_NEXT;
+                return beginValue(c);
+            default:
+                if (c == ']') return endScope(Event.END_ARRAY);
+                if (c != ',') throw syntaxError("Expected ',' or ']'");
+                return beginValue(skipWhitespace());
+        }
+    }
+
+    /**
+     * Returns the text of the last NAME or VALUE event, without its quotes and with its escapes resolved
+     * @return (String): The text of the last name or value
+     */
+    public String getString() {
+        return text.toString();
+    }
+
+    /**
+     * Reads the next value into a tree, e.g. the value following a NAME event
+     * @return (JSONValue): The value, a JSONObject, a JSONArray or a JSONString
+     * @throws IOException if the source fails
+     * @throws IllegalArgumentException if the document is not valid JSON or does not continue with a value
+     */
+    public JSONValue readValue() throws IOException {
+        return readValue(next());
+    }
+
+    /**
+     * Skips the next value, e.g. the value of an entry that is not needed, without building it
+     * @throws IOException if the source fails
+     * @throws IllegalArgumentException if the document is not valid JSON or does not continue with a value
+     */
+    public void skipValue() throws IOException {
+        int nesting = 0;
+        do {
+            switch (next()) {
+                case BEGIN_OBJECT, BEGIN_ARRAY -> ++nesting;
+                case END_OBJECT, END_ARRAY -> --nesting;
+                case END_DOCUMENT -> throw syntaxError("Unexpected end of the document");
+                default -> { }
+            }
+        } while (nesting > 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Builds the value starting with the given event
+     * @param event (Event): The event starting the value
+     * @return (JSONValue): The value
+     */
+    private JSONValue readValue(Event event) throws IOException {
+        switch (event) {
+            case BEGIN_OBJECT:
+                JSONObject object = new JSONObject();
+                while (next() == Event.NAME) {
+                    String name = getString();
+                    object.add(name, readValue());
+                }
+                return object;
+            case BEGIN_ARRAY:
+                JSONArray array = new JSONArray();
+                for (Event e = next(); e != Event.END_ARRAY; e = next()) {
+                    array.append(readValue(e));
+                }
+                return array;
+            case VALUE:
+                return new JSONString(getString());
+            case END_DOCUMENT:
+                throw syntaxError("Unexpected end of the document");
+            default:
+                throw syntaxError("Expected a value");
+        }
+    }
+
+    /**
+     * Reads the value starting with the given character
+     * @param c (int): The first character of the value
+     * @return (Event): BEGIN_OBJECT, BEGIN_ARRAY or VALUE
+     */
+    private Event beginValue(int c) throws IOException {
+        switch (c) {
+            case '{':
+                push(OBJECT_FIRST);
+                return Event.BEGIN_OBJECT;
+            case '[':
+                push(ARRAY_FIRST);
+                return Event.BEGIN_ARRAY;
+            case '"':
+                readQuoted();
+                return Event.VALUE;
+            case -1:
+                throw syntaxError("Unexpected end of the document");
+            case '}', ']', ',', ':':
+                throw syntaxError("Expected a value");
+            default:
+                readUnquoted(c, false);
+                return Event.VALUE;
+        }
+    }
+
+    /**
+     * Reads the name starting with the given character
+     * @param c (int): The first character of the name
+     * @return (Event): NAME
+     */
+    private Event beginName(int c) throws IOException {
+        if (c == '"') readQuoted();
+        else if (c < 0 || c == '{' || c == '[' || c == '}' || c == ']' || c == ',' || c == ':') {
+            throw syntaxError("Expected a name");
+        } else readUnquoted(c, true);
+        stack[depth - 1] = OBJECT_COLON;
+        return Event.NAME;
+    }
+
+    /**
+     * Closes the current scope
+     * @param event (Event): The event closing it
+     * @return (Event): The given event
+     */
+    private Event endScope(Event event) {
+        --depth;
+        return event;
+    }
+
+    private void push(byte scope) {
+        if (depth == stack.length) stack = Arrays.copyOf(stack, 2 * depth);
+        stack[depth++] = scope;
+    }
+
+    /** Reads a quoted string into text, its opening quote already read */
+    private void readQuoted() throws IOException {
+        text.setLength(0);
+        while (true) {
+            // Copy the characters up to the next quote or escape in one go
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position];
+                if (c == '"' || c == '\\') break;
+                if (c == '\n') ++line;
+                ++position;
+            }
+            text.append(buffer, start, position - start);
+            if (position == limit) {
+                if (!fill()) throw syntaxError("Unterminated string");
+                continue;
+            }
+            if (buffer[position++] == '"') return;
+            readEscape();
+        }
+    }
+
+    /** Reads an escape sequence into text, its backslash already read */
+    private void readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+            case '"', '\\', '/' -> text.append((char) c);
+            case 'b' -> text.append('\b');
+            case 'f' -> text.append('\f');
+            case 'n' -> text.append('\n');
+            case 'r' -> text.append('\r');
+            case 't' -> text.append('\t');
+            case 'u' -> {
+                int code = 0;
+                for (int i = 0; i < 4; ++i) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) throw syntaxError("Invalid unicode escape");
+                    code = (code << 4) | digit;
+                }
+                text.append((char) code);
+            }
+            case -1 -> throw syntaxError("Unterminated string");
+            default -> throw syntaxError("Invalid escape: \\" + (char) c);
+        }
+    }
+
+    /**
+     * Reads an unquoted name or value into text, without its trailing spaces
+     * @param c (int): The first character
+     * @param name (boolean): Whether a name is read, ending at ':', or a value
+     */
+    private void readUnquoted(int c, boolean name) throws IOException {
+        text.setLength(0);
+        text.append((char) c);
+        while (true) {
+            int start = position;
+            while (position < limit) {
+                char ch = buffer[position];
+                if (ch == ',' || ch == ']' || ch == '}' || ch == '\n' || ch == '\r' || (name && ch == ':')) break;
+                ++position;
+            }
+            text.append(buffer, start, position - start);
+            if (position < limit || !fill()) break;
+        }
+        int end = text.length();
+        while (end > 0 && text.charAt(end - 1) <= ' ') --end;
+        text.setLength(end);
+    }
+
+    /**
+     * Skips the whitespace and reads the next character
+     * @return (int): The next character which is not whitespace, -1 at the end of the source
+     */
+    private int skipWhitespace() throws IOException {
+        while (true) {
+            while (position < limit) {
+                char c = buffer[position++];
+                if (c == '\n') ++line;
+                else if (c != ' ' && c != '\t' && c != '\r') return c;
+            }
+            if (!fill()) return -1;
+        }
+    }
+
+    /**
+     * Reads the next character
+     * @return (int): The next character, -1 at the end of the source
+     */
+    private int read() throws IOException {
+        if (position == limit && !fill()) return -1;
+        return buffer[position++];
+    }
+
+    /**
+     * Reads the next characters of the source into the buffer, which must be consumed
+     * @return (boolean): Whether characters were read, false at the end of the source
+     */
+    private boolean fill() throws IOException {
+        int count;
+        do {
+            count = in.read(buffer, 0, buffer.length);
+        } while (count == 0);
+        position = 0;
+        limit = Math.max(count, 0);
+        return count > 0;
+    }
+
+    private IllegalArgumentException syntaxError(String message) {
+        return new IllegalArgumentException("Invalid JSON at line " + line + ": " + message);
+    }
+}
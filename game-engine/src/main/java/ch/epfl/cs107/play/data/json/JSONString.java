@@ -67,7 +67,8 @@ public class JSONString extends JSONValue {
      * @return (boolean): True if the string is an integer, false otherwise
      */
     public static boolean isInteger(String str) {
-        return str.matches("-?\\d+");
+        int start = str.startsWith("-") ? 1 : 0;
+        return skipDigits(str, start) == str.length() && str.length() > start;
     }
 
     /**
@@ -85,7 +86,24 @@ public class JSONString extends JSONValue {
      * @return (boolean): True if the string is a double, false otherwise
      */
     public static boolean isDouble(String str) {
-        // This regex covers basic double representations but not scientific notation
-        return str.matches("[-+]?\\d*\\.?\\d+");
+        // Covers basic double representations, as [-+]?\d*\.?\d+, but not scientific notation
+        int start = str.startsWith("-") || str.startsWith("+") ? 1 : 0;
+        int end = skipDigits(str, start);
+        if (end < str.length() && str.charAt(end) == '.') {
+            start = end + 1;
+            end = skipDigits(str, start);
+        }
+        return end == str.length() && end > start;
+    }
+
+    /**
+     * Skips the decimal digits of a string
+     * @param str (String): The string
+     * @param index (int): The index to start from
+     * @return (int): The index of the first character which is not a digit, the length of the string if none
+     */
+    private static int skipDigits(String str, int index) {
+        while (index < str.length() && str.charAt(index) >= '0' && str.charAt(index) <= '9') ++index;
+        return index;
     }
 }
\ No newline at end of file
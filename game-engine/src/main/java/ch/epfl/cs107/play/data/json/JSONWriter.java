@@ -0,0 +1,332 @@
+package ch.epfl.cs107.play.data.json;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Used to write JSON as a stream, without building the document first.
+ * Indented, objects are written with one entry per line and arrays on a single line
+ */
+public final class JSONWriter implements AutoCloseable, Flushable {
+
+    /** The scopes of the nesting stack, telling what may be written next */
+    private static final byte DOCUMENT_EMPTY = 0, DOCUMENT_DONE = 1, OBJECT_FIRST = 2, OBJECT_NEXT = 3,
+            OBJECT_VALUE = 4, ARRAY_FIRST = 5, ARRAY_NEXT = 6;
+
+    private static final String INDENT = "  ";
+
+    /** The destination of the characters */
+    private final Writer out;
+    /** Whether the output is indented */
+    private final boolean indented;
+    /** The nesting stack, the document scope at its bottom */
+    private byte[] stack = new byte[32];
+    private int depth = 1;
+    /** The number of open objects, giving the indentation */
+    private int objects;
+
+    /**
+     * Creates a new JSONWriter
+     * @param out (Writer): The destination of the JSON document, not null, closed with this writer.
+     *            Written a few characters at a time, it should be buffered
+     * @param indented (boolean): Whether the output is indented, or as compact as possible
+     */
+    public JSONWriter(Writer out, boolean indented) {
+        if (out == null) {
+            throw new NullPointerException();
+        }
+        this.out = out;
+        this.indented = indented;
+        stack[0] = DOCUMENT_EMPTY;
+    }
+
+    /**
+     * Creates a new indented JSONWriter
+     * @param out (Writer): The destination of the JSON document, not null, closed with this writer
+     */
+    public JSONWriter(Writer out) {
+        this(out, true);
+    }
+
+    /**
+     * Begins an object, whose entries are written with name then a value
+     * @return (JSONWriter): This writer
+     * @throws IOException if the destination fails
+     */
+    public JSONWriter beginObject() throws IOException {
+        beforeValue();
+        push(OBJECT_FIRST);
+        ++objects;
+        out.write('{');
+        return this;
+    }
+
+    /**
+     * Ends the current object
+     * @return (JSONWriter): This writer
+     * @throws IOException if the destination fails
+     */
+    public JSONWriter endObject() throws IOException {
+        byte scope = stack[depth - 1];
+        if (scope != OBJECT_FIRST && scope != OBJECT_NEXT) {
+            throw new IllegalStateException("No object to end here");
+        }
+        --depth;
+        --objects;
+        if (scope == OBJECT_NEXT) newLine();
+        out.write('}');
+        return this;
+    }
+
+    /**
+     * Begins an array, whose elements are written with the value methods
+     * @return (JSONWriter): This writer
+     * @throws IOException if the destination fails
+     */
+    public JSONWriter beginArray() throws IOException {
+        beforeValue();
+        push(ARRAY_FIRST);
+        out.write('[');
+        return this;
+    }
+
+    /**
+     * Ends the current array
+     * @return (JSONWriter): This writer
+     * @throws IOException if the destination fails
+     */
+    public JSONWriter endArray() throws IOException {
+        byte scope = stack[depth - 1];
+        if (scope != ARRAY_FIRST && scope != ARRAY_NEXT) {
+            throw new IllegalStateException("No array to end here");
+        }
+        --depth;
+        out.write(']');
+        return this;
+    }
+
+    /**
+     * Writes the name of the next entry of the current object
+     * @param name (String): The name, not null nor empty
+     * @return (JSONWriter): This writer
+     * @throws IOException if the destination fails
+     */
+    public JSONWriter name(String name) throws IOException {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Name cannot be null or empty");
+        }
+        byte scope = stack[depth - 1];
+        if (scope != OBJECT_FIRST && scope != OBJECT_NEXT) {
+            throw new IllegalStateException("A name must be written in an object, before its value");
+        }
+        if (scope == OBJECT_NEXT) out.write(',');
+        newLine();
+        writeQuoted(name);
+        out.write(indented ? ": " : ":");
+        stack[depth - 1] = OBJECT_VALUE;
+        return this;
+    }
+
+    /**
+     * Writes a value unquoted if it is a JSON number or exactly true or false, quoted otherwise
+     * @param value (String): The value, not null
+     * @return (JSONWriter): This writer
+     * @throws IOException if the destination fails
+     */
+    public JSONWriter value(String value) throws IOException {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+        beforeValue();
+        if (isNumber(value) || value.equals("true") || value.equals("false")) out.write(value);
+        else writeQuoted(value);
+        return this;
+    }
+
+    /**
+     * Writes a number
+     * @param value (long): The value
+     * @return (JSONWriter): This writer
+     * @throws IOException if the destination fails
+     */
+    public JSONWriter value(long value) throws IOException {
+        beforeValue();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    /**
+     * Writes a number
+     * @param value (double): The value, finite
+     * @return (JSONWriter): This writer
+     * @throws IOException if the destination fails
+     */
+    public JSONWriter value(double value) throws IOException {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("Value must be finite: " + value);
+        }
+        beforeValue();
+        out.write(Double.toString(value));
+        return this;
+    }
+
+    /**
+     * Writes a boolean
+     * @param value (boolean): The value
+     * @return (JSONWriter): This writer
+     * @throws IOException if the destination fails
+     */
+    public JSONWriter value(boolean value) throws IOException {
+        beforeValue();
+        out.write(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * Writes a tree of values
+     * @param value (JSONValue): The value, a JSONObject, a JSONArray or a JSONString, not null
+     * @return (JSONWriter): This writer
+     * @throws IOException if the destination fails
+     */
+    public JSONWriter value(JSONValue value) throws IOException {
+        if (value instanceof JSONObject object) {
+            beginObject();
+            for (Map.Entry<String, JSONValue> entry : object.get().entrySet()) {
+                name(entry.getKey());
+                value(entry.getValue());
+            }
+            endObject();
+        } else if (value instanceof JSONArray array) {
+            beginArray();
+            for (int i = 0; i < array.size(); i++) value(array.get(i));
+            endArray();
+        } else if (value instanceof JSONString string) {
+            value(string.getString());
+        } else {
+            throw new IllegalArgumentException("Invalid value: " + value);
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Closes the destination, the document must be complete
+     * @throws IOException if the destination fails
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+        if (depth > 1 || stack[0] != DOCUMENT_DONE) {
+            throw new IllegalStateException("Incomplete document");
+        }
+    }
+
+    /**
+     * Writes a tree of values into a string, as its toJSONString does
+     * @param value (JSONValue): The value, not null
+     * @return (String): The indented JSON string
+     */
+    static String toString(JSONValue value) {
+        StringWriter writer = new StringWriter();
+        try {
+            new JSONWriter(writer).value(value);
+        } catch (IOException e) {
+            // A StringWriter does not fail
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+
+    /** Checks that a value may be written here and writes its separator */
+    private void beforeValue() throws IOException {
+        switch (stack[depth - 1]) {
+            case DOCUMENT_EMPTY -> stack[depth - 1] = DOCUMENT_DONE;
+            case OBJECT_VALUE -> stack[depth - 1] = OBJECT_NEXT;
+            case ARRAY_FIRST -> stack[depth - 1] = ARRAY_NEXT;
+            case ARRAY_NEXT -> out.write(indented ? ", " : ",");
+            case DOCUMENT_DONE -> throw new IllegalStateException("A document has a single root value");
+            default -> throw new IllegalStateException("A value in an object must follow its name");
+        }
+    }
+
+    private void push(byte scope) {
+        if (depth == stack.length) stack = Arrays.copyOf(stack, 2 * depth);
+        stack[depth++] = scope;
+    }
+
+    /** Starts a new line indented for the open objects, if the output is indented */
+    private void newLine() throws IOException {
+        if (!indented) return;
+        out.write('\n');
+        for (int i = 0; i < objects; ++i) out.write(INDENT);
+    }
+
+    /**
+     * Tells if a string follows the JSON number grammar: an optional minus, an integer part without leading zeros,
+     * then optionally a fraction and an exponent
+     * @param str (String): The string, not null
+     * @return (boolean): true if the string can be written unquoted as a number
+     */
+    private static boolean isNumber(String str) {
+        int i = 0;
+        if (i < str.length() && str.charAt(i) == '-') ++i;
+        if (i == str.length()) return false;
+        if (str.charAt(i) == '0') ++i;
+        else if (isDigit(str, i)) i = skipDigits(str, i);
+        else return false;
+        if (i < str.length() && str.charAt(i) == '.') {
+            if (!isDigit(str, ++i)) return false;
+            i = skipDigits(str, i);
+        }
+        if (i < str.length() && (str.charAt(i) == 'e' || str.charAt(i) == 'E')) {
+            ++i;
+            if (i < str.length() && (str.charAt(i) == '+' || str.charAt(i) == '-')) ++i;
+            if (!isDigit(str, i)) return false;
+            i = skipDigits(str, i);
+        }
+        return i == str.length();
+    }
+
+    private static boolean isDigit(String str, int index) {
+        return index < str.length() && str.charAt(index) >= '0' && str.charAt(index) <= '9';
+    }
+
+    private static int skipDigits(String str, int index) {
+        while (isDigit(str, index)) ++index;
+        return index;
+    }
+
+    /**
+     * Writes a quoted string, escaping its quotes, backslashes and control characters
+     * @param string (String): The string
+     */
+    private void writeQuoted(String string) throws IOException {
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < string.length(); ++i) {
+            char c = string.charAt(i);
+            if (c != '"' && c != '\\' && c >= ' ') continue;
+            out.write(string, start, i - start);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> out.write(String.format("\\u%04x", (int) c));
+            }
+            start = i + 1;
+        }
+        out.write(string, start, string.length() - start);
+        out.write('"');
+    }
+}
@@ -8,4 +8,13 @@ public interface Game extends Playable, Drawable {
     default int getFrameRate() {
     	return 24;
     }
+
+    /**
+     * Summary of the simulated state, compared between a run and its replay to detect divergences.
+     * Equal states give equal hashes. Can be overridden
+     * @return (long): 0 by default, for games without summary
+     */
+    default long getStateHash() {
+        return 0;
+    }
 }
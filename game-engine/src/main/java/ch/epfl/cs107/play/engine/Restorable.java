@@ -0,0 +1,21 @@
+package ch.epfl.cs107.play.engine;
+
+
+/**
+ * Represents an element whose state can be saved then restored in place,
+ * e.g. to reset an Area without building its actors again
+ */
+public interface Restorable {
+
+    /**
+     * Save the current state of this element. Subclasses adding state wrap the one of their parent
+     * @return (Object): the state, only meant to be given back to restoreState of this element, may be null
+     */
+    Object saveState();
+
+    /**
+     * Restore this element to a state saved earlier
+     * @param state (Object): a state given by saveState of this element
+     */
+    void restoreState(Object state);
+}
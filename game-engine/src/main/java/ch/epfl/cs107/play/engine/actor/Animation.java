@@ -1,5 +1,6 @@
 package ch.epfl.cs107.play.engine.actor;
 
+import ch.epfl.cs107.play.engine.Restorable;
 import ch.epfl.cs107.play.engine.Updatable;
 import ch.epfl.cs107.play.math.Orientation;
 import ch.epfl.cs107.play.math.Positionable;import ch.epfl.cs107.play.math.Vector;
@@ -9,7 +10,7 @@ import ch.epfl.cs107.play.window.Canvas;
 /**
  * Animation is a Frames sequence of Sprite
  */
-public class Animation implements Updatable, Graphics {
+public class Animation implements Updatable, Graphics, Restorable {
 
     /// Duration of each frame (all frames have same duration)
     private final int frameDuration;
@@ -190,4 +191,23 @@ public class Animation implements Updatable, Graphics {
     public void draw(Canvas canvas) {
         frames[currentFrame].draw(canvas);
     }
+
+    /// Animation implements Restorable
+
+    @Override
+    public Object saveState() {
+        return new State(currentFrame, ANIMATION_COUNT, SPEED_FACTOR, isPaused, isCompleted);
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        currentFrame = s.currentFrame();
+        ANIMATION_COUNT = s.count();
+        SPEED_FACTOR = s.speedFactor();
+        isPaused = s.isPaused();
+        isCompleted = s.isCompleted();
+    }
+
+    private record State(int currentFrame, int count, int speedFactor, boolean isPaused, boolean isCompleted) {}
 }
@@ -1,5 +1,6 @@
 package ch.epfl.cs107.play.engine.actor;
 
+import ch.epfl.cs107.play.engine.Restorable;
 import ch.epfl.cs107.play.engine.actor.Actor;
 import ch.epfl.cs107.play.math.Transform;
 import ch.epfl.cs107.play.math.Vector;
@@ -8,12 +9,14 @@ import ch.epfl.cs107.play.math.Vector;
 /**
  * Basic Entity are simply actor and represented by a current exact position and its corresponding transform
  */
-public abstract class Entity implements Actor {
+public abstract class Entity implements Actor, Restorable {
 
     /// Exact Position as a floating vector
     private Vector currentPosition;
     /// Corresponding transformation
     private Transform transform;
+    /// Incremented each time the position changes
+    private long transformVersion;
 
 
     /**
@@ -35,6 +38,7 @@ public abstract class Entity implements Actor {
     protected void setCurrentPosition(Vector v){
         this.currentPosition = v;
         transform = null;
+        ++transformVersion;
     }
 
     /// Entity implements Positionable
@@ -62,4 +66,23 @@ public abstract class Entity implements Actor {
     public Vector getVelocity() {
         return Vector.ZERO;
     }
+
+    @Override
+    public long getTransformVersion() {
+        return transformVersion;
+    }
+
+    /// Entity implements Restorable
+
+    @Override
+    public Object saveState() {
+        return currentPosition;
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        this.currentPosition = (Vector) state;
+        transform = null;
+        ++transformVersion;
+    }
 }
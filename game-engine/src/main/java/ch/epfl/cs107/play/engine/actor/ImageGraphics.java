@@ -2,7 +2,7 @@ package ch.epfl.cs107.play.engine.actor;
 
 import ch.epfl.cs107.play.math.Node;
 import ch.epfl.cs107.play.math.RegionOfInterest;
-import ch.epfl.cs107.play.math.Transform;
+import ch.epfl.cs107.play.math.TransformBuilder;
 import ch.epfl.cs107.play.math.Vector;
 import ch.epfl.cs107.play.window.Canvas;
 import ch.epfl.cs107.play.window.Image;
@@ -27,6 +27,13 @@ public class ImageGraphics extends Node implements Graphics {
     private float depth;
     ///
     private final boolean removeBackground;
+    /// Handle of the image into the last canvas it was drawn on, if supported
+    private Canvas handleCanvas;
+    private int handle = Canvas.NO_IMAGE_HANDLE;
+    /// Scratch transform of this node, and transform of the image in the world
+    private final TransformBuilder world = new TransformBuilder(), imageTransform = new TransformBuilder();
+    /// Version of this node the image transform was composed for, untracked if its size or anchor changed since
+    private long imageVersion = UNTRACKED_VERSION;
 
     /**
      * Creates a new image graphics.
@@ -116,6 +123,7 @@ public class ImageGraphics extends Node implements Graphics {
      */
     public void setName(String name) {
         this.name = name;
+        handleCanvas = null;
     }
 
     /** @return (String): image name, may be null */
@@ -129,6 +137,7 @@ public class ImageGraphics extends Node implements Graphics {
      */
     public void setWidth(float width) {
         this.width = width;
+        imageVersion = UNTRACKED_VERSION;
     }
 
     /** @return (float): actual image width, before transformation */
@@ -142,6 +151,7 @@ public class ImageGraphics extends Node implements Graphics {
      */
     public void setHeight(float height) {
         this.height = height;
+        imageVersion = UNTRACKED_VERSION;
     }
 
     /** @return (float): actual image height, before transformation */
@@ -155,6 +165,7 @@ public class ImageGraphics extends Node implements Graphics {
      */
     public void setAnchor(Vector anchor) {
         this.anchor = anchor;
+        imageVersion = UNTRACKED_VERSION;
     }
 
     /** @return (Vector): image anchor, not null */
@@ -192,8 +203,18 @@ public class ImageGraphics extends Node implements Graphics {
     public void draw(Canvas canvas) {
         if (name == null)
             return;
-        Image image = canvas.getImage(name, roi, removeBackground);
-        Transform transform = Transform.I.scaled(width, height).translated(anchor.x, anchor.y).transformed(getTransform());
-        canvas.drawImage(image, transform, alpha, depth);
+        if (handleCanvas != canvas) {
+            handle = canvas.getImageHandle(name, roi, removeBackground);
+            handleCanvas = canvas;
+        }
+        Image image = (handle != Canvas.NO_IMAGE_HANDLE) ? canvas.getImage(handle) : canvas.getImage(name, roi, removeBackground);
+        // Composed in place, and only again if the node moved or the image was resized
+        final long version = getTransformVersion();
+        if (version != imageVersion || version == UNTRACKED_VERSION) {
+            transformInto(world);
+            imageTransform.setIdentity().scale(width, height).translate(anchor.x, anchor.y).transform(world);
+            imageVersion = version;
+        }
+        canvas.drawImage(image, imageTransform, alpha, depth);
     }
 }
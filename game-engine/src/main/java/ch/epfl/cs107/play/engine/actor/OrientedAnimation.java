@@ -1,6 +1,7 @@
 package ch.epfl.cs107.play.engine.actor;
 
 import ch.epfl.cs107.play.areagame.actor.AreaEntity;
+import ch.epfl.cs107.play.engine.Restorable;
 import ch.epfl.cs107.play.engine.Updatable;
 import ch.epfl.cs107.play.math.Orientation;
 import ch.epfl.cs107.play.math.Positionable;
@@ -8,7 +9,7 @@ import ch.epfl.cs107.play.math.Vector;
 import ch.epfl.cs107.play.math.RegionOfInterest;
 import ch.epfl.cs107.play.window.Canvas;
 
-public class OrientedAnimation implements Updatable, Graphics {
+public class OrientedAnimation implements Updatable, Graphics, Restorable {
 
     private final Animation[] animations;
     private final AreaEntity parent;
@@ -84,4 +85,20 @@ public OrientedAnimation(String name, int duration, AreaEntity parent, Vector an
         return current().isCompleted();
     }
 
+    @Override
+    public Object saveState() {
+        Object[] states = new Object[animations.length + 1];
+        for (int i = 0; i < animations.length; ++i)
+            states[i] = animations[i].saveState();
+        states[animations.length] = current;
+        return states;
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        Object[] states = (Object[]) state;
+        for (int i = 0; i < animations.length; ++i)
+            animations[i].restoreState(states[i]);
+        current = (Animation) states[animations.length];
+    }
 }
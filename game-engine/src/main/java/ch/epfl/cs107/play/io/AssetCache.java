@@ -0,0 +1,507 @@
+package ch.epfl.cs107.play.io;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Cache of decoded assets (images, sounds...) bounded by a budget of bytes.
+ * - Beyond the budget, the least recently (LRU) or least frequently (LFU) used assets are evicted,
+ *   but never the asset whose insertion went beyond it.
+ *   Evicted assets stay softly reachable: they are revived without loading if the garbage collector kept them.
+ * - Failed loads are remembered for a limited time, then tried again.
+ * - Assets can be pinned by owners (e.g. the areas using them): pinned assets are never evicted,
+ *   even if they exceed the budget, until all their owners release them.
+ * The cache is thread safe, and assets are loaded outside its lock so that several ones can be decoded in parallel.
+ * @param <K> type of the keys (usually the asset names)
+ * @param <V> type of the assets
+ */
+public final class AssetCache<K, V> {
+
+    /**
+     * Eviction policy, choosing which unpinned asset is evicted first
+     */
+    public enum Policy {
+        /// Least recently used first
+        LRU,
+        /// Least frequently used first, the least recently used among them.
+        /// Frequencies are halved as they age, so that assets used a lot long ago do not stay forever
+        LFU
+    }
+
+    /// Number of accesses per cached asset between two halvings of the frequencies
+    private static final int AGING_PERIOD = 16;
+
+    /**
+     * Loads an asset
+     * @param <K> type of the keys
+     * @param <V> type of the assets
+     */
+    @FunctionalInterface
+    public interface Loader<K, V> {
+        /**
+         * @param key (K): key of the asset, not null
+         * @return (V): the loaded asset, null on error
+         */
+        V load(K key);
+    }
+
+    private final ToLongFunction<V> weigher;
+    private long byteBudget;
+    private Policy policy;
+    private long missTimeToLive;
+
+    /// Cached assets, from the least recently used to the most recently used
+    private final LinkedHashMap<K, Entry<K, V>> entries;
+    /// Cached assets by frequency, then from the least recently used, only kept for the LFU policy
+    private final TreeMap<Long, LinkedHashMap<K, Entry<K, V>>> frequencies;
+    /// Evicted assets, until the garbage collector needs their memory
+    private final Map<K, SoftAsset<K, V>> evicted;
+    private final ReferenceQueue<V> collected;
+    /// Expiry time (System.nanoTime) of the failed loads
+    private final Map<K, Long> misses;
+    private final Map<Object, Set<K>> pins;
+
+    /// Bytes of the unpinned assets, the only ones counted into the budget
+    private long unpinnedBytes;
+    /// Accesses since the last halving of the frequencies
+    private long accesses;
+    private long hits, softHits, missCount, negativeHits, failures, evictions;
+
+    /**
+     * Default AssetCache Constructor
+     * @param byteBudget (long): maximal number of bytes of the unpinned assets kept, positive
+     * @param policy (Policy): eviction policy, not null
+     * @param weigher (ToLongFunction): number of bytes of an asset, not null
+     * @param missTimeToLive (long): time in milliseconds during which a failed load is not tried again, not negative
+     */
+    public AssetCache(long byteBudget, Policy policy, ToLongFunction<V> weigher, long missTimeToLive) {
+        if (weigher == null)
+            throw new NullPointerException();
+        this.weigher = weigher;
+        entries = new LinkedHashMap<>();
+        frequencies = new TreeMap<>();
+        evicted = new HashMap<>();
+        collected = new ReferenceQueue<>();
+        misses = new HashMap<>();
+        pins = new HashMap<>();
+        setByteBudget(byteBudget);
+        setPolicy(policy);
+        setMissTimeToLive(missTimeToLive);
+    }
+
+    /**
+     * @param byteBudget (long): maximal number of bytes of the unpinned assets kept, positive
+     */
+    public synchronized void setByteBudget(long byteBudget) {
+        if (byteBudget <= 0)
+            throw new IllegalArgumentException("The byte budget must be positive: " + byteBudget);
+        this.byteBudget = byteBudget;
+        evictOverBudget(null);
+    }
+
+    /** @return (long): maximal number of bytes of the unpinned assets kept */
+    public synchronized long getByteBudget() {
+        return byteBudget;
+    }
+
+    /**
+     * @param policy (Policy): eviction policy, not null
+     */
+    public synchronized void setPolicy(Policy policy) {
+        if (policy == null)
+            throw new NullPointerException();
+        this.policy = policy;
+        rankFrequencies();
+    }
+
+    /** @return (Policy): the eviction policy */
+    public synchronized Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * @param missTimeToLive (long): time in milliseconds during which a failed load is not tried again, not negative
+     */
+    public synchronized void setMissTimeToLive(long missTimeToLive) {
+        if (missTimeToLive < 0)
+            throw new IllegalArgumentException("The time to live must not be negative: " + missTimeToLive);
+        this.missTimeToLive = missTimeToLive * 1_000_000L;
+    }
+
+    /**
+     * Get an asset, loading it if needed
+     * @param key (K): key of the asset, not null
+     * @param loader (Loader): loads the asset if it is not cached, not null
+     * @param owner (Object): owner pinning the asset, may be null to not pin it
+     * @return (V): the asset, null if it could not be loaded
+     */
+    public V get(K key, Loader<K, V> loader, Object owner) {
+        if (key == null || loader == null)
+            throw new NullPointerException();
+        synchronized (this) {
+            final V cached = lookup(key, owner);
+            if (cached != null)
+                return cached;
+            final Long expiry = misses.get(key);
+            if (expiry != null) {
+                if (System.nanoTime() - expiry < 0) {
+                    ++negativeHits;
+                    return null;
+                }
+                misses.remove(key);
+            }
+            ++missCount;
+        }
+
+        final V asset = loader.load(key);
+
+        synchronized (this) {
+            if (asset == null) {
+                ++failures;
+                misses.put(key, System.nanoTime() + missTimeToLive);
+                return null;
+            }
+            // Another thread may have loaded it in the meantime, keep a single copy
+            final Entry<K, V> entry = entries.get(key);
+            if (entry != null) {
+                touch(entry, owner);
+                return entry.value;
+            }
+            insert(key, asset, owner);
+            return asset;
+        }
+    }
+
+    /**
+     * @param key (K): key of the asset, may be null
+     * @return (boolean): true if the asset is cached and not evicted
+     */
+    public synchronized boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Weigh a cached asset again, after its size changed, evicting other assets if it no longer fits the budget
+     * @param key (K): key of the asset, may be null
+     * @return (boolean): true if the asset is cached
+     */
+    public synchronized boolean reweigh(K key) {
+        final Entry<K, V> entry = entries.get(key);
+        if (entry == null)
+            return false;
+        final long bytes = weigher.applyAsLong(entry.value);
+        if (entry.owners.isEmpty())
+            unpinnedBytes += bytes - entry.bytes;
+        entry.bytes = bytes;
+        // The asset just grew while in use, it must not make room for itself
+        evictOverBudget(entry);
+        return true;
+    }
+
+    /**
+     * Pin an asset already cached, so it is not evicted until the owner releases it
+     * @param key (K): key of the asset, not null
+     * @param owner (Object): owner pinning the asset, not null
+     * @return (boolean): true if the asset is cached
+     */
+    public synchronized boolean pin(K key, Object owner) {
+        if (owner == null)
+            throw new NullPointerException();
+        final Entry<K, V> entry = entries.get(key);
+        if (entry == null)
+            return false;
+        pin(entry, owner);
+        return true;
+    }
+
+    /**
+     * Unpin all the assets pinned by the given owner. They are kept while they fit the budget
+     * @param owner (Object): owner of the pins, may be null
+     */
+    public synchronized void release(Object owner) {
+        final Set<K> keys = pins.remove(owner);
+        if (keys == null)
+            return;
+        for (K key : keys) {
+            final Entry<K, V> entry = entries.get(key);
+            if (entry != null) {
+                entry.owners.remove(owner);
+                if (entry.owners.isEmpty())
+                    unpinnedBytes += entry.bytes;
+            }
+        }
+        evictOverBudget(null);
+    }
+
+    /**
+     * Forget all the assets, failed loads and pins
+     */
+    public synchronized void clear() {
+        entries.clear();
+        frequencies.clear();
+        evicted.clear();
+        misses.clear();
+        pins.clear();
+        unpinnedBytes = 0;
+        accesses = 0;
+        while (collected.poll() != null) {
+            // Drop the references of the collected assets
+        }
+    }
+
+    /** @return (Stats): a snapshot of the counters of this cache */
+    public synchronized Stats getStats() {
+        long pinnedBytes = 0;
+        for (Entry<K, V> entry : entries.values())
+            if (!entry.owners.isEmpty())
+                pinnedBytes += entry.bytes;
+        return new Stats(hits, softHits, missCount, negativeHits, failures, evictions,
+                entries.size(), unpinnedBytes, pinnedBytes, byteBudget);
+    }
+
+    /// Lookup into the entries, then into the evicted assets. Must hold the lock
+    private V lookup(K key, Object owner) {
+        final Entry<K, V> entry = entries.get(key);
+        if (entry != null) {
+            ++hits;
+            touch(entry, owner);
+            return entry.value;
+        }
+        purgeCollected();
+        final SoftAsset<K, V> soft = evicted.remove(key);
+        if (soft != null) {
+            final V asset = soft.get();
+            if (asset != null) {
+                ++softHits;
+                insert(key, asset, owner);
+                return asset;
+            }
+        }
+        return null;
+    }
+
+    private void insert(K key, V asset, Object owner) {
+        final Entry<K, V> entry = new Entry<>(key, asset, weigher.applyAsLong(asset));
+        entries.put(key, entry);
+        if (policy == Policy.LFU)
+            rank(entry);
+        unpinnedBytes += entry.bytes;
+        if (owner != null)
+            pin(entry, owner);
+        // The new asset has the lowest frequency, it must not make room for itself
+        evictOverBudget(entry);
+    }
+
+    private void touch(Entry<K, V> entry, Object owner) {
+        // Move the entry to the most recently used end, of its new frequency for LFU
+        entries.remove(entry.key);
+        entries.put(entry.key, entry);
+        if (policy == Policy.LFU) {
+            unrank(entry);
+            ++entry.frequency;
+            rank(entry);
+        } else {
+            ++entry.frequency;
+        }
+        if (owner != null && !entry.owners.contains(owner))
+            pin(entry, owner);
+        if (++accesses > (long) AGING_PERIOD * entries.size()) {
+            for (Entry<K, V> aged : entries.values())
+                aged.frequency = (aged.frequency + 1) / 2;
+            accesses = 0;
+            rankFrequencies();
+        }
+    }
+
+    private void rank(Entry<K, V> entry) {
+        frequencies.computeIfAbsent(entry.frequency, f -> new LinkedHashMap<>()).put(entry.key, entry);
+    }
+
+    private void unrank(Entry<K, V> entry) {
+        final Map<K, Entry<K, V>> ranked = frequencies.get(entry.frequency);
+        ranked.remove(entry.key);
+        if (ranked.isEmpty())
+            frequencies.remove(entry.frequency);
+    }
+
+    /// Rebuild the frequency order from the entries, keeping the recency order within each frequency
+    private void rankFrequencies() {
+        frequencies.clear();
+        if (policy == Policy.LFU)
+            for (Entry<K, V> entry : entries.values())
+                rank(entry);
+    }
+
+    private void pin(Entry<K, V> entry, Object owner) {
+        if (!entry.owners.add(owner))
+            return;
+        if (entry.owners.size() == 1)
+            unpinnedBytes -= entry.bytes;
+        pins.computeIfAbsent(owner, o -> new HashSet<>()).add(entry.key);
+    }
+
+    /**
+     * Evict unpinned assets in the order of the policy until the budget is met
+     * @param spared (Entry): entry never evicted, may be null
+     */
+    private void evictOverBudget(Entry<K, V> spared) {
+        if (unpinnedBytes <= byteBudget)
+            return;
+        if (policy == Policy.LRU) {
+            evict(entries.values().iterator(), spared);
+            return;
+        }
+        final Iterator<LinkedHashMap<K, Entry<K, V>>> ranks = frequencies.values().iterator();
+        while (unpinnedBytes > byteBudget && ranks.hasNext()) {
+            final Map<K, Entry<K, V>> ranked = ranks.next();
+            evict(ranked.values().iterator(), spared);
+            if (ranked.isEmpty())
+                ranks.remove();
+        }
+    }
+
+    /// Evict the candidates in their order, skipping the pinned ones and the spared one, until the budget is met
+    private void evict(Iterator<Entry<K, V>> candidates, Entry<K, V> spared) {
+        while (unpinnedBytes > byteBudget && candidates.hasNext()) {
+            final Entry<K, V> victim = candidates.next();
+            if (victim == spared || !victim.owners.isEmpty())
+                continue;
+            candidates.remove();
+            if (policy == Policy.LFU)
+                entries.remove(victim.key);
+            unpinnedBytes -= victim.bytes;
+            evicted.put(victim.key, new SoftAsset<>(victim.key, victim.value, collected));
+            ++evictions;
+        }
+    }
+
+    private void purgeCollected() {
+        Reference<? extends V> reference;
+        while ((reference = collected.poll()) != null) {
+            final SoftAsset<?, ?> soft = (SoftAsset<?, ?>) reference;
+            evicted.remove(soft.key, soft);
+        }
+    }
+
+    /**
+     * Cached asset with its size, usage and owners
+     */
+    private static final class Entry<K, V> {
+        private final K key;
+        private final V value;
+        private long bytes;
+        private final Set<Object> owners;
+        /// Number of accesses, halved as they age
+        private long frequency;
+
+        private Entry(K key, V value, long bytes) {
+            this.key = key;
+            this.value = value;
+            this.bytes = bytes;
+            this.owners = new HashSet<>(2);
+            this.frequency = 1;
+        }
+    }
+
+    /**
+     * Evicted asset, reachable until the garbage collector needs its memory
+     */
+    private static final class SoftAsset<K, V> extends SoftReference<V> {
+        private final K key;
+
+        private SoftAsset(K key, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+
+    /**
+     * Immutable snapshot of the counters of an AssetCache
+     */
+    public static final class Stats {
+        private final long hits, softHits, misses, negativeHits, failures, evictions;
+        private final int entries;
+        private final long unpinnedBytes, pinnedBytes, byteBudget;
+
+        private Stats(long hits, long softHits, long misses, long negativeHits, long failures, long evictions,
+                      int entries, long unpinnedBytes, long pinnedBytes, long byteBudget) {
+            this.hits = hits;
+            this.softHits = softHits;
+            this.misses = misses;
+            this.negativeHits = negativeHits;
+            this.failures = failures;
+            this.evictions = evictions;
+            this.entries = entries;
+            this.unpinnedBytes = unpinnedBytes;
+            this.pinnedBytes = pinnedBytes;
+            this.byteBudget = byteBudget;
+        }
+
+        /** @return (long): number of lookups served by a cached asset */
+        public long getHits() {
+            return hits;
+        }
+
+        /** @return (long): number of lookups served by an evicted asset still in memory */
+        public long getSoftHits() {
+            return softHits;
+        }
+
+        /** @return (long): number of lookups which needed a load */
+        public long getMisses() {
+            return misses;
+        }
+
+        /** @return (long): number of lookups answered by a recent failed load, without trying again */
+        public long getNegativeHits() {
+            return negativeHits;
+        }
+
+        /** @return (long): number of failed loads */
+        public long getFailures() {
+            return failures;
+        }
+
+        /** @return (long): number of evicted assets */
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /** @return (int): number of cached assets */
+        public int getEntries() {
+            return entries;
+        }
+
+        /** @return (long): number of bytes of the cached assets, pinned included */
+        public long getBytes() {
+            return unpinnedBytes + pinnedBytes;
+        }
+
+        /** @return (long): number of bytes of the pinned assets */
+        public long getPinnedBytes() {
+            return pinnedBytes;
+        }
+
+        /** @return (long): maximal number of bytes of the unpinned assets */
+        public long getByteBudget() {
+            return byteBudget;
+        }
+
+        @Override
+        public String toString() {
+            return "AssetCache(hits:" + hits + ", softHits:" + softHits + ", misses:" + misses
+                    + ", negativeHits:" + negativeHits + ", failures:" + failures + ", evictions:" + evictions
+                    + ", entries:" + entries + ", bytes:" + getBytes() + ", pinnedBytes:" + pinnedBytes
+                    + ", budget:" + byteBudget + ")";
+        }
+    }
+}
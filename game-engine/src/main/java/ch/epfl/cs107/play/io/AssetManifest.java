@@ -0,0 +1,66 @@
+package ch.epfl.cs107.play.io;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * List of the assets an area needs (backgrounds, foregrounds, behavior map, sprite sheets, sounds),
+ * so they can be decoded ahead of time, e.g. while the previous area is still running.
+ * Names are full resource names, as given to Window.getImage and Window.getSound, each listed once
+ */
+public final class AssetManifest {
+
+    private final Set<String> images;
+    private final Set<String> sounds;
+
+    /**
+     * Default AssetManifest Constructor, for an empty manifest
+     */
+    public AssetManifest() {
+        this.images = new LinkedHashSet<>();
+        this.sounds = new LinkedHashSet<>();
+    }
+
+    /**
+     * @param name (String): full name of an image file, not null
+     * @return (AssetManifest): this manifest, to chain the additions
+     */
+    public AssetManifest addImage(String name) {
+        if (name == null)
+            throw new NullPointerException();
+        images.add(name);
+        return this;
+    }
+
+    /**
+     * @param name (String): name of a sprite sheet, as given to Sprite, not null
+     * @return (AssetManifest): this manifest, to chain the additions
+     */
+    public AssetManifest addSprite(String name) {
+        if (name == null)
+            throw new NullPointerException();
+        return addImage(ResourcePath.getSprite(name));
+    }
+
+    /**
+     * @param name (String): full name of a sound file, not null
+     * @return (AssetManifest): this manifest, to chain the additions
+     */
+    public AssetManifest addSound(String name) {
+        if (name == null)
+            throw new NullPointerException();
+        sounds.add(name);
+        return this;
+    }
+
+    /** @return (Set): unmodifiable full names of the images, in insertion order */
+    public Set<String> getImages() {
+        return Collections.unmodifiableSet(images);
+    }
+
+    /** @return (Set): unmodifiable full names of the sounds, in insertion order */
+    public Set<String> getSounds() {
+        return Collections.unmodifiableSet(sounds);
+    }
+}
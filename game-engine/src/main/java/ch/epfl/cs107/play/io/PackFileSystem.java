@@ -0,0 +1,186 @@
+package ch.epfl.cs107.play.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Read-only implementation of file system, providing access to a pack file built by ResourcePacker.
+ * The pack is memory-mapped once: looking a file up probes its hashed table of contents in place,
+ * and reading it streams the mapped bytes without copying them first.
+ * A pack is made of, in big-endian order:
+ * - header: MAGIC, VERSION, number of files, number of slots (a power of two), as ints
+ * - slots: hash of the name (String.hashCode) and index of the file, -1 if empty, as ints. Linear probing
+ * - files: offset and length of the UTF-8 name, offset and length of the content, as ints
+ * - the names, then the contents, uncompressed
+ */
+public class PackFileSystem implements FileSystem {
+
+    static final byte[] MAGIC = {'C', 'S', 'P', 'K'};
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16, SLOT_SIZE = 8, FILE_SIZE = 16;
+
+    private final FileSystem fallback;
+    /// Mapped pack, only read with absolute indices so concurrent reads are safe
+    private final ByteBuffer pack;
+    private final int fileCount;
+    private final int slotMask;
+
+    /**
+     * Creates a new pack file system, mapping the pack into memory
+     * @param fallback (FileSystem): secondary file system used on error, not null
+     * @param path (Path): pack file, not null
+     * @throws IOException if the pack cannot be read or is not valid
+     */
+    public PackFileSystem(FileSystem fallback, Path path) throws IOException {
+        if (fallback == null || path == null)
+            throw new NullPointerException();
+        this.fallback = fallback;
+        // The mapping stays valid once the channel is closed
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException("Pack too large: " + path);
+            pack = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (pack.capacity() < HEADER_SIZE || !Arrays.equals(MAGIC, bytes(0, MAGIC.length)))
+            throw new IOException("Not a pack file: " + path);
+        if (pack.getInt(4) != VERSION)
+            throw new IOException("Unsupported pack version: " + pack.getInt(4));
+        fileCount = pack.getInt(8);
+        final int slotCount = pack.getInt(12);
+        if (fileCount < 0 || slotCount <= fileCount || Integer.bitCount(slotCount) != 1
+                || HEADER_SIZE + (long) slotCount * SLOT_SIZE + (long) fileCount * FILE_SIZE > pack.capacity())
+            throw new IOException("Corrupted pack table: " + path);
+        slotMask = slotCount - 1;
+    }
+
+    /** @return (int): number of files in the pack */
+    public int getFileCount() {
+        return fileCount;
+    }
+
+    @Override
+    public InputStream read(String name) throws IOException {
+        final int file = find(name);
+        if (file < 0)
+            return fallback.read(name);
+        final int entry = filesOffset(slotMask + 1) + file * FILE_SIZE;
+        return new MappedInputStream(pack.slice(pack.getInt(entry + 8), pack.getInt(entry + 12)));
+    }
+
+    @Override
+    public OutputStream write(String name) throws IOException {
+        return fallback.write(name);
+    }
+
+    /**
+     * Look a file up in the table of contents
+     * @param name (String): name of the file, not null
+     * @return (int): index of the file, -1 if not in the pack
+     */
+    private int find(String name) {
+        final int hash = name.hashCode();
+        final int filesOffset = filesOffset(slotMask + 1);
+        byte[] bytes = null;
+        // The table has at least one empty slot, probing always ends
+        for (int slot = spread(hash) & slotMask; ; slot = (slot + 1) & slotMask) {
+            final int offset = HEADER_SIZE + slot * SLOT_SIZE;
+            final int file = pack.getInt(offset + 4);
+            if (file < 0)
+                return -1;
+            if (pack.getInt(offset) != hash)
+                continue;
+            if (bytes == null)
+                bytes = name.getBytes(StandardCharsets.UTF_8);
+            final int entry = filesOffset + file * FILE_SIZE;
+            if (pack.getInt(entry + 4) == bytes.length
+                    && Arrays.equals(bytes, bytes(pack.getInt(entry), bytes.length)))
+                return file;
+        }
+    }
+
+    private byte[] bytes(int offset, int length) {
+        final byte[] bytes = new byte[length];
+        pack.get(offset, bytes);
+        return bytes;
+    }
+
+    static int filesOffset(int slotCount) {
+        return HEADER_SIZE + slotCount * SLOT_SIZE;
+    }
+
+    /// Mix the high bits of the hash into the low ones, the only ones kept by the mask
+    static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Stream over a region of the mapped pack, supporting mark as sound decoders require
+     */
+    private static final class MappedInputStream extends InputStream {
+
+        private final ByteBuffer region;
+        private int mark;
+
+        private MappedInputStream(ByteBuffer region) {
+            this.region = region;
+        }
+
+        @Override
+        public int read() {
+            return region.hasRemaining() ? region.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0)
+                return 0;
+            if (!region.hasRemaining())
+                return -1;
+            length = Math.min(length, region.remaining());
+            region.get(bytes, offset, length);
+            return length;
+        }
+
+        @Override
+        public byte[] readAllBytes() {
+            final byte[] bytes = new byte[region.remaining()];
+            region.get(bytes);
+            return bytes;
+        }
+
+        @Override
+        public long skip(long n) {
+            final int skipped = (int) Math.max(0, Math.min(n, region.remaining()));
+            region.position(region.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return region.remaining();
+        }
+
+        @Override
+        public boolean markSupported() {
+            return true;
+        }
+
+        @Override
+        public void mark(int readLimit) {
+            mark = region.position();
+        }
+
+        @Override
+        public void reset() {
+            region.position(mark);
+        }
+    }
+}
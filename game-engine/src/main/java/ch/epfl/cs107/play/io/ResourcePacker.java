@@ -0,0 +1,144 @@
+package ch.epfl.cs107.play.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Build-time tool packing resource folders into a single file, read at run time by PackFileSystem.
+ * Run it after the resources changed, e.g. from the root of the project:
+ * "java -cp game-engine/target/classes ch.epfl.cs107.play.io.ResourcePacker iccoop/src/main/resources resources.pack"
+ */
+public final class ResourcePacker {
+
+    /** Folders packed when none is given, see ResourcePath */
+    public static final String[] DEFAULT_FOLDERS = {"images", "sounds", "dialogs", "fonts"};
+
+    private ResourcePacker() {}
+
+    /**
+     * Pack resource folders
+     * @param args (Array of String): the resource root, the pack file, then optionally the folders of the root to pack,
+     *             DEFAULT_FOLDERS if none
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: ResourcePacker <resource root> <pack file> [folders...]");
+            return;
+        }
+        final String[] folders = (args.length > 2) ? Arrays.copyOfRange(args, 2, args.length) : DEFAULT_FOLDERS;
+        try {
+            final int count = pack(Paths.get(args[0]), folders, Paths.get(args[1]));
+            System.out.println("Packed " + count + " files into " + args[1]);
+        } catch (IOException e) {
+            System.out.println("ERROR: An error happened while packing resources");
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Pack the regular files of the given folders, named by their path from the root with '/' separators,
+     * as given to FileSystem.read. Missing folders are skipped
+     * @param root (Path): resource root, not null
+     * @param folders (Array of String): folders of the root to pack, not null
+     * @param pack (Path): pack file, replaced if it exists, not null
+     * @return (int): number of packed files
+     * @throws IOException if a resource cannot be read or the pack cannot be written
+     */
+    public static int pack(Path root, String[] folders, Path pack) throws IOException {
+        if (root == null || folders == null || pack == null)
+            throw new NullPointerException();
+
+        // Sorted, so the same resources always give the same pack
+        final List<Path> files = new ArrayList<>();
+        for (String folder : folders) {
+            final Path directory = root.resolve(folder);
+            if (!Files.isDirectory(directory))
+                continue;
+            try (Stream<Path> walk = Files.walk(directory)) {
+                walk.filter(Files::isRegularFile).sorted().forEach(files::add);
+            }
+        }
+        final int count = files.size();
+        final int[] hashes = new int[count];
+        final byte[][] names = new byte[count][];
+        for (int i = 0; i < count; ++i) {
+            final String name = name(root, files.get(i));
+            hashes[i] = name.hashCode();
+            names[i] = name.getBytes(StandardCharsets.UTF_8);
+        }
+
+        // At most half full, so probes stay short
+        final int slotCount = Integer.highestOneBit(Math.max(1, 2 * count)) << 1;
+        long namesSize = 0;
+        for (byte[] name : names)
+            namesSize += name.length;
+        final long tableSize = PackFileSystem.HEADER_SIZE + (long) slotCount * PackFileSystem.SLOT_SIZE
+                + (long) count * PackFileSystem.FILE_SIZE + namesSize;
+        if (tableSize > Integer.MAX_VALUE)
+            throw new IOException("Too many resources to pack");
+        final ByteBuffer table = ByteBuffer.allocate((int) tableSize);
+
+        table.put(PackFileSystem.MAGIC);
+        table.putInt(PackFileSystem.VERSION);
+        table.putInt(count);
+        table.putInt(slotCount);
+        for (int slot = 0; slot < slotCount; ++slot) {
+            table.putInt(0);
+            table.putInt(-1);
+        }
+        final int mask = slotCount - 1;
+        for (int i = 0; i < count; ++i) {
+            int slot = PackFileSystem.spread(hashes[i]) & mask;
+            while (table.getInt(PackFileSystem.HEADER_SIZE + slot * PackFileSystem.SLOT_SIZE + 4) >= 0)
+                slot = (slot + 1) & mask;
+            table.putInt(PackFileSystem.HEADER_SIZE + slot * PackFileSystem.SLOT_SIZE, hashes[i]);
+            table.putInt(PackFileSystem.HEADER_SIZE + slot * PackFileSystem.SLOT_SIZE + 4, i);
+        }
+
+        long nameOffset = PackFileSystem.filesOffset(slotCount) + (long) count * PackFileSystem.FILE_SIZE;
+        long dataOffset = tableSize;
+        for (int i = 0; i < count; ++i) {
+            final long size = Files.size(files.get(i));
+            if (dataOffset + size > Integer.MAX_VALUE)
+                throw new IOException("Resources too large to pack");
+            table.putInt((int) nameOffset);
+            table.putInt(names[i].length);
+            table.putInt((int) dataOffset);
+            table.putInt((int) size);
+            nameOffset += names[i].length;
+            dataOffset += size;
+        }
+        for (byte[] name : names)
+            table.put(name);
+        table.flip();
+
+        try (FileChannel out = FileChannel.open(pack, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (table.hasRemaining())
+                out.write(table);
+            for (Path file : files) {
+                try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+                    final long size = in.size();
+                    for (long copied = 0; copied < size; )
+                        copied += in.transferTo(copied, size - copied, out);
+                }
+            }
+        }
+        return count;
+    }
+
+    /// Name of a resource, as given to FileSystem.read
+    private static String name(Path root, Path file) {
+        return root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+    }
+}
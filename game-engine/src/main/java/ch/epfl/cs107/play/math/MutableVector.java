@@ -0,0 +1,141 @@
+package ch.epfl.cs107.play.math;
+
+/**
+ * Represents a mutable 2D floating-point vector, modified in place.
+ * Scratch counterpart of Vector for hot paths: operations return this vector instead of a new one,
+ * and compute exactly what the same operations of Vector would.
+ * Do not share it: copy it into a Vector with toVector to keep its value.
+ */
+public final class MutableVector {
+
+    public float x;
+    public float y;
+
+    /** Creates a new vector (0, 0). */
+    public MutableVector() {
+    }
+
+    /**
+     * Creates a new vector.
+     * @param x (float): abscissa
+     * @param y (float): ordinate
+     */
+    public MutableVector(float x, float y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * @param x (float): new abscissa
+     * @param y (float): new ordinate
+     * @return (MutableVector): this vector, not null
+     */
+    public MutableVector set(float x, float y) {
+        this.x = x;
+        this.y = y;
+        return this;
+    }
+
+    /**
+     * @param other (Vector): vector to copy, not null
+     * @return (MutableVector): this vector, not null
+     */
+    public MutableVector set(Vector other) {
+        return set(other.x, other.y);
+    }
+
+    /** @return (float): euclidian length */
+    public float getLength() {
+        return (float)Math.sqrt(x * x + y * y);
+    }
+
+    /**
+     * @param x (float): right-hand abcissa
+     * @param y (float): right-hand ordinate
+     * @return (MutableVector): this vector, sum, not null
+     */
+    public MutableVector add(float x, float y) {
+        return set(this.x + x, this.y + y);
+    }
+
+    /**
+     * @param other (Vector): right-hand operand, not null
+     * @return (MutableVector): this vector, sum, not null
+     */
+    public MutableVector add(Vector other) {
+        return add(other.x, other.y);
+    }
+
+    /**
+     * @param x (float): right-hand abcissa
+     * @param y (float): right-hand ordinate
+     * @return (MutableVector): this vector, difference, not null
+     */
+    public MutableVector sub(float x, float y) {
+        return set(this.x - x, this.y - y);
+    }
+
+    /**
+     * @param other (Vector): right-hand operand, not null
+     * @return (MutableVector): this vector, difference, not null
+     */
+    public MutableVector sub(Vector other) {
+        return sub(other.x, other.y);
+    }
+
+    /**
+     * @param x (float): right-hand abcissa
+     * @param y (float): right-hand ordinate
+     * @return (MutableVector): this vector, component-wise multiplication, not null
+     */
+    public MutableVector mul(float x, float y) {
+        return set(this.x * x, this.y * y);
+    }
+
+    /**
+     * @param s (float): right-hand operand
+     * @return (MutableVector): this vector, scaled, not null
+     */
+    public MutableVector mul(float s) {
+        return set(x * s, y * s);
+    }
+
+    /**
+     * @param s (float): right-hand operand
+     * @return (MutableVector): this vector, scaled, not null
+     */
+    public MutableVector div(float s) {
+        return set(x / s, y / s);
+    }
+
+    /**
+     * Adds a scaled vector, as add(v.mul(s)) would.
+     * @param v (Vector): vector to scale and add, not null
+     * @param s (float): scale of the vector
+     * @return (MutableVector): this vector, sum, not null
+     */
+    public MutableVector addScaled(Vector v, float s) {
+        return add(v.x * s, v.y * s);
+    }
+
+    /**
+     * Rescales to unit length, or sets to (1, 0) if zero.
+     * @return (MutableVector): this vector, not null
+     */
+    public MutableVector normalize() {
+        float length = getLength();
+        if (length > 1e-6)
+            return div(length);
+        return set(Vector.X);
+    }
+
+    /** @return (Vector): immutable copy of this vector, not null */
+    public Vector toVector() {
+        return new Vector(x, y);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + x + "," + y + ")";
+    }
+}
@@ -2,22 +2,58 @@ package ch.epfl.cs107.play.math;
 
 /**
  * Simple attachable object.
+ * The transform and position in the world are cached, along with the version of the parent they were computed from:
+ * they are only composed again when the relative transform, the parent or the parent's version changed.
+ * Repeated queries on an unchanged node only compare one version per ancestor.
+ * Not thread-safe: queries update the cache
  */
 public class Node implements Attachable {
 
     private Positionable parent;
     private Transform transform;
 
+    /// World transform, valid while the relative transform, the parent and its version do not change
+    private final TransformBuilder world = new TransformBuilder();
+    /// Immutable copies of the world transform and position, built when first asked, null until then
+    private Transform worldTransform;
+    private Vector worldPosition;
+    /// Set when the relative transform or the parent changed
+    private boolean stale;
+    /// Version of the parent the cache was computed from
+    private long parentVersion;
+    /// Incremented each time the cache is computed again
+    private long version;
+
     /** Creates a new node at origin. */
     public Node() {
         parent = null;
         transform = Transform.I;
+        stale = true;
+    }
+
+    /// Compute the cache again if the relative transform, the parent, or its version changed
+    private void validate() {
+        final long current = (parent == null) ? 0 : parent.getTransformVersion();
+        if (!stale && current != UNTRACKED_VERSION && current == parentVersion)
+            return;
+        stale = false;
+        parentVersion = current;
+        final Transform relative = getRelativeTransform();
+        if (parent == null)
+            world.set(relative);
+        else
+            parent.transformInto(world).preTransform(relative);
+        worldTransform = null;
+        worldPosition = null;
+        ++version;
     }
 
     /// Node implements Attachable
 
     @Override
     public void setParent(Positionable parent) {
+        if (parent != this.parent)
+            stale = true;
         this.parent = parent;
     }
 
@@ -25,7 +61,7 @@ public class Node implements Attachable {
     public Positionable getParent() {
         return parent;
     }
-    
+
     @Override
     public Transform getRelativeTransform() {
         return transform;
@@ -36,6 +72,7 @@ public class Node implements Attachable {
         if (transform == null)
             throw new NullPointerException();
         this.transform = transform;
+        stale = true;
     }
 
     @Override
@@ -43,16 +80,32 @@ public class Node implements Attachable {
         Transform relative = getRelativeTransform();
         if (parent == null)
             return relative;
-        Transform absolute = relative.transformed(parent.getTransform());
-        return absolute;
+        validate();
+        if (worldTransform == null)
+            worldTransform = world.build();
+        return worldTransform;
+    }
+
+    @Override
+    public TransformBuilder transformInto(TransformBuilder result) {
+        validate();
+        return result.set(world);
+    }
+
+    @Override
+    public long getTransformVersion() {
+        validate();
+        return version;
     }
 
     @Override
     public Vector getPosition() {
-        Transform relative = getRelativeTransform();
-        if (parent == null)
-            return relative.getOrigin();
-        return relative.onPoint(parent.getPosition());
+        validate();
+        if (worldPosition == null) {
+            Transform relative = getRelativeTransform();
+            worldPosition = (parent == null) ? relative.getOrigin() : relative.onPoint(parent.getPosition());
+        }
+        return worldPosition;
     }
 
     @Override
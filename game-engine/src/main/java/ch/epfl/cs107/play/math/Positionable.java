@@ -6,8 +6,21 @@ package ch.epfl.cs107.play.math;
  */
 public interface Positionable {
 
+    /** Transform version of the positionables which do not track their changes: they may change at any time */
+    long UNTRACKED_VERSION = -1;
+
     /** @return (Transform): affine transform, not null */
     Transform getTransform();
+
+    /**
+     * Computes the affine transform into a builder, without allocating if the transform is composed.
+     * Copies getTransform by default
+     * @param result (TransformBuilder): set to the affine transform, not null
+     * @return (TransformBuilder): the given result, not null
+     */
+    default TransformBuilder transformInto(TransformBuilder result) {
+        return result.set(getTransform());
+    }
     
     /** @return (Vector): origin, not null */
     default Vector getPosition() {
@@ -16,4 +29,14 @@ public interface Positionable {
 
     /** @return (Vector): linear velocity, not null */
     Vector getVelocity();
+
+    /**
+     * Version stamp of the transform and the position, so the nodes attached to this positionable only
+     * compose their transform again when it changed. UNTRACKED_VERSION by default
+     * @return (long): a value changing each time the transform or the position may have changed,
+     * or UNTRACKED_VERSION if they are not tracked
+     */
+    default long getTransformVersion() {
+        return UNTRACKED_VERSION;
+    }
 }
@@ -90,6 +90,20 @@ public final class Transform implements Serializable {
     public Vector onPoint(Vector p) {
         return onPoint(p.x, p.y);
     }
+
+    /**
+     * Transforms point, without allocating.
+     * @param x (float): abcissa
+     * @param y (float): ordinate
+     * @param result (MutableVector): set to the transformed point, not null
+     * @return (MutableVector): the given result, not null
+     */
+    public MutableVector onPoint(float x, float y, MutableVector result) {
+        return result.set(
+            x * m00 + y * m01 + m02,
+            x * m10 + y * m11 + m12
+        );
+    }
     
     /**
      * Transforms vector.
@@ -112,6 +126,20 @@ public final class Transform implements Serializable {
     public Vector onVector(Vector v) {
         return onVector(v.x, v.y);
     }
+
+    /**
+     * Transforms vector, without allocating.
+     * @param x (float): abcissa
+     * @param y (float): ordinate
+     * @param result (MutableVector): set to the transformed vector, not null
+     * @return (MutableVector): the given result, not null
+     */
+    public MutableVector onVector(float x, float y, MutableVector result) {
+        return result.set(
+            x * m00 + y * m01,
+            x * m10 + y * m11
+        );
+    }
     
     /**
      * Appends another transform (applied after this transform).
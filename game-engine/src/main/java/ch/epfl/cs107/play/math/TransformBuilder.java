@@ -0,0 +1,252 @@
+package ch.epfl.cs107.play.math;
+
+import java.awt.geom.AffineTransform;
+
+/**
+ * Represents a mutable 2D affine transformation, modified in place.
+ * Scratch counterpart of Transform for hot paths: a chain of operations composes into this builder
+ * without allocating, computing exactly what the same chain of Transform operations would,
+ * and build gives the immutable result when one must be kept.
+ * Do not share it: pass it down to be filled, e.g. to Positionable.transformInto.
+ */
+public final class TransformBuilder {
+
+    private float m00, m01, m02;
+    private float m10, m11, m12;
+
+    /** Creates a new builder of the identity transform. */
+    public TransformBuilder() {
+        m00 = 1.0f;
+        m11 = 1.0f;
+    }
+
+    /**
+     * Sets all the coefficients.
+     * @param m00 (float): X scale
+     * @param m01 (float): X shear
+     * @param m02 (float): X translation
+     * @param m10 (float): Y shear
+     * @param m11 (float): Y scale
+     * @param m12 (float): Y translate
+     * @return (TransformBuilder): this builder, not null
+     */
+    public TransformBuilder set(float m00, float m01, float m02, float m10, float m11, float m12) {
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+        return this;
+    }
+
+    /**
+     * @param t (Transform): transform to copy, not null
+     * @return (TransformBuilder): this builder, not null
+     */
+    public TransformBuilder set(Transform t) {
+        return set(t.m00, t.m01, t.m02, t.m10, t.m11, t.m12);
+    }
+
+    /**
+     * @param t (TransformBuilder): builder to copy, not null
+     * @return (TransformBuilder): this builder, not null
+     */
+    public TransformBuilder set(TransformBuilder t) {
+        return set(t.m00, t.m01, t.m02, t.m10, t.m11, t.m12);
+    }
+
+    /** @return (TransformBuilder): this builder, set to the identity, not null */
+    public TransformBuilder setIdentity() {
+        return set(1.0f, 0.0f, 0.0f, 0.0f, 1.0f, 0.0f);
+    }
+
+    /** @return (float): X scale */
+    public float getM00() {
+        return m00;
+    }
+
+    /** @return (float): X shear */
+    public float getM01() {
+        return m01;
+    }
+
+    /** @return (float): X translation */
+    public float getM02() {
+        return m02;
+    }
+
+    /** @return (float): Y shear */
+    public float getM10() {
+        return m10;
+    }
+
+    /** @return (float): Y scale */
+    public float getM11() {
+        return m11;
+    }
+
+    /** @return (float): Y translation */
+    public float getM12() {
+        return m12;
+    }
+
+    /**
+     * Appends another transform (applied after this transform), as Transform.transformed.
+     * @param t (Transform): transform, not null
+     * @return (TransformBuilder): this builder, not null
+     */
+    public TransformBuilder transform(Transform t) {
+        return transform(t.m00, t.m01, t.m02, t.m10, t.m11, t.m12);
+    }
+
+    /**
+     * Appends another transform (applied after this transform), as Transform.transformed.
+     * @param t (TransformBuilder): transform, not null, may be this builder
+     * @return (TransformBuilder): this builder, not null
+     */
+    public TransformBuilder transform(TransformBuilder t) {
+        return transform(t.m00, t.m01, t.m02, t.m10, t.m11, t.m12);
+    }
+
+    private TransformBuilder transform(float t00, float t01, float t02, float t10, float t11, float t12) {
+        return set(
+            t00 * m00 + t01 * m10, t00 * m01 + t01 * m11, t00 * m02 + t01 * m12 + t02,
+            t10 * m00 + t11 * m10, t10 * m01 + t11 * m11, t10 * m02 + t11 * m12 + t12
+        );
+    }
+
+    /**
+     * Prepends another transform (applied before this transform), i.e. sets this builder to t.transformed(this).
+     * @param t (Transform): transform, not null
+     * @return (TransformBuilder): this builder, not null
+     */
+    public TransformBuilder preTransform(Transform t) {
+        return set(
+            m00 * t.m00 + m01 * t.m10, m00 * t.m01 + m01 * t.m11, m00 * t.m02 + m01 * t.m12 + m02,
+            m10 * t.m00 + m11 * t.m10, m10 * t.m01 + m11 * t.m11, m10 * t.m02 + m11 * t.m12 + m12
+        );
+    }
+
+    /**
+     * Appends translation (applied after this transform).
+     * @param dx (float): X translation
+     * @param dy (float): Y translation
+     * @return (TransformBuilder): this builder, not null
+     */
+    public TransformBuilder translate(float dx, float dy) {
+        m02 += dx;
+        m12 += dy;
+        return this;
+    }
+
+    /**
+     * Appends translation (applied after this transform).
+     * @param d (Vector): translation, not null
+     * @return (TransformBuilder): this builder, not null
+     */
+    public TransformBuilder translate(Vector d) {
+        return translate(d.x, d.y);
+    }
+
+    /**
+     * Appends scale (applied after this transform).
+     * @param sx (float) X scale
+     * @param sy (float) Y scale
+     * @return (TransformBuilder): this builder, not null
+     */
+    public TransformBuilder scale(float sx, float sy) {
+        return set(
+            m00 * sx, m01 * sx, m02 * sx,
+            m10 * sy, m11 * sy, m12 * sy
+        );
+    }
+
+    /**
+     * Appends scale (applied after this transform).
+     * @param s (float): scale
+     * @return (TransformBuilder): this builder, not null
+     */
+    public TransformBuilder scale(float s) {
+        return scale(s, s);
+    }
+
+    /**
+     * Appends rotation around origin (applied after this transform).
+     * @param a (float): angle, in radians
+     * @return (TransformBuilder): this builder, not null
+     */
+    public TransformBuilder rotate(float a) {
+        float c = (float)Math.cos(a);
+        float s = (float)Math.sin(a);
+        return set(
+            c * m00 - s * m10, c * m01 - s * m11, c * m02 - s * m12,
+            s * m00 + c * m10, s * m01 + c * m11, s * m02 + c * m12
+        );
+    }
+
+    /** @return (TransformBuilder): this builder, inverted, not null */
+    public TransformBuilder invert() {
+        float det = 1.0f / (m00 * m11 - m01 * m10);
+        float a = m11 * det;
+        float b = -m01 * det;
+        float c = -m10 * det;
+        float d = m00 * det;
+        return set(
+            a, b, -(a * m02 + b * m12),
+            c, d, -(c * m02 + d * m12)
+        );
+    }
+
+    /**
+     * Transforms point.
+     * @param x (float): abcissa
+     * @param y (float): ordinate
+     * @param result (MutableVector): set to the transformed point, not null
+     * @return (MutableVector): the given result, not null
+     */
+    public MutableVector onPoint(float x, float y, MutableVector result) {
+        return result.set(
+            x * m00 + y * m01 + m02,
+            x * m10 + y * m11 + m12
+        );
+    }
+
+    /**
+     * Transforms vector.
+     * @param x (float): abcissa
+     * @param y (float): ordinate
+     * @param result (MutableVector): set to the transformed vector, not null
+     * @return (MutableVector): the given result, not null
+     */
+    public MutableVector onVector(float x, float y, MutableVector result) {
+        return result.set(
+            x * m00 + y * m01,
+            x * m10 + y * m11
+        );
+    }
+
+    /**
+     * Sets an AWT affine transform to this transform.
+     * @param result (AffineTransform): transform to set, not null
+     * @return (AffineTransform): the given result, not null
+     */
+    public AffineTransform toAffineTransform(AffineTransform result) {
+        result.setTransform(
+            m00, m10,
+            m01, m11,
+            m02, m12
+        );
+        return result;
+    }
+
+    /** @return (Transform): immutable copy of this transform, not null */
+    public Transform build() {
+        return new Transform(m00, m01, m02, m10, m11, m12);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%f, %f, %f, %f, %f, %f]", m00, m01, m02, m10, m11, m12);
+    }
+}
@@ -1,11 +1,75 @@
 package ch.epfl.cs107.play.math.random;
 
 public class RandomGenerator {
-	private static java.util.Random instance;
-	
+	private static StatefulRandom instance;
+	/// Generator bound to the current thread, used instead of the shared one while not null
+	private static final ThreadLocal<java.util.Random> localInstance = new ThreadLocal<>();
+
 	public static java.util.Random getInstance() {
+		java.util.Random local = localInstance.get();
+		if(local != null)
+			return local;
+		return shared();
+	}
+
+	/**
+	 * Bind a generator to the current thread: getInstance returns it on this thread until unbound.
+	 * Lets concurrent tasks draw reproducible numbers whatever their scheduling
+	 * @param random (java.util.Random): the generator of this thread, null to use the shared one again
+	 */
+	public static void bindToCurrentThread(java.util.Random random) {
+		if(random == null)
+			localInstance.remove();
+		else
+			localInstance.set(random);
+	}
+
+	/**
+	 * Save the state of the shared generator, unlike a seed it does not restart the sequence
+	 * @return (long): the state, to give back to setState
+	 */
+	public static long getState() {
+		return shared().state;
+	}
+
+	/**
+	 * Restore the shared generator to a saved state: it draws again the numbers drawn after getState
+	 * @param state (long): a state given by getState
+	 */
+	public static void setState(long state) {
+		shared().state = state;
+	}
+
+	private static StatefulRandom shared() {
 		if(instance == null)
-			instance = new java.util.Random();
+			instance = new StatefulRandom();
 		return instance;
 	}
+
+	/**
+	 * java.util.Random whose state is readable. Same linear congruential generator, hence same sequences
+	 * from a same seed. Note: the spare value of nextGaussian is not part of the state,
+	 * and it is not thread safe, unlike java.util.Random: tasks on other threads bind their own generator
+	 */
+	private static final class StatefulRandom extends java.util.Random {
+		private static final long serialVersionUID = 1;
+		private static final long MULTIPLIER = 0x5DEECE66DL;
+		private static final long ADDEND = 0xBL;
+		private static final long MASK = (1L << 48) - 1;
+
+		/// Not initialized here: the super constructor sets it through setSeed
+		private long state;
+
+		@Override
+		public synchronized void setSeed(long seed) {
+			super.setSeed(seed);
+			state = (seed ^ MULTIPLIER) & MASK;
+		}
+
+		@Override
+		protected int next(int bits) {
+			state = (state * MULTIPLIER + ADDEND) & MASK;
+			return (int) (state >>> (48 - bits));
+		}
+	}
 }
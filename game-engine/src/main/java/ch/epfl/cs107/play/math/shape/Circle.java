@@ -12,6 +12,9 @@ import java.awt.geom.Path2D;
  */
 public final class Circle extends Shape {
     
+    /// Distance of the control points of a quarter arc to its ends, relative to the radius
+    private static final float KAPPA = 0.5522848f;
+
     private final float radius;
     private final Vector center;
 
@@ -82,4 +85,17 @@ public final class Circle extends Shape {
         );
 		return new Path2D.Float(ellipse);
     }
+
+    @Override
+    public void appendTo(Path2D path) {
+        // Four cubic arcs, with the control points used by Ellipse2D
+        final float k = radius * KAPPA;
+        final float x = center.x, y = center.y;
+        path.moveTo(x + radius, y);
+        path.curveTo(x + radius, y + k, x + k, y + radius, x, y + radius);
+        path.curveTo(x - k, y + radius, x - radius, y + k, x - radius, y);
+        path.curveTo(x - radius, y - k, x - k, y - radius, x, y - radius);
+        path.curveTo(x + k, y - radius, x + radius, y - k, x + radius, y);
+        path.closePath();
+    }
 }
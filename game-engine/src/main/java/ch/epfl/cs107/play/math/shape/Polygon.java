@@ -230,6 +230,12 @@ public final class Polygon extends Shape {
     @Override
     public Path2D toPath() {
         Path2D path = new Path2D.Float();
+		appendTo(path);
+		return path;
+    }
+
+    @Override
+    public void appendTo(Path2D path) {
 		Vector point = points.get(0);
 		path.moveTo(point.x, point.y);
 		for (int i = 1; i < points.size(); ++i) {
@@ -237,7 +243,6 @@ public final class Polygon extends Shape {
 			path.lineTo(point.x, point.y);
 		}
 		path.closePath();
-		return path;
     }
     
 }
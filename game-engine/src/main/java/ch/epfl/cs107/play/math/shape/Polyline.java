@@ -143,6 +143,12 @@ public final class Polyline extends Shape {
     @Override
     public Path2D toPath() {
         Path2D path = new Path2D.Float();
+		appendTo(path);
+		return path;
+    }
+
+    @Override
+    public void appendTo(Path2D path) {
 		Vector point = points.get(0);
 		path.moveTo(point.x, point.y);
 		for (int i = 1; i < points.size(); ++i) {
@@ -151,7 +157,6 @@ public final class Polyline extends Shape {
 		}
         if (closed)
             path.closePath();
-		return path;
     }
     
 }
@@ -23,4 +23,13 @@ public abstract class Shape {
     
     /** @return (Path2D): AWT path used for drawing */
     public abstract Path2D toPath();
+
+    /**
+     * Append the outline of this shape to an existing AWT path, without connecting it to the previous segments.
+     * Lets a path be reused from one draw to the next. Can be overridden to avoid building a temporary path
+     * @param path (Path2D): path to fill, not null
+     */
+    public void appendTo(Path2D path) {
+        path.append(toPath(), false);
+    }
 }
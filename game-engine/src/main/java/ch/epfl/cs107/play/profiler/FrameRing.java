@@ -0,0 +1,90 @@
+package ch.epfl.cs107.play.profiler;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * History of the last frames, one row of samples per frame, overwriting the oldest row once full.
+ * There is a single writer and any number of readers, without lock: the writer fills the row of the next frame
+ * then publishes it by incrementing the number of rows written. Readers copy the rows then drop those
+ * the writer may have been filling meanwhile
+ */
+final class FrameRing {
+
+    private final int capacity;
+    private final int columns;
+    /// Rows of the ring, with one more slot than the capacity for the row the writer is filling
+    private final long[] samples;
+    private final int slots;
+    /// Number of rows written since the creation, the last one being published
+    private final AtomicLong written;
+
+    /**
+     * Default FrameRing Constructor
+     * @param capacity (int): maximal number of rows kept, positive
+     * @param columns (int): number of samples of each row, positive
+     */
+    FrameRing(int capacity, int columns) {
+        if (capacity <= 0 || columns <= 0)
+            throw new IllegalArgumentException("capacity and columns must be positive");
+        this.capacity = capacity;
+        this.columns = columns;
+        this.slots = capacity + 1;
+        this.samples = new long[slots * columns];
+        this.written = new AtomicLong();
+    }
+
+    /** @return (int): maximal number of rows kept */
+    int getCapacity() {
+        return capacity;
+    }
+
+    /** @return (int): number of samples of each row */
+    int getColumns() {
+        return columns;
+    }
+
+    /** @return (long): number of rows written since the creation */
+    long getWritten() {
+        return written.get();
+    }
+
+    /**
+     * Append a row, called by the single writer only
+     * @param row (long[]): samples of the row, at least getColumns() of them, not null
+     */
+    void write(long[] row) {
+        final long index = written.get();
+        System.arraycopy(row, 0, samples, (int) (index % slots) * columns, columns);
+        // Volatile write: readers seeing the new count see the whole row
+        written.set(index + 1);
+    }
+
+    /**
+     * Copy the last rows, oldest first
+     * @param destination (long[]): receives up to destination.length / getColumns() rows, not null
+     * @return (int): number of rows copied
+     */
+    int read(long[] destination) {
+        final int wanted = Math.min(capacity, destination.length / columns);
+        while (true) {
+            final long end = written.get();
+            final long start = Math.max(0, end - wanted);
+            for (long index = start; index < end; ++index)
+                System.arraycopy(samples, (int) (index % slots) * columns, destination, (int) (index - start) * columns, columns);
+
+            // Keep the plain reads of the copy from moving after the second read of the count, which validates them
+            VarHandle.acquireFence();
+            // The writer may be filling the row following the last published one, sharing its slot with an old row
+            final long valid = Math.max(start, written.get() + 1 - slots);
+            if (valid == start)
+                return (int) (end - start);
+            if (valid < end) {
+                final int dropped = (int) (valid - start);
+                System.arraycopy(destination, dropped * columns, destination, 0, (int) (end - valid) * columns);
+                return (int) (end - valid);
+            }
+            // The writer went round the whole ring during the copy, try again
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package ch.epfl.cs107.play.profiler;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Per-frame timings and counters of the game loop, kept in a FrameRing of the last frames.
+ * The game loop calls beginFrame and endFrame around each frame, the engine times its sections in between
+ * with start and stop and sets its counters. All these calls must come from the game thread.
+ * Readers (export, overlay) may run on any thread. Disabled by default: the engine calls then cost a field read
+ */
+public final class Profiler {
+
+    /**
+     * Timed parts of a frame, in nanoseconds. A section timed several times in a frame sums the durations.
+     * Sections may be nested: UPDATE includes PURGE and INTERACTION
+     */
+    public enum Section {
+        /// Game.update
+        UPDATE("update"),
+        /// Cell and view interactions of the interactors
+        INTERACTION("interaction"),
+        /// Area.purgeRegistration
+        PURGE("purge"),
+        /// Game.draw, submission of the draw requests to the window
+        DRAW("draw"),
+        /// Ordering of the draw requests by depth
+        SORT("sort"),
+        /// Rendering of the draw requests and display of the frame
+        PRESENT("present");
+
+        private final String label;
+
+        Section(String label) {
+            this.label = label;
+        }
+
+        /** @return (String): name of the section in the exports */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /**
+     * Counted quantities of a frame, -1 when not set during the frame
+     */
+    public enum Counter {
+        /// Actors of the updated area
+        ACTORS("actors"),
+        /// Interactors of the updated area
+        INTERACTORS("interactors"),
+        /// Draw requests rendered by the window
+        DRAW_ITEMS("drawItems"),
+        /// Bytes allocated by the game thread during the frame
+        ALLOCATED_BYTES("allocatedBytes"),
+        /// Actors of the drawn area seen by the camera, and so drawn
+        DRAWN_ACTORS("drawnActors");
+
+        private final String label;
+
+        Counter(String label) {
+            this.label = label;
+        }
+
+        /** @return (String): name of the counter in the exports */
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    /// Index of the frame into each row
+    public static final int FRAME_COLUMN = 0;
+    /// Duration of the frame, from beginFrame to endFrame, in nanoseconds
+    public static final int TIME_COLUMN = 1;
+    private static final int SECTION_COLUMN = 2;
+    private static final int COUNTER_COLUMN = SECTION_COLUMN + Section.values().length;
+    private static final int COLUMNS = COUNTER_COLUMN + Counter.values().length;
+    /// Default number of frames kept, one minute at 60 frames per second
+    private static final int DEFAULT_CAPACITY = 3600;
+
+    private static final Profiler instance = new Profiler(DEFAULT_CAPACITY);
+
+    private final FrameRing frames;
+    /// Samples of the current frame
+    private final long[] row;
+    /// Allocation statistics of the threads, null if this JVM does not measure them
+    private final com.sun.management.ThreadMXBean allocations;
+    private volatile boolean enabled;
+    /// Whether the current frame is recorded, fixed at beginFrame
+    private boolean recording;
+    private long frame;
+    private long frameStart;
+    private long allocatedStart;
+
+    /**
+     * Default Profiler Constructor
+     * @param capacity (int): number of frames kept, positive
+     */
+    public Profiler(int capacity) {
+        this.frames = new FrameRing(capacity, COLUMNS);
+        this.row = new long[COLUMNS];
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported())
+            this.allocations = bean;
+        else
+            this.allocations = null;
+    }
+
+    /** @return (Profiler): the profiler instrumenting the engine */
+    public static Profiler getInstance() {
+        return instance;
+    }
+
+    /** @return (boolean): true if the next frames are recorded */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start or stop the recording, effective from the next frame
+     * @param enabled (boolean): true to record the frames
+     */
+    public void setEnabled(boolean enabled) {
+        if (enabled && allocations != null && !allocations.isThreadAllocatedMemoryEnabled())
+            allocations.setThreadAllocatedMemoryEnabled(true);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Start a frame, before updating the game
+     */
+    public void beginFrame() {
+        recording = enabled;
+        if (!recording)
+            return;
+        for (int i = SECTION_COLUMN; i < COUNTER_COLUMN; ++i)
+            row[i] = 0;
+        for (int i = COUNTER_COLUMN; i < COLUMNS; ++i)
+            row[i] = -1;
+        allocatedStart = (allocations == null) ? -1 : allocations.getCurrentThreadAllocatedBytes();
+        frameStart = System.nanoTime();
+    }
+
+    /**
+     * End the current frame, after the window update, and publish its samples
+     */
+    public void endFrame() {
+        if (!recording)
+            return;
+        row[TIME_COLUMN] = System.nanoTime() - frameStart;
+        if (allocatedStart >= 0)
+            row[COUNTER_COLUMN + Counter.ALLOCATED_BYTES.ordinal()] = allocations.getCurrentThreadAllocatedBytes() - allocatedStart;
+        row[FRAME_COLUMN] = frame++;
+        frames.write(row);
+        recording = false;
+    }
+
+    /**
+     * Start timing a section
+     * @return (long): the start time to give to stop, 0 if the current frame is not recorded
+     */
+    public long start() {
+        return recording ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Stop timing a section, adding its duration to the current frame
+     * @param section (Section): the timed section, not null
+     * @param start (long): the time given by start
+     */
+    public void stop(Section section, long start) {
+        if (recording)
+            row[SECTION_COLUMN + section.ordinal()] += System.nanoTime() - start;
+    }
+
+    /**
+     * @return (boolean): true if the current frame is recorded, to skip counting work otherwise
+     */
+    public boolean isRecording() {
+        return recording;
+    }
+
+    /**
+     * Set a counter of the current frame
+     * @param counter (Counter): the counter, not null
+     * @param value (long): its value, non-negative
+     */
+    public void count(Counter counter, long value) {
+        if (recording)
+            row[COUNTER_COLUMN + counter.ordinal()] = value;
+    }
+
+    /** @return (int): number of samples of each frame read by readFrames */
+    public int getColumnCount() {
+        return COLUMNS;
+    }
+
+    /**
+     * @param section (Section): not null
+     * @return (int): column of the section into each frame read by readFrames
+     */
+    public static int columnOf(Section section) {
+        return SECTION_COLUMN + section.ordinal();
+    }
+
+    /**
+     * @param counter (Counter): not null
+     * @return (int): column of the counter into each frame read by readFrames
+     */
+    public static int columnOf(Counter counter) {
+        return COUNTER_COLUMN + counter.ordinal();
+    }
+
+    /** @return (int): maximal number of frames kept */
+    public int getCapacity() {
+        return frames.getCapacity();
+    }
+
+    /** @return (long): number of frames recorded since the creation */
+    public long getFrameCount() {
+        return frames.getWritten();
+    }
+
+    /**
+     * Copy the samples of the last recorded frames, oldest first, one row of getColumnCount() samples per frame
+     * @param destination (long[]): receives up to destination.length / getColumnCount() frames, not null
+     * @return (int): number of frames copied
+     */
+    public int readFrames(long[] destination) {
+        if (destination == null)
+            throw new NullPointerException();
+        return frames.read(destination);
+    }
+
+    private static String[] columnNames() {
+        final String[] names = new String[COLUMNS];
+        names[FRAME_COLUMN] = "frame";
+        names[TIME_COLUMN] = "time";
+        for (Section section : Section.values())
+            names[columnOf(section)] = section.getLabel();
+        for (Counter counter : Counter.values())
+            names[columnOf(counter)] = counter.getLabel();
+        return names;
+    }
+
+    /**
+     * Write the kept frames as CSV: a header line with the column names then one line per frame, oldest first.
+     * Times are in nanoseconds
+     * @param writer (Writer): destination, not null, not closed
+     * @throws IOException if the writer fails
+     */
+    public void writeCSV(Writer writer) throws IOException {
+        final long[] samples = new long[frames.getCapacity() * COLUMNS];
+        final int count = frames.read(samples);
+        writer.write(String.join(",", columnNames()));
+        writer.write('\n');
+        for (int f = 0; f < count; ++f) {
+            for (int c = 0; c < COLUMNS; ++c) {
+                if (c > 0)
+                    writer.write(',');
+                writer.write(Long.toString(samples[f * COLUMNS + c]));
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    /**
+     * Write the kept frames as JSON: an object with the column names and one array of samples per frame, oldest first.
+     * Times are in nanoseconds
+     * @param writer (Writer): destination, not null, not closed
+     * @throws IOException if the writer fails
+     */
+    public void writeJSON(Writer writer) throws IOException {
+        final long[] samples = new long[frames.getCapacity() * COLUMNS];
+        final int count = frames.read(samples);
+        writer.write("{\"unit\":\"ns\",\"columns\":[");
+        final String[] names = columnNames();
+        for (int c = 0; c < COLUMNS; ++c) {
+            if (c > 0)
+                writer.write(',');
+            writer.write('"' + names[c] + '"');
+        }
+        writer.write("],\"frames\":[");
+        for (int f = 0; f < count; ++f) {
+            writer.write((f > 0) ? ",\n[" : "\n[");
+            for (int c = 0; c < COLUMNS; ++c) {
+                if (c > 0)
+                    writer.write(',');
+                writer.write(Long.toString(samples[f * COLUMNS + c]));
+            }
+            writer.write(']');
+        }
+        writer.write("]}\n");
+        writer.flush();
+    }
+}
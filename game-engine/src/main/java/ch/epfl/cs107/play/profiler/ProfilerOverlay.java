@@ -0,0 +1,111 @@
+package ch.epfl.cs107.play.profiler;
+
+import ch.epfl.cs107.play.engine.actor.Graphics;
+import ch.epfl.cs107.play.engine.actor.TextGraphics;
+import ch.epfl.cs107.play.math.Transform;
+import ch.epfl.cs107.play.math.Vector;
+import ch.epfl.cs107.play.window.Canvas;
+
+import java.awt.Color;
+
+/**
+ * Text over the top left corner of the view, with the mean timings and counters of the last frames of a Profiler.
+ * The text is refreshed every few frames only, so that it stays readable and costs little
+ */
+public final class ProfilerOverlay implements Graphics {
+
+    /// Number of frames averaged
+    private static final int WINDOW = 120;
+    /// Number of draws between two refreshes of the text
+    private static final int REFRESH_PERIOD = 30;
+    /// Font size, as a fraction of the view height
+    private static final float FONT_RATIO = 1.0f / 32;
+    private static final float DEPTH = 10_000;
+    private static final float NANOS_PER_MILLI = 1E6f;
+
+    private final Profiler profiler;
+    private final long[] samples;
+    private final TextGraphics[] lines;
+    private int refreshCountdown;
+
+    /**
+     * Default ProfilerOverlay Constructor
+     * @param profiler (Profiler): source of the frames, not null
+     */
+    public ProfilerOverlay(Profiler profiler) {
+        if (profiler == null)
+            throw new NullPointerException();
+        this.profiler = profiler;
+        this.samples = new long[WINDOW * profiler.getColumnCount()];
+        // One line for the frame, one per section, one for the counters
+        this.lines = new TextGraphics[Profiler.Section.values().length + 2];
+        for (int i = 0; i < lines.length; ++i) {
+            lines[i] = new TextGraphics("", 1, Color.WHITE, Color.BLACK, 0.02f, false, false, Vector.ZERO);
+            lines[i].setDepth(DEPTH);
+        }
+    }
+
+    @Override
+    public void draw(Canvas canvas) {
+        if (refreshCountdown-- <= 0) {
+            refreshCountdown = REFRESH_PERIOD;
+            refresh();
+        }
+
+        // Compute width, height and anchor, as Dialog does
+        float width = canvas.getTransform().getX().getX();
+        float height = canvas.getTransform().getY().getY();
+        float ratio = canvas.getWidth() / (float) canvas.getHeight();
+        if (ratio > 1)
+            height = width / ratio;
+        else
+            width = height * ratio;
+
+        final float fontSize = height * FONT_RATIO;
+        final Transform transform = Transform.I.translated(canvas.getPosition().add(-width / 2, height / 2));
+        for (int i = 0; i < lines.length; ++i) {
+            lines[i].setFontSize(fontSize);
+            lines[i].setAnchor(new Vector(fontSize / 2, -(i + 1) * fontSize));
+            lines[i].setRelativeTransform(transform);
+            lines[i].draw(canvas);
+        }
+    }
+
+    private void refresh() {
+        final int columns = profiler.getColumnCount();
+        final int count = profiler.readFrames(samples);
+        if (count == 0) {
+            lines[0].setText(profiler.isEnabled() ? "profiler: no frame yet" : "profiler: disabled");
+            for (int i = 1; i < lines.length; ++i)
+                lines[i].setText("");
+            return;
+        }
+
+        long maxTime = 0;
+        for (int f = 0; f < count; ++f)
+            maxTime = Math.max(maxTime, samples[f * columns + Profiler.TIME_COLUMN]);
+        lines[0].setText(String.format("frame %.2f ms (max %.2f ms)",
+                mean(Profiler.TIME_COLUMN, count) / NANOS_PER_MILLI, maxTime / NANOS_PER_MILLI));
+
+        int line = 1;
+        for (Profiler.Section section : Profiler.Section.values())
+            lines[line++].setText(String.format("%s %.2f ms", section.getLabel(),
+                    mean(Profiler.columnOf(section), count) / NANOS_PER_MILLI));
+
+        // Counters of the last frame, allocations averaged
+        final int last = (count - 1) * columns;
+        lines[line].setText(String.format("actors %d, interactors %d, items %d, %.1f KB/frame",
+                samples[last + Profiler.columnOf(Profiler.Counter.ACTORS)],
+                samples[last + Profiler.columnOf(Profiler.Counter.INTERACTORS)],
+                samples[last + Profiler.columnOf(Profiler.Counter.DRAW_ITEMS)],
+                mean(Profiler.columnOf(Profiler.Counter.ALLOCATED_BYTES), count) / 1024));
+    }
+
+    private float mean(int column, int count) {
+        final int columns = profiler.getColumnCount();
+        double sum = 0;
+        for (int f = 0; f < count; ++f)
+            sum += samples[f * columns + column];
+        return (float) (sum / count);
+    }
+}
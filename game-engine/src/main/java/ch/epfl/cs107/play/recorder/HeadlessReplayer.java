@@ -0,0 +1,77 @@
+package ch.epfl.cs107.play.recorder;
+
+import java.io.IOException;
+
+import ch.epfl.cs107.play.engine.Game;
+import ch.epfl.cs107.play.io.FileSystem;
+import ch.epfl.cs107.play.math.random.RandomGenerator;
+import ch.epfl.cs107.play.window.headless.HeadlessRunner;
+import ch.epfl.cs107.play.window.headless.HeadlessWindow;
+
+/**
+ * Replay a record into a game running in a HeadlessWindow, with the fixed time step of the recorded frame rate.
+ * Independent of the wall clock and of any display: frames are simulated as fast as the CPU allows
+ */
+public final class HeadlessReplayer {
+
+    private final Game game;
+    private final FileSystem fileSystem;
+    private final int width;
+    private final int height;
+    private int checkedHashes;
+    private long divergentFrame;
+
+    /**
+     * Default HeadlessReplayer Constructor
+     * @param game (Game): game to replay, not begun yet, not null
+     * @param fileSystem (FileSystem): given file system, not null
+     * @param width (int): width of the headless window in pixels, positive
+     * @param height (int): height of the headless window in pixels, positive
+     */
+    public HeadlessReplayer(Game game, FileSystem fileSystem, int width, int height) {
+        if (game == null || fileSystem == null)
+            throw new NullPointerException();
+        this.game = game;
+        this.fileSystem = fileSystem;
+        this.width = width;
+        this.height = height;
+        this.divergentFrame = -1;
+    }
+
+    /**
+     * Seed the random generator, begin the game, replay the whole record then end the game
+     * @param reader (RecordReader): record to replay, not null, not closed
+     * @return (int): number of frames simulated
+     * @throws IOException if the record cannot be read
+     */
+    public int replay(RecordReader reader) throws IOException {
+        RandomGenerator.getInstance().setSeed(reader.getRandomSeed());
+        final HeadlessWindow window = new HeadlessWindow(fileSystem, width, height);
+        final int frameRate = (reader.getFrameRate() > 0) ? reader.getFrameRate() : game.getFrameRate();
+        final HeadlessRunner runner = new HeadlessRunner(game, window, fileSystem, 1.0f / frameRate);
+        final RecordScript script = new RecordScript(reader, game);
+        runner.setInputScript(script);
+
+        if (!runner.begin()) {
+            runner.end();
+            return 0;
+        }
+        while (!script.isFinished() && runner.step()) {
+            // Everything is done by the runner and the script
+        }
+        runner.end();
+        checkedHashes = script.getCheckedHashes();
+        divergentFrame = script.getDivergentFrame();
+        return runner.getFrame();
+    }
+
+    /** @return (int): number of state hashes compared during the last replay */
+    public int getCheckedHashes() {
+        return checkedHashes;
+    }
+
+    /** @return (long): first frame of the last replay after which the state differs from the record, -1 if none */
+    public long getDivergentFrame() {
+        return divergentFrame;
+    }
+}
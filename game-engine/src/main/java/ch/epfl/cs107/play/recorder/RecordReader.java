@@ -0,0 +1,187 @@
+package ch.epfl.cs107.play.recorder;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import ch.epfl.cs107.play.recorder.recordEntry.KeyboardPressedRecordEntry;
+import ch.epfl.cs107.play.recorder.recordEntry.KeyboardReleasedRecordEntry;
+import ch.epfl.cs107.play.recorder.recordEntry.MouseButtonPressedRecordEntry;
+import ch.epfl.cs107.play.recorder.recordEntry.MouseButtonReleasedRecordEntry;
+import ch.epfl.cs107.play.recorder.recordEntry.MouseMoveRecordEntry;
+import ch.epfl.cs107.play.recorder.recordEntry.RecordEntry;
+import ch.epfl.cs107.play.recorder.recordEntry.StateHashRecordEntry;
+
+/**
+ * Streaming decoder of a record written by RecordWriter: entries are decoded one at a time, as they are replayed.
+ * An interrupted record (without END) ends at its last complete entry
+ */
+public final class RecordReader implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 << 10;
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final int version;
+    private final long randomSeed;
+    private final String title;
+    private final int frameRate;
+    /// Frame and time of the entries of the current group
+    private long frame, time;
+    /// Bits of the last mouse position read
+    private int lastX, lastY;
+    private boolean ended;
+
+    /**
+     * Default RecordReader Constructor, reading the header
+     * @param channel (ReadableByteChannel): source of the record, not null, closed with this reader
+     * @throws IOException if the source is not a record of a supported version
+     */
+    public RecordReader(ReadableByteChannel channel) throws IOException {
+        if (channel == null)
+            throw new NullPointerException();
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        buffer.flip();
+
+        final byte[] magic = new byte[RecordWriter.MAGIC.length];
+        for (int i = 0; i < magic.length; ++i)
+            magic[i] = getByte();
+        if (!Arrays.equals(magic, RecordWriter.MAGIC))
+            throw new IOException("Not a record");
+        version = getByte() & 0xFF;
+        if (version < 1 || version > RecordWriter.VERSION)
+            throw new IOException("Unsupported record version " + version);
+        randomSeed = getLong();
+        final byte[] titleBytes = new byte[(int) getVarint()];
+        for (int i = 0; i < titleBytes.length; ++i)
+            titleBytes[i] = getByte();
+        title = new String(titleBytes, StandardCharsets.UTF_8);
+        frameRate = (int) getVarint();
+    }
+
+    /** @return (int): version of the format of the record */
+    public int getVersion() {
+        return version;
+    }
+
+    /** @return (long): seed of the random generator at the start of the record */
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+
+    /** @return (String): title of the recorded game, not null */
+    public String getTitle() {
+        return title;
+    }
+
+    /** @return (int): frame rate of the recorded game */
+    public int getFrameRate() {
+        return frameRate;
+    }
+
+    /** @return (long): index of the frame of the last entry read */
+    public long getFrame() {
+        return frame;
+    }
+
+    /**
+     * Read the next input of the record
+     * @return (RecordEntry): the next entry, with its time, null at the end of the record
+     * @throws IOException if the source fails or holds an unknown entry
+     */
+    public RecordEntry next() throws IOException {
+        if (ended)
+            return null;
+        try {
+            while (true) {
+                final int tag = getByte();
+                switch (tag) {
+                    case RecordWriter.FRAME -> {
+                        frame += getVarint();
+                        time += getVarint();
+                    }
+                    case RecordWriter.CHECKPOINT -> {
+                        frame = getVarint();
+                        time = getVarint();
+                        lastX = getInt();
+                        lastY = getInt();
+                    }
+                    case RecordWriter.KEY_PRESSED -> {
+                        return new KeyboardPressedRecordEntry(time, (int) getVarint());
+                    }
+                    case RecordWriter.KEY_RELEASED -> {
+                        return new KeyboardReleasedRecordEntry(time, (int) getVarint());
+                    }
+                    case RecordWriter.BUTTON_PRESSED -> {
+                        return new MouseButtonPressedRecordEntry(time, (int) getVarint());
+                    }
+                    case RecordWriter.BUTTON_RELEASED -> {
+                        return new MouseButtonReleasedRecordEntry(time, (int) getVarint());
+                    }
+                    case RecordWriter.MOUSE_MOVE -> {
+                        lastX ^= (int) getVarint();
+                        lastY ^= (int) getVarint();
+                        return new MouseMoveRecordEntry(time, Float.intBitsToFloat(lastX), Float.intBitsToFloat(lastY));
+                    }
+                    case RecordWriter.STATE_HASH -> {
+                        return new StateHashRecordEntry(time, getLong());
+                    }
+                    case RecordWriter.END -> {
+                        ended = true;
+                        return null;
+                    }
+                    default -> throw new IOException("Unknown record entry " + tag);
+                }
+            }
+        } catch (EOFException e) {
+            // Interrupted record, its last entry may be incomplete
+            ended = true;
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private byte getByte() throws IOException {
+        if (!buffer.hasRemaining()) {
+            buffer.clear();
+            int read;
+            do {
+                read = channel.read(buffer);
+            } while (read == 0);
+            buffer.flip();
+            if (read < 0)
+                throw new EOFException();
+        }
+        return buffer.get();
+    }
+
+    private int getInt() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; ++i)
+            value = (value << 8) | (getByte() & 0xFF);
+        return value;
+    }
+
+    private long getLong() throws IOException {
+        return ((long) getInt() << 32) | (getInt() & 0xFFFFFFFFL);
+    }
+
+    private long getVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = getByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+}
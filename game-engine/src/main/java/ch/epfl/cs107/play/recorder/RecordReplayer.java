@@ -3,20 +3,26 @@ package ch.epfl.cs107.play.recorder;
 import java.awt.AWTException;
 import java.awt.Robot;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.ObjectInputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
 import ch.epfl.cs107.play.math.random.RandomGenerator;
 import ch.epfl.cs107.play.recorder.recordEntry.RecordEntry;
 import ch.epfl.cs107.play.window.Window;
 
+/**
+ * Replay a record of RECORD_DIRECTORY with an input emulator, decoding its entries as their time comes
+ */
 public class RecordReplayer {
-	private Record record;
+	private RecordReader reader;
 	private Robot robot;
+	/// Start of the replay, in nanoseconds, monotonic
 	private long startTime;
-	private int currentRecordEntryIndex;
+	/// Next entry to replay, null once the record is over
+	private RecordEntry currentEntry;
 	private final Window window;
-	
+
 	public RecordReplayer(Window window) {
 		this.window = window;
 		try {
@@ -26,33 +32,53 @@ public class RecordReplayer {
 			e.printStackTrace();
 		}
 	}
-	
+
 	public void start(String filename) {
+		stop();
 		try{
 			File directory = new File(Recorder.RECORD_DIRECTORY);
 	        File file = new File(directory, filename);
-	        ObjectInputStream in = new ObjectInputStream(new FileInputStream(file));
-	        record = (Record) in.readObject();
-	        in.close();
-		}catch(Exception e){
+	        reader = new RecordReader(FileChannel.open(file.toPath(), StandardOpenOption.READ));
+	        currentEntry = reader.next();
+		}catch(IOException e){
 			System.out.println("ERROR: An error happened while loading record");
 			e.printStackTrace();
+			stop();
+			return;
+		}
+		startTime = System.nanoTime();
+		RandomGenerator.getInstance().setSeed(reader.getRandomSeed());
+	}
+
+	/**
+	 * Stop the replay and close the record. Does nothing if not replaying
+	 */
+	public void stop() {
+		if(reader == null) return;
+		try{
+			reader.close();
+		}catch(IOException e){
+			// Empty on purpose
 		}
-		startTime = System.currentTimeMillis();
-		currentRecordEntryIndex = 0;
-		RandomGenerator.getInstance().setSeed(record.getRandomSeed());
+		reader = null;
+		currentEntry = null;
 	}
-	
+
 	public void update() {
-		if(record == null) return;
-		long time = System.currentTimeMillis() - startTime;
-		
-		RecordEntry currentEntry = record.getEntry(currentRecordEntryIndex);
-		while(currentEntry != null && currentEntry.getTime() < time) {
-			currentEntry.replay(robot, window);
-			
-			++currentRecordEntryIndex;
-			currentEntry = record.getEntry(currentRecordEntryIndex);
+		if(reader == null) return;
+		long time = (System.nanoTime() - startTime) / 1_000_000;
+
+		try{
+			while(currentEntry != null && currentEntry.getTime() < time) {
+				currentEntry.replay(robot, window);
+				currentEntry = reader.next();
+			}
+		}catch(IOException e){
+			System.out.println("ERROR: An error happened while reading record");
+			e.printStackTrace();
+			currentEntry = null;
 		}
+		if(currentEntry == null)
+			stop();
 	}
 }
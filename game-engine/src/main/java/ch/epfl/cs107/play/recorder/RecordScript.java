@@ -0,0 +1,88 @@
+package ch.epfl.cs107.play.recorder;
+
+import java.io.IOException;
+
+import ch.epfl.cs107.play.engine.Game;
+import ch.epfl.cs107.play.recorder.recordEntry.RecordEntry;
+import ch.epfl.cs107.play.recorder.recordEntry.StateHashRecordEntry;
+import ch.epfl.cs107.play.window.headless.InputScript;
+import ch.epfl.cs107.play.window.headless.VirtualKeyboard;
+import ch.epfl.cs107.play.window.headless.VirtualMouse;
+
+/**
+ * Input script replaying a record into the virtual devices of a HeadlessWindow, keyed by frame index:
+ * the inputs of a frame are injected just before it, whatever the time they were recorded at.
+ * The recorded state hashes are compared to the game state after the update of their frame
+ */
+public final class RecordScript implements InputScript {
+
+    private final RecordReader reader;
+    /// Replayed game, whose state is checked against the recorded hashes, may be null
+    private final Game game;
+    /// Next entry to replay and its frame, null once the record is over
+    private RecordEntry pending;
+    private long pendingFrame;
+    private int checkedHashes;
+    private long divergentFrame;
+
+    /**
+     * Default RecordScript Constructor
+     * @param reader (RecordReader): record to replay, not null, read as the frames go
+     * @param game (Game): replayed game, to check the state hashes, may be null
+     * @throws IOException if the first entry cannot be read
+     */
+    public RecordScript(RecordReader reader, Game game) throws IOException {
+        if (reader == null)
+            throw new NullPointerException();
+        this.reader = reader;
+        this.game = game;
+        this.divergentFrame = -1;
+        advance();
+    }
+
+    /** @return (boolean): true once every entry of the record was replayed */
+    public boolean isFinished() {
+        return pending == null;
+    }
+
+    /** @return (int): number of state hashes compared */
+    public int getCheckedHashes() {
+        return checkedHashes;
+    }
+
+    /** @return (long): first frame after which the state differs from the recorded one, -1 if none */
+    public long getDivergentFrame() {
+        return divergentFrame;
+    }
+
+    @Override
+    public void apply(int frame, VirtualKeyboard keyboard, VirtualMouse mouse) {
+        try {
+            while (pending != null && pendingFrame <= frame) {
+                if (pending instanceof StateHashRecordEntry hash) {
+                    // Updates of the frames before this one are done
+                    if (pendingFrame == frame)
+                        break;
+                    if (game != null && pendingFrame == frame - 1) {
+                        ++checkedHashes;
+                        // Reported by the callers through getDivergentFrame
+                        if (divergentFrame < 0 && hash.getHash() != game.getStateHash())
+                            divergentFrame = pendingFrame;
+                    }
+                } else {
+                    pending.replay(keyboard, mouse);
+                }
+                advance();
+            }
+        } catch (IOException e) {
+            System.out.println("ERROR: An error happened while reading record");
+            e.printStackTrace();
+            pending = null;
+        }
+    }
+
+    private void advance() throws IOException {
+        pending = reader.next();
+        pendingFrame = reader.getFrame();
+    }
+}
@@ -0,0 +1,207 @@
+package ch.epfl.cs107.play.recorder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streaming encoder of a record, written through a buffer as the game runs.
+ * A record is a header followed by tagged entries:
+ * - header: MAGIC, VERSION byte, random seed (8 bytes), game title (varint length then UTF-8), frame rate (varint)
+ * - FRAME: frame and time (milliseconds) elapsed since the previous FRAME or CHECKPOINT, as varints.
+ *   Starts the group of the inputs of a frame, only written for frames with inputs
+ * - KEY_PRESSED, KEY_RELEASED, BUTTON_PRESSED, BUTTON_RELEASED: key code or button index, as varint
+ * - MOUSE_MOVE: bits of x then y, each exclusive-or the previous ones, as varints
+ * - STATE_HASH: hash of the game state after the update of the frame (8 bytes), since version 2
+ * - CHECKPOINT: absolute frame and time as varints, then the raw bits of the mouse position,
+ *   so a reader may start decoding there. The buffer is flushed after each one
+ * - END: written when the record is closed. A record without it was interrupted,
+ *   its entries are still readable up to the last flush
+ */
+public final class RecordWriter implements AutoCloseable {
+
+    static final byte[] MAGIC = {'C', 'S', 'R', 'C'};
+    static final int VERSION = 2;
+    static final int FRAME = 0, KEY_PRESSED = 1, KEY_RELEASED = 2, BUTTON_PRESSED = 3, BUTTON_RELEASED = 4,
+            MOUSE_MOVE = 5, CHECKPOINT = 6, END = 7, STATE_HASH = 8;
+
+    /// Room left in the buffer under which it is flushed before an entry, larger than any entry
+    private static final int ENTRY_MAX_SIZE = 32;
+    private static final int BUFFER_SIZE = 64 << 10;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    /// Frame and time of the last FRAME or CHECKPOINT
+    private long lastFrame, lastTime;
+    /// Bits of the last mouse position written
+    private int lastX, lastY;
+    private boolean closed;
+
+    /**
+     * Default RecordWriter Constructor, writing the header
+     * @param channel (WritableByteChannel): destination of the record, not null, closed with this writer
+     * @param randomSeed (long): seed of the random generator at the start of the record
+     * @param title (String): title of the recorded game, not null
+     * @param frameRate (int): frame rate of the recorded game, non-negative
+     * @throws IOException if the header cannot be written
+     */
+    public RecordWriter(WritableByteChannel channel, long randomSeed, String title, int frameRate) throws IOException {
+        if (channel == null || title == null)
+            throw new NullPointerException();
+        if (frameRate < 0)
+            throw new IllegalArgumentException("frameRate must be non-negative");
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        final byte[] titleBytes = title.getBytes(StandardCharsets.UTF_8);
+        if (titleBytes.length > BUFFER_SIZE - 64)
+            throw new IllegalArgumentException("title too long");
+
+        buffer.put(MAGIC);
+        buffer.put((byte) VERSION);
+        buffer.putLong(randomSeed);
+        putVarint(titleBytes.length);
+        buffer.put(titleBytes);
+        putVarint(frameRate);
+        flush();
+    }
+
+    /**
+     * Record a key transition
+     * @param frame (long): index of the frame, not lower than the one of the previous entry
+     * @param time (long): time since the start of the record, in milliseconds, not lower than the previous one
+     * @param code (int): key code, non-negative
+     * @param pressed (boolean): true if the key was pressed, false if released
+     * @throws IOException if the buffer cannot be flushed
+     */
+    public void writeKey(long frame, long time, int code, boolean pressed) throws IOException {
+        beginEntry(frame, time);
+        buffer.put((byte) (pressed ? KEY_PRESSED : KEY_RELEASED));
+        putVarint(code);
+    }
+
+    /**
+     * Record a mouse button transition
+     * @param frame (long): index of the frame, not lower than the one of the previous entry
+     * @param time (long): time since the start of the record, in milliseconds, not lower than the previous one
+     * @param index (int): button index, non-negative
+     * @param pressed (boolean): true if the button was pressed, false if released
+     * @throws IOException if the buffer cannot be flushed
+     */
+    public void writeButton(long frame, long time, int index, boolean pressed) throws IOException {
+        beginEntry(frame, time);
+        buffer.put((byte) (pressed ? BUTTON_PRESSED : BUTTON_RELEASED));
+        putVarint(index);
+    }
+
+    /**
+     * Record a mouse move
+     * @param frame (long): index of the frame, not lower than the one of the previous entry
+     * @param time (long): time since the start of the record, in milliseconds, not lower than the previous one
+     * @param x (float): new abscissa of the mouse
+     * @param y (float): new ordinate of the mouse
+     * @throws IOException if the buffer cannot be flushed
+     */
+    public void writeMouseMove(long frame, long time, float x, float y) throws IOException {
+        beginEntry(frame, time);
+        final int xBits = Float.floatToIntBits(x), yBits = Float.floatToIntBits(y);
+        buffer.put((byte) MOUSE_MOVE);
+        // Close positions share their high bits, the exclusive-or is then short
+        putVarint(xBits ^ lastX);
+        putVarint(yBits ^ lastY);
+        lastX = xBits;
+        lastY = yBits;
+    }
+
+    /**
+     * Record the hash of the game state, to detect the divergences of a replay
+     * @param frame (long): index of the frame whose update gave this state, not lower than the one of the previous entry
+     * @param time (long): time since the start of the record, in milliseconds, not lower than the previous one
+     * @param hash (long): hash of the state, see Game.getStateHash
+     * @throws IOException if the buffer cannot be flushed
+     */
+    public void writeStateHash(long frame, long time, long hash) throws IOException {
+        beginEntry(frame, time);
+        buffer.put((byte) STATE_HASH);
+        buffer.putLong(hash);
+    }
+
+    /**
+     * Write a checkpoint and flush the buffer, so the record is readable up to here even if the game crashes
+     * @param frame (long): index of the frame, not lower than the one of the previous entry
+     * @param time (long): time since the start of the record, in milliseconds, not lower than the previous one
+     * @throws IOException if the buffer cannot be flushed
+     */
+    public void checkpoint(long frame, long time) throws IOException {
+        ensureOpen();
+        if (buffer.remaining() < ENTRY_MAX_SIZE)
+            flush();
+        buffer.put((byte) CHECKPOINT);
+        putVarint(frame);
+        putVarint(time);
+        buffer.putInt(lastX);
+        buffer.putInt(lastY);
+        lastFrame = frame;
+        lastTime = time;
+        flush();
+    }
+
+    /**
+     * Write the end of the record, flush and close the channel. Does nothing if already closed
+     * @throws IOException if the channel fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        try {
+            if (buffer.remaining() < 1)
+                flush();
+            buffer.put((byte) END);
+            flush();
+        } finally {
+            closed = true;
+            channel.close();
+        }
+    }
+
+    private void beginEntry(long frame, long time) throws IOException {
+        ensureOpen();
+        if (frame < lastFrame || time < lastTime)
+            throw new IllegalArgumentException("Entries must be written in frame and time order");
+        if (buffer.remaining() < 2 * ENTRY_MAX_SIZE)
+            flush();
+        if (frame != lastFrame || time != lastTime) {
+            buffer.put((byte) FRAME);
+            putVarint(frame - lastFrame);
+            putVarint(time - lastTime);
+            lastFrame = frame;
+            lastTime = time;
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed)
+            throw new IllegalStateException("Record already closed");
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    /// Unsigned LEB128: 7 bits per byte, lowest first, the high bit set on all bytes but the last
+    private void putVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private void putVarint(int value) {
+        putVarint(value & 0xFFFFFFFFL);
+    }
+}
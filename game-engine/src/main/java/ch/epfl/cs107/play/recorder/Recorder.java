@@ -1,87 +1,174 @@
 package ch.epfl.cs107.play.recorder;
 
-import java.awt.event.KeyEvent;
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.ObjectOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.function.IntConsumer;
 
+import ch.epfl.cs107.play.engine.Game;
 import ch.epfl.cs107.play.math.random.RandomGenerator;
 import ch.epfl.cs107.play.math.Vector;
-import ch.epfl.cs107.play.recorder.recordEntry.KeyboardPressedRecordEntry;
-import ch.epfl.cs107.play.recorder.recordEntry.KeyboardReleasedRecordEntry;
-import ch.epfl.cs107.play.recorder.recordEntry.MouseButtonPressedRecordEntry;
-import ch.epfl.cs107.play.recorder.recordEntry.MouseButtonReleasedRecordEntry;
-import ch.epfl.cs107.play.recorder.recordEntry.MouseMoveRecordEntry;
-import ch.epfl.cs107.play.window.Button;
 import ch.epfl.cs107.play.window.Keyboard;
 import ch.epfl.cs107.play.window.Mouse;
 import ch.epfl.cs107.play.window.Window;
 
+/**
+ * Record the inputs of the window into a file, written through a RecordWriter as the game runs.
+ * Only the transitions given by the devices are recorded, with the index of the first frame whose update sees them.
+ * When the game is known, the hash of its state is recorded after each frame, so a replay can detect a divergence.
+ * For a replay to match, the record must be started before the game begins (it seeds the random generator)
+ * and the game must run with the fixed time step 1 / frame rate, as a HeadlessRunner does
+ */
 public class Recorder{
 	private Keyboard keyboard;
 	private Mouse mouse;
+	/// Start of the record, in nanoseconds, monotonic
 	private long startTime;
-	private Record record;
+	private RecordWriter writer;
 	private Vector lastMousePosition;
-	
-	private static int KEYBOARD_MAX_KEYCODE = KeyEvent.KEY_LAST;
-	private static int MOUSE_BUTTON_MAX_KEYCODE = 2;
-	
+	/// Recorded game, whose state is hashed after each frame, may be null
+	private Game game;
+	/// Index of the frame updated last, then of the frame whose inputs are recorded, and time, read by the listeners
+	private long frame;
+	private long time;
+	private final IntConsumer keyPressed, keyReleased, buttonPressed, buttonReleased;
+
+	/// Number of frames between two checkpoints, each one flushing the record to the file
+	private static final int CHECKPOINT_PERIOD = 600;
+
 	public static String RECORD_DIRECTORY = "records";
-	
+
 	public Recorder(Window window) {
 		this.keyboard = window.getKeyboard();
 		this.mouse = window.getMouse();
+		this.keyPressed = code -> write(RecordWriter.KEY_PRESSED, code);
+		this.keyReleased = code -> write(RecordWriter.KEY_RELEASED, code);
+		this.buttonPressed = index -> write(RecordWriter.BUTTON_PRESSED, index);
+		this.buttonReleased = index -> write(RecordWriter.BUTTON_RELEASED, index);
 	}
-	
-	public void start() {
-		startTime = System.currentTimeMillis();
-		record = new Record();
+
+	/**
+	 * Start recording a game into a file of RECORD_DIRECTORY, replacing it if it exists
+	 * @param filename (String): name of the file, not null
+	 * @param game (Game): recorded game, giving its title and frame rate, not null
+	 */
+	public void start(String filename, Game game) {
+		start(filename, game.getTitle(), game.getFrameRate());
+		this.game = game;
+	}
+
+	/**
+	 * Start recording into a file of RECORD_DIRECTORY, replacing it if it exists.
+	 * The random generator is seeded again, with the seed written into the record
+	 * @param filename (String): name of the file, not null
+	 * @param title (String): title of the recorded game, not null
+	 * @param frameRate (int): frame rate of the recorded game, non-negative
+	 */
+	public void start(String filename, String title, int frameRate) {
+		if(filename == null || title == null) throw new IllegalArgumentException();
+		stop();
 		long randomSeed = RandomGenerator.getInstance().nextLong();
 		RandomGenerator.getInstance().setSeed(randomSeed);
-		record.setRandomSeed(randomSeed);
-	}
-	
-	public void stop(String filename) throws IllegalArgumentException {
-		if(filename == null) throw new IllegalArgumentException();
 		try{
 			File directory = new File(RECORD_DIRECTORY);
-	        File file = new File(directory, filename);
+			File file = new File(directory, filename);
 			file.getParentFile().mkdirs();
-	        file.createNewFile();
-	        ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(file));
-	        out.writeObject(record);
-	        out.close();
-		}catch(Exception e){
+			FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+			writer = new RecordWriter(channel, randomSeed, title, frameRate);
+		}catch(IOException e){
+			System.out.println("ERROR: An error happened while creating record");
+			e.printStackTrace();
+			writer = null;
+		}
+		startTime = System.nanoTime();
+		frame = 0;
+		lastMousePosition = null;
+		game = null;
+	}
+
+	/**
+	 * Stop recording and close the file. Does nothing if not recording
+	 */
+	public void stop() {
+		if(writer == null) return;
+		try{
+			writer.close();
+		}catch(IOException e){
 			System.out.println("ERROR: An error happened while saving record");
 			e.printStackTrace();
 		}
+		writer = null;
+	}
+
+	/** @return (boolean): true if started and not stopped, nor failed */
+	public boolean isRecording() {
+		return writer != null;
 	}
-	
+
+	/**
+	 * Record the state of the game after its update, then the transitions of the inputs made visible
+	 * by the last window update, seen by the next frame. Call it once per frame, after the window update
+	 */
 	public void update() {
-		if(record == null) return;
-		
-		long time = System.currentTimeMillis() - startTime;
-
-		for(int key = 0; key <= KEYBOARD_MAX_KEYCODE; ++key) {
-			Button button = keyboard.get(key);
-			
-			if(button.isPressed())
-				record.addEntry(new KeyboardPressedRecordEntry(time, key));
-			if(button.isReleased())
-				record.addEntry(new KeyboardReleasedRecordEntry(time, key));
-		}
-		for(int key = 0; key <= MOUSE_BUTTON_MAX_KEYCODE; ++key) {
-			Button button = mouse.getButton(key);			
-			if(button.isPressed())
-				record.addEntry(new MouseButtonPressedRecordEntry(time, key));
-			if(button.isReleased())
-				record.addEntry(new MouseButtonReleasedRecordEntry(time, key));
+		if(writer == null) return;
+
+		time = (System.nanoTime() - startTime) / 1_000_000;
+		if(game != null) {
+			try{
+				writer.writeStateHash(frame, time, game.getStateHash());
+			}catch(IOException e){
+				fail(e);
+				return;
+			}
 		}
+
+		++frame;
+		keyboard.forEachTransition(keyPressed, keyReleased);
+		mouse.forEachTransition(buttonPressed, buttonReleased);
 		final Vector mousePosition = mouse.getPosition();
-		if(!mousePosition.equals(lastMousePosition)) {
+		if(writer != null && !mousePosition.equals(lastMousePosition)) {
 			lastMousePosition = mousePosition;
-			record.addEntry(new MouseMoveRecordEntry(time, mousePosition.x, mousePosition.y));
+			try{
+				writer.writeMouseMove(frame, time, mousePosition.x, mousePosition.y);
+			}catch(IOException e){
+				fail(e);
+			}
+		}
+
+		if(writer != null && frame % CHECKPOINT_PERIOD == 0) {
+			try{
+				writer.checkpoint(frame, time);
+			}catch(IOException e){
+				fail(e);
+			}
+		}
+	}
+
+	private void write(int kind, int code) {
+		if(writer == null) return;
+		try{
+			switch (kind) {
+				case RecordWriter.KEY_PRESSED -> writer.writeKey(frame, time, code, true);
+				case RecordWriter.KEY_RELEASED -> writer.writeKey(frame, time, code, false);
+				case RecordWriter.BUTTON_PRESSED -> writer.writeButton(frame, time, code, true);
+				default -> writer.writeButton(frame, time, code, false);
+			}
+		}catch(IOException e){
+			fail(e);
+		}
+	}
+
+	/// Give up the record after a write failure, keeping what was already flushed
+	private void fail(IOException e) {
+		System.out.println("ERROR: An error happened while writing record");
+		e.printStackTrace();
+		try{
+			writer.close();
+		}catch(IOException ignored){
+			// Empty on purpose
 		}
+		writer = null;
 	}
 }
@@ -3,6 +3,8 @@ package ch.epfl.cs107.play.recorder.recordEntry;
 import java.awt.Robot;
 
 import ch.epfl.cs107.play.window.Window;
+import ch.epfl.cs107.play.window.headless.VirtualKeyboard;
+import ch.epfl.cs107.play.window.headless.VirtualMouse;
 
 public class KeyboardReleasedRecordEntry extends RecordEntry{
 	private static final long serialVersionUID = 1;
@@ -17,4 +19,9 @@ public class KeyboardReleasedRecordEntry extends RecordEntry{
 	public void replay(Robot robot, Window window) {
 		robot.keyRelease(keycode);
 	}
+
+	@Override
+	public void replay(VirtualKeyboard keyboard, VirtualMouse mouse) {
+		keyboard.release(keycode);
+	}
 }
@@ -4,6 +4,8 @@ import java.awt.Robot;
 import java.awt.event.InputEvent;
 
 import ch.epfl.cs107.play.window.Window;
+import ch.epfl.cs107.play.window.headless.VirtualKeyboard;
+import ch.epfl.cs107.play.window.headless.VirtualMouse;
 
 public class MouseButtonPressedRecordEntry extends RecordEntry{
 	private static final long serialVersionUID = 1;
@@ -23,4 +25,9 @@ public class MouseButtonPressedRecordEntry extends RecordEntry{
 		else if(keycode == 2)
 			robot.mousePress(InputEvent.BUTTON3_DOWN_MASK);
 	}
+
+	@Override
+	public void replay(VirtualKeyboard keyboard, VirtualMouse mouse) {
+		mouse.press(keycode);
+	}
 }
@@ -4,6 +4,8 @@ import java.awt.Robot;
 import java.awt.event.InputEvent;
 
 import ch.epfl.cs107.play.window.Window;
+import ch.epfl.cs107.play.window.headless.VirtualKeyboard;
+import ch.epfl.cs107.play.window.headless.VirtualMouse;
 
 public class MouseButtonReleasedRecordEntry extends RecordEntry{
 	private static final long serialVersionUID = 1;
@@ -23,4 +25,9 @@ public class MouseButtonReleasedRecordEntry extends RecordEntry{
 		else if(keycode == 2)
 			robot.mouseRelease(InputEvent.BUTTON3_DOWN_MASK);
 	}
+
+	@Override
+	public void replay(VirtualKeyboard keyboard, VirtualMouse mouse) {
+		mouse.release(keycode);
+	}
 }
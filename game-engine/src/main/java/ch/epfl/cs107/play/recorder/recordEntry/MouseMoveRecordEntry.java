@@ -4,6 +4,8 @@ import java.awt.Robot;
 
 import ch.epfl.cs107.play.math.Vector;
 import ch.epfl.cs107.play.window.Window;
+import ch.epfl.cs107.play.window.headless.VirtualKeyboard;
+import ch.epfl.cs107.play.window.headless.VirtualMouse;
 
 public class MouseMoveRecordEntry extends RecordEntry{
 	private static final long serialVersionUID = 1;
@@ -21,4 +23,9 @@ public class MouseMoveRecordEntry extends RecordEntry{
 		Vector mousePosition = window.convertPositionOnScreen(new Vector(x,y));
 		robot.mouseMove((int)mousePosition.x, (int)mousePosition.y);
 	}
+
+	@Override
+	public void replay(VirtualKeyboard keyboard, VirtualMouse mouse) {
+		mouse.moveTo(new Vector(x, y));
+	}
 }
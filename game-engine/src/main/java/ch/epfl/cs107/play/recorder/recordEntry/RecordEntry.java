@@ -3,6 +3,8 @@ package ch.epfl.cs107.play.recorder.recordEntry;
 import java.awt.Robot;
 
 import ch.epfl.cs107.play.window.Window;
+import ch.epfl.cs107.play.window.headless.VirtualKeyboard;
+import ch.epfl.cs107.play.window.headless.VirtualMouse;
 
 public abstract class RecordEntry implements java.io.Serializable{
 	private static final long serialVersionUID = 1;
@@ -17,4 +19,13 @@ public abstract class RecordEntry implements java.io.Serializable{
 	}
 	
 	public abstract void replay(Robot robot, Window window);
+
+	/**
+	 * Replay the input into virtual devices, without display nor input emulator. Does nothing by default
+	 * @param keyboard (VirtualKeyboard): keyboard of a headless window, not null
+	 * @param mouse (VirtualMouse): mouse of a headless window, not null
+	 */
+	public void replay(VirtualKeyboard keyboard, VirtualMouse mouse) {
+		// Nothing to replay by default
+	}
 }
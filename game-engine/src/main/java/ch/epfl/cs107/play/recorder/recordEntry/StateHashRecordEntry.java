@@ -0,0 +1,28 @@
+package ch.epfl.cs107.play.recorder.recordEntry;
+
+import java.awt.Robot;
+
+import ch.epfl.cs107.play.window.Window;
+
+/**
+ * Hash of the game state after the update of a frame, checked by a replay to detect a divergence. Replays nothing
+ */
+public class StateHashRecordEntry extends RecordEntry{
+	private static final long serialVersionUID = 1;
+	private long hash;
+
+	public StateHashRecordEntry(long time, long hash) {
+		super(time);
+		this.hash = hash;
+	}
+
+	/** @return (long): the recorded hash, see Game.getStateHash */
+	public long getHash() {
+		return hash;
+	}
+
+	@Override
+	public void replay(Robot robot, Window window) {
+		// A hash is not an input
+	}
+}
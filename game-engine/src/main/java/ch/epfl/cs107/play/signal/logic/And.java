@@ -24,4 +24,14 @@ public final class And extends LogicGate {
     public float getIntensity() {
         return Math.min(signal1.getIntensity(), signal2.getIntensity());
     }
-}
\ No newline at end of file
+
+    @Override
+    Logic[] getInputs() {
+        return new Logic[]{signal1, signal2};
+    }
+
+    @Override
+    boolean evaluate(boolean[] inputs) {
+        return inputs[0] && inputs[1];
+    }
+}
@@ -0,0 +1,205 @@
+package ch.epfl.cs107.play.signal.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Logic signal compiled once from a tree of gates into a graph caching the value of each gate.
+ * The value is only computed again when an observable input switches, and only for the gates depending on it:
+ * reading an unchanged circuit costs a field read, whatever the size of its tree.
+ * - the same signal used by several gates is a single node of the graph
+ * - the gates of this package are compiled into their inputs, other gates and signals are leaves
+ * - the observable leaves (LogicSource, other circuits...) push their switches to the circuit,
+ *   the other ones (TRUE, FALSE, plain Logic) are read when compiling and by refresh
+ * - all the signals are read as on or off
+ * Not thread-safe: its sources must be switched from a single thread
+ */
+public final class LogicCircuit implements ObservableLogic {
+
+    private final LogicListeners listeners = new LogicListeners();
+
+    /// Nodes in topological order, inputs first: signal, inputs and dependents of each one
+    private final Logic[] signals;
+    private final int[][] inputs;
+    private final int[][] dependents;
+    /// Cached value of each node, and nodes to evaluate again
+    private final boolean[] values;
+    private final boolean[] dirty;
+    /// Values of the inputs of each gate node, filled before evaluating it, null for the leaves
+    private final boolean[][] arguments;
+    /// Listener registered on each observable leaf, null for the other nodes
+    private final LogicListener[] sourceListeners;
+    /// Leaves read by refresh
+    private final int[] polled;
+
+    private LogicCircuit(Logic[] signals, int[][] inputs) {
+        final int count = signals.length;
+        this.signals = signals;
+        this.inputs = inputs;
+        values = new boolean[count];
+        dirty = new boolean[count];
+        arguments = new boolean[count][];
+        sourceListeners = new LogicListener[count];
+
+        final int[] dependentCounts = new int[count];
+        for (int[] nodeInputs : inputs) {
+            if (nodeInputs != null) {
+                for (int input : nodeInputs)
+                    ++dependentCounts[input];
+            }
+        }
+        dependents = new int[count][];
+        for (int node = 0; node < count; ++node)
+            dependents[node] = new int[dependentCounts[node]];
+        for (int node = 0; node < count; ++node) {
+            if (inputs[node] != null) {
+                for (int input : inputs[node])
+                    dependents[input][--dependentCounts[input]] = node;
+            }
+        }
+
+        int polledCount = 0;
+        final int[] polled = new int[count];
+        for (int node = 0; node < count; ++node) {
+            if (inputs[node] != null) {
+                arguments[node] = new boolean[inputs[node].length];
+                values[node] = evaluate(node);
+            } else {
+                values[node] = signals[node].isOn();
+                if (signals[node] instanceof ObservableLogic source) {
+                    final int leaf = node;
+                    sourceListeners[node] = (signal, isOn) -> sourceChanged(leaf, isOn);
+                    source.addListener(sourceListeners[node]);
+                } else if (signals[node] != Logic.TRUE && signals[node] != Logic.FALSE) {
+                    polled[polledCount++] = node;
+                }
+            }
+        }
+        this.polled = Arrays.copyOf(polled, polledCount);
+    }
+
+    /**
+     * Compile a logic signal, usually a tree of gates, into a circuit listening to its observable leaves
+     * @param signal (Logic): signal to compile. Not null
+     * @return (LogicCircuit): the compiled circuit, the given signal if it is already one
+     */
+    public static LogicCircuit compile(Logic signal) {
+        if (signal == null)
+            throw new NullPointerException();
+        if (signal instanceof LogicCircuit circuit)
+            return circuit;
+        final List<Logic> signals = new ArrayList<>();
+        final List<int[]> inputs = new ArrayList<>();
+        add(signal, new IdentityHashMap<>(), signals, inputs);
+        return new LogicCircuit(signals.toArray(new Logic[0]), inputs.toArray(new int[0][]));
+    }
+
+    /**
+     * Add a signal and its inputs to the nodes, after its inputs
+     * @return (int): node of the signal
+     */
+    private static int add(Logic signal, Map<Logic, Integer> nodes, List<Logic> signals, List<int[]> inputs) {
+        if (signal == null)
+            throw new NullPointerException();
+        final Integer known = nodes.get(signal);
+        if (known != null) {
+            if (known < 0)
+                throw new IllegalArgumentException("Cyclic logic signal");
+            return known;
+        }
+        final Logic[] gateInputs = (signal instanceof LogicGate gate) ? gate.getInputs() : null;
+        int[] nodeInputs = null;
+        if (gateInputs != null) {
+            // Marked while its inputs are added, to detect cycles
+            nodes.put(signal, -1);
+            nodeInputs = new int[gateInputs.length];
+            for (int i = 0; i < gateInputs.length; ++i)
+                nodeInputs[i] = add(gateInputs[i], nodes, signals, inputs);
+        }
+        final int node = signals.size();
+        signals.add(signal);
+        inputs.add(nodeInputs);
+        nodes.put(signal, node);
+        return node;
+    }
+
+    /**
+     * Read again the leaves which are not observable, propagating their switches.
+     * Not needed if all the leaves are observable or constant
+     */
+    public void refresh() {
+        for (int node : polled) {
+            final boolean value = signals[node].isOn();
+            if (value != values[node])
+                sourceChanged(node, value);
+        }
+    }
+
+    /**
+     * Stop listening to the observable leaves, so the circuit can be dropped before them.
+     * The circuit keeps its current value from then on
+     */
+    public void release() {
+        for (int node = 0; node < signals.length; ++node) {
+            if (sourceListeners[node] != null) {
+                ((ObservableLogic) signals[node]).removeListener(sourceListeners[node]);
+                sourceListeners[node] = null;
+            }
+        }
+    }
+
+    /// Evaluate the gates depending on a leaf which switched, in topological order, then notify if the output did
+    private void sourceChanged(int leaf, boolean isOn) {
+        final int output = signals.length - 1;
+        final boolean before = values[output];
+        values[leaf] = isOn;
+        for (int dependent : dependents[leaf])
+            dirty[dependent] = true;
+        for (int node = leaf + 1; node <= output; ++node) {
+            if (!dirty[node])
+                continue;
+            dirty[node] = false;
+            final boolean value = evaluate(node);
+            if (value != values[node]) {
+                values[node] = value;
+                for (int dependent : dependents[node])
+                    dirty[dependent] = true;
+            }
+        }
+        if (values[output] != before)
+            listeners.notify(this, values[output]);
+    }
+
+    private boolean evaluate(int node) {
+        final int[] nodeInputs = inputs[node];
+        final boolean[] nodeArguments = arguments[node];
+        for (int i = 0; i < nodeInputs.length; ++i)
+            nodeArguments[i] = values[nodeInputs[i]];
+        return ((LogicGate) signals[node]).evaluate(nodeArguments);
+    }
+
+    /// LogicCircuit implements ObservableLogic
+
+    @Override
+    public boolean isOn() {
+        return values[signals.length - 1];
+    }
+
+    @Override
+    public boolean isOff() {
+        return !values[signals.length - 1];
+    }
+
+    @Override
+    public void addListener(LogicListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(LogicListener listener) {
+        listeners.remove(listener);
+    }
+}
@@ -23,4 +23,23 @@ public abstract class LogicGate implements Logic {
     public final float getIntensity(float t) {
         return getIntensity();
     }
+
+    /// LogicGate compiled by LogicCircuit
+
+    /**
+     * @return (Array of Logic): input signals of this gate, in the order given to evaluate,
+     * null if the gate cannot be compiled and is polled as a whole. Null by default
+     */
+    Logic[] getInputs() {
+        return null;
+    }
+
+    /**
+     * Evaluate this gate for given values of its inputs, read as on or off
+     * @param inputs (Array of boolean): value of each input, in the order of getInputs. Not null
+     * @return (boolean): true if the gate is on for these values
+     */
+    boolean evaluate(boolean[] inputs) {
+        return isOn();
+    }
 }
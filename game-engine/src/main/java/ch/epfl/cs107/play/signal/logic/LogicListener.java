@@ -0,0 +1,15 @@
+package ch.epfl.cs107.play.signal.logic;
+
+/**
+ * Listener notified when an observable logic signal switches on or off
+ */
+@FunctionalInterface
+public interface LogicListener {
+
+    /**
+     * Called each time the signal switches, never when it is set to the value it already has
+     * @param signal (ObservableLogic): the signal which switched. Not null
+     * @param isOn (boolean): true if it switched on, false if it switched off
+     */
+    void signalChanged(ObservableLogic signal, boolean isOn);
+}
@@ -0,0 +1,39 @@
+package ch.epfl.cs107.play.signal.logic;
+
+import java.util.Arrays;
+
+/**
+ * Listeners of an observable signal. Copied on write: listeners are rarely added or removed,
+ * and may be while they are notified
+ */
+final class LogicListeners {
+
+    private static final LogicListener[] NONE = new LogicListener[0];
+
+    private LogicListener[] listeners = NONE;
+
+    void add(LogicListener listener) {
+        if (listener == null)
+            throw new NullPointerException();
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    void remove(LogicListener listener) {
+        for (int i = 0; i < listeners.length; ++i) {
+            if (listeners[i] == listener) {
+                final LogicListener[] copy = new LogicListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, copy, 0, i);
+                System.arraycopy(listeners, i + 1, copy, i, copy.length - i);
+                listeners = copy;
+                return;
+            }
+        }
+    }
+
+    void notify(ObservableLogic signal, boolean isOn) {
+        // The listeners added or removed by a listener take effect at the next switch
+        for (LogicListener listener : listeners)
+            listener.signalChanged(signal, isOn);
+    }
+}
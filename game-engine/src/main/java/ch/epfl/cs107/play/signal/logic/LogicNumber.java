@@ -38,4 +38,18 @@ public final class LogicNumber extends LogicGate {
         }
         return (currentValue == number) ? Logic.TRUE.getIntensity() : Logic.FALSE.getIntensity();
     }
-}
\ No newline at end of file
+
+    @Override
+    Logic[] getInputs() {
+        return signals.clone();
+    }
+
+    @Override
+    boolean evaluate(boolean[] inputs) {
+        int currentValue = 0;
+        for(int p = 0; p < inputs.length; p++){
+            if(inputs[p]) currentValue += POWERS[p];
+        }
+        return currentValue == number;
+    }
+}
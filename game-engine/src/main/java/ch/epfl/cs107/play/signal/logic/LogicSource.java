@@ -0,0 +1,54 @@
+package ch.epfl.cs107.play.signal.logic;
+
+/**
+ * Implementation of an observable Logic signal holding its own value, switched by its owner.
+ * Actors acting as a signal source (a pressure plate, a collected item...) hold one and set it when their state
+ * changes, including when it is restored, so the circuits depending on them never poll them.
+ * Not thread-safe: set it from the thread updating the circuits, e.g. not from a parallel actor update
+ */
+public final class LogicSource implements ObservableLogic {
+
+    private final LogicListeners listeners = new LogicListeners();
+    private boolean isOn;
+
+    /**
+     * Default constructor of logic source
+     * @param isOn (boolean): initial value of the signal
+     */
+    public LogicSource(boolean isOn) {
+        this.isOn = isOn;
+    }
+
+    /**
+     * Set the value of the signal, notifying the listeners if it switched
+     * @param isOn (boolean): new value of the signal
+     */
+    public void set(boolean isOn) {
+        if (this.isOn != isOn) {
+            this.isOn = isOn;
+            listeners.notify(this, isOn);
+        }
+    }
+
+    /// LogicSource implements ObservableLogic
+
+    @Override
+    public boolean isOn() {
+        return isOn;
+    }
+
+    @Override
+    public boolean isOff() {
+        return !isOn;
+    }
+
+    @Override
+    public void addListener(LogicListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeListener(LogicListener listener) {
+        listeners.remove(listener);
+    }
+}
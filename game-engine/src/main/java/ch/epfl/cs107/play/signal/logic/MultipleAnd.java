@@ -26,4 +26,17 @@ public final class MultipleAnd extends LogicGate {
         }
         return Logic.TRUE.getIntensity();
     }
-}
\ No newline at end of file
+
+    @Override
+    Logic[] getInputs() {
+        return signals.clone();
+    }
+
+    @Override
+    boolean evaluate(boolean[] inputs) {
+        for (boolean input : inputs) {
+            if (!input) return false;
+        }
+        return true;
+    }
+}
@@ -24,4 +24,14 @@ public final class Nand extends LogicGate {
     public float getIntensity() {
         return signal1.getIntensity() + signal2.getIntensity() == 2.0f ? 0.0f : 1.0f;
     }
-}
\ No newline at end of file
+
+    @Override
+    Logic[] getInputs() {
+        return new Logic[]{signal1, signal2};
+    }
+
+    @Override
+    boolean evaluate(boolean[] inputs) {
+        return !(inputs[0] && inputs[1]);
+    }
+}
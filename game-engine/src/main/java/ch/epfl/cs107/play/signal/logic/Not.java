@@ -23,4 +23,14 @@ public final class  Not extends LogicGate {
     public float getIntensity() {
         return 1.0f - signal.getIntensity();
     }
-}
\ No newline at end of file
+
+    @Override
+    Logic[] getInputs() {
+        return new Logic[]{signal};
+    }
+
+    @Override
+    boolean evaluate(boolean[] inputs) {
+        return !inputs[0];
+    }
+}
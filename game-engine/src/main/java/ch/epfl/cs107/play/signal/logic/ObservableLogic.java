@@ -0,0 +1,20 @@
+package ch.epfl.cs107.play.signal.logic;
+
+/**
+ * Logic signal notifying its listeners when it switches, instead of being polled.
+ * LogicCircuit only reevaluates the gates depending on these signals when they switch
+ */
+public interface ObservableLogic extends Logic {
+
+    /**
+     * Listen to this signal. A listener added more than once is notified as many times
+     * @param listener (LogicListener): listener to notify, from the thread switching the signal. Not null
+     */
+    void addListener(LogicListener listener);
+
+    /**
+     * Stop listening to this signal. Does nothing if the listener was not added
+     * @param listener (LogicListener): listener to remove. Not null
+     */
+    void removeListener(LogicListener listener);
+}
@@ -25,4 +25,14 @@ public final class Or extends LogicGate {
     public float getIntensity() {
         return Math.max(signal1.getIntensity(), signal2.getIntensity());
     }
+
+    @Override
+    Logic[] getInputs() {
+        return new Logic[]{signal1, signal2};
+    }
+
+    @Override
+    boolean evaluate(boolean[] inputs) {
+        return inputs[0] || inputs[1];
+    }
 }
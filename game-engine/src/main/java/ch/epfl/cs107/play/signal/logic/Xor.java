@@ -23,4 +23,14 @@ public final class Xor extends LogicGate {
     public float getIntensity() {
         return Math.abs(signal1.getIntensity() - signal2.getIntensity());
     }
-}
\ No newline at end of file
+
+    @Override
+    Logic[] getInputs() {
+        return new Logic[]{signal1, signal2};
+    }
+
+    @Override
+    boolean evaluate(boolean[] inputs) {
+        return inputs[0] != inputs[1];
+    }
+}
@@ -7,6 +7,7 @@ import ch.epfl.cs107.play.math.RegionOfInterest;
 import ch.epfl.cs107.play.math.shape.Shape;
 import ch.epfl.cs107.play.math.TextAlign;
 import ch.epfl.cs107.play.math.Transform;
+import ch.epfl.cs107.play.math.TransformBuilder;
 import ch.epfl.cs107.play.math.Vector;
 
 /**
@@ -14,6 +15,9 @@ import ch.epfl.cs107.play.math.Vector;
  */
 public interface Canvas extends Positionable {
 
+    /// Image handle of a context which does not support handles
+    int NO_IMAGE_HANDLE = -1;
+
     // TODO maybe provide some size/aspect ratio information
 
     /**
@@ -25,6 +29,27 @@ public interface Canvas extends Positionable {
      */
     Image getImage(String name, RegionOfInterest roi, boolean removeBackground);
 
+    /**
+     * Gets a handle to an image from file system, to get the image later without looking it up by name.
+     * Contexts able to do so load each file once and share its pixels between its regions
+     * @param name (String): full name of image, not null
+     * @param roi (RegionOfInterest): region of interest, may be null
+     * @param removeBackground (boolean): which indicate if we need to remove an uniform background
+     * @return (int): a handle valid for this context, NO_IMAGE_HANDLE if handles are not supported
+     */
+    default int getImageHandle(String name, RegionOfInterest roi, boolean removeBackground) {
+        return NO_IMAGE_HANDLE;
+    }
+
+    /**
+     * Gets image from its handle.
+     * @param handle (int): handle given by getImageHandle of this context
+     * @return an image object, null on error
+     */
+    default Image getImage(int handle) {
+        return null;
+    }
+
     /**
      * Draws specified image.
      * @param image (Image): any image associated to this context, may be null
@@ -34,6 +59,18 @@ public interface Canvas extends Positionable {
      */
     void drawImage(Image image, Transform transform, float alpha, float depth);
 
+    /**
+     * Draws specified image, reading the transform right away so the builder can be reused.
+     * Builds an immutable transform by default, contexts copying the coefficients should override it
+     * @param image (Image): any image associated to this context, may be null
+     * @param transform (TransformBuilder): any affine transform, not null
+     * @param alpha (float): transparency, between 0.0 and 1.0
+     * @param depth (float): any real, larger values are drawn afterward, i.e. above
+     */
+    default void drawImage(Image image, TransformBuilder transform, float alpha, float depth) {
+        drawImage(image, transform.build(), alpha, depth);
+    }
+
     /**
      * Draws specified image
      * @param shape (Shape): any shape, may be null
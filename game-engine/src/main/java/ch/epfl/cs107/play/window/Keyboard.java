@@ -1,5 +1,7 @@
 package ch.epfl.cs107.play.window;
 
+import java.util.function.IntConsumer;
+
 /**
  * Represents the keyboard.
  */
@@ -42,6 +44,9 @@ public interface Keyboard {
     int X = 88;
     int Y = 89;
     int Z = 90;
+    int F3 = 114;
+    /// Highest key code polled by the default forEachTransition
+    int MAX_POLLED_CODE = 0x20F;
 
     /**
      * Getter for the button corresponding to the given code
@@ -50,4 +55,20 @@ public interface Keyboard {
      */
     Button get(int code);
 
+    /**
+     * Give the keys pressed or released by the last update, to follow the transitions only.
+     * By default every key code up to MAX_POLLED_CODE is polled, devices knowing their pressed keys should override it
+     * @param pressed (IntConsumer): receives the code of each key pressed, not null
+     * @param released (IntConsumer): receives the code of each key released, not null
+     */
+    default void forEachTransition(IntConsumer pressed, IntConsumer released) {
+        for (int code = 0; code <= MAX_POLLED_CODE; ++code) {
+            Button button = get(code);
+            if (button.isPressed())
+                pressed.accept(code);
+            if (button.isReleased())
+                released.accept(code);
+        }
+    }
+
 }
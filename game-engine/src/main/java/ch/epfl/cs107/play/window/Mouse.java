@@ -4,6 +4,8 @@ import ch.epfl.cs107.play.math.Positionable;
 import ch.epfl.cs107.play.math.Transform;
 import ch.epfl.cs107.play.math.Vector;
 
+import java.util.function.IntConsumer;
+
 /**
  * Represents the mouse pointer.
  */
@@ -16,6 +18,22 @@ public interface Mouse extends Positionable {
      */
     Button getButton(int index);
 
+    /**
+     * Give the buttons pressed or released by the last update, to follow the transitions only.
+     * By default the left, middle and right buttons are polled
+     * @param pressed (IntConsumer): receives the index of each button pressed, not null
+     * @param released (IntConsumer): receives the index of each button released, not null
+     */
+    default void forEachTransition(IntConsumer pressed, IntConsumer released) {
+        for (int index = 0; index <= 2; ++index) {
+            Button button = getButton(index);
+            if (button.isPressed())
+                pressed.accept(index);
+            if (button.isReleased())
+                released.accept(index);
+        }
+    }
+
     /**@return (Button): the left button (by default index = 0)*/
     default Button getLeftButton() {
         return getButton(0);
@@ -1,7 +1,10 @@
 package ch.epfl.cs107.play.window;
 
+import ch.epfl.cs107.play.io.AssetManifest;
 import ch.epfl.cs107.play.math.Attachable;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Represents a context frame, which can act as a canvas.
  * Moreover, the camera can be attached to any positionable entity.
@@ -27,4 +30,36 @@ public interface Window extends Canvas, Audio, Attachable {
     
     /** Destroys and closes the window */
     void dispose();
+
+    /**
+     * Pin the assets (images, sounds) used from now on to the given owner, typically the current area,
+     * so a context bounding its memory does not evict them until the owner releases them.
+     * Does nothing by default
+     * @param owner (Object): owner of the assets used from now on, null to stop pinning
+     */
+    default void setAssetOwner(Object owner) {
+        // By default, assets are never evicted
+    }
+
+    /**
+     * Unpin the assets pinned by the given owner: they may be evicted again.
+     * Does nothing by default
+     * @param owner (Object): owner of the pins, may be null
+     */
+    default void releaseAssets(Object owner) {
+        // By default, assets are never evicted
+    }
+
+    /**
+     * Decode the assets of a manifest in the background, so their first use does not stall a frame.
+     * Assets are loaded synchronously at their first use by default
+     * @param manifest (AssetManifest): assets to decode, not null
+     * @param owner (Object): owner pinning the decoded assets, null to leave them evictable
+     * @return (CompletableFuture): completed once all the assets are decoded (or failed to), not null
+     */
+    default CompletableFuture<Void> preload(AssetManifest manifest, Object owner) {
+        if (manifest == null)
+            throw new NullPointerException();
+        return CompletableFuture.completedFuture(null);
+    }
 }
@@ -0,0 +1,93 @@
+package ch.epfl.cs107.play.window.headless;
+
+import ch.epfl.cs107.play.math.RegionOfInterest;
+import ch.epfl.cs107.play.window.Image;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import javax.imageio.ImageIO;
+
+/**
+ * Headless implementation of an image.
+ * Pixels are kept in a plain ARGB buffer, no graphics device is required.
+ */
+public final class HeadlessImage implements Image {
+
+    // Package-protected, for efficient access
+    final BufferedImage image;
+
+    /**
+     * Creates an image from specified image.
+     * @param image (BufferedImage): valid image to be copied, not null
+     * @param roi (RegionOfInterest): rectangle of interest in the image, may be null
+     * @param removeBackground (boolean): which indicate if need to remove an uniform background
+     */
+    public HeadlessImage(BufferedImage image, RegionOfInterest roi, boolean removeBackground) {
+        int x = 0;
+        int y = 0;
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        if (roi != null) {
+            x = roi.x;
+            y = roi.y;
+            width = Math.min(width, roi.w);
+            height = Math.min(height, roi.h);
+        }
+
+        // Copy the region in a device independent buffer
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        final int[] rgb = new int[width * height];
+        final int w = Math.max(0, Math.min(width, image.getWidth() - x));
+        final int h = Math.max(0, Math.min(height, image.getHeight() - y));
+        if (w > 0 && h > 0) {
+            image.getRGB(x, y, w, h, rgb, 0, width);
+        }
+
+        if (removeBackground) {
+            final int backgroundRGB = rgb[0];
+            for (int i = 0; i < rgb.length; i++) {
+                if (rgb[i] == backgroundRGB)
+                    rgb[i] = 0;
+            }
+        }
+        this.image.setRGB(0, 0, width, height, rgb, 0, width);
+    }
+
+    /**
+     * Creates an image from specified image input stream.
+     * @param stream (InputStream): valid image input stream, not null
+     * @param roi (RegionOfInterest): rectangle of interest in the image, may be null
+     * @param removeBackground (boolean): which indicate if need to remove an uniform background
+     * @throws IOException if an error occurs during reading
+     */
+    public HeadlessImage(InputStream stream, RegionOfInterest roi, boolean removeBackground) throws IOException {
+        this(read(stream), roi, removeBackground);
+    }
+
+    private static BufferedImage read(InputStream stream) throws IOException {
+        BufferedImage image = ImageIO.read(stream);
+        if (image == null)
+            throw new IOException("Unsupported image format");
+        return image;
+    }
+
+
+    /// HeadlessImage implements Image
+
+    @Override
+    public int getWidth() {
+        return image.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return image.getHeight();
+    }
+
+    @Override
+    public int getRGB(int r, int c) {
+        return image.getRGB(c, r);
+    }
+}
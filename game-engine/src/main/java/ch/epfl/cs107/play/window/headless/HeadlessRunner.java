@@ -0,0 +1,135 @@
+package ch.epfl.cs107.play.window.headless;
+
+import ch.epfl.cs107.play.engine.Game;
+import ch.epfl.cs107.play.io.FileSystem;
+import ch.epfl.cs107.play.profiler.Profiler;
+
+/**
+ * Drive a Game inside a HeadlessWindow with a fixed time step.
+ * There is no pacing: frames are simulated as fast as the CPU allows,
+ * the game only sees the fixed deltaTime and never the wall clock.
+ * Frames are reported to the Profiler, which records them once enabled.
+ */
+public final class HeadlessRunner {
+
+    private final Game game;
+    private final HeadlessWindow window;
+    private final FileSystem fileSystem;
+    /// Simulated time between two frames, in seconds
+    private final float deltaTime;
+    private InputScript script;
+    /// Index of the next frame to simulate
+    private int frame;
+    private boolean started;
+
+    /**
+     * Creates a new runner.
+     * @param game (Game): game to run, not null
+     * @param window (HeadlessWindow): context given to the game, not null
+     * @param fileSystem (FileSystem): given file system, not null
+     * @param deltaTime (float): simulated time between two frames, in seconds, positive
+     */
+    public HeadlessRunner(Game game, HeadlessWindow window, FileSystem fileSystem, float deltaTime) {
+        if (game == null || window == null || fileSystem == null)
+            throw new NullPointerException();
+        if (deltaTime <= 0.0f)
+            throw new IllegalArgumentException("deltaTime must be positive");
+        this.game = game;
+        this.window = window;
+        this.fileSystem = fileSystem;
+        this.deltaTime = deltaTime;
+        this.script = InputScript.NONE;
+    }
+
+    /**
+     * Creates a new runner using the game frame rate as fixed time step.
+     * @param game (Game): game to run, not null
+     * @param window (HeadlessWindow): context given to the game, not null
+     * @param fileSystem (FileSystem): given file system, not null
+     */
+    public HeadlessRunner(Game game, HeadlessWindow window, FileSystem fileSystem) {
+        this(game, window, fileSystem, 1.0f / game.getFrameRate());
+    }
+
+    /**
+     * Set the input source
+     * @param script (InputScript): script driving the virtual devices, not null
+     */
+    public void setInputScript(InputScript script) {
+        if (script == null)
+            throw new NullPointerException();
+        this.script = script;
+    }
+
+    /** @return (int): number of frames already simulated */
+    public int getFrame() {
+        return frame;
+    }
+
+    /** @return (float): simulated time between two frames, in seconds */
+    public float getDeltaTime() {
+        return deltaTime;
+    }
+
+    /**
+     * Begin the game and make the inputs of the first frame visible
+     * @return (boolean): whether the game was successfully started
+     */
+    public boolean begin() {
+        frame = 0;
+        started = game.begin(window, fileSystem);
+        if (started) {
+            script.apply(frame, window.getKeyboard(), window.getMouse());
+            window.update();
+        }
+        return started;
+    }
+
+    /**
+     * Simulate a single frame: update, draw, then prepare the inputs of the next frame
+     * @return (boolean): false if the game is not started or the window asks to close
+     */
+    public boolean step() {
+        if (!started || window.isCloseRequested())
+            return false;
+
+        final Profiler profiler = Profiler.getInstance();
+        profiler.beginFrame();
+        final long updateStart = profiler.start();
+        game.update(deltaTime);
+        profiler.stop(Profiler.Section.UPDATE, updateStart);
+        final long drawStart = profiler.start();
+        game.draw();
+        profiler.stop(Profiler.Section.DRAW, drawStart);
+
+        ++frame;
+        script.apply(frame, window.getKeyboard(), window.getMouse());
+        window.update();
+        profiler.endFrame();
+        return true;
+    }
+
+    /**
+     * Begin the game if needed, simulate up to the given number of frames then end the game
+     * @param frames (int): maximal number of frames to simulate
+     * @return (int): number of frames actually simulated
+     */
+    public int run(int frames) {
+        if (!started && !begin()) {
+            end();
+            return 0;
+        }
+        final int first = frame;
+        while (frame - first < frames && step()) {
+            // Everything is done in step
+        }
+        end();
+        return frame - first;
+    }
+
+    /** End the game, called even if it was not successfully started */
+    public void end() {
+        game.end();
+        started = false;
+    }
+}
@@ -0,0 +1,254 @@
+package ch.epfl.cs107.play.window.headless;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import ch.epfl.cs107.play.io.FileSystem;
+import ch.epfl.cs107.play.math.Node;
+import ch.epfl.cs107.play.math.RegionOfInterest;
+import ch.epfl.cs107.play.math.TextAlign;
+import ch.epfl.cs107.play.math.Transform;
+import ch.epfl.cs107.play.math.TransformBuilder;
+import ch.epfl.cs107.play.math.Vector;
+import ch.epfl.cs107.play.math.shape.Shape;
+import ch.epfl.cs107.play.profiler.Profiler;
+import ch.epfl.cs107.play.window.Button;
+import ch.epfl.cs107.play.window.Image;
+import ch.epfl.cs107.play.window.Sound;
+import ch.epfl.cs107.play.window.Window;
+
+/**
+ * Window context without any display, audio device or input device.
+ * Images are decoded (behaviors need their pixels) but draw requests are only counted,
+ * sounds are never loaded and inputs come from a VirtualKeyboard and a VirtualMouse.
+ * Useful to run games on machines without display and faster than real time.
+ */
+public final class HeadlessWindow extends Node implements Window {
+
+    // File system
+    private final FileSystem fileSystem;
+
+    // Image stuff
+    private final Map<String, HeadlessImage> images;
+
+    // Virtual canvas size, in pixel
+    private final int width;
+    private final int height;
+
+    // State information
+    private boolean closeRequested;
+    private final Button focus;
+    private final VirtualKeyboard keyboard;
+    private final VirtualMouse mouse;
+
+    // Statistics about the draw requests
+    private int drawCount;
+    private int lastFrameDrawCount;
+    /// Scratch view transform
+    private final TransformBuilder viewToWorld = new TransformBuilder();
+
+    /**
+     * Creates a new headless window.
+     * @param fileSystem (FileSystem): source used to load images, not null
+     * @param width (int): width in pixel of the virtual canvas
+     * @param height (int): height in pixel of the virtual canvas
+     */
+    public HeadlessWindow(FileSystem fileSystem, int width, int height) {
+        if (fileSystem == null)
+            throw new NullPointerException();
+        this.fileSystem = fileSystem;
+        this.width = width;
+        this.height = height;
+        images = new HashMap<>();
+        focus = new Button(true);
+        keyboard = new VirtualKeyboard();
+        mouse = new VirtualMouse();
+    }
+
+    /** Ask the window to close, isCloseRequested() will return true from now on */
+    public void requestClose() {
+        closeRequested = true;
+    }
+
+    /** @return (int): number of draw requests submitted during the last completed frame */
+    public int getLastFrameDrawCount() {
+        return lastFrameDrawCount;
+    }
+
+    @Override
+    public Button getFocus() {
+        return focus;
+    }
+
+    @Override
+    public VirtualMouse getMouse() {
+        return mouse;
+    }
+
+    @Override
+    public VirtualKeyboard getKeyboard() {
+        return keyboard;
+    }
+
+    @Override
+    public boolean isCloseRequested() {
+        return closeRequested;
+    }
+
+    @Override
+    public void update() {
+        // Nothing to present, simply close the frame
+        lastFrameDrawCount = drawCount;
+        drawCount = 0;
+        Profiler.getInstance().count(Profiler.Counter.DRAW_ITEMS, lastFrameDrawCount);
+
+        // Update input devices
+        mouse.update();
+        keyboard.update();
+    }
+
+    @Override
+    public void dispose() {
+        images.clear();
+    }
+
+    @Override
+    public HeadlessImage getImage(String name, RegionOfInterest roi, boolean removeBackground) {
+        final String key = name + roi;
+        if (images.containsKey(key))
+            return images.get(key);
+
+        HeadlessImage image = null;
+        try (InputStream input = fileSystem.read(name)) {
+            image = new HeadlessImage(input, roi, removeBackground);
+        } catch (IOException e) {
+            // Empty on purpose, will return null as an error
+            System.out.println("File :" + name + " not found");
+        }
+        images.put(key, image);
+        return image;
+    }
+
+    @Override
+    public void drawImage(Image image, Transform transform, float alpha, float depth) {
+        if (transform == null)
+            throw new NullPointerException();
+        if (image == null || alpha <= 0.0f)
+            return;
+        ++drawCount;
+    }
+
+    @Override
+    public void drawImage(Image image, TransformBuilder transform, float alpha, float depth) {
+        if (transform == null)
+            throw new NullPointerException();
+        if (image == null || alpha <= 0.0f)
+            return;
+        ++drawCount;
+    }
+
+    @Override
+    public void drawShape(Shape shape, Transform transform, Color fillColor, Color outlineColor, float thickness, float alpha, float depth) {
+        if (transform == null)
+            throw new NullPointerException();
+        if (shape == null || alpha <= 0.0f || (fillColor == null && (outlineColor == null || thickness <= 0.0f)))
+            return;
+        ++drawCount;
+    }
+
+    @Override
+    public void drawText(String text, float fontSize, Transform transform, Color fillColor, Color outlineColor, float thickness, String fontName,
+                         boolean bold, boolean italics, Vector anchor, TextAlign.Horizontal hAlign, TextAlign.Vertical vAlign, float alpha, float depth) {
+        if (transform == null)
+            throw new NullPointerException();
+        if (text == null || fontSize <= 0.0f || alpha <= 0.0f || (fillColor == null && (outlineColor == null || thickness <= 0.0f)))
+            return;
+        ++drawCount;
+    }
+
+    @Override
+    public void registerFonts(String directoryName) {
+        // No text is rendered, hence no font is needed
+    }
+
+    @Override
+    public Sound getSound(String name) {
+        // No audio device, sounds are never loaded
+        return null;
+    }
+
+    @Override
+    public void playSound(Sound sound, boolean randomFirstStart, float volume, boolean fadeIn, boolean loop, boolean stopOthersOnStart) {
+        // No audio device
+    }
+
+    @Override
+    public boolean isSoundSupported() {
+        return false;
+    }
+
+    @Override
+    public Vector convertPositionOnScreen(Vector coord) {
+        float halfX;
+        float halfY;
+        if (width > height) {
+            halfX = 1.0f;
+            halfY = (float) height / (float) width;
+        } else {
+            halfX = (float) width / (float) height;
+            halfY = 1.0f;
+        }
+        final Transform worldToView = getTransform().inverted();
+        final Vector pointInView = worldToView.onPoint(coord.x, coord.y);
+        final float x = pointInView.getX() / (halfX / width) + 0.5f * width;
+        final float y = pointInView.getY() / (-halfY / height) + 0.5f * height;
+        return new Vector(x, y);
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public float getXScale() {
+        return transformInto(viewToWorld).getM00();
+    }
+
+    @Override
+    public float getYScale() {
+        return transformInto(viewToWorld).getM11();
+    }
+
+    @Override
+    public float getScaledWidth() {
+        float width = getXScale();
+        float height = getYScale();
+
+        float ratio = getWidth() / (float) getHeight();
+        if (ratio <= 1) {
+            width = height * ratio;
+        }
+        return width;
+    }
+
+    @Override
+    public float getScaledHeight() {
+        float width = getXScale();
+        float height = getYScale();
+
+        float ratio = getWidth() / (float) getHeight();
+        if (ratio > 1) {
+            height = width / ratio;
+        }
+        return height;
+    }
+}
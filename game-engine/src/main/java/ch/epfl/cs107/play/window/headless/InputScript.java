@@ -0,0 +1,20 @@
+package ch.epfl.cs107.play.window.headless;
+
+/**
+ * Scripted input source for headless sessions.
+ * Called once per frame, before the input of that frame is made visible to the game.
+ */
+@FunctionalInterface
+public interface InputScript {
+
+    /** A script which never touches the devices */
+    InputScript NONE = (frame, keyboard, mouse) -> {};
+
+    /**
+     * Drive the devices for the given frame
+     * @param frame (int): index of the frame about to be simulated, starting at 0
+     * @param keyboard (VirtualKeyboard): keyboard of the headless window, not null
+     * @param mouse (VirtualMouse): mouse of the headless window, not null
+     */
+    void apply(int frame, VirtualKeyboard keyboard, VirtualMouse mouse);
+}
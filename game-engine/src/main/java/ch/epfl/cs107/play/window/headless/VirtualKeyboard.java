@@ -0,0 +1,84 @@
+package ch.epfl.cs107.play.window.headless;
+
+import ch.epfl.cs107.play.window.Button;
+import ch.epfl.cs107.play.window.Keyboard;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.IntConsumer;
+
+/**
+ * Keyboard driven by code instead of a physical device.
+ * Key transitions are buffered and become visible to the game at the next window update,
+ * exactly like the Swing keyboard.
+ */
+public final class VirtualKeyboard implements Keyboard {
+
+    private Set<Integer> previous;
+    private Set<Integer> current;
+    private Set<Integer> buffer;
+    private int lastBufferAdd;
+    private int lastPressed;
+
+    /** Creates a new keyboard with all keys released */
+    public VirtualKeyboard() {
+        previous = new HashSet<>();
+        current = new HashSet<>();
+        buffer = new HashSet<>();
+        lastBufferAdd = -1;
+        lastPressed = -1;
+    }
+
+    /**
+     * Press the given key. Visible after the next update
+     * @param code (int): key code, see Keyboard constants
+     */
+    public void press(int code) {
+        buffer.add(code);
+        lastBufferAdd = code;
+    }
+
+    /**
+     * Release the given key. Visible after the next update
+     * @param code (int): key code, see Keyboard constants
+     */
+    public void release(int code) {
+        buffer.remove(code);
+        if (code == lastBufferAdd)
+            lastBufferAdd = -1;
+    }
+
+    /** Release all the keys. Visible after the next update */
+    public void releaseAll() {
+        buffer.clear();
+        lastBufferAdd = -1;
+    }
+
+    /** Make the buffered transitions the current state */
+    void update() {
+        final Set<Integer> tmp = previous;
+        previous = current;
+        current = buffer;
+        lastPressed = lastBufferAdd;
+        buffer = tmp;
+        buffer.clear();
+        buffer.addAll(current);
+    }
+
+    /// VirtualKeyboard implements Keyboard
+
+    @Override
+    public Button get(int code) {
+        return new Button(previous.contains(code), current.contains(code), code == lastPressed);
+    }
+
+    @Override
+    public void forEachTransition(IntConsumer pressed, IntConsumer released) {
+        for (int code : current)
+            if (!previous.contains(code))
+                pressed.accept(code);
+        for (int code : previous)
+            if (!current.contains(code))
+                released.accept(code);
+    }
+}
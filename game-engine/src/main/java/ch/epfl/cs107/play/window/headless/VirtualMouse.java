@@ -0,0 +1,82 @@
+package ch.epfl.cs107.play.window.headless;
+
+import ch.epfl.cs107.play.math.Vector;
+import ch.epfl.cs107.play.window.Button;
+import ch.epfl.cs107.play.window.Mouse;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Mouse driven by code instead of a physical device.
+ * Button transitions and moves are buffered and become visible to the game at the next window update.
+ */
+public final class VirtualMouse implements Mouse {
+
+    private int previous = 0;
+    private int current = 0;
+    private int buffer = 0;
+    private Vector position = Vector.ZERO;
+    private Vector bufferPosition = Vector.ZERO;
+
+    /**
+     * Press the given button. Visible after the next update
+     * @param index (int): button index, 0 is the left button
+     */
+    public void press(int index) {
+        buffer |= 1 << index;
+    }
+
+    /**
+     * Release the given button. Visible after the next update
+     * @param index (int): button index, 0 is the left button
+     */
+    public void release(int index) {
+        buffer &= ~(1 << index);
+    }
+
+    /**
+     * Move the pointer. Visible after the next update
+     * @param position (Vector): new position in world coordinates, not null
+     */
+    public void moveTo(Vector position) {
+        if (position == null)
+            throw new NullPointerException();
+        bufferPosition = position;
+    }
+
+    /** Make the buffered transitions the current state */
+    void update() {
+        previous = current;
+        current = buffer;
+        position = bufferPosition;
+    }
+
+    /// VirtualMouse implements Mouse
+
+    @Override
+    public Vector getPosition() {
+        return position;
+    }
+
+    @Override
+    public Button getButton(int index) {
+        int mask = 1 << index;
+        return new Button((previous & mask) != 0, (current & mask) != 0);
+    }
+
+    @Override
+    public void forEachTransition(IntConsumer pressed, IntConsumer released) {
+        for (int changed = previous ^ current; changed != 0; changed &= changed - 1) {
+            final int index = Integer.numberOfTrailingZeros(changed);
+            if ((current & (1 << index)) != 0)
+                pressed.accept(index);
+            else
+                released.accept(index);
+        }
+    }
+
+    @Override
+    public Vector getVelocity() {
+        return Vector.ZERO;
+    }
+}
@@ -1,6 +1,7 @@
 package ch.epfl.cs107.play.window.swing;
 
 import ch.epfl.cs107.play.math.Transform;
+import ch.epfl.cs107.play.math.TransformBuilder;
 
 import java.awt.AlphaComposite;
 import java.awt.Composite;
@@ -13,10 +14,13 @@ import java.awt.image.BufferedImage;
  */
 public final class ImageItem implements Item {
 
-    private final float depth;
-    private final float alpha;
-    private final Transform transform;
-    private final SwingImage image;
+    private float depth;
+    private float alpha;
+    /// Coefficients of the transform, copied so the item does not depend on a mutable builder
+    private float m00, m01, m02, m10, m11, m12;
+    private SwingImage image;
+    /// Image to view transform, reused from one render to the next
+    private final AffineTransform affine = new AffineTransform();
 
     /**
      * Creates a new image item.
@@ -26,10 +30,42 @@ public final class ImageItem implements Item {
      * @param image (SwingImage): swing image, not null
      */
     public ImageItem(float depth, float alpha, Transform transform, SwingImage image) {
+        set(depth, alpha, transform, image);
+    }
+
+    /**
+     * Creates an empty image item, to be set before rendering. Used by item pools
+     */
+    ImageItem() {
+    }
+
+    /**
+     * Reuse this item for another image
+     * @see #ImageItem(float, float, Transform, SwingImage)
+     */
+    void set(float depth, float alpha, Transform transform, SwingImage image) {
+        set(depth, alpha, image, transform.m00, transform.m01, transform.m02, transform.m10, transform.m11, transform.m12);
+    }
+
+    /**
+     * Reuse this item for another image, copying the current value of the builder
+     * @see #ImageItem(float, float, Transform, SwingImage)
+     */
+    void set(float depth, float alpha, TransformBuilder transform, SwingImage image) {
+        set(depth, alpha, image, transform.getM00(), transform.getM01(), transform.getM02(),
+            transform.getM10(), transform.getM11(), transform.getM12());
+    }
+
+    private void set(float depth, float alpha, SwingImage image, float m00, float m01, float m02, float m10, float m11, float m12) {
         this.depth = depth;
         this.alpha = alpha;
-        this.transform = transform;
         this.image = image;
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
     }
 
     /// ImageItem implements Item
@@ -47,10 +83,11 @@ public final class ImageItem implements Item {
         BufferedImage i = image.image;
         float sx = 1.0f / i.getWidth();
         float sy = 1.0f / i.getHeight();
-        AffineTransform a = new AffineTransform(
-            transform.m00 * sx, transform.m10 * sx,
-            transform.m01 * sy, -transform.m11 * sy,
-            transform.m02 + transform.m01, transform.m12 + transform.m11
+        AffineTransform a = affine;
+        a.setTransform(
+            m00 * sx, m10 * sx,
+            m01 * sy, -m11 * sy,
+            m02 + m01, m12 + m11
         );
         if (alpha >= 1.0f)
             g.drawImage(i, a, null);
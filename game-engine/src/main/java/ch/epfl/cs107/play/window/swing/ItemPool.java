@@ -0,0 +1,42 @@
+package ch.epfl.cs107.play.window.swing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Items reused from one frame to the next: acquired while drawing, all released once the frame is rendered
+ * @param <T> type of the pooled items
+ */
+final class ItemPool<T extends Item> {
+
+    private final List<T> items;
+    private final Supplier<T> factory;
+    /// Number of items acquired since the last release
+    private int used;
+
+    /**
+     * Default ItemPool Constructor
+     * @param factory (Supplier): creates the empty items when the pool runs out, not null
+     */
+    ItemPool(Supplier<T> factory) {
+        if (factory == null)
+            throw new NullPointerException();
+        this.items = new ArrayList<>();
+        this.factory = factory;
+    }
+
+    /** @return (T): an item not acquired since the last release, to be set before use */
+    T acquire() {
+        if (used == items.size())
+            items.add(factory.get());
+        return items.get(used++);
+    }
+
+    /**
+     * Make all the items available again. They must not be referenced anymore
+     */
+    void releaseAll() {
+        used = 0;
+    }
+}
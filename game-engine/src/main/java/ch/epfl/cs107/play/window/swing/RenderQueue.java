@@ -0,0 +1,145 @@
+package ch.epfl.cs107.play.window.swing;
+
+import java.util.Arrays;
+
+/**
+ * Items to render during a frame, ordered by depth (lower-values first) and then by submission order.
+ * Depths are turned into integer keys with the same order, and items are binned by the bytes
+ * of their keys (stable radix sort): sorting is linear and passes where all items share the same byte,
+ * as with the few discrete depths of most scenes, are skipped.
+ * Arrays are kept from one frame to the next, so a steady frame allocates nothing
+ */
+final class RenderQueue {
+
+    /// Under this size, an insertion sort is cheaper than the radix passes
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+    private static final int RADIX = 256;
+
+    private Item[] items;
+    private int[] keys;
+    /// Scatter target of the radix passes, swapped with items and keys after each pass
+    private Item[] swapItems;
+    private int[] swapKeys;
+    private final int[] offsets;
+    private int size;
+
+    /**
+     * Default RenderQueue Constructor
+     */
+    RenderQueue() {
+        items = new Item[256];
+        keys = new int[256];
+        swapItems = new Item[256];
+        swapKeys = new int[256];
+        offsets = new int[RADIX];
+    }
+
+    /**
+     * Key ordering depths as Float.compare does, once compared as unsigned integers
+     * @param depth (float): any depth
+     * @return (int): the key of this depth
+     */
+    private static int key(float depth) {
+        final int bits = Float.floatToIntBits(depth);
+        // Positive: set the sign bit. Negative: flip all bits, so that the larger the magnitude the lower the key
+        return bits ^ ((bits >> 31) | Integer.MIN_VALUE);
+    }
+
+    /**
+     * Add an item at the end of the queue
+     * @param item (Item): not null
+     */
+    void add(Item item) {
+        if (item == null)
+            throw new NullPointerException();
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+            swapItems = new Item[size * 2];
+            swapKeys = new int[size * 2];
+        }
+        keys[size] = key(item.getDepth());
+        items[size++] = item;
+    }
+
+    /** @return (int): number of queued items */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param index (int): between 0 and size()
+     * @return (Item): the queued item at this index, in depth order once sorted
+     */
+    Item get(int index) {
+        return items[index];
+    }
+
+    /**
+     * Order the queued items by depth, keeping the submission order of items with the same depth
+     */
+    void sort() {
+        if (isSorted())
+            return;
+        if (size <= INSERTION_SORT_THRESHOLD) {
+            insertionSort();
+            return;
+        }
+        for (int shift = 0; shift < Integer.SIZE; shift += 8) {
+            Arrays.fill(offsets, 0);
+            for (int i = 0; i < size; ++i)
+                ++offsets[(keys[i] >>> shift) & 0xFF];
+            // Nothing to do if all the items fall into the same bin
+            if (offsets[(keys[0] >>> shift) & 0xFF] == size)
+                continue;
+            int offset = 0;
+            for (int bin = 0; bin < RADIX; ++bin) {
+                final int count = offsets[bin];
+                offsets[bin] = offset;
+                offset += count;
+            }
+            for (int i = 0; i < size; ++i) {
+                final int target = offsets[(keys[i] >>> shift) & 0xFF]++;
+                swapKeys[target] = keys[i];
+                swapItems[target] = items[i];
+            }
+            final Item[] tmpItems = items;
+            items = swapItems;
+            swapItems = tmpItems;
+            final int[] tmpKeys = keys;
+            keys = swapKeys;
+            swapKeys = tmpKeys;
+        }
+    }
+
+    private boolean isSorted() {
+        for (int i = 1; i < size; ++i)
+            if (Integer.compareUnsigned(keys[i - 1], keys[i]) > 0)
+                return false;
+        return true;
+    }
+
+    private void insertionSort() {
+        for (int i = 1; i < size; ++i) {
+            final int key = keys[i];
+            final Item item = items[i];
+            int j = i - 1;
+            while (j >= 0 && Integer.compareUnsigned(keys[j], key) > 0) {
+                keys[j + 1] = keys[j];
+                items[j + 1] = items[j];
+                --j;
+            }
+            keys[j + 1] = key;
+            items[j + 1] = item;
+        }
+    }
+
+    /**
+     * Empty the queue, releasing the references to its items
+     */
+    void clear() {
+        Arrays.fill(items, 0, size, null);
+        Arrays.fill(swapItems, 0, size, null);
+        size = 0;
+    }
+}
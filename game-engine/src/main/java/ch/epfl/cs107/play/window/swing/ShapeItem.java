@@ -6,6 +6,10 @@ import java.awt.Color;
 import java.awt.Composite;
 import java.awt.Graphics2D;
 import java.awt.Shape;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+
+import ch.epfl.cs107.play.math.Transform;
 
 
 /**
@@ -13,12 +17,16 @@ import java.awt.Shape;
  */
 public final class ShapeItem implements Item {
 
-	private final Shape shape;
-	private final Color fillColor;
-	private final Color outlineColor;
-	private final float thickness;
-	private final float alpha;
-	private final float depth;
+	private Shape shape;
+	private Color fillColor;
+	private Color outlineColor;
+	private float thickness;
+	private float alpha;
+	private float depth;
+	/// Path and transform of pooled items, reused from one draw to the next
+	private Path2D.Float path;
+	private AffineTransform affine;
+	private BasicStroke stroke;
 
     /**
      * Creates a new shape item.
@@ -31,6 +39,18 @@ public final class ShapeItem implements Item {
      */
 	public ShapeItem(Shape shape, Color fillColor, Color outlineColor, float thickness, float alpha, float depth) {
 		super();
+		set(shape, fillColor, outlineColor, thickness, alpha, depth);
+	}
+
+	/**
+	 * Creates an empty shape item, to be set before rendering. Used by item pools
+	 */
+	ShapeItem() {
+		path = new Path2D.Float();
+		affine = new AffineTransform();
+	}
+
+	private void set(Shape shape, Color fillColor, Color outlineColor, float thickness, float alpha, float depth) {
 		this.shape = shape;
 		this.fillColor = fillColor;
 		this.outlineColor = outlineColor;
@@ -39,6 +59,20 @@ public final class ShapeItem implements Item {
 		this.depth = depth;
 	}
 
+	/**
+	 * Reuse this pooled item for another shape, transformed into the path owned by this item
+	 * @param shape (ch.epfl.cs107.play.math.shape.Shape): shape to draw, not null
+	 * @param transform (Transform): transform of the shape, not null
+	 * @see #ShapeItem(Shape, Color, Color, float, float, float)
+	 */
+	void set(ch.epfl.cs107.play.math.shape.Shape shape, Transform transform, Color fillColor, Color outlineColor, float thickness, float alpha, float depth) {
+		path.reset();
+		shape.appendTo(path);
+		affine.setTransform(transform.m00, transform.m10, transform.m01, transform.m11, transform.m02, transform.m12);
+		path.transform(affine);
+		set(path, fillColor, outlineColor, thickness, alpha, depth);
+	}
+
 	/// ShapeItem implements Item
 
 	@Override
@@ -61,7 +95,9 @@ public final class ShapeItem implements Item {
 		}
 		if (outlineColor != null) {
 			g.setColor(outlineColor);
-			g.setStroke(new BasicStroke(thickness));
+			if (stroke == null || stroke.getLineWidth() != thickness)
+				stroke = new BasicStroke(thickness);
+			g.setStroke(stroke);
 			g.draw(shape);
 		}
         if (old != null)
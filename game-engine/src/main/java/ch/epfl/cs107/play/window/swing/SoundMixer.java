@@ -0,0 +1,248 @@
+package ch.epfl.cs107.play.window.swing;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+/**
+ * Software mixer playing all the sounds through a single output line.
+ * A dedicated audio thread mixes the playing voices block by block, each one reading the shared samples of its sound,
+ * and writes the blocks to the line, which paces it. The game thread only posts commands to a lock-free queue,
+ * it never waits for the audio device.
+ * When more than MAX_VOICES sounds play at once, a new one replaces the oldest voice, preferably not a looping one
+ */
+final class SoundMixer {
+
+    /** Format of the output line, and of the samples of all the SwingSound */
+    static final AudioFormat FORMAT = new AudioFormat(44100f, 16, 2, true, false);
+
+    /// Frames mixed at once, about 12 ms: volume changes are applied per block, as a ramp over it
+    private static final int BLOCK_FRAMES = 512;
+    /// Blocks buffered by the line: latency of a new sound, and margin against a late audio thread
+    private static final int LINE_BLOCKS = 4;
+    private static final int MAX_VOICES = 32;
+    /// Volume change per second of a fade, 0.005 per frame at 24 frames per second as the former clips
+    private static final float FADE_PER_SECOND = 0.12f;
+    private static final float FADE_PER_BLOCK = FADE_PER_SECOND * BLOCK_FRAMES / 44100f;
+    /// Commands other than playing a sound
+    private static final Object STOP_ALL = new Object(), CLOSE = new Object();
+
+    private final SourceDataLine line;
+    private final Thread thread;
+    /// Commands posted by the game thread, a Play or one of the constants above
+    private final Queue<Object> commands = new ConcurrentLinkedQueue<>();
+
+    /// Owned by the audio thread
+    private final Voice[] voices = new Voice[MAX_VOICES];
+    private int voiceCount;
+    private long startCount;
+    private final float[] mix = new float[2 * BLOCK_FRAMES];
+    private final byte[] output = new byte[4 * BLOCK_FRAMES];
+
+    /**
+     * Request to play a sound, posted by the game thread
+     * @param sound (SwingSound): sound to play, not null
+     * @param startFrame (int): frame of the first start, the loops start again from 0
+     * @param volume (float): 0.0f no sound, 1.0f full audio
+     * @param fadeIn (boolean): if the volume rises from 0 to the given one
+     * @param loop (boolean): if the sound restarts when it ends
+     */
+    private record Play(SwingSound sound, int startFrame, float volume, boolean fadeIn, boolean loop) {}
+
+    /**
+     * Open the default output line and start the audio thread
+     * @throws LineUnavailableException if the line cannot be opened
+     */
+    SoundMixer() throws LineUnavailableException {
+        this(AudioSystem.getSourceDataLine(FORMAT));
+    }
+
+    /**
+     * Open the given output line and start the audio thread
+     * @param line (SourceDataLine): line supporting FORMAT, not null, closed with the mixer
+     * @throws LineUnavailableException if the line cannot be opened
+     */
+    SoundMixer(SourceDataLine line) throws LineUnavailableException {
+        this.line = line;
+        line.open(FORMAT, LINE_BLOCKS * output.length);
+        line.start();
+        thread = new Thread(this::run, "Audio mixer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Start playing a sound. Does not block
+     * @param sound (SwingSound): sound to play, not null
+     * @param startFrame (int): frame of the first start, the loops start again from 0
+     * @param volume (float): 0.0f no sound, 1.0f full audio
+     * @param fadeIn (boolean): if the volume rises from 0 to the given one
+     * @param loop (boolean): if the sound restarts when it ends
+     */
+    void play(SwingSound sound, int startFrame, float volume, boolean fadeIn, boolean loop) {
+        post(new Play(sound, startFrame, volume, fadeIn, loop));
+    }
+
+    /** Stop all the sounds playing or posted so far, fading them out over one block. Does not block */
+    void stopAll() {
+        post(STOP_ALL);
+    }
+
+    /** Stop the audio thread and close the line, the mixer cannot be used anymore */
+    void close() {
+        post(CLOSE);
+        try {
+            thread.join(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void post(Object command) {
+        commands.offer(command);
+        // Wake the audio thread up if it waits for a sound
+        LockSupport.unpark(thread);
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                if (!applyCommands())
+                    return;
+                if (voiceCount == 0) {
+                    // Nothing to mix: wait for a command instead of writing silence
+                    if (commands.isEmpty())
+                        LockSupport.park(this);
+                    continue;
+                }
+                mixBlock();
+                line.write(output, 0, output.length);
+            }
+        } finally {
+            line.stop();
+            line.flush();
+            line.close();
+        }
+    }
+
+    /**
+     * Apply the posted commands
+     * @return (boolean): false if the mixer is closed
+     */
+    private boolean applyCommands() {
+        Object command;
+        while ((command = commands.poll()) != null) {
+            if (command == CLOSE) {
+                return false;
+            } else if (command == STOP_ALL) {
+                for (int i = 0; i < voiceCount; ++i)
+                    voices[i].stopping = true;
+            } else {
+                start((Play) command);
+            }
+        }
+        return true;
+    }
+
+    private void start(Play play) {
+        final short[] samples = play.sound.getSamples();
+        if (samples.length == 0 || play.volume <= 0.0f)
+            return;
+        final Voice voice;
+        if (voiceCount < MAX_VOICES) {
+            if (voices[voiceCount] == null)
+                voices[voiceCount] = new Voice();
+            voice = voices[voiceCount++];
+        } else {
+            voice = voices[victim()];
+        }
+        voice.samples = samples;
+        voice.position = 2 * play.startFrame;
+        voice.volume = play.volume;
+        voice.gain = play.fadeIn ? 0.0f : play.volume;
+        voice.loop = play.loop;
+        voice.stopping = false;
+        voice.start = startCount++;
+    }
+
+    /** @return (int): index of the voice to replace, the oldest one not looping, the oldest one if they all loop */
+    private int victim() {
+        int victim = -1;
+        for (int i = 0; i < voiceCount; ++i) {
+            final Voice voice = voices[i];
+            if (victim < 0 || (!voice.loop && voices[victim].loop)
+                    || (voice.loop == voices[victim].loop && voice.start < voices[victim].start))
+                victim = i;
+        }
+        return victim;
+    }
+
+    /** Mix a block of all the voices into the output, removing the ended ones */
+    private void mixBlock() {
+        Arrays.fill(mix, 0.0f);
+        for (int i = 0; i < voiceCount; ) {
+            if (voices[i].mixInto(mix)) {
+                ++i;
+            } else {
+                // Swap the ended voice with the last one, keeping its instance for later sounds
+                final Voice ended = voices[i];
+                voices[i] = voices[--voiceCount];
+                voices[voiceCount] = ended;
+                ended.samples = null;
+            }
+        }
+        for (int i = 0; i < mix.length; ++i) {
+            final int sample = (int) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mix[i]));
+            output[2 * i] = (byte) sample;
+            output[2 * i + 1] = (byte) (sample >> 8);
+        }
+    }
+
+    /**
+     * Sound being played, owned by the audio thread
+     */
+    private static final class Voice {
+        /// Shared samples of the sound, null if the voice is free
+        private short[] samples;
+        /// Index of the next sample
+        private int position;
+        /// Volume to reach and current one
+        private float volume, gain;
+        private boolean loop, stopping;
+        /// Order of the start, to find the oldest voice
+        private long start;
+
+        /**
+         * Add the next block of this voice to the mix, ramping its volume over the block
+         * @param mix (Array of float): stereo block, not null
+         * @return (boolean): false if the voice ended
+         */
+        private boolean mixInto(float[] mix) {
+            final float target = stopping ? 0.0f : volume;
+            final float startGain = gain;
+            final float endGain = stopping ? 0.0f
+                    : (gain < target) ? Math.min(target, gain + FADE_PER_BLOCK) : Math.max(target, gain - FADE_PER_BLOCK);
+            final float slope = (endGain - startGain) / BLOCK_FRAMES;
+            float g = startGain;
+            for (int i = 0; i < mix.length; i += 2) {
+                if (position == samples.length) {
+                    if (!loop)
+                        return false;
+                    position = 0;
+                }
+                mix[i] += samples[position++] * g;
+                mix[i + 1] += samples[position++] * g;
+                g += slope;
+            }
+            gain = endGain;
+            return gain > 0.0f;
+        }
+    }
+}
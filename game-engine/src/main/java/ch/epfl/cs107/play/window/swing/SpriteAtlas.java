@@ -0,0 +1,204 @@
+package ch.epfl.cs107.play.window.swing;
+
+import ch.epfl.cs107.play.io.AssetCache;
+import ch.epfl.cs107.play.io.FileSystem;
+import ch.epfl.cs107.play.math.RegionOfInterest;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Images of the window, loaded once per file (sprite sheet) into a single compatible image.
+ * Each region of a sheet is a sub-image sharing the pixels of the sheet, identified by an integer handle.
+ * Regions whose background must be removed are copied, since their background color depends on the region.
+ * Sheets, with their regions, are kept into a bounded AssetCache, weighed with their copied regions:
+ * handles stay valid after an eviction, the sheet being loaded again at the next access
+ */
+final class SpriteAtlas {
+
+    private final FileSystem fileSystem;
+    private final AssetCache<String, Sheet> sheets;
+    private final AssetCache.Loader<String, Sheet> loader;
+    /// Handles of the regions by sheet name, then by region, without and with background removal
+    private final Map<String, Map<RegionOfInterest, Integer>[]> handles;
+    /// Description of each region, indexed by handle: its sheet, rectangle and index into the regions of its sheet
+    private String[] regionSheets;
+    private RegionOfInterest[] regionRois;
+    private boolean[] regionRemoveBackground;
+    private int[] regionIndices;
+    private int regionCount;
+
+    /**
+     * Default SpriteAtlas Constructor
+     * @param fileSystem (FileSystem): source used to load images, not null
+     * @param byteBudget (long): maximal number of bytes of the unpinned sheets kept, positive
+     */
+    SpriteAtlas(FileSystem fileSystem, long byteBudget) {
+        if (fileSystem == null)
+            throw new NullPointerException();
+        this.fileSystem = fileSystem;
+        this.sheets = new AssetCache<>(byteBudget, AssetCache.Policy.LRU, Sheet::getByteSize, 30_000);
+        this.loader = this::load;
+        this.handles = new HashMap<>();
+        this.regionSheets = new String[64];
+        this.regionRois = new RegionOfInterest[64];
+        this.regionRemoveBackground = new boolean[64];
+        this.regionIndices = new int[64];
+    }
+
+    /** @return (AssetCache): the cache of the sheets, to configure it and read its statistics */
+    AssetCache<String, Sheet> getCache() {
+        return sheets;
+    }
+
+    /**
+     * Resolve the handle of a region, without loading its sheet
+     * @param name (String): full name of the sheet, not null
+     * @param roi (RegionOfInterest): region of the sheet, null for the whole sheet
+     * @param removeBackground (boolean): which indicate if we need to remove an uniform background
+     * @return (int): the handle of the region, valid as long as this atlas
+     */
+    @SuppressWarnings("unchecked")
+    synchronized int getHandle(String name, RegionOfInterest roi, boolean removeBackground) {
+        if (name == null)
+            throw new NullPointerException();
+        Map<RegionOfInterest, Integer>[] sheetHandles = handles.get(name);
+        if (sheetHandles == null) {
+            sheetHandles = (Map<RegionOfInterest, Integer>[]) new Map<?, ?>[]{new HashMap<>(), new HashMap<>()};
+            handles.put(name, sheetHandles);
+        }
+        final Map<RegionOfInterest, Integer> regions = sheetHandles[removeBackground ? 1 : 0];
+        final Integer handle = regions.get(roi);
+        if (handle != null)
+            return handle;
+
+        if (regionCount == regionSheets.length) {
+            regionSheets = Arrays.copyOf(regionSheets, regionCount * 2);
+            regionRois = Arrays.copyOf(regionRois, regionCount * 2);
+            regionRemoveBackground = Arrays.copyOf(regionRemoveBackground, regionCount * 2);
+            regionIndices = Arrays.copyOf(regionIndices, regionCount * 2);
+        }
+        // Regions are mutable, keep a copy
+        final RegionOfInterest copy = (roi == null) ? null : new RegionOfInterest(roi.x, roi.y, roi.w, roi.h);
+        regionSheets[regionCount] = name;
+        regionRois[regionCount] = copy;
+        regionRemoveBackground[regionCount] = removeBackground;
+        regionIndices[regionCount] = sheetHandles[0].size() + sheetHandles[1].size();
+        regions.put(copy, regionCount);
+        return regionCount++;
+    }
+
+    /**
+     * @param handle (int): handle given by this atlas
+     * @param owner (Object): owner pinning the sheet of the region, may be null
+     * @return (SwingImage): the image of the region, null if its sheet could not be loaded
+     */
+    SwingImage getImage(int handle, Object owner) {
+        final String name;
+        final RegionOfInterest roi;
+        final boolean removeBackground;
+        final int index;
+        synchronized (this) {
+            if (handle < 0 || handle >= regionCount)
+                throw new IllegalArgumentException("Unknown image handle " + handle);
+            name = regionSheets[handle];
+            roi = regionRois[handle];
+            removeBackground = regionRemoveBackground[handle];
+            index = regionIndices[handle];
+        }
+        final Sheet sheet = sheets.get(name, loader, owner);
+        if (sheet == null)
+            return null;
+        final long bytes = sheet.getByteSize();
+        final SwingImage region = sheet.getRegion(index, roi, removeBackground);
+        // A copied region makes the sheet heavier
+        if (sheet.getByteSize() != bytes)
+            sheets.reweigh(name);
+        return region;
+    }
+
+    /**
+     * Load a sheet if it is not cached yet
+     * @param name (String): full name of the sheet, not null
+     * @param owner (Object): owner pinning the sheet, may be null
+     * @return (boolean): true if the sheet could be loaded
+     */
+    boolean preload(String name, Object owner) {
+        return sheets.get(name, loader, owner) != null;
+    }
+
+    private Sheet load(String name) {
+        InputStream input = null;
+        try {
+            input = fileSystem.read(name);
+            return new Sheet(new SwingImage(input, null, false));
+        } catch (IOException e) {
+            // Empty on purpose, will return null as an error
+            System.out.println("File :" + name + " not found");
+            return null;
+        } finally {
+            try {
+                if (input != null)
+                    input.close();
+            } catch (IOException e) {
+                // Empty on purpose
+            }
+        }
+    }
+
+    /**
+     * Sheet image with its regions, cut at their first access
+     */
+    static final class Sheet {
+        private final SwingImage image;
+        private SwingImage[] regions;
+        /// Bytes of the regions copied from the sheet rather than sharing its pixels
+        private volatile long copiedBytes;
+
+        private Sheet(SwingImage image) {
+            this.image = image;
+            this.regions = new SwingImage[8];
+        }
+
+        private long getByteSize() {
+            return byteSize(image) + copiedBytes;
+        }
+
+        private static long byteSize(SwingImage image) {
+            // Compatible images are stored with 4 bytes per pixel
+            return 4L * image.getWidth() * image.getHeight();
+        }
+
+        private synchronized SwingImage getRegion(int index, RegionOfInterest roi, boolean removeBackground) {
+            if (index >= regions.length)
+                regions = Arrays.copyOf(regions, Math.max(index + 1, regions.length * 2));
+            if (regions[index] == null)
+                regions[index] = cut(roi, removeBackground);
+            return regions[index];
+        }
+
+        private SwingImage cut(RegionOfInterest roi, boolean removeBackground) {
+            if (roi == null && !removeBackground)
+                return image;
+            final BufferedImage pixels = image.image;
+            if (removeBackground)
+                return copy(pixels, roi, true);
+            // Regions overflowing the sheet keep the result of the copy made by SwingImage
+            if (roi.x < 0 || roi.y < 0 || roi.w <= 0 || roi.h <= 0
+                    || roi.x + roi.w > pixels.getWidth() || roi.y + roi.h > pixels.getHeight())
+                return copy(pixels, roi, false);
+            // The region shares the pixels of the sheet
+            return new SwingImage(pixels.getSubimage(roi.x, roi.y, roi.w, roi.h));
+        }
+
+        private SwingImage copy(BufferedImage pixels, RegionOfInterest roi, boolean removeBackground) {
+            final SwingImage region = new SwingImage(pixels, roi, removeBackground);
+            copiedBytes += byteSize(region);
+            return region;
+        }
+    }
+}
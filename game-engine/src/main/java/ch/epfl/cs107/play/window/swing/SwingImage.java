@@ -61,6 +61,16 @@ public final class SwingImage implements Image {
         }
 	}
     
+    /**
+     * Wraps an image already optimized for this context, without copying it.
+     * @param image (BufferedImage): compatible image, possibly sharing the pixels of another one, not null
+     */
+    SwingImage(BufferedImage image) {
+        if (image == null)
+            throw new NullPointerException();
+        this.image = image;
+    }
+
     /**
      * Creates an image from specified image input stream.
      * @param stream (InputStream): valid image input stream, not null
@@ -6,9 +6,6 @@ import java.io.InputStream;
 import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
-import javax.sound.sampled.Clip;
-import javax.sound.sampled.DataLine;
-import javax.sound.sampled.LineUnavailableException;
 import javax.sound.sampled.UnsupportedAudioFileException;
 
 import ch.epfl.cs107.play.math.random.RandomGenerator;
@@ -17,18 +14,14 @@ import ch.epfl.cs107.play.window.Sound;
 
 public final class SwingSound implements Sound{
 
-    /// Audio format, info and number of bytes of the sound
-    private final AudioFormat audioFormat;
-    private final DataLine.Info info;
-    private final int size;
-    /// audio array containing a save of the initial stream
-    /// - can be used multiple times
-    private final byte[] audio;
+    /// Samples of the sound in the format of the mixer: 16 bits stereo frames, left then right.
+    /// Read-only once built, shared by all the voices playing the sound
+    private final short[] samples;
 
     /**
      * Default SwingSound Constructor
-     * - store the input stream into an audio byte array
-     * - keep also format, info and size in memory
+     * - decode the input stream once into the sample format of the mixer (SoundMixer.FORMAT),
+     *   converting its encoding, channels and sample rate
      * @param input (InputStream): corresponding to the sound file. Not null
      * @throws IOException : if the AudioInputStream cannot be read
      * @throws UnsupportedAudioFileException : if the URL does not point to valid audio file data recognized by the system
@@ -36,44 +29,84 @@ public final class SwingSound implements Sound{
     public SwingSound(InputStream input) throws IOException, UnsupportedAudioFileException {
 
         // Indicate the input stream is an AudioInputStream
-        final AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(input);
-        // Save the format
-        audioFormat = audioInputStream.getFormat();
-        // Compute and save the byte size of the stream
-        size = (int) (audioFormat.getFrameSize() * audioInputStream.getFrameLength());
-        // Create the audio array
-        audio = new byte[size];
-        // Compute and save the information
-        info = new DataLine.Info(Clip.class, audioFormat, size);
-
-        // Copy the audio stream into the audio array and throw exception on error
-        int i = audioInputStream.read(audio, 0, size);
-        if(i == -1) throw new IOException("AudioInputStream cannot be read");
-    }
+        AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(input);
+        final AudioFormat format = audioInputStream.getFormat();
+        final int channels = format.getChannels();
+        final float sampleRate = format.getSampleRate();
+        if (channels < 1 || sampleRate <= 0)
+            throw new UnsupportedAudioFileException("Unsupported audio format: " + format);
+
+        // Convert the encoding into 16 bits little endian samples, keeping channels and rate
+        final AudioFormat pcm = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, sampleRate, 16, channels,
+                2 * channels, sampleRate, false);
+        if (!format.matches(pcm)) {
+            try {
+                audioInputStream = AudioSystem.getAudioInputStream(pcm, audioInputStream);
+            } catch (IllegalArgumentException e) {
+                throw new UnsupportedAudioFileException("Unsupported audio format: " + format);
+            }
+        }
+        final byte[] audio = audioInputStream.readAllBytes();
 
+        samples = resample(audio, channels, sampleRate);
+    }
 
     /**
-     * Create and open a new audio Clip containing the swing sound
-     * @param offset (int): the point at which to start copying, expressed in bytes from the beginning of the array
-     * @return (Clip): the opened swing sound ready to start or null on error
+     * Convert samples to the stereo frames of the mixer, at its sample rate
+     * @param audio (Array of byte): 16 bits little endian samples, channels interleaved
+     * @param channels (int): number of channels, the first two are kept, a single one is duplicated
+     * @param sampleRate (float): sample rate of the audio
+     * @return (Array of short): stereo frames at the sample rate of the mixer
      */
-    public Clip openedClip(int offset){
-        try {
-            Clip audioClip = (Clip) AudioSystem.getLine(info);
-            audioClip.open(audioFormat, audio, offset, size-offset);
-            return audioClip;
-        } catch (LineUnavailableException e) {
-            e.printStackTrace();
+    private static short[] resample(byte[] audio, int channels, float sampleRate) {
+        final int sourceFrames = audio.length / (2 * channels);
+        if (sourceFrames == 0)
+            return new short[0];
+        // Linear interpolation between the source frames, exact copy at the same rate
+        final double step = sampleRate / SoundMixer.FORMAT.getSampleRate();
+        final int frames = (int) ((sourceFrames - 1) / step) + 1;
+        final short[] samples = new short[2 * frames];
+        for (int i = 0; i < frames; ++i) {
+            final double position = i * step;
+            final int first = (int) position;
+            final int second = Math.min(first + 1, sourceFrames - 1);
+            final double weight = position - first;
+            for (int channel = 0; channel < 2; ++channel) {
+                final int source = Math.min(channel, channels - 1);
+                final int a = sample(audio, first * channels + source);
+                final int b = sample(audio, second * channels + source);
+                samples[2 * i + channel] = (short) Math.round(a + (b - a) * weight);
+            }
         }
-        return null;
+        return samples;
+    }
+
+    private static int sample(byte[] audio, int index) {
+        return (short) ((audio[2 * index] & 0xFF) | (audio[2 * index + 1] << 8));
+    }
+
+    /** @return (int): number of bytes of the decoded sound */
+    int getByteSize() {
+        return 2 * samples.length;
+    }
+
+    /** @return (Array of short): stereo frames of the sound, not to be modified */
+    short[] getSamples() {
+        return samples;
+    }
+
+    /** @return (int): number of stereo frames of the sound */
+    int getFrameCount() {
+        return samples.length / 2;
     }
 
     /**
-     * Compute a random integer in the range defined by the sound size
-     * @return (int): a random int between 0 (inclusive) and size (exclusive)
+     * Compute a random frame of the sound, drawn from the shared random generator
+     * @return (int): a random frame between 0 (inclusive) and the frame count (exclusive), 0 if the sound is empty
      */
-    public int randomOffSet(){
-        return RandomGenerator.getInstance().nextInt(size);
+    int randomFrame(){
+        final int frames = getFrameCount();
+        return (frames > 0) ? RandomGenerator.getInstance().nextInt(frames) : 0;
     }
 
 }
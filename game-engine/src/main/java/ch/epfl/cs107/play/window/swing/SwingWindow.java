@@ -17,26 +17,35 @@ import java.awt.event.MouseWheelEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.awt.geom.AffineTransform;
-import java.awt.geom.Path2D;
 import java.awt.image.BufferStrategy;
 import java.io.*;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
 import java.util.jar.JarFile;
 
+import javax.sound.sampled.LineUnavailableException;
 import javax.sound.sampled.UnsupportedAudioFileException;
 import javax.swing.JFrame;
 import javax.swing.SwingUtilities;
 
+import ch.epfl.cs107.play.io.AssetCache;
+import ch.epfl.cs107.play.io.AssetManifest;
 import ch.epfl.cs107.play.io.FileSystem;
 import ch.epfl.cs107.play.math.Node;
 import ch.epfl.cs107.play.math.RegionOfInterest;
 import ch.epfl.cs107.play.math.shape.Shape;
 import ch.epfl.cs107.play.math.TextAlign;
+import ch.epfl.cs107.play.math.MutableVector;
 import ch.epfl.cs107.play.math.Transform;
+import ch.epfl.cs107.play.math.TransformBuilder;
 import ch.epfl.cs107.play.math.Vector;
+import ch.epfl.cs107.play.profiler.Profiler;
 import ch.epfl.cs107.play.window.Button;
 import ch.epfl.cs107.play.window.Image;
 import ch.epfl.cs107.play.window.Keyboard;
@@ -54,13 +63,34 @@ public final class SwingWindow extends Node implements Window {
 	// File system
 	private final FileSystem fileSystem;
 
+	// Default byte budgets of the asset caches
+	private static final long IMAGE_BYTE_BUDGET = 256L << 20;
+	private static final long SOUND_BYTE_BUDGET = 64L << 20;
+	/// Time in milliseconds before a failed sound load is tried again
+	private static final long SOUND_MISS_TIME_TO_LIVE = 30_000;
+
 	// Image stuff
-	private final Map<String, SwingImage> images;
-	private final List<Item> gItems;
+	private final SpriteAtlas images;
+	private final RenderQueue gItems;
+	private final ItemPool<ImageItem> imageItems;
+	private final ItemPool<ShapeItem> shapeItems;
+	private final ItemPool<TextItem> textItems;
+	private int lastFrameItemCount;
+	/// Scratch view transforms and mouse position, reused from one frame to the next
+	private final TransformBuilder viewToWorld = new TransformBuilder(), worldToScreen = new TransformBuilder();
+	private final AffineTransform screenAffine = new AffineTransform();
+	private final MutableVector mousePoint = new MutableVector();
 	
 	//Sound Stuff
-	private final Map<String, SwingSound> sounds;
-	private final List<SoundItem> aItems;
+	private final AssetCache<String, SwingSound> sounds;
+	private final AssetCache.Loader<String, SwingSound> soundLoader;
+	/// Owner pinning the assets used, may be null
+	private volatile Object assetOwner;
+	/// Mixer of the sounds, opened on the first sound played, null before or if audio is not available
+	private SoundMixer mixer;
+	private boolean mixerFailed;
+	/// Daemon threads decoding the assets of the manifests given to preload
+	private final ExecutorService preloader;
 
 	// Swing components
 	private final JFrame frame;
@@ -111,6 +141,17 @@ public final class SwingWindow extends Node implements Window {
 			return new Button((previous & mask) != 0, (current & mask) != 0);
 		}
 		
+		@Override
+		public void forEachTransition(IntConsumer pressed, IntConsumer released) {
+			for (int changed = previous ^ current; changed != 0; changed &= changed - 1) {
+				final int index = Integer.numberOfTrailingZeros(changed);
+				if ((current & (1 << index)) != 0)
+					pressed.accept(index);
+				else
+					released.accept(index);
+			}
+		}
+		
 		@Override
 		public Vector getVelocity() {
 			// TODO interpolate mouse velocity
@@ -156,6 +197,16 @@ public final class SwingWindow extends Node implements Window {
 		public Button get(int code) {
 			return new Button(previous.contains(code), current.contains(code), code == lastPressed);
 		}
+
+		@Override
+		public void forEachTransition(IntConsumer pressed, IntConsumer released) {
+			for (int code : current)
+				if (!previous.contains(code))
+					pressed.accept(code);
+			for (int code : previous)
+				if (!current.contains(code))
+					released.accept(code);
+		}
 	}
 
 	/**
@@ -169,10 +220,19 @@ public final class SwingWindow extends Node implements Window {
 
 		// Prepare image and sound loader
 		this.fileSystem = fileSystem;
-		images = new HashMap<>();
-		gItems = new ArrayList<>();
-		sounds = new HashMap<>();
-		aItems = new ArrayList<>();
+		images = new SpriteAtlas(fileSystem, IMAGE_BYTE_BUDGET);
+		gItems = new RenderQueue();
+		imageItems = new ItemPool<>(ImageItem::new);
+		shapeItems = new ItemPool<>(ShapeItem::new);
+		textItems = new ItemPool<>(TextItem::new);
+		sounds = new AssetCache<>(SOUND_BYTE_BUDGET, AssetCache.Policy.LRU, SwingSound::getByteSize, SOUND_MISS_TIME_TO_LIVE);
+		soundLoader = this::loadSound;
+		preloader = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), task -> {
+			final Thread thread = new Thread(task, "Asset preloader");
+			thread.setDaemon(true);
+			thread.setPriority(Thread.MIN_PRIORITY);
+			return thread;
+		});
 
 		// Create Swing canvas
 		canvas = new java.awt.Canvas();
@@ -246,10 +306,9 @@ public final class SwingWindow extends Node implements Window {
 			halfX = (float) width / (float) height;
 			halfY = 1.0f;
 		}
-		final Transform viewToWorld = getTransform();
-		final Transform worldToView = viewToWorld.inverted();
-		final Transform projection = new Transform(width / halfX, 0.0f, 0.5f * width, 0.0f, -height / halfY, 0.5f * height);
-		final Transform transform = worldToView.transformed(projection);
+		// World to view, then view to screen pixels, composed in place
+		transformInto(viewToWorld);
+		worldToScreen.set(viewToWorld).invert().scale(width / halfX, -height / halfY).translate(0.5f * width, 0.5f * height);
 
 		// Setup double buffering if needed
 		if (strategy == null) {
@@ -269,24 +328,28 @@ public final class SwingWindow extends Node implements Window {
 		graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
 
 		// Set view transform
-		final AffineTransform affine = new AffineTransform(transform.m00, transform.m10, transform.m01,
-				transform.m11, transform.m02, transform.m12);
-		graphics.transform(affine);
+		graphics.transform(worldToScreen.toAffineTransform(screenAffine));
 
 		// Render ordered drawable
-		Collections.sort(gItems);
-		for (Item item : gItems)
-			item.render(graphics);
-
-		// Clean the audio item by removing terminated ones
-		if(isSoundSupported())
-			aItems.removeIf(SoundItem::isFinish);
+		final Profiler profiler = Profiler.getInstance();
+		final long sortStart = profiler.start();
+		gItems.sort();
+		profiler.stop(Profiler.Section.SORT, sortStart);
+		final long presentStart = profiler.start();
+		for (int i = 0; i < gItems.size(); ++i)
+			gItems.get(i).render(graphics);
+		lastFrameItemCount = gItems.size();
+		profiler.count(Profiler.Counter.DRAW_ITEMS, lastFrameItemCount);
 
 		// Finalize rendering
 		graphics.dispose();
 		strategy.show();
 		Toolkit.getDefaultToolkit().sync();
+		profiler.stop(Profiler.Section.PRESENT, presentStart);
 		gItems.clear();
+		imageItems.releaseAll();
+		shapeItems.releaseAll();
+		textItems.releaseAll();
 
 		// Update window state
 		focus = focus.updated(canvas.hasFocus());
@@ -301,7 +364,7 @@ public final class SwingWindow extends Node implements Window {
 			x = ((float) point.getX() - 0.5f * width) * halfX / width;
 			y = ((float) point.getY() - 0.5f * height) * -halfY / height;
 		}
-		mouseProxy.position = viewToWorld.onPoint(x, y);
+		mouseProxy.position = viewToWorld.onPoint(x, y, mousePoint).toVector();
 
 		synchronized (this) {
 
@@ -320,35 +383,34 @@ public final class SwingWindow extends Node implements Window {
 		}
 	}
 
+	/**
+	 * @return (int): number of items rendered during the last frame
+	 */
+	public int getLastFrameItemCount() {
+		return lastFrameItemCount;
+	}
+
 	@Override
 	public void dispose() {
-		playSound(null, false,0.0f, false, false, true);
+		if (mixer != null)
+			mixer.close();
+		preloader.shutdownNow();
 		frame.dispose();
 	}
 
 	@Override
 	public SwingImage getImage(String name, RegionOfInterest roi, boolean removeBackground) {
-		SwingImage image = images.get(name+roi);
-		if (image == null) {
-			InputStream input = null;
-			try {
-				input = fileSystem.read(name);
-				image = new SwingImage(input, roi, removeBackground);
-			} catch (IOException e) {
-				// Empty on purpose, will return null as an error
-				System.out.println("File :"+ name +" not found");
-			} finally {
-				try {
-					if (input != null)
-						input.close();
-				} catch (IOException e) {
-					// Empty on purpose
-				}
-			}
-			images.put(name+roi, image);
-			// TODO maybe need to free memory at some point?
-		}
-		return image;
+		return images.getImage(images.getHandle(name, roi, removeBackground), assetOwner);
+	}
+
+	@Override
+	public int getImageHandle(String name, RegionOfInterest roi, boolean removeBackground) {
+		return images.getHandle(name, roi, removeBackground);
+	}
+
+	@Override
+	public SwingImage getImage(int handle) {
+		return images.getImage(handle, assetOwner);
 	}
 
 	/**
@@ -367,7 +429,20 @@ public final class SwingWindow extends Node implements Window {
 			throw new NullPointerException();
 		if (image == null || alpha <= 0.0f)
 			return;
-		gItems.add(new ImageItem(depth, alpha, transform, (SwingImage) image));
+		final ImageItem item = imageItems.acquire();
+		item.set(depth, alpha, transform, (SwingImage) image);
+		gItems.add(item);
+	}
+
+	@Override
+	public void drawImage(Image image, TransformBuilder transform, float alpha, float depth) {
+		if (transform == null)
+			throw new NullPointerException();
+		if (image == null || alpha <= 0.0f)
+			return;
+		final ImageItem item = imageItems.acquire();
+		item.set(depth, alpha, transform, (SwingImage) image);
+		gItems.add(item);
 	}
 
 	@Override
@@ -376,9 +451,9 @@ public final class SwingWindow extends Node implements Window {
 			throw new NullPointerException();
 		if (shape == null || alpha <= 0.0f || (fillColor == null && (outlineColor == null || thickness <= 0.0f)))
 			return;
-		Path2D path = shape.toPath();
-		path.transform(transform.getAffineTransform());
-		gItems.add(new ShapeItem(path, fillColor, outlineColor, thickness, alpha, depth));
+		final ShapeItem item = shapeItems.acquire();
+		item.set(shape, transform, fillColor, outlineColor, thickness, alpha, depth);
+		gItems.add(item);
 	}
 
 	@Override
@@ -400,6 +475,8 @@ public final class SwingWindow extends Node implements Window {
 					GraphicsEnvironment.getLocalGraphicsEnvironment().registerFont(font);
 				}
 			}
+			// Fonts created before may have fallen back on a default one
+			TextLayoutCache.clear();
 		}catch(Exception e) {
 			//Empty on purpose
 			e.printStackTrace();
@@ -449,53 +526,95 @@ public final class SwingWindow extends Node implements Window {
 		if (text == null || fontSize <= 0.0f || alpha <= 0.0f || (fillColor == null && (outlineColor == null || thickness <= 0.0f)))
 			return;
 				
-		gItems.add(new TextItem(text, fontSize, transform, fillColor, outlineColor, thickness, fontName, bold, italics, anchor, hAlign, vAlign, depth, alpha));
+		final TextItem item = textItems.acquire();
+		item.set(text, fontSize, transform, fillColor, outlineColor, thickness, fontName, bold, italics, anchor, hAlign, vAlign, depth, alpha);
+		gItems.add(item);
 	}
 
 	@Override
 	public SwingSound getSound(String name) {
+		return sounds.get(name, soundLoader, assetOwner);
+	}
 
-		SwingSound sound = sounds.get(name);
-		if (sound == null) {
-			InputStream input = null;
+	private SwingSound loadSound(String name) {
+		InputStream input = null;
+		try {
+			input = fileSystem.read(name);
+			return new SwingSound(input);
+		} catch (IOException | UnsupportedAudioFileException e) {
+			// Empty on purpose, will return null as an error
+			System.out.println("File :"+ name +" not found or not readable");
+			return null;
+		} finally {
 			try {
-				input = fileSystem.read(name);
-				sound = new SwingSound(input);
-			} catch (IOException | UnsupportedAudioFileException e) {
-				// Empty on purpose, will return null as an error
-				System.out.println("File :"+ name +" not found or not readable");
-			} finally {
-				try {
-					if (input != null)
-						input.close();
-				} catch (IOException e) {
-					// Empty on purpose
-				}
+				if (input != null)
+					input.close();
+			} catch (IOException e) {
+				// Empty on purpose
 			}
-			sounds.put(name, sound);
 		}
-		return sound;
 	}
 
 	@Override
-	public void playSound(Sound sound, boolean randomFirstStart, float volume, boolean fadeIn, boolean loop, boolean stopOthersOnStart) {
+	public void setAssetOwner(Object owner) {
+		assetOwner = owner;
+	}
 
-		if(isSoundSupported()) {
-			if (stopOthersOnStart) {
-				for (SoundItem item : aItems) {
-					item.finish();        // Can be commented and replaced by fade out on next line
-					//item.fadeOut();	// if uncomment fade out, please comment the clear line below
-				}
-				aItems.clear();            // Comment this line if fade out option !
-			}
+	@Override
+	public void releaseAssets(Object owner) {
+		images.getCache().release(owner);
+		sounds.release(owner);
+	}
 
-			if (sound == null)
-				return;
+	@Override
+	public CompletableFuture<Void> preload(AssetManifest manifest, Object owner) {
+		if (manifest == null)
+			throw new NullPointerException();
+		// One task per asset, so the sheets of a manifest are decoded in parallel
+		final List<CompletableFuture<?>> tasks = new ArrayList<>();
+		for (String name : manifest.getImages())
+			tasks.add(CompletableFuture.runAsync(() -> images.preload(name, owner), preloader));
+		for (String name : manifest.getSounds())
+			tasks.add(CompletableFuture.runAsync(() -> sounds.get(name, soundLoader, owner), preloader));
+		return CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]));
+	}
 
-			final SoundItem item = new SoundItem(loop, volume, fadeIn, randomFirstStart, (SwingSound) sound);
-			item.start();
-			aItems.add(item);
+	/**
+	 * @return (AssetCache): cache of the decoded sprite sheets, to set its budget or policy and read its statistics
+	 */
+	public AssetCache<String, ?> getImageCache() {
+		return images.getCache();
+	}
+
+	/**
+	 * @return (AssetCache): cache of the decoded sounds, to set its budget or policy and read its statistics
+	 */
+	public AssetCache<String, ?> getSoundCache() {
+		return sounds;
+	}
+
+	@Override
+	public void playSound(Sound sound, boolean randomFirstStart, float volume, boolean fadeIn, boolean loop, boolean stopOthersOnStart) {
+
+		if(!isSoundSupported())
+			return;
+		// The random start is drawn on the game thread, so a replay draws the same numbers
+		final int startFrame = (sound != null && randomFirstStart) ? ((SwingSound) sound).randomFrame() : 0;
+		if (mixer == null) {
+			if (sound == null || mixerFailed)
+				return;
+			try {
+				mixer = new SoundMixer();
+			} catch (LineUnavailableException | IllegalArgumentException e) {
+				System.out.println("ERROR: No audio output available, sounds are disabled");
+				mixerFailed = true;
+				return;
+			}
 		}
+		if (stopOthersOnStart)
+			mixer.stopAll();
+		if (sound != null)
+			mixer.play((SwingSound) sound, startFrame, volume, fadeIn, loop);
 	}
 
 	@Override
@@ -543,12 +662,12 @@ public final class SwingWindow extends Node implements Window {
 
 	@Override
 	public float getXScale() {
-		return getTransform().getX().getX();
+		return transformInto(viewToWorld).getM00();
 	}
 
 	@Override
 	public float getYScale() {
-		return getTransform().getY().getY();
+		return transformInto(viewToWorld).getM11();
 	}
 	
 	@Override
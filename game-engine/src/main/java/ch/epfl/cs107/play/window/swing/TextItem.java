@@ -5,7 +5,6 @@ import ch.epfl.cs107.play.math.Transform;
 import ch.epfl.cs107.play.math.Vector;
 
 import java.awt.*;
-import java.awt.font.GlyphVector;
 import java.awt.geom.AffineTransform;
 
 
@@ -14,18 +13,22 @@ import java.awt.geom.AffineTransform;
  */
 public final class TextItem implements Item {
 
-    private final String text;
-    private final float fontSize;
-    private final Transform transform;
-    private final Color fillColor;
-    private final Color outlineColor;
-    private final float thickness;
-    private final Font font;
-    private final Vector anchor;
-    private final float depth;
-    private final float alpha;
-    private final TextAlign.Horizontal hAlign;
-    private final TextAlign.Vertical vAlign;
+    private String text;
+    private float fontSize;
+    private Transform transform;
+    private Color fillColor;
+    private Color outlineColor;
+    private float thickness;
+    private Font font;
+    private Vector anchor;
+    private float depth;
+    private float alpha;
+    private TextAlign.Horizontal hAlign;
+    private TextAlign.Vertical vAlign;
+    private BasicStroke stroke;
+    /// Text to view transforms, reused from one render to the next
+    private final AffineTransform flip = new AffineTransform();
+    private final AffineTransform view = new AffineTransform();
 
     /**
      * Creates a new text graphics.
@@ -46,13 +49,29 @@ public final class TextItem implements Item {
      */
     public TextItem(String text, float fontSize, Transform transform, Color fillColor, Color outlineColor, float thickness, String fontName, boolean bold, boolean italics,
                     Vector anchor, TextAlign.Horizontal hAlign, TextAlign.Vertical vAlign, float depth, float alpha) {
+        set(text, fontSize, transform, fillColor, outlineColor, thickness, fontName, bold, italics, anchor, hAlign, vAlign, depth, alpha);
+    }
+
+    /**
+     * Creates an empty text item, to be set before rendering. Used by item pools
+     */
+    TextItem() {
+    }
+
+    /**
+     * Reuse this item for another string
+     * @see #TextItem(String, float, Transform, Color, Color, float, String, boolean, boolean, Vector, TextAlign.Horizontal, TextAlign.Vertical, float, float)
+     */
+    void set(String text, float fontSize, Transform transform, Color fillColor, Color outlineColor, float thickness, String fontName, boolean bold, boolean italics,
+             Vector anchor, TextAlign.Horizontal hAlign, TextAlign.Vertical vAlign, float depth, float alpha) {
+        final int style = Font.PLAIN | (bold ? Font.BOLD : 0) | (italics ? Font.ITALIC : 0);
+        this.font = TextLayoutCache.getFont(fontName, style);
         this.text = text;
         this.fontSize = fontSize;
         this.transform = transform;
         this.fillColor = fillColor;
         this.outlineColor = outlineColor;
         this.thickness = thickness;
-        this.font = new Font(fontName, Font.PLAIN | (bold ? Font.BOLD : 0) | (italics ? Font.ITALIC : 0), 1);
         this.anchor = anchor;
         this.depth = depth;
         this.alpha = alpha;
@@ -79,7 +98,8 @@ public final class TextItem implements Item {
         }
 
         // Flip vertically (since g2d's text origin is top-left)
-        final AffineTransform a = new AffineTransform(
+        final AffineTransform a = flip;
+        a.setTransform(
                 transform.m00, transform.m10,
                 transform.m01, -transform.m11,
                 transform.m02 + transform.m01, transform.m12 + transform.m10
@@ -88,7 +108,8 @@ public final class TextItem implements Item {
         // Define intrisic text properties
         g.setFont(font);
         g.setColor(fillColor);
-        final AffineTransform ax = (AffineTransform) origTransform.clone();
+        final AffineTransform ax = view;
+        ax.setTransform(origTransform);
         a.scale(fontSize, fontSize);
         ax.concatenate(a);
         g.setTransform(ax);
@@ -97,13 +118,11 @@ public final class TextItem implements Item {
         float x = anchor.getX() / fontSize;
         float y = anchor.getY() / fontSize;
 
-
-        final FontMetrics fm = g.getFontMetrics(font);
-        final float width = (float) fm.getStringBounds(text, g).getWidth();
+        final TextLayoutCache.Layout layout = TextLayoutCache.getLayout(font, text);
         if (hAlign == TextAlign.Horizontal.CENTER) {
-            x -= (width / 2);
+            x -= (layout.width / 2);
         } else if (hAlign == TextAlign.Horizontal.RIGHT) {
-            x -= width;
+            x -= layout.width;
         }
 
         if (vAlign == TextAlign.Vertical.MIDDLE) {
@@ -112,22 +131,19 @@ public final class TextItem implements Item {
             y -= 1;
         }
 
-        /*
-		g.drawString(text, x, -y);
-
-
-        // If requested, also draw outline
-		if (outlineColor != null && thickness > 0.0f) {
-			g.setColor(outlineColor);
-			GlyphVector gv = font.createGlyphVector(g.getFontRenderContext(), text);
-			Shape shape = gv.getOutline();
-			g.setStroke(new BasicStroke(thickness));
-			g.translate(x, -y);
-			g.draw(shape);
-		}
-         */
-
-        drawTextCharByChar(g, x, y);
+        // Draw the cached glyph outlines, laid out character by character
+        g.translate(x, -y);
+        if (fillColor != null) {
+            g.setColor(fillColor);
+            g.fill(layout.outline);
+        }
+        if (outlineColor != null && thickness > 0.0f) {
+            if (stroke == null || stroke.getLineWidth() != thickness)
+                stroke = new BasicStroke(thickness);
+            g.setColor(outlineColor);
+            g.setStroke(stroke);
+            g.draw(layout.outline);
+        }
 
         // Restore old properties
         g.setTransform(origTransform);
@@ -136,32 +152,4 @@ public final class TextItem implements Item {
         if (origComposite != null)
             g.setComposite(origComposite);
     }
-
-    /**
-     * Draw each character individually with spacing, because macOS seems to have issues with normal fonts
-     */
-    private void drawTextCharByChar(Graphics2D g, float x, float y) {
-        float charSpacing = 0.15f;
-        float spaceSpacing = 0.2f;
-        for (char c : text.toCharArray()) {
-            String s = String.valueOf(c);
-            GlyphVector gv = font.createGlyphVector(g.getFontRenderContext(), s);
-            Shape glyphShape = gv.getOutline(x, -y);
-
-            // Draw fill
-            if (fillColor != null) {
-                g.setColor(fillColor);
-                g.fill(glyphShape);
-            }
-
-            // Draw outline
-            if (outlineColor != null && thickness > 0.0f) {
-                g.setColor(outlineColor);
-                g.setStroke(new BasicStroke(thickness));
-                g.draw(glyphShape);
-            }
-
-            x += (float) (gv.getVisualBounds().getWidth() + (c == ' ' ? spaceSpacing : charSpacing));
-        }
-    }
 }
@@ -0,0 +1,133 @@
+package ch.epfl.cs107.play.window.swing;
+
+import java.awt.Font;
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shared caches of the text rendering: fonts by name and style, and laid out strings.
+ * A layout holds the outline of all the glyphs of a string, placed as TextItem draws them,
+ * so a string already drawn costs a single fill. The least recently used layouts are evicted beyond the capacity
+ */
+final class TextLayoutCache {
+
+    /// Maximal number of laid out strings kept
+    private static final int CAPACITY = 512;
+    /// Strings are laid out at this size then scaled down to a unit size, to keep the outlines precise
+    private static final float LAYOUT_SIZE = 64.0f;
+    /// Spacing added after each character and after spaces, in unit font size
+    private static final float CHAR_SPACING = 0.15f;
+    private static final float SPACE_SPACING = 0.2f;
+
+    private static final FontRenderContext CONTEXT = new FontRenderContext(null, true, true);
+    private static final AffineTransform TO_UNIT_SIZE = AffineTransform.getScaleInstance(1 / LAYOUT_SIZE, 1 / LAYOUT_SIZE);
+
+    /// Fonts of unit size, by name then by style
+    private static final Map<String, Font[]> fonts = new HashMap<>();
+    private static final Map<Key, Layout> layouts = new LinkedHashMap<>(CAPACITY, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Layout> eldest) {
+            return size() > CAPACITY;
+        }
+    };
+    /// Key reused for the lookups, so a hit allocates nothing
+    private static final Key probe = new Key(null, null);
+
+    private TextLayoutCache() {}
+
+    /**
+     * @param name (String): font name, may be null for the default font
+     * @param style (int): combination of Font.BOLD and Font.ITALIC, or Font.PLAIN
+     * @return (Font): the font of unit size with this name and style, not null
+     */
+    static synchronized Font getFont(String name, int style) {
+        final String key = (name == null) ? "Default" : name;
+        Font[] styles = fonts.get(key);
+        if (styles == null) {
+            styles = new Font[4];
+            fonts.put(key, styles);
+        }
+        if (styles[style] == null)
+            styles[style] = new Font(key, style, 1);
+        return styles[style];
+    }
+
+    /**
+     * @param font (Font): font of unit size, not null
+     * @param text (String): text to lay out, not null
+     * @return (Layout): the layout of this text with this font, not null
+     */
+    static synchronized Layout getLayout(Font font, String text) {
+        probe.font = font;
+        probe.text = text;
+        Layout layout = layouts.get(probe);
+        if (layout == null) {
+            layout = new Layout(font, text);
+            layouts.put(new Key(font, text), layout);
+        }
+        probe.font = null;
+        probe.text = null;
+        return layout;
+    }
+
+    /**
+     * Forget all fonts and layouts, e.g. because new fonts were registered
+     */
+    static synchronized void clear() {
+        fonts.clear();
+        layouts.clear();
+    }
+
+    /**
+     * Text laid out with a font of unit size, from a baseline starting at the origin
+     */
+    static final class Layout {
+
+        /// Outline of all the glyphs
+        final Shape outline;
+        /// Width of the string, as measured by the font, used for the alignment
+        final float width;
+
+        private Layout(Font font, String text) {
+            final Font large = font.deriveFont(LAYOUT_SIZE);
+            final Path2D.Float path = new Path2D.Float();
+            // Each character is placed individually with spacing, because macOS seems to have issues with normal fonts
+            float x = 0;
+            for (int i = 0; i < text.length(); ++i) {
+                final char c = text.charAt(i);
+                final GlyphVector gv = large.createGlyphVector(CONTEXT, String.valueOf(c));
+                path.append(gv.getOutline(x, 0), false);
+                x += (float) gv.getVisualBounds().getWidth() + (c == ' ' ? SPACE_SPACING : CHAR_SPACING) * LAYOUT_SIZE;
+            }
+            path.transform(TO_UNIT_SIZE);
+            outline = path;
+            width = (float) large.getStringBounds(text, CONTEXT).getWidth() / LAYOUT_SIZE;
+        }
+    }
+
+    private static final class Key {
+        private Font font;
+        private String text;
+
+        private Key(Font font, String text) {
+            this.font = font;
+            this.text = text;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && font.equals(key.font) && text.equals(key.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * font.hashCode() + text.hashCode();
+        }
+    }
+}
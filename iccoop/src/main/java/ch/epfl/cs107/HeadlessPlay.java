@@ -0,0 +1,85 @@
+package ch.epfl.cs107;
+
+import ch.epfl.cs107.icoop.ICoop;
+import ch.epfl.cs107.play.engine.Game;
+import ch.epfl.cs107.play.io.DefaultFileSystem;
+import ch.epfl.cs107.play.io.FileSystem;
+import ch.epfl.cs107.play.io.ResourceFileSystem;
+import ch.epfl.cs107.play.recorder.HeadlessReplayer;
+import ch.epfl.cs107.play.recorder.RecordReader;
+import ch.epfl.cs107.play.recorder.Recorder;
+import ch.epfl.cs107.play.window.headless.HeadlessRunner;
+import ch.epfl.cs107.play.window.headless.HeadlessWindow;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Headless entry point: run the game without display at a fixed time step, as fast as possible.
+ */
+public class HeadlessPlay {
+
+	/** One second in nano second */
+	private static final float ONE_SEC = 1E9f;
+	/** Default number of simulated frames: one minute of game at 24 fps */
+	private static final int DEFAULT_FRAMES = 24 * 60;
+
+	/** Argument replaying a record of Recorder.RECORD_DIRECTORY, followed by "=" and its name */
+	private static final String REPLAY_ARGUMENT = "--replay=";
+
+	/**
+	 * Headless entry point.
+	 * @param args (Array of String): optional number of frames to simulate,
+	 *             or "--replay=name.rec" to replay a record made with Play "--record=name.rec"
+	 */
+	public static void main(String[] args) {
+		System.setProperty("java.awt.headless", "true");
+
+		if (args.length > 0 && args[0].startsWith(REPLAY_ARGUMENT)) {
+			replay(args[0].substring(REPLAY_ARGUMENT.length()));
+			return;
+		}
+
+		final int frames = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_FRAMES;
+
+		// Define cascading file system
+		final FileSystem fileSystem = new ResourceFileSystem(DefaultFileSystem.INSTANCE);
+
+		final Game game = new ICoop();
+		final HeadlessWindow window = new HeadlessWindow(fileSystem, Play.WINDOW_WIDTH, Play.WINDOW_HEIGHT);
+		final HeadlessRunner runner = new HeadlessRunner(game, window, fileSystem);
+
+		try {
+			final long start = System.nanoTime();
+			final int simulated = runner.run(frames);
+			final float elapsed = (System.nanoTime() - start) / ONE_SEC;
+			System.out.printf("%d frames simulated in %.3f s (%.1f frames/s)%n", simulated, elapsed, simulated / elapsed);
+		} finally {
+			window.dispose();
+		}
+	}
+
+	/**
+	 * Replay a record as fast as possible and report whether the game state followed the recorded one
+	 * @param filename (String): name of the record in Recorder.RECORD_DIRECTORY, not null
+	 */
+	private static void replay(String filename) {
+		final FileSystem fileSystem = new ResourceFileSystem(DefaultFileSystem.INSTANCE);
+		final File file = new File(Recorder.RECORD_DIRECTORY, filename);
+		try (RecordReader reader = new RecordReader(FileChannel.open(file.toPath(), StandardOpenOption.READ))) {
+			final HeadlessReplayer replayer = new HeadlessReplayer(new ICoop(), fileSystem, Play.WINDOW_WIDTH, Play.WINDOW_HEIGHT);
+			final long start = System.nanoTime();
+			final int simulated = replayer.replay(reader);
+			final float elapsed = (System.nanoTime() - start) / ONE_SEC;
+			System.out.printf("%d frames replayed in %.3f s (%.1f frames/s), %d state hashes checked%n",
+					simulated, elapsed, simulated / elapsed, replayer.getCheckedHashes());
+			if (replayer.getDivergentFrame() >= 0)
+				System.out.println("Replay diverged from the record after frame " + replayer.getDivergentFrame());
+		} catch (IOException e) {
+			System.out.println("ERROR: An error happened while loading record");
+			e.printStackTrace();
+		}
+	}
+}
@@ -1,14 +1,26 @@
 package ch.epfl.cs107;
 
 import ch.epfl.cs107.icoop.ICoop;
+import ch.epfl.cs107.play.areagame.area.BehaviorMap;
 import ch.epfl.cs107.play.engine.Game;
 import ch.epfl.cs107.play.io.DefaultFileSystem;
 import ch.epfl.cs107.play.io.FileSystem;
+import ch.epfl.cs107.play.io.PackFileSystem;
 import ch.epfl.cs107.play.io.ResourceFileSystem;
 import ch.epfl.cs107.play.io.ResourcePath;
+import ch.epfl.cs107.play.profiler.Profiler;
+import ch.epfl.cs107.play.profiler.ProfilerOverlay;
+import ch.epfl.cs107.play.recorder.Recorder;
+import ch.epfl.cs107.play.window.Keyboard;
 import ch.epfl.cs107.play.window.Window;
 import ch.epfl.cs107.play.window.swing.SwingWindow;
 
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Paths;
+
 /**
  * Main entry point.
  */
@@ -18,14 +30,59 @@ public class Play {
     private static final float ONE_SEC = 1E9f;
 	public static final int WINDOW_HEIGHT = 550;
 	public static final int WINDOW_WIDTH = 550;
+	/** Argument enabling the profiler, optionally followed by "=" and the CSV or JSON file to export on exit */
+	private static final String PROFILE_ARGUMENT = "--profile";
+	/** Argument recording the inputs, followed by "=" and the name of the record in Recorder.RECORD_DIRECTORY */
+	private static final String RECORD_ARGUMENT = "--record=";
+	/** Argument reading the resources from a pack built by ResourcePacker, followed by "=" and the pack file */
+	private static final String PACK_ARGUMENT = "--pack=";
+	/** Argument storing the compiled behavior maps on disk, followed by "=" and their directory */
+	private static final String BEHAVIOR_CACHE_ARGUMENT = "--behavior-cache=";
 
 	/**
 	 * Main entry point.
-	 * @param args (Array of String): ignored
+	 * @param args (Array of String): "--profile" records the frame timings, F3 then shows them over the game.
+	 *             "--profile=file.csv" (or .json) also exports them on exit.
+	 *             "--record=name.rec" records the inputs, to replay them with HeadlessPlay.
+	 *             "--pack=resources.pack" reads the resources from a pack, falling back on the bundled ones.
+	 *             "--behavior-cache=directory" keeps the compiled behavior maps there for the next runs.
+	 *             Other arguments are ignored
 	 */
 	public static void main(String[] args) {
+		// Optional profiling and recording
+		final Profiler profiler = Profiler.getInstance();
+		String profileFile = null;
+		String recordFile = null;
+		String packFile = null;
+		String behaviorCache = null;
+		for (String arg : args) {
+			if (arg.equals(PROFILE_ARGUMENT) || arg.startsWith(PROFILE_ARGUMENT + "=")) {
+				profiler.setEnabled(true);
+				if (arg.length() > PROFILE_ARGUMENT.length())
+					profileFile = arg.substring(PROFILE_ARGUMENT.length() + 1);
+			} else if (arg.startsWith(RECORD_ARGUMENT)) {
+				recordFile = arg.substring(RECORD_ARGUMENT.length());
+			} else if (arg.startsWith(PACK_ARGUMENT)) {
+				packFile = arg.substring(PACK_ARGUMENT.length());
+			} else if (arg.startsWith(BEHAVIOR_CACHE_ARGUMENT)) {
+				behaviorCache = arg.substring(BEHAVIOR_CACHE_ARGUMENT.length());
+			}
+		}
+		final ProfilerOverlay overlay = new ProfilerOverlay(profiler);
+		boolean overlayVisible = false;
+
 		// Define cascading file system
-		final FileSystem fileSystem = new ResourceFileSystem(DefaultFileSystem.INSTANCE);
+		FileSystem fileSystem = new ResourceFileSystem(DefaultFileSystem.INSTANCE);
+		if (packFile != null) {
+			try {
+				fileSystem = new PackFileSystem(fileSystem, Paths.get(packFile));
+			} catch (IOException e) {
+				System.out.println("ERROR: An error happened while opening resource pack, using bundled resources");
+				e.printStackTrace();
+			}
+		}
+		if (behaviorCache != null)
+			BehaviorMap.setDiskCache(fileSystem, new File(behaviorCache));
 
         // Create a demo game and initialize corresponding texts
 		final Game game = new ICoop();
@@ -34,6 +91,11 @@ public class Play {
 		final Window window = new SwingWindow(game.getTitle(), fileSystem, WINDOW_WIDTH, WINDOW_HEIGHT);
 		window.registerFonts(ResourcePath.FONTS);
 
+		// Started before the game begins, so a replay draws the same random numbers
+		final Recorder recorder = new Recorder(window);
+		if (recordFile != null)
+			recorder.start(recordFile, game);
+
 		try {
 			if (game.begin(window, fileSystem)) {
 				// Use system clock to keep track of time progression
@@ -58,19 +120,54 @@ public class Play {
 
                     currentTime = System.nanoTime();
                     deltaTime = (currentTime - lastTime) / ONE_SEC;
+                    // A record is replayed with a fixed time step
+                    if (recorder.isRecording())
+                        deltaTime = 1.0f / game.getFrameRate();
 
                     // Let the game do its stuff
+                    profiler.beginFrame();
+                    final long updateStart = profiler.start();
                     game.update(deltaTime);
+                    profiler.stop(Profiler.Section.UPDATE, updateStart);
 
                     // Render and update input
+					final long drawStart = profiler.start();
 					game.draw();
+					profiler.stop(Profiler.Section.DRAW, drawStart);
+					if (profiler.isEnabled() && window.getKeyboard().get(Keyboard.F3).isPressed())
+						overlayVisible = !overlayVisible;
+					if (overlayVisible)
+						overlay.draw(window);
                     window.update();
+                    recorder.update();
+                    profiler.endFrame();
 				}
 			}
+			recorder.stop();
 			game.end();
+			if (profileFile != null)
+				exportProfile(profiler, profileFile);
 		} finally {
 			// Release resources
 			window.dispose();
 		}
 	}
+
+	/**
+	 * Write the recorded frames into a file, as JSON if its name ends with ".json", as CSV otherwise
+	 * @param profiler (Profiler): source of the frames, not null
+	 * @param fileName (String): name of the file, not null
+	 */
+	private static void exportProfile(Profiler profiler, String fileName) {
+		try (Writer writer = new FileWriter(fileName)) {
+			if (fileName.endsWith(".json"))
+				profiler.writeJSON(writer);
+			else
+				profiler.writeCSV(writer);
+			System.out.println("Profile of the last " + Math.min(profiler.getFrameCount(), profiler.getCapacity())
+					+ " frames written to " + fileName);
+		} catch (IOException e) {
+			System.out.println("Profile could not be written to " + fileName);
+		}
+	}
 }
@@ -21,11 +21,15 @@ import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.math.Vector;
 import ch.epfl.cs107.play.signal.logic.And;
 import ch.epfl.cs107.play.signal.logic.Logic;
+import ch.epfl.cs107.play.signal.logic.LogicCircuit;
 import ch.epfl.cs107.play.window.Keyboard;
 import ch.epfl.cs107.play.window.Window;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 
 public class ICoop extends AreaGame implements DialogHandler {
@@ -34,6 +38,8 @@ public class ICoop extends AreaGame implements DialogHandler {
     private ICoopPlayer player2;
     private Dialog dialog = null;
     private TeleportController teleportController = new TeleportController();
+    /// Assets of the areas decoded in the background, by area key, ready once completed
+    private final Map<String, CompletableFuture<Void>> preloads = new HashMap<>();
 
     private Spawn spawn;
     private OrbWay orbWay;
@@ -49,6 +55,7 @@ public class ICoop extends AreaGame implements DialogHandler {
         if (super.begin(window, fileSystem)) {
             createAreas();
             setupArea("Spawn");
+            preloadAreas();
             return true;
         }
 
@@ -75,6 +82,26 @@ public class ICoop extends AreaGame implements DialogHandler {
         addArea(arena);
         addArea(sanctumEntrance);
         addArea(sanctum);
+
+        // Complete spawn as soon as maze and arena are
+        LogicCircuit mazeAndArena = LogicCircuit.compile(new And(maze, arena));
+        Spawn spawn = this.spawn;
+        mazeAndArena.addListener((signal, isOn) -> {
+            if (isOn)
+                spawn.complete();
+        });
+    }
+
+    /**
+     * start decoding the assets of all the areas but the current one, while the current one is running
+     */
+    private void preloadAreas() {
+        preloads.clear();
+        String current = getCurrentArea().getTitle();
+        for (ICoopArea area : new ICoopArea[]{spawn, orbWay, maze, arena, sanctumEntrance, sanctum}) {
+            if (!area.getTitle().equals(current))
+                preloads.put(area.getTitle(), preloadArea(area.getTitle()));
+        }
     }
 
     /**
@@ -82,10 +109,11 @@ public class ICoop extends AreaGame implements DialogHandler {
      *
      * @param areaKey (String) String key of area
      *                <p>
-     *                registers the new players to the current area and set the center of mass between them for the camera
+     *                registers the new players to the current area and set the center of mass between them for the camera.
+     *                The area begins if it never did, it is reset to its state after begin otherwise
      */
     private void setupArea(String areaKey) {
-        ICoopArea area = (ICoopArea) setCurrentArea(areaKey, true);
+        ICoopArea area = (ICoopArea) setCurrentArea(areaKey, false);
 
         if (player1 == null)
             player1 = new ICoopPlayer(area, DOWN, area.getPlayerSpawnPosition(0), "player", "feu", KeyBindings.RED_PLAYER_KEY_BINDINGS, teleportController, 0);
@@ -111,10 +139,15 @@ public class ICoop extends AreaGame implements DialogHandler {
      */
     // TODO: Remove repetition in teleport and setupArea
     public void teleport() {
+        // Wait for the assets of the destination, so the area begins without decoding them
+        CompletableFuture<Void> ready = preloads.remove(teleportController.getTargetDestination());
+        if (ready != null)
+            ready.exceptionally(error -> null).join();
+
         player1.leaveArea();
         player2.leaveArea();
 
-        ICoopArea area = (ICoopArea) setCurrentArea(teleportController.getTargetDestination(), true);
+        ICoopArea area = (ICoopArea) setCurrentArea(teleportController.getTargetDestination(), false);
 
         player1.enterArea(area, teleportController.getTeleportPosition(0));
         player2.enterArea(area, teleportController.getTeleportPosition(1));
@@ -181,9 +214,6 @@ public class ICoop extends AreaGame implements DialogHandler {
             player2.resetHealth();
         }
 
-        if (new And(maze, arena).isOn())
-            spawn.complete();
-
         if (keyboard.get(Keyboard.ESCAPE).isPressed()) {
             ICoopArea area = (ICoopArea) getCurrentArea();
             if (!paused) {
@@ -206,10 +236,9 @@ public class ICoop extends AreaGame implements DialogHandler {
     }
 
     /**
-     * soft reset area, as when entering it
+     * soft reset area, as when entering it: restored in place from its state after begin
      */
     public void resetArea() {
-        getCurrentArea().begin(getWindow(), getFileSystem());
         setupArea(getCurrentArea().getTitle());
     }
 
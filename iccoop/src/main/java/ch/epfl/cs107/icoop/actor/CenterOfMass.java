@@ -1,7 +1,9 @@
 package ch.epfl.cs107.icoop.actor;
 
 import ch.epfl.cs107.play.engine.actor.Actor;
+import ch.epfl.cs107.play.math.MutableVector;
 import ch.epfl.cs107.play.math.Transform;
+import ch.epfl.cs107.play.math.TransformBuilder;
 import ch.epfl.cs107.play.math.Vector;
 
 /**
@@ -15,6 +17,11 @@ public class CenterOfMass implements Actor {
      */
     private final Actor[] actors;
 
+    /**
+     * Scratch sum of the positions and velocities of the actors
+     */
+    private final MutableVector sum = new MutableVector();
+
     /**
      * Constructs a CenterOfMass object with one or more actors.
      *
@@ -34,11 +41,7 @@ public class CenterOfMass implements Actor {
      */
     @Override
     public Vector getPosition() {
-        Vector position = Vector.ZERO;
-        for (Actor actor : actors) {
-            position = position.add(actor.getPosition());
-        }
-        return position.mul(1f / actors.length);
+        return averagePosition().toVector();
     }
 
     /**
@@ -51,6 +54,31 @@ public class CenterOfMass implements Actor {
         return Transform.I.translated(getPosition());
     }
 
+    /**
+     * Computes the transform of the center of mass into a builder, without allocating.
+     *
+     * @param result (TransformBuilder) Set to the transform of the center of mass. Not null.
+     * @return (TransformBuilder) The given result.
+     */
+    @Override
+    public TransformBuilder transformInto(TransformBuilder result) {
+        MutableVector position = averagePosition();
+        return result.setIdentity().translate(position.x, position.y);
+    }
+
+    /**
+     * Computes the average position of all actors into the scratch sum.
+     *
+     * @return (MutableVector) The scratch sum, set to the center of mass position.
+     */
+    private MutableVector averagePosition() {
+        sum.set(Vector.ZERO);
+        for (Actor actor : actors) {
+            sum.add(actor.getPosition());
+        }
+        return sum.mul(1f / actors.length);
+    }
+
     /**
      * Computes the average velocity of all actors.
      *
@@ -58,10 +86,10 @@ public class CenterOfMass implements Actor {
      */
     @Override
     public Vector getVelocity() {
-        Vector velocity = Vector.ZERO;
+        sum.set(Vector.ZERO);
         for (Actor actor : actors) {
-            velocity = velocity.add(actor.getVelocity());
+            sum.add(actor.getVelocity());
         }
-        return velocity.mul(1f / actors.length);
+        return sum.mul(1f / actors.length).toVector();
     }
 }
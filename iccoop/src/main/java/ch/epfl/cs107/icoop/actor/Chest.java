@@ -161,4 +161,33 @@ public class Chest extends Container implements Logic {
     public boolean isOff() {
         return !isOpen;
     }
+
+    /**
+     * Saves the state of the chest, with its opening status and animation.
+     *
+     * @return (Object): The state, to give back to restoreState.
+     */
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), isOpen, completedDialog, openingAnimation.saveState());
+    }
+
+    /**
+     * Restores the state of the chest, with its opening status and animation.
+     *
+     * @param state (Object): A state given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.parent());
+        isOpen = s.isOpen();
+        completedDialog = s.completedDialog();
+        openingAnimation.restoreState(s.openingAnimation());
+    }
+
+    /**
+     * State of the chest on top of the one of its parent class.
+     */
+    private record State(Object parent, boolean isOpen, boolean completedDialog, Object openingAnimation) {}
 }
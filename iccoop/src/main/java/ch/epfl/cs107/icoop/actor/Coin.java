@@ -80,4 +80,31 @@ public class Coin extends ICoopCollectable {
     public void acceptInteraction(AreaInteractionVisitor v, boolean isCellInteraction) {
         ((ICoopInteractionVisitor) v).interactWith(this, isCellInteraction);
     }
+
+    /**
+     * Saves the state of the coin, with its animation.
+     *
+     * @return (Object): The state, to give back to restoreState.
+     */
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), coinSprite.saveState());
+    }
+
+    /**
+     * Restores the state of the coin, with its animation.
+     *
+     * @param state (Object): A state given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.parent());
+        coinSprite.restoreState(s.coinSprite());
+    }
+
+    /**
+     * State of the coin on top of the one of its parent class.
+     */
+    private record State(Object parent, Object coinSprite) {}
 }
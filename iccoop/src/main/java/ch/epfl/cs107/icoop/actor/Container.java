@@ -29,6 +29,14 @@ public class Container extends AreaEntity implements Interactable, Interactor {
         super(area, orientation, position);
     }
 
+    /**
+     * @return (float): 2.0 cells around the position, covering the 1.5 cells wide chest animation.
+     */
+    @Override
+    public float getDrawRadius() {
+        return 2.0f;
+    }
+
     /**
      * @return A list containing the current main cell coordinates of the Container.
      */
@@ -147,6 +147,14 @@ public class Door extends AreaEntity implements Interactable, Logic, TeleportHan
         return targetCoords;
     }
 
+    @Override
+    public float getDrawRadius() {
+        /**
+         * Indicates how far from its position the Door draws: its sprites span one cell.
+         */
+        return 1.5f;
+    }
+
     @Override
     public List<DiscreteCoordinates> getCurrentCells() {
         /**
@@ -202,4 +210,31 @@ public class Door extends AreaEntity implements Interactable, Logic, TeleportHan
          */
         return !isOpen;
     }
+
+    /**
+     * Saves the state of the door, with its open status.
+     *
+     * @return (Object): The state, to give back to restoreState.
+     */
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), isOpen);
+    }
+
+    /**
+     * Restores the state of the door, with its open status.
+     *
+     * @param state (Object): A state given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.parent());
+        isOpen = s.isOpen();
+    }
+
+    /**
+     * State of the door on top of the one of its parent class.
+     */
+    private record State(Object parent, boolean isOpen) {}
 }
@@ -6,7 +6,9 @@ import ch.epfl.cs107.play.areagame.area.Area;
 import ch.epfl.cs107.play.areagame.handler.AreaInteractionVisitor;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.math.Orientation;
-import ch.epfl.cs107.play.signal.logic.Logic;
+import ch.epfl.cs107.play.signal.logic.LogicListener;
+import ch.epfl.cs107.play.signal.logic.LogicSource;
+import ch.epfl.cs107.play.signal.logic.ObservableLogic;
 
 import static ch.epfl.cs107.play.math.Orientation.UP;
 
@@ -14,13 +16,18 @@ import static ch.epfl.cs107.play.math.Orientation.UP;
  * Represents an item in the game world that has an elemental property.
  * Elemental items can interact with the environment or other entities based on their elemental type.
  */
-public abstract class ElementalItem extends ICoopCollectable implements ElementalEntity, Logic {
+public abstract class ElementalItem extends ICoopCollectable implements ElementalEntity, ObservableLogic {
 
     /**
      * The elemental type of this item (e.g., Fire, Water, etc.).
      */
     private final ElementType elementType;
 
+    /**
+     * Signal switched on when the item is collected, and back off when an uncollected state is restored.
+     */
+    private final LogicSource collected = new LogicSource(false);
+
     /**
      * Constructs an ElementalItem with a default orientation of UP.
      *
@@ -75,7 +82,7 @@ public abstract class ElementalItem extends ICoopCollectable implements Elementa
      */
     @Override
     public boolean isOn() {
-        return isCollected();
+        return collected.isOn();
     }
 
     /**
@@ -85,6 +92,46 @@ public abstract class ElementalItem extends ICoopCollectable implements Elementa
      */
     @Override
     public boolean isOff() {
-        return !isCollected();
+        return collected.isOff();
+    }
+
+    /**
+     * Collects the item, switching its signal on.
+     */
+    @Override
+    public void collect() {
+        super.collect();
+        collected.set(isCollected());
+    }
+
+    /**
+     * Restores the state of the item, switching its signal to the restored collected status.
+     *
+     * @param state (Object): A state given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        super.restoreState(state);
+        collected.set(isCollected());
+    }
+
+    /**
+     * Listens to the collection of the item.
+     *
+     * @param listener (LogicListener): The listener to notify. Not null.
+     */
+    @Override
+    public void addListener(LogicListener listener) {
+        collected.addListener(listener);
+    }
+
+    /**
+     * Stops listening to the collection of the item.
+     *
+     * @param listener (LogicListener): The listener to remove. Not null.
+     */
+    @Override
+    public void removeListener(LogicListener listener) {
+        collected.removeListener(listener);
     }
 }
@@ -100,6 +100,34 @@ public class ElementalProjectile extends Projectile {
         other.acceptInteraction(interactionHandler, isCellInteraction);
     }
 
+    /**
+     * Saves the state of the projectile, with its hit count and animation.
+     *
+     * @return (Object): The state, to give back to restoreState.
+     */
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), hitCount, animation.saveState());
+    }
+
+    /**
+     * Restores the state of the projectile, with its hit count and animation.
+     *
+     * @param state (Object): A state given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.parent());
+        hitCount = s.hitCount();
+        animation.restoreState(s.animation());
+    }
+
+    /**
+     * State of the projectile on top of the one of its parent class.
+     */
+    private record State(Object parent, int hitCount, Object animation) {}
+
     /**
      * Handles specific interactions for the ElementalProjectile.
      */
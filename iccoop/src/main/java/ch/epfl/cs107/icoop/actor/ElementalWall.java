@@ -12,6 +12,7 @@ import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.math.Orientation;
 import ch.epfl.cs107.play.math.Vector;
 import ch.epfl.cs107.play.signal.logic.Logic;
+import ch.epfl.cs107.play.signal.logic.LogicCircuit;
 import ch.epfl.cs107.play.window.Canvas;
 
 import java.util.Collections;
@@ -32,8 +33,8 @@ public class ElementalWall extends AreaEntity implements ElementalEntity, Intera
     /** The current active elemental type of the wall. */
     private ElementType currentElementType;
 
-    /** Logic to determine if the wall is active or inactive. */
-    private final Logic isActive;
+    /** Logic to determine if the wall is active or inactive, compiled once so reading it does not evaluate its gates. */
+    private final LogicCircuit isActive;
 
     /**
      * Constructs an ElementalWall in the given area at the specified position and orientation.
@@ -55,7 +56,7 @@ public class ElementalWall extends AreaEntity implements ElementalEntity, Intera
     ) {
         super(area, orientation, position);
 
-        this.isActive = isActive;
+        this.isActive = LogicCircuit.compile(isActive);
 
         this.wallSprites = RPGSprite.extractSprites(
                 spriteName, 4, 1, 1,
@@ -84,6 +85,8 @@ public class ElementalWall extends AreaEntity implements ElementalEntity, Intera
     @Override
     public void update(float deltaTime) {
         super.update(deltaTime);
+        // Only reads the signals which do not notify their switches, if any
+        isActive.refresh();
 
         if (isActive.isOn()) {
             currentElementType = elementType;
@@ -132,6 +135,16 @@ public class ElementalWall extends AreaEntity implements ElementalEntity, Intera
     public void interactWith(Interactable other, boolean isCellInteraction) {
     }
 
+    /**
+     * Retrieves how far from its position the wall draws, so off-screen walls are not drawn.
+     *
+     * @return (float): 1.5 cells, each wall sprite covers its cell.
+     */
+    @Override
+    public float getDrawRadius() {
+        return 1.5f;
+    }
+
     /**
      * Retrieves the current cell occupied by the wall.
      *
@@ -226,4 +239,31 @@ public class ElementalWall extends AreaEntity implements ElementalEntity, Intera
     public boolean isOff() {
         return isActive.isOff();
     }
+
+    /**
+     * Saves the state of the wall, with its current element.
+     *
+     * @return (Object): The state, to give back to restoreState.
+     */
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), currentElementType);
+    }
+
+    /**
+     * Restores the state of the wall, with its current element.
+     *
+     * @param state (Object): A state given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.parent());
+        currentElementType = s.currentElementType();
+    }
+
+    /**
+     * State of the wall on top of the one of its parent class.
+     */
+    private record State(Object parent, ElementType currentElementType) {}
 }
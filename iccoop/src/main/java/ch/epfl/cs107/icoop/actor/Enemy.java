@@ -150,6 +150,16 @@ public abstract class Enemy extends MovableAreaEntity implements Interactable, I
         return isDead;
     }
 
+    /**
+     * Bounds the drawing of the enemy, so the area skips it when it is off-screen.
+     *
+     * @return (float): 2.0 cells, the enemy animations span 2x2 cells.
+     */
+    @Override
+    public float getDrawRadius() {
+        return 2.0f;
+    }
+
     /**
      * Indicates that the enemy wants to interact with cell-based interactions.
      *
@@ -210,4 +220,36 @@ public abstract class Enemy extends MovableAreaEntity implements Interactable, I
     public void acceptInteraction(AreaInteractionVisitor v, boolean isCellInteraction) {
         ((ICoopInteractionVisitor) v).interactWith(this, isCellInteraction);
     }
+
+    /**
+     * Saves the state of the enemy, with its health, death animation and grace period.
+     *
+     * @return (Object): The state, to give back to restoreState.
+     */
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), healthPoint, isDead, deathAnimation.saveState(),
+                gracePeriodTimer.saveState());
+    }
+
+    /**
+     * Restores the state of the enemy, with its health, death animation and grace period.
+     *
+     * @param state (Object): A state given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.parent());
+        healthPoint = s.healthPoint();
+        isDead = s.isDead();
+        deathAnimation.restoreState(s.deathAnimation());
+        gracePeriodTimer.restoreState(s.gracePeriodTimer());
+    }
+
+    /**
+     * State of the enemy on top of the one of its parent class.
+     */
+    private record State(Object parent, int healthPoint, boolean isDead, Object deathAnimation,
+                         Object gracePeriodTimer) {}
 }
@@ -247,6 +247,39 @@ public class Explosive extends ICoopCollectable implements Interactor {
         ((ICoopInteractionVisitor) v).interactWith(this, isCellInteraction);
     }
 
+    /**
+     * Saves the state of the explosive, with its fuse and animations.
+     *
+     * @return (Object): The state, to give back to restoreState.
+     */
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), isActivated, isExploded, timer.saveState(), explosive.saveState(),
+                explosion.saveState());
+    }
+
+    /**
+     * Restores the state of the explosive, with its fuse and animations.
+     *
+     * @param state (Object): A state given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.parent());
+        isActivated = s.isActivated();
+        isExploded = s.isExploded();
+        timer.restoreState(s.timer());
+        explosive.restoreState(s.explosive());
+        explosion.restoreState(s.explosion());
+    }
+
+    /**
+     * State of the explosive on top of the one of its parent class.
+     */
+    private record State(Object parent, boolean isActivated, boolean isExploded, Object timer, Object explosive,
+                         Object explosion) {}
+
     /**
      * Handles specific interactions for the Explosive.
      */
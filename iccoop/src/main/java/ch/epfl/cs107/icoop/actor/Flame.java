@@ -78,6 +78,33 @@ public class Flame extends Projectile {
         other.acceptInteraction(interactionHandler, isCellInteraction);
     }
 
+    /**
+     * Saves the state of the flame, with its animation.
+     *
+     * @return (Object): The state, to give back to restoreState.
+     */
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), animation.saveState());
+    }
+
+    /**
+     * Restores the state of the flame, with its animation.
+     *
+     * @param state (Object): A state given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.parent());
+        animation.restoreState(s.animation());
+    }
+
+    /**
+     * State of the flame on top of the one of its parent class.
+     */
+    private record State(Object parent, Object animation) {}
+
     /**
      * Handles specific interactions for the Flame projectile.
      * Deals damage to players and activates bombs upon contact.
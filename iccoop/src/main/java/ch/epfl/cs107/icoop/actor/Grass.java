@@ -7,6 +7,7 @@ import ch.epfl.cs107.play.engine.actor.Animation;
 import ch.epfl.cs107.play.engine.actor.Sprite;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.math.Orientation;
+import ch.epfl.cs107.play.math.random.RandomGenerator;
 import ch.epfl.cs107.play.window.Canvas;
 
 /**
@@ -90,7 +91,7 @@ public class Grass extends Obstacle {
      * Drops a coin with a 50% chance upon grass destruction.
      */
     private void dropCoin() {
-        if (Math.random() < 0.5) {
+        if (RandomGenerator.getInstance().nextDouble() < 0.5) {
             getOwnerArea().registerActor(new Coin(getOwnerArea(), Orientation.UP, this.getCurrentMainCellCoordinates()));
         }
     }
@@ -128,4 +129,32 @@ public class Grass extends Obstacle {
     public void acceptInteraction(AreaInteractionVisitor v, boolean isCellInteraction) {
         ((ICoopInteractionVisitor) v).interactWith(this, isCellInteraction);
     }
+
+    /**
+     * Saves the state of the grass, with its destroyed status and animation.
+     *
+     * @return (Object): The state, to give back to restoreState.
+     */
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), isDestroyed, slicedAnimation.saveState());
+    }
+
+    /**
+     * Restores the state of the grass, with its destroyed status and animation.
+     *
+     * @param state (Object): A state given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.parent());
+        isDestroyed = s.isDestroyed();
+        slicedAnimation.restoreState(s.slicedAnimation());
+    }
+
+    /**
+     * State of the grass on top of the one of its parent class.
+     */
+    private record State(Object parent, boolean isDestroyed, Object slicedAnimation) {}
 }
@@ -391,6 +391,41 @@ public class Grenadier extends Enemy {
         other.acceptInteraction(interactionHandler, isCellInteraction);
     }
 
+    /**
+     * Saves the state of the grenadier, with its behavior state, target, timers and animations.
+     *
+     * @return (Object): The state, to give back to restoreState.
+     */
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), currentState, target, idleTimer.saveState(), walkTimer.saveState(),
+                protectTimer.saveState(), defaultAnimation.saveState(), protectAnimation.saveState());
+    }
+
+    /**
+     * Restores the state of the grenadier, with its behavior state, target, timers and animations.
+     *
+     * @param state (Object): A state given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.parent());
+        currentState = s.currentState();
+        target = s.target();
+        idleTimer.restoreState(s.idleTimer());
+        walkTimer.restoreState(s.walkTimer());
+        protectTimer.restoreState(s.protectTimer());
+        defaultAnimation.restoreState(s.defaultAnimation());
+        protectAnimation.restoreState(s.protectAnimation());
+    }
+
+    /**
+     * State of the grenadier on top of the one of its parent class.
+     */
+    private record State(Object parent, GrenadierState currentState, ICoopPlayer target, Object idleTimer,
+                         Object walkTimer, Object protectTimer, Object defaultAnimation, Object protectAnimation) {}
+
     /***** STATES *****/
 
     /**
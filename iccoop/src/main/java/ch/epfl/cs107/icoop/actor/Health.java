@@ -1,6 +1,7 @@
 package ch.epfl.cs107.icoop.actor;
 
 
+import ch.epfl.cs107.play.engine.Restorable;
 import ch.epfl.cs107.play.engine.actor.Graphics;
 import ch.epfl.cs107.play.math.Positionable;
 import ch.epfl.cs107.play.math.Transform;
@@ -19,7 +20,7 @@ import java.util.List;
  * <p>
  * Health also implements Logic, which allows to know if the entity lost all of its health points or not.
  */
-public class Health implements Graphics, Logic {
+public class Health implements Graphics, Logic, Restorable {
     /**
      * A positionable to the parent entity to draw the health bar on top of
      */
@@ -122,4 +123,20 @@ public class Health implements Graphics, Logic {
     public void resetHealth() {
         healthPoints = maxHealth;
     }
+
+    /**
+     * @return (Object): the current number of health points
+     */
+    @Override
+    public Object saveState() {
+        return healthPoints;
+    }
+
+    /**
+     * @param state (Object): a number of health points given by saveState
+     */
+    @Override
+    public void restoreState(Object state) {
+        healthPoints = (Integer) state;
+    }
 }
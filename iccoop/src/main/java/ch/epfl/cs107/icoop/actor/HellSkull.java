@@ -140,6 +140,34 @@ public class HellSkull extends Enemy {
         other.acceptInteraction(interactionHandler, isCellInteraction);
     }
 
+    /**
+     * Saves the state of the skull, with its flame timer and animation.
+     *
+     * @return (Object): The state, to give back to restoreState.
+     */
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), flameSpawnTimer.saveState(), animation.saveState());
+    }
+
+    /**
+     * Restores the state of the skull, with its flame timer and animation.
+     *
+     * @param state (Object): A state given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.parent());
+        flameSpawnTimer.restoreState(s.flameSpawnTimer());
+        animation.restoreState(s.animation());
+    }
+
+    /**
+     * State of the skull on top of the one of its parent class.
+     */
+    private record State(Object parent, Object flameSpawnTimer, Object animation) {}
+
     /**
      * Interaction handler for the HellSkull.
      * Damages the player when in the same cell.
@@ -107,6 +107,16 @@ public abstract class ICoopCollectable extends CollectableAreaEntity implements
         }
     }
 
+    /**
+     * Bounds the drawing of the collectable, so it is skipped when off-screen.
+     *
+     * @return (float): 2.0 cells, enough for the 2x2 staff and explosion animations.
+     */
+    @Override
+    public float getDrawRadius() {
+        return 2.0f;
+    }
+
     /**
      * Retrieves the current cells occupied by the collectable.
      *
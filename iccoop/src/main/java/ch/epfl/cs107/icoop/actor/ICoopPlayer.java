@@ -453,6 +453,47 @@ public class ICoopPlayer extends MovableAreaEntity implements ElementalEntity, I
         return inventory.contains(item);
     }
 
+    /**
+     * Saves the state of the player, with its health, inventory, current item, attack state and animations.
+     *
+     * @return (Object): The state, to give back to restoreState.
+     */
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), health.saveState(), immunityType, inventory.saveState(), currentItem,
+                currentState, canFire, gracePeriodTimer.saveState(), idleAnimation.saveState(),
+                swordAttackAnimation.saveState(), staffAttackAnimation.saveState());
+    }
+
+    /**
+     * Restores the state of the player, with its health, inventory, current item, attack state and animations.
+     *
+     * @param state (Object): A state given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.parent());
+        health.restoreState(s.health());
+        immunityType = s.immunityType();
+        inventory.restoreState(s.inventory());
+        currentItem = s.currentItem();
+        gui.setCurrentItem(currentItem);
+        currentState = s.currentState();
+        canFire = s.canFire();
+        gracePeriodTimer.restoreState(s.gracePeriodTimer());
+        idleAnimation.restoreState(s.idleAnimation());
+        swordAttackAnimation.restoreState(s.swordAttackAnimation());
+        staffAttackAnimation.restoreState(s.staffAttackAnimation());
+    }
+
+    /**
+     * State of the player on top of the one of its parent class.
+     */
+    private record State(Object parent, Object health, DamageType immunityType, Object inventory,
+                         ICoopItem currentItem, PlayerState currentState, boolean canFire, Object gracePeriodTimer,
+                         Object idleAnimation, Object swordAttackAnimation, Object staffAttackAnimation) {}
+
     private class ICoopPlayerInteractionHandler implements ICoopInteractionVisitor {
         @Override
         public void interactWith(Interactable other, boolean isCellInteraction) {
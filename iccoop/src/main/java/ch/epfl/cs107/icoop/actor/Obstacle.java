@@ -46,6 +46,16 @@ public class Obstacle extends AreaEntity implements Interactable {
         sprite.draw(canvas);
     }
 
+    /**
+     * Retrieves how far from its position the obstacle draws.
+     *
+     * @return (float): 1.5 cells, grass being the largest sprite (1.2 cells).
+     */
+    @Override
+    public float getDrawRadius() {
+        return 1.5f;
+    }
+
     /**
      * Retrieves the current cell occupied by the obstacle.
      *
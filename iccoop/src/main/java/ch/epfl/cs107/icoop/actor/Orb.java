@@ -100,6 +100,33 @@ public class Orb extends ElementalItem {
         this.dialogHandler = dialogHandler;
     }
 
+    /**
+     * Saves the state of the orb, with its animation.
+     *
+     * @return (Object): The state, to give back to restoreState.
+     */
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), animation.saveState());
+    }
+
+    /**
+     * Restores the state of the orb, with its animation.
+     *
+     * @param state (Object): A state given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.parent());
+        animation.restoreState(s.animation());
+    }
+
+    /**
+     * State of the orb on top of the one of its parent class.
+     */
+    private record State(Object parent, Object animation) {}
+
     /**
      * Enum representing the Orb's type, combining elemental type with specific behaviors like dialog messages and sprites.
      */
@@ -7,7 +7,9 @@ import ch.epfl.cs107.play.areagame.handler.AreaInteractionVisitor;
 import ch.epfl.cs107.play.engine.actor.RPGSprite;
 import ch.epfl.cs107.play.engine.actor.Sprite;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
-import ch.epfl.cs107.play.signal.logic.Logic;
+import ch.epfl.cs107.play.signal.logic.LogicListener;
+import ch.epfl.cs107.play.signal.logic.LogicSource;
+import ch.epfl.cs107.play.signal.logic.ObservableLogic;
 import ch.epfl.cs107.play.window.Canvas;
 
 import static ch.epfl.cs107.play.math.Orientation.*;
@@ -17,15 +19,15 @@ import java.util.List;
 
 /**
  * Represents a Pressure Plate that activates when pressed and deactivates when released.
- * It implements the Logic interface to provide state information.
+ * It implements the ObservableLogic interface to notify the circuits depending on it when it switches.
  */
-public class PressurePlate extends AreaEntity implements Logic {
+public class PressurePlate extends AreaEntity implements ObservableLogic {
 
     /** Indicates whether the plate is currently pressed. */
     private boolean isPressed = false;
 
-    /** Indicates whether the plate is currently active. */
-    private boolean isActive = false;
+    /** Signal on while the plate is active. */
+    private final LogicSource isActive = new LogicSource(false);
 
     /** Sprite representing the pressure plate. */
     private final Sprite plateSprite;
@@ -60,7 +62,7 @@ public class PressurePlate extends AreaEntity implements Logic {
     @Override
     public void update(float deltaTime) {
         super.update(deltaTime);
-        isActive = isPressed;
+        isActive.set(isPressed);
         depress();
     }
 
@@ -78,6 +80,16 @@ public class PressurePlate extends AreaEntity implements Logic {
         isPressed = false;
     }
 
+    /**
+     * Retrieves how far from its position the pressure plate draws.
+     *
+     * @return (float): 1.5 cells, the plate sprite covers its cell.
+     */
+    @Override
+    public float getDrawRadius() {
+        return 1.5f;
+    }
+
     /**
      * Retrieves the current cell occupied by the pressure plate.
      *
@@ -136,7 +148,7 @@ public class PressurePlate extends AreaEntity implements Logic {
      */
     @Override
     public boolean isOn() {
-        return isActive;
+        return isActive.isOn();
     }
 
     /**
@@ -146,6 +158,54 @@ public class PressurePlate extends AreaEntity implements Logic {
      */
     @Override
     public boolean isOff() {
-        return !isActive;
+        return isActive.isOff();
     }
+
+    /**
+     * Listens to the activation of the plate.
+     *
+     * @param listener (LogicListener): The listener to notify. Not null.
+     */
+    @Override
+    public void addListener(LogicListener listener) {
+        isActive.addListener(listener);
+    }
+
+    /**
+     * Stops listening to the activation of the plate.
+     *
+     * @param listener (LogicListener): The listener to remove. Not null.
+     */
+    @Override
+    public void removeListener(LogicListener listener) {
+        isActive.removeListener(listener);
+    }
+
+    /**
+     * Saves the state of the plate, with its pressed and active status.
+     *
+     * @return (Object): The state, to give back to restoreState.
+     */
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), isPressed, isActive.isOn());
+    }
+
+    /**
+     * Restores the state of the plate, with its pressed and active status.
+     *
+     * @param state (Object): A state given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.parent());
+        isPressed = s.isPressed();
+        isActive.set(s.isActive());
+    }
+
+    /**
+     * State of the plate on top of the one of its parent class.
+     */
+    private record State(Object parent, boolean isPressed, boolean isActive) {}
 }
@@ -76,6 +76,16 @@ public abstract class Projectile extends MovableAreaEntity implements Interactor
         getOwnerArea().unregisterActor(this);
     }
 
+    /**
+     * Retrieves how far from its position the projectile draws.
+     *
+     * @return (float): 1.5 cells, its animations span a single cell.
+     */
+    @Override
+    public float getDrawRadius() {
+        return 1.5f;
+    }
+
     /**
      * Retrieves the current cells occupied by the projectile.
      *
@@ -156,4 +166,31 @@ public abstract class Projectile extends MovableAreaEntity implements Interactor
     public void acceptInteraction(AreaInteractionVisitor v, boolean isCellInteraction) {
         ((ICoopInteractionVisitor) v).interactWith(this, isCellInteraction);
     }
+
+    /**
+     * Saves the state of the projectile, with its remaining range.
+     *
+     * @return (Object): The state, to give back to restoreState.
+     */
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), range);
+    }
+
+    /**
+     * Restores the state of the projectile, with its remaining range.
+     *
+     * @param state (Object): A state given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.parent());
+        range = s.range();
+    }
+
+    /**
+     * State of the projectile on top of the one of its parent class.
+     */
+    private record State(Object parent, int range) {}
 }
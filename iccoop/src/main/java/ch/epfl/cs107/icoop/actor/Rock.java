@@ -65,4 +65,31 @@ public class Rock extends Obstacle {
     public void acceptInteraction(AreaInteractionVisitor v, boolean isCellInteraction) {
         ((ICoopInteractionVisitor) v).interactWith(this, isCellInteraction);
     }
+
+    /**
+     * Saves the state of the rock, with its destroyed status.
+     *
+     * @return (Object): The state, to give back to restoreState.
+     */
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), isDestroyed);
+    }
+
+    /**
+     * Restores the state of the rock, with its destroyed status.
+     *
+     * @param state (Object): A state given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.parent());
+        isDestroyed = s.isDestroyed();
+    }
+
+    /**
+     * State of the rock on top of the one of its parent class.
+     */
+    private record State(Object parent, boolean isDestroyed) {}
 }
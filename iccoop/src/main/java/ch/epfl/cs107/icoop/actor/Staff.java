@@ -81,4 +81,31 @@ public class Staff extends ElementalItem {
     public void acceptInteraction(AreaInteractionVisitor v, boolean isCellInteraction) {
         ((ICoopInteractionVisitor) v).interactWith(this, isCellInteraction);
     }
+
+    /**
+     * Saves the state of the staff, with its animation.
+     *
+     * @return (Object): The state, to give back to restoreState.
+     */
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), animation.saveState());
+    }
+
+    /**
+     * Restores the state of the staff, with its animation.
+     *
+     * @param state (Object): A state given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.parent());
+        animation.restoreState(s.animation());
+    }
+
+    /**
+     * State of the staff on top of the one of its parent class.
+     */
+    private record State(Object parent, Object animation) {}
 }
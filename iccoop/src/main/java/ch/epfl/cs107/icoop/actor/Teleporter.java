@@ -6,20 +6,24 @@ import ch.epfl.cs107.play.engine.actor.Sprite;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.math.Orientation;
 import ch.epfl.cs107.play.math.RegionOfInterest;
-import ch.epfl.cs107.play.signal.logic.And;
-import ch.epfl.cs107.play.signal.logic.Logic;
+import ch.epfl.cs107.play.signal.logic.LogicCircuit;
+import ch.epfl.cs107.play.signal.logic.MultipleAnd;
 import ch.epfl.cs107.play.window.Canvas;
 
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Represents a teleporter entity that activates when specific keys are collected.
  */
 public class Teleporter extends Door {
 
-    /** A queue of keys required to activate the teleporter. */
-    private final Queue<Key> keys;
+    /** The keys required to activate the teleporter. */
+    private final List<Key> keys;
+
+    /** Signal on once all the keys are collected, compiled when first needed after the keys changed. */
+    private LogicCircuit keysCollected;
 
     /** The sprite representing the teleporter visually. */
     private final Sprite sprite;
@@ -36,7 +40,7 @@ public class Teleporter extends Door {
     public Teleporter(Area area, Orientation orientation, String destinationAreaName, DiscreteCoordinates[] targetCoords, DiscreteCoordinates mainPosition) {
         super(area, orientation, destinationAreaName, false, targetCoords, mainPosition);
 
-        this.keys = new LinkedList<>();
+        this.keys = new ArrayList<>();
         this.sprite = new RPGSprite("shadow", 1, 1, this,
                 new RegionOfInterest(0, 0, 32, 32));
     }
@@ -62,23 +66,12 @@ public class Teleporter extends Door {
     public void update(float deltaTime) {
         super.update(deltaTime);
 
-        // Check the state of all keys and update the teleporter's activation status.
-        Logic logic = Logic.TRUE;
-        Queue<Key> newKeys = new LinkedList<>();
-
-        while (!keys.isEmpty()) {
-            Key currentKey = keys.remove();
-
-            logic = new And(logic, currentKey);
-
-            if (!currentKey.isCollected()) {
-                newKeys.add(currentKey);
-            }
+        // The circuit follows the collection of the keys, checking it costs nothing until one is collected.
+        if (keysCollected == null) {
+            keysCollected = LogicCircuit.compile(new MultipleAnd(keys.toArray(new Key[0])));
         }
 
-        keys.addAll(newKeys);
-
-        if (logic.isOn()) {
+        if (keysCollected.isOn()) {
             open();
         } else {
             close();
@@ -92,5 +85,47 @@ public class Teleporter extends Door {
      */
     public void addKey(Key key) {
         keys.add(key);
+        releaseKeysCollected();
+    }
+
+    /**
+     * Drops the circuit of the keys, to compile it again with the current keys.
+     */
+    private void releaseKeysCollected() {
+        if (keysCollected != null) {
+            keysCollected.release();
+            keysCollected = null;
+        }
+    }
+
+    /**
+     * Saves the state of the teleporter, with the keys it waits for.
+     *
+     * @return (Object): The state, to give back to restoreState.
+     */
+    @Override
+    public Object saveState() {
+        return new State(super.saveState(), keys.toArray(new Key[0]));
     }
+
+    /**
+     * Restores the state of the teleporter, with the keys it waits for.
+     *
+     * @param state (Object): A state given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        State s = (State) state;
+        super.restoreState(s.parent());
+        if (!keys.equals(List.of(s.keys()))) {
+            keys.clear();
+            Collections.addAll(keys, s.keys());
+            releaseKeysCollected();
+        }
+    }
+
+    /**
+     * State of the teleporter on top of the one of its parent class.
+     */
+    private record State(Object parent, Key[] keys) {}
 }
@@ -2,19 +2,27 @@ package ch.epfl.cs107.icoop.area;
 
 import ch.epfl.cs107.icoop.handler.Context;
 import ch.epfl.cs107.play.areagame.area.Area;
+import ch.epfl.cs107.play.areagame.area.AreaSnapshot;
+import ch.epfl.cs107.play.io.AssetManifest;
 import ch.epfl.cs107.play.io.FileSystem;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.math.Orientation;
 import ch.epfl.cs107.play.signal.logic.Logic;
+import ch.epfl.cs107.play.signal.logic.LogicListener;
+import ch.epfl.cs107.play.signal.logic.LogicSource;
+import ch.epfl.cs107.play.signal.logic.ObservableLogic;
 import ch.epfl.cs107.play.window.Window;
 
-public abstract class ICoopArea extends Area implements Logic {
+public abstract class ICoopArea extends Area implements ObservableLogic {
     public final static float DEFAULT_SCALE_FACTOR = 13.f;
     private float cameraScaleFactor = DEFAULT_SCALE_FACTOR;
     private Logic isDirty = Logic.FALSE;
 
     private ICoopBehavior areaBehavior;
-    private boolean completed = false;
+    /// On once the area is completed
+    private final LogicSource completed = new LogicSource(false);
+    /// State of the area right after its last begin, restored to enter it again
+    private AreaSnapshot initialState;
 
     private final Context context;
 
@@ -41,11 +49,49 @@ public abstract class ICoopArea extends Area implements Logic {
             this.areaBehavior = new ICoopBehavior(window, getTitle(), this);
             setBehavior(this.areaBehavior);
             createArea();
+            initialState = snapshot();
             return true;
         }
         return false;
     }
 
+    /**
+     * Areas are entered as new: resuming an area restores it as it was right after its begin
+     *
+     * @param window     (Window): display context. Not null
+     * @param fileSystem (FileSystem): given file system. Not null
+     * @return true if successfully resumed area
+     */
+    @Override
+    public boolean resume(Window window, FileSystem fileSystem) {
+        return reset() || begin(window, fileSystem);
+    }
+
+    /**
+     * Restore the area as it was right after its last begin, in place: its actors, cells and random state.
+     * Much cheaper than a new begin, which decodes the behavior map and builds all the actors again
+     *
+     * @return true if reset, false if the area never began
+     */
+    public boolean reset() {
+        if (initialState == null)
+            return false;
+        restore(initialState);
+        return true;
+    }
+
+    /**
+     * @return the assets of the area, with the sprites of the players, of their attacks and of their status display
+     */
+    @Override
+    public AssetManifest getAssetManifest() {
+        return super.getAssetManifest()
+                .addSprite("icoop/player").addSprite("icoop/player.sword").addSprite("icoop/player.staff_fire")
+                .addSprite("icoop/player2").addSprite("icoop/player2.sword").addSprite("icoop/player2.staff_water")
+                .addSprite("icoop/magicFireProjectile").addSprite("icoop/magicWaterProjectile")
+                .addSprite("icoop/gearDisplay").addSprite("dialog");
+    }
+
     /**
      * @return the Context object of this Icooparea
      */
@@ -79,16 +125,29 @@ public abstract class ICoopArea extends Area implements Logic {
     }
 
     public void complete() {
-        completed = true;
+        completed.set(true);
     }
 
     @Override
     public boolean isOn() {
-        return completed;
+        return completed.isOn();
     }
 
     @Override
     public boolean isOff() {
-        return !completed;
+        return completed.isOff();
+    }
+
+    /**
+     * @param listener (LogicListener): notified when the area is completed. Not null
+     */
+    @Override
+    public void addListener(LogicListener listener) {
+        completed.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(LogicListener listener) {
+        completed.removeListener(listener);
     }
 }
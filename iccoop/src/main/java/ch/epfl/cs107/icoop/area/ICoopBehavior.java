@@ -4,6 +4,7 @@ import ch.epfl.cs107.icoop.actor.*;
 import ch.epfl.cs107.play.areagame.actor.Interactable;
 import ch.epfl.cs107.play.areagame.area.Area;
 import ch.epfl.cs107.play.areagame.area.AreaBehavior;
+import ch.epfl.cs107.play.areagame.area.BehaviorMap;
 import ch.epfl.cs107.play.areagame.handler.AreaInteractionVisitor;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.window.Window;
@@ -20,13 +21,19 @@ public class ICoopBehavior extends AreaBehavior {
      *               automatically spawn corresponding entities/obstacles
      */
     public ICoopBehavior(Window window, String title, Area area) {
-        super(window, title);
+        super(window, title, true);
+
+        // Match each distinct color of the map once, then look the type of each cell up
+        BehaviorMap map = getBehaviorMap();
+        ICoopCellType[] types = new ICoopCellType[map.getColorCount()];
+        for (int i = 0; i < types.length; i++)
+            types[i] = ICoopCellType.toType(map.getColor(i));
 
         int height = getHeight();
         int width = getWidth();
         for (int y = 0; y < height; y++) {
             for (int x = 0; x < width; x++) {
-                ICoopCellType color = ICoopCellType.toType(getRGB(height - 1 - y, x));
+                ICoopCellType color = types[map.getColorIndex(x, y)];
                 DiscreteCoordinates position = new DiscreteCoordinates(x, y);
 
                 switch (color) {
@@ -119,9 +126,11 @@ public class ICoopBehavior extends AreaBehavior {
                 return true;
 
             String element = null;
-            for (Interactable e : entities) {
-                if (e instanceof ElementalEntity)
-                    element = ((ElementalEntity) e).element();
+            if (containsEntityOfType(ElementalEntity.class)) {
+                for (Interactable e : entities) {
+                    if (e instanceof ElementalEntity)
+                        element = ((ElementalEntity) e).element();
+                }
             }
 
             if (element != null && entity instanceof ElementalEntity)
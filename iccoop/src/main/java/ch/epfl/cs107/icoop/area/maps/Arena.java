@@ -7,10 +7,12 @@ import ch.epfl.cs107.icoop.area.ICoopArea;
 import ch.epfl.cs107.icoop.handler.Context;
 import ch.epfl.cs107.play.engine.actor.Background;
 import ch.epfl.cs107.play.engine.actor.Foreground;
+import ch.epfl.cs107.play.io.AssetManifest;
+import ch.epfl.cs107.play.io.ResourcePath;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.math.Orientation;
 import ch.epfl.cs107.play.signal.logic.And;
-import ch.epfl.cs107.play.signal.logic.Logic;
+import ch.epfl.cs107.play.signal.logic.LogicCircuit;
 
 import static ch.epfl.cs107.play.math.Orientation.*;
 
@@ -19,9 +21,6 @@ public class Arena extends ICoopArea {
             new DiscreteCoordinates[]{new DiscreteCoordinates(4, 5), new DiscreteCoordinates(14, 15)};
     public static Orientation SPAWN_ORIENTATION = Orientation.DOWN;
 
-    private Logic fireKey;
-    private Logic waterKey;
-
     /**
      * @param context, allows the setting of hte dialog handler
      */
@@ -38,8 +37,12 @@ public class Arena extends ICoopArea {
         Key waterKey = new Key(this, new DiscreteCoordinates(9, 4), ElementType.WATER);
         Teleporter teleporter = new Teleporter(this, UP, "Spawn", Spawn.SPAWN_POINTS, new DiscreteCoordinates(10, 10));
 
-        this.fireKey = fireKey;
-        this.waterKey = waterKey;
+        // Complete the area as soon as both keys are collected
+        LogicCircuit keysCollected = LogicCircuit.compile(new And(fireKey, waterKey));
+        keysCollected.addListener((signal, isOn) -> {
+            if (isOn)
+                complete();
+        });
 
         teleporter.addKey(fireKey);
         teleporter.addKey(waterKey);
@@ -49,19 +52,6 @@ public class Arena extends ICoopArea {
         registerActor(teleporter);
     }
 
-    /**
-     * @param deltaTime elapsed time since last update, in seconds, non-negative
-     *                  checks if both keys were collected, then calls complete();
-     *                  assigning this area to be complete to proceed to the next
-     */
-    @Override
-    public void update(float deltaTime) {
-        super.update(deltaTime);
-
-        if (new And(fireKey, waterKey).isOn())
-            complete();
-    }
-
     @Override
     public boolean isViewCentered() {
         return true;
@@ -79,6 +69,16 @@ public class Arena extends ICoopArea {
         return ARRIVAL_POINTS[id];
     }
 
+    /**
+     * @return the assets of the area, with its foreground and the sprites of its actors
+     */
+    @Override
+    public AssetManifest getAssetManifest() {
+        return super.getAssetManifest()
+                .addImage(ResourcePath.getForeground(getTitle()))
+                .addSprite("icoop/key_red").addSprite("icoop/key_blue").addSprite("shadow");
+    }
+
     @Override
     public String getTitle() {
         return "Arena";
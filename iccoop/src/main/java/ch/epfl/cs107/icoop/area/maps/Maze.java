@@ -5,10 +5,13 @@ import ch.epfl.cs107.icoop.area.ICoopArea;
 import ch.epfl.cs107.icoop.handler.Context;
 import ch.epfl.cs107.play.engine.actor.Background;
 import ch.epfl.cs107.play.engine.actor.Foreground;
+import ch.epfl.cs107.play.io.AssetManifest;
+import ch.epfl.cs107.play.io.ResourcePath;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.math.Orientation;
 import ch.epfl.cs107.play.signal.logic.And;
 import ch.epfl.cs107.play.signal.logic.Logic;
+import ch.epfl.cs107.play.signal.logic.LogicCircuit;
 import ch.epfl.cs107.play.signal.logic.Not;
 
 import static ch.epfl.cs107.play.math.Orientation.*;
@@ -37,9 +40,6 @@ public class Maze extends ICoopArea {
             new DiscreteCoordinates(14, 17), new DiscreteCoordinates(14, 19)
     };
 
-    private Logic fireStaff;
-    private Logic waterStaff;
-
     /**
      * @param context, allows the setting of hte dialog handler
      */
@@ -96,8 +96,12 @@ public class Maze extends ICoopArea {
         Staff fireStaff = new Staff(this, new DiscreteCoordinates(13, 2), ElementType.FIRE, "staff_fire");
         Staff waterStaff = new Staff(this, new DiscreteCoordinates(8, 2), ElementType.WATER, "staff_water");
 
-        this.fireStaff = fireStaff;
-        this.waterStaff = waterStaff;
+        // Complete the area as soon as both staffs are collected
+        LogicCircuit staffsCollected = LogicCircuit.compile(new And(fireStaff, waterStaff));
+        staffsCollected.addListener((signal, isOn) -> {
+            if (isOn)
+                complete();
+        });
 
         registerActor(fireStaff);
         registerActor(waterStaff);
@@ -122,19 +126,6 @@ public class Maze extends ICoopArea {
         registerActor(new Rock(this, UP, new DiscreteCoordinates(15, 6)));
     }
 
-    /**
-     * @param deltaTime elapsed time since last update, in seconds, non-negative
-     *                  checks if both staffs were collected, then calls complete();
-     *                  assigning this area to be complete to proceed to the next
-     */
-    @Override
-    public void update(float deltaTime) {
-        super.update(deltaTime);
-
-        if (new And(fireStaff, waterStaff).isOn())
-            complete();
-    }
-
     @Override
     public DiscreteCoordinates getPlayerSpawnPosition(int id) {
         return ARRIVAL_POINTS[id];
@@ -147,6 +138,20 @@ public class Maze extends ICoopArea {
         return SPAWN_ORIENTATION;
     }
 
+    /**
+     * @return the assets of the area, with its foreground and the sprites of its actors
+     */
+    @Override
+    public AssetManifest getAssetManifest() {
+        return super.getAssetManifest()
+                .addImage(ResourcePath.getForeground(getTitle()))
+                .addSprite("icoop/flameskull").addSprite("icoop/fire").addSprite("icoop/bombFoe")
+                .addSprite("icoop/bombFoe.protecting").addSprite("icoop/vanish").addSprite("icoop/heart")
+                .addSprite("icoop/explosive").addSprite("icoop/explosion").addSprite("fire_wall")
+                .addSprite("water_wall").addSprite("GroundPlateOff").addSprite("icoop/staff_fire")
+                .addSprite("icoop/staff_water").addSprite("rock.1");
+    }
+
     @Override
     public String getTitle() {
         return "Maze";
@@ -6,6 +6,8 @@ import ch.epfl.cs107.icoop.handler.Context;
 import ch.epfl.cs107.icoop.handler.DialogHandler;
 import ch.epfl.cs107.play.engine.actor.Background;
 import ch.epfl.cs107.play.engine.actor.Foreground;
+import ch.epfl.cs107.play.io.AssetManifest;
+import ch.epfl.cs107.play.io.ResourcePath;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.math.Orientation;
 import ch.epfl.cs107.play.signal.logic.Logic;
@@ -121,6 +123,17 @@ public class OrbWay extends ICoopArea {
         return ARRIVAL_POINTS[id];
     }
 
+    /**
+     * @return the assets of the area, with its foreground and the sprites of its actors
+     */
+    @Override
+    public AssetManifest getAssetManifest() {
+        return super.getAssetManifest()
+                .addImage(ResourcePath.getForeground(getTitle()))
+                .addSprite("fire_wall").addSprite("water_wall").addSprite("GroundPlateOff")
+                .addSprite("icoop/orb").addSprite("icoop/heart");
+    }
+
     @Override
     public String getTitle() {
         return "OrbWay";
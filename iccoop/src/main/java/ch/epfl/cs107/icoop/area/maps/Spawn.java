@@ -6,6 +6,8 @@ import ch.epfl.cs107.icoop.handler.Context;
 import ch.epfl.cs107.play.engine.actor.Background;
 import ch.epfl.cs107.play.engine.actor.Dialog;
 import ch.epfl.cs107.play.engine.actor.Foreground;
+import ch.epfl.cs107.play.io.AssetManifest;
+import ch.epfl.cs107.play.io.ResourcePath;
 import ch.epfl.cs107.play.math.DiscreteCoordinates;
 import ch.epfl.cs107.play.math.Orientation;
 
@@ -98,6 +100,17 @@ public class Spawn extends ICoopArea {
         return OrbWay.SPAWN_ORIENTATION;
     }
 
+    /**
+     * @return the assets of the area, with its foreground and the sprites of its actors
+     */
+    @Override
+    public AssetManifest getAssetManifest() {
+        return super.getAssetManifest()
+                .addImage(ResourcePath.getForeground(getTitle()))
+                .addSprite("external/fantasy_chest_animation").addSprite("icoop/grass").addSprite("icoop/grass.sliced")
+                .addSprite("icoop/explosive").addSprite("icoop/explosion").addSprite("rock.1");
+    }
+
     @Override
     public String getTitle() {
         return "Spawn";
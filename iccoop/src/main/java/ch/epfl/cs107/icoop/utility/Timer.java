@@ -1,9 +1,11 @@
 package ch.epfl.cs107.icoop.utility;
 
+import ch.epfl.cs107.play.engine.Restorable;
+
 /**
  * Utility class representing a timer, useful for managing timed events and countdowns.
  */
-public class Timer {
+public class Timer implements Restorable {
 
     /** The current time of the timer. */
     private float timer;
@@ -59,4 +61,24 @@ public class Timer {
     public void setTimer(float time) {
         this.timer = time;
     }
+
+    /**
+     * Saves the remaining time of the timer.
+     *
+     * @return (Object): The remaining time, to give back to restoreState.
+     */
+    @Override
+    public Object saveState() {
+        return timer;
+    }
+
+    /**
+     * Restores the remaining time of the timer.
+     *
+     * @param state (Object): A remaining time given by saveState.
+     */
+    @Override
+    public void restoreState(Object state) {
+        this.timer = (Float) state;
+    }
 }
@@ -42,10 +42,11 @@ public class Play {
 		Recorder recorder = new Recorder(window);
 		RecordReplayer replayer = new RecordReplayer(window);
 		try {
+			// Start recording or replaying before the game begins, so the random numbers are the same
+			//recorder.start("zelda.rec", game);
+			//replayer.start("zelda.rec");
 
 			if (game.begin(window, fileSystem)) {
-				//recorder.start();
-				//replayer.start("zelda.xml");
 
 				// Use system clock to keep track of time progression
                 long currentTime = System.nanoTime();
@@ -79,7 +80,7 @@ public class Play {
                     //replayer.update();
 				}
 			}
-			//recorder.stop("zelda.xml");
+			//recorder.stop();
 			game.end();
 
 		} finally {
@@ -2,6 +2,7 @@ package ch.epfl.cs107.play.tuto2.area;
 
 import ch.epfl.cs107.play.areagame.actor.Interactable;
 import ch.epfl.cs107.play.areagame.area.AreaBehavior;
+import ch.epfl.cs107.play.areagame.area.BehaviorMap;
 import ch.epfl.cs107.play.areagame.handler.AreaInteractionVisitor;
 import ch.epfl.cs107.play.window.Window;
 
@@ -14,11 +15,16 @@ public final class Tuto2Behavior extends AreaBehavior {
      */
     public Tuto2Behavior(Window window, String name) {
         super(window, name);
+        BehaviorMap map = getBehaviorMap();
+        Tuto2CellType[] types = new Tuto2CellType[map.getColorCount()];
+        for (int i = 0; i < types.length; i++)
+            types[i] = Tuto2CellType.toType(map.getColor(i));
+
         int height = getHeight();
         int width = getWidth();
         for (int y = 0; y < height; y++) {
             for (int x = 0; x < width; x++) {
-                Tuto2CellType color = Tuto2CellType.toType(getRGB(height - 1 - y, x));
+                Tuto2CellType color = types[map.getColorIndex(x, y)];
                 setCell(x, y, new Tuto2Cell(x, y, color));
             }
         }